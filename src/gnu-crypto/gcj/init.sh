@@ -49,8 +49,7 @@
 # 1. copy files from both ../source and ../jce subtrees to current directory,
 # 2. copy files from both ./source and ./jce subtrees to current directory,
 #    overwriting the ones with same names,
-# 3. generate .java source files for specific algorithm implementations; e.g.
-#    Serpent.java from ./../../meta/serpent.m4
+# 3. make the copied files writable,
 # 4. copy the 'autogen.sh' script, as well as the 'config.ac' files, for
 #    GCJ-specific build, to the current directory.  also copy the GNU Crypto
 #    M4 macros (acinclude.m4) and 'Makefile.am' from ./.. to current directory,
@@ -81,8 +80,6 @@ cp -rf jce      $BUILD_DIR
 
 # ----- step 3
 chmod -R a+rw $BUILD_DIR
-test -f $BUILD_DIR/source/gnu/crypto/cipher/Serpent.java || rm -f $BUILD_DIR/source/gnu/crypto/cipher/Serpent.java
-m4 -I../meta $BUILD_DIR/source/gnu/crypto/cipher/Serpent.java.in > $BUILD_DIR/source/gnu/crypto/cipher/Serpent.java
 
 # ----- step 4
 cp -f  autogen.sh      $BUILD_DIR
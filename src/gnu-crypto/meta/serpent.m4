@@ -42,9 +42,14 @@ dnl do so, delete this exception statement from your version.
 dnl
 dnl $Revision: 1.1 $
 dnl
-dnl M4 macros used to generate the GCJ-friendly Serpent.java source file.
+dnl M4 macros once used to generate the GCJ-friendly Serpent.java source file.
 dnl The macro expansion code is from Dag Arne Osvik's serpent.c code.
 dnl
+dnl Nothing is generated from these macros anymore: the GCJ build now uses
+dnl source/gnu/crypto/cipher/Serpent.java, which is the source of truth for
+dnl the cipher, including its two-block engine.  They are kept as a reference
+dnl for the single-block rounds of that file.
+dnl
 dnl
 define(`m4_K',`
       $4 ^= key.k`'eval(4*$5+3); $3 ^= key.k`'eval(4*$5+2); $2 ^= key.k`'eval(4*$5+1); $1 ^= key.k`'eval(4*$5);')dnl
@@ -79,15 +79,19 @@ public final class Properties {
    public static final String REPRODUCIBLE_PRNG = "gnu.crypto.with.reproducible.prng";
    public static final String CHECK_WEAK_KEYS = "gnu.crypto.with.check.for.weak.keys";
    public static final String DO_RSA_BLINDING = "gnu.crypto.with.rsa.blinding";
+   public static final String STRICT_SELF_TEST = "gnu.crypto.with.strict.self.test";
+   public static final String KEY_SCHEDULE_CACHE = "gnu.crypto.with.key.schedule.cache";
 
    private static final String TRUE = Boolean.TRUE.toString();
    private static final String FALSE = Boolean.FALSE.toString();
    private static final HashMap props = new HashMap();
-   private static Properties singleton = null;
+   private static final Properties singleton = new Properties();
 
    private boolean reproducible = false;
    private boolean checkForWeakKeys = true;
    private boolean doRSABlinding = true;
+   private volatile boolean strictSelfTest = false;
+   private volatile boolean keyScheduleCache = false;
 
    // Constructor(s)
    // -------------------------------------------------------------------------
@@ -161,6 +165,12 @@ public final class Properties {
       } else if (key.equals(DO_RSA_BLINDING)
             && (value.equalsIgnoreCase(TRUE) || value.equalsIgnoreCase(FALSE))) {
          setDoRSABlinding(Boolean.valueOf(value).booleanValue());
+      } else if (key.equals(STRICT_SELF_TEST)
+            && (value.equalsIgnoreCase(TRUE) || value.equalsIgnoreCase(FALSE))) {
+         setStrictSelfTest(Boolean.valueOf(value).booleanValue());
+      } else if (key.equals(KEY_SCHEDULE_CACHE)
+            && (value.equalsIgnoreCase(TRUE) || value.equalsIgnoreCase(FALSE))) {
+         setUseKeyScheduleCache(Boolean.valueOf(value).booleanValue());
       } else {
          props.put(key, value);
       }
@@ -219,6 +229,43 @@ public final class Properties {
       return instance().doRSABlinding;
    }
 
+   /**
+    * <p>A convenience method that returns, as a boolean, the library global
+    * configuration property indicating if the algorithm factories run the
+    * self-test of every instance they return, or only of the first instance
+    * of each algorithm.</p>
+    *
+    * <p>The factories consult this property on every look-up, so this method
+    * neither locks nor checks for a permission to read it; changing it does
+    * require permission.</p>
+    *
+    * @return <code>true</code> if every instance returned by a factory is
+    * self-tested. Returns <code>false</code> if each algorithm is self-tested
+    * once, and later instances are cloned from a tested prototype.
+    */
+   public static final boolean isStrictSelfTest() {
+      return singleton.strictSelfTest;
+   }
+
+   /**
+    * <p>A convenience method that returns, as a boolean, the library global
+    * configuration property indicating if the ciphers with a costly key
+    * schedule keep the session keys of recently used keys in a bounded cache
+    * shared by all their instances. It is <code>false</code> unless set, as
+    * the cache keeps the session keys in memory beyond the life of the
+    * ciphers using them.</p>
+    *
+    * <p>The ciphers consult this property on every key expansion, so this
+    * method neither locks nor checks for a permission to read it; changing it
+    * does require permission.</p>
+    *
+    * @return <code>true</code> if the session keys are cached. Returns
+    * <code>false</code> if every key is expanded anew.
+    */
+   public static final boolean useKeyScheduleCache() {
+      return singleton.keyScheduleCache;
+   }
+
    /**
     * <p>A convenience method to set the global property for reproducibility of
     * the default PRNG bit stream output.</p>
@@ -268,10 +315,40 @@ public final class Properties {
       props.put(DO_RSA_BLINDING, String.valueOf(value));
    }
 
-   private static synchronized final Properties instance() {
-      if (singleton == null) {
-         singleton = new Properties();
+   /**
+    * <p>A convenience method to set the global property for self-testing
+    * every instance returned by the algorithm factories.</p>
+    *
+    * @param value if <code>true</code> then the algorithm factories will
+    * run the self-test of every instance they return.
+    */
+   public static synchronized final void setStrictSelfTest(final boolean value) {
+      SecurityManager sm = System.getSecurityManager();
+      if (sm != null) {
+         sm.checkPermission(new PropertyPermission(STRICT_SELF_TEST, "write"));
       }
+      instance().strictSelfTest = value;
+      props.put(STRICT_SELF_TEST, String.valueOf(value));
+   }
+
+   /**
+    * <p>A convenience method to set the global property for caching the
+    * session keys of the ciphers with a costly key schedule.</p>
+    *
+    * @param value if <code>true</code> then the session keys of recently used
+    * keys are cached; if <code>false</code> the cache is emptied at the next
+    * key expansion, and not used anymore.
+    */
+   public static synchronized final void setUseKeyScheduleCache(final boolean value) {
+      SecurityManager sm = System.getSecurityManager();
+      if (sm != null) {
+         sm.checkPermission(new PropertyPermission(KEY_SCHEDULE_CACHE, "write"));
+      }
+      instance().keyScheduleCache = value;
+      props.put(KEY_SCHEDULE_CACHE, String.valueOf(value));
+   }
+
+   private static final Properties instance() {
       return singleton;
    }
 
@@ -283,6 +360,8 @@ public final class Properties {
       props.put(REPRODUCIBLE_PRNG, new Boolean(reproducible).toString());
       props.put(CHECK_WEAK_KEYS,   new Boolean(checkForWeakKeys).toString());
       props.put(DO_RSA_BLINDING,   new Boolean(doRSABlinding).toString());
+      props.put(STRICT_SELF_TEST,  new Boolean(strictSelfTest).toString());
+      props.put(KEY_SCHEDULE_CACHE, new Boolean(keyScheduleCache).toString());
 
       // 1. allow site-wide override by reading a properties file
       String propFile = null;
@@ -315,11 +394,15 @@ public final class Properties {
       handleBooleanProperty(REPRODUCIBLE_PRNG);
       handleBooleanProperty(CHECK_WEAK_KEYS);
       handleBooleanProperty(DO_RSA_BLINDING);
+      handleBooleanProperty(STRICT_SELF_TEST);
+      handleBooleanProperty(KEY_SCHEDULE_CACHE);
 
       // re-sync the 'known' properties
       reproducible =     new Boolean((String) props.get(REPRODUCIBLE_PRNG)).booleanValue();
       checkForWeakKeys = new Boolean((String) props.get(CHECK_WEAK_KEYS)).booleanValue();
       doRSABlinding =    new Boolean((String) props.get(DO_RSA_BLINDING)).booleanValue();
+      strictSelfTest =   new Boolean((String) props.get(STRICT_SELF_TEST)).booleanValue();
+      keyScheduleCache = new Boolean((String) props.get(KEY_SCHEDULE_CACHE)).booleanValue();
    }
 
    private void handleBooleanProperty(final String name) {
@@ -76,6 +76,9 @@ public interface Registry {
    /** AES is synonymous to Rijndael for 128-bit block size only. */
    String AES_CIPHER = "aes";
 
+   /** A bitsliced, constant-time, implementation of the AES. */
+   String AES_CT_CIPHER = "aes-ct";
+
    /** TripleDES is also known as DESede. */
    String DESEDE_CIPHER = "desede";
 
@@ -133,6 +136,15 @@ public interface Registry {
    /** Cipher feedback mode (NIST). */
    String CFB_MODE = "cfb";
 
+   /** Counter mode with OMAC authentication (Bellare, Rogaway and Wagner). */
+   String EAX_MODE = "eax";
+
+   /** Galois/Counter Mode (NIST SP 800-38D). */
+   String GCM_MODE = "gcm";
+
+   /** Offset Codebook Mode, version 3 (RFC 7253). */
+   String OCB_MODE = "ocb";
+
    // Padding scheme names and synonyms........................................
 
    /** PKCS#7 padding scheme. */
@@ -193,6 +193,71 @@ public abstract class BaseCipher implements IBlockCipher, IBlockCipherSpi {
       }
    }
 
+   /**
+    * <p>Expands a user-supplied key material into a session key, reusing the
+    * storage of a designated session key, earlier returned by this method,
+    * where the cipher supports it. This default ignores <code>reuse</code>
+    * and calls {@link #makeKey(byte[], int)}.</p>
+    *
+    * @param k the user-supplied key material.
+    * @param bs the desired block size in bytes.
+    * @param reuse a session key to overwrite, or <code>null</code>.
+    * @return an Object encapsulating the session key.
+    * @exception InvalidKeyException if the key data is invalid.
+    */
+   public Object makeKey(byte[] k, int bs, Object reuse)
+   throws InvalidKeyException {
+      return makeKey(k, bs);
+   }
+
+   /**
+    * <p>Encrypts a number of consecutive blocks with the current session key,
+    * taking the instance lock once for the whole run.</p>
+    *
+    * @param in the plaintext.
+    * @param inOffset index of <code>in</code> from which to start.
+    * @param out the ciphertext; may be the same array as <code>in</code>.
+    * @param outOffset index of <code>out</code> from which to store the result.
+    * @param count the number of blocks to encrypt.
+    * @exception IllegalStateException if the instance is not initialised.
+    */
+   public void
+   encryptBlocks(byte[] in, int inOffset, byte[] out, int outOffset, int count)
+   {
+      synchronized(lock) {
+         if (currentKey == null) {
+            throw new IllegalStateException();
+         }
+
+         encrypt(in, inOffset, out, outOffset, currentKey, currentBlockSize,
+                 count);
+      }
+   }
+
+   /**
+    * <p>Decrypts a number of consecutive blocks with the current session key,
+    * taking the instance lock once for the whole run.</p>
+    *
+    * @param in the ciphertext.
+    * @param inOffset index of <code>in</code> from which to start.
+    * @param out the plaintext; may be the same array as <code>in</code>.
+    * @param outOffset index of <code>out</code> from which to store the result.
+    * @param count the number of blocks to decrypt.
+    * @exception IllegalStateException if the instance is not initialised.
+    */
+   public void
+   decryptBlocks(byte[] in, int inOffset, byte[] out, int outOffset, int count)
+   {
+      synchronized(lock) {
+         if (currentKey == null) {
+            throw new IllegalStateException();
+         }
+
+         decrypt(in, inOffset, out, outOffset, currentKey, currentBlockSize,
+                 count);
+      }
+   }
+
    public boolean selfTest() {
       int ks;
       Iterator bit;
@@ -210,6 +275,31 @@ public abstract class BaseCipher implements IBlockCipher, IBlockCipherSpi {
       return true;
    }
 
+   // methods that concrete subclasses may override ---------------------------
+
+   /**
+    * <p>Encrypts <code>count</code> consecutive blocks of <code>bs</code>
+    * bytes. This default does them one at a time; ciphers that can process
+    * several blocks in one pass override it.</p>
+    */
+   protected void
+   encrypt(byte[] in, int i, byte[] out, int o, Object k, int bs, int count) {
+      for ( ; count > 0; count--, i += bs, o += bs) {
+         encrypt(in, i, out, o, k, bs);
+      }
+   }
+
+   /**
+    * <p>Decrypts <code>count</code> consecutive blocks of <code>bs</code>
+    * bytes, one block at a time unless overridden.</p>
+    */
+   protected void
+   decrypt(byte[] in, int i, byte[] out, int o, Object k, int bs, int count) {
+      for ( ; count > 0; count--, i += bs, o += bs) {
+         decrypt(in, i, out, o, k, bs);
+      }
+   }
+
    // own methods -------------------------------------------------------------
 
    private boolean testSymmetry(int ks, int bs) {
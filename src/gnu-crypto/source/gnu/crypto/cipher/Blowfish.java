@@ -47,6 +47,7 @@ package gnu.crypto.cipher;
 //
 // --------------------------------------------------------------------------
 
+import gnu.crypto.Properties;
 import gnu.crypto.Registry;
 import gnu.crypto.util.Util;
 
@@ -331,8 +332,44 @@ public class Blowfish extends BaseCipher {
       return Collections.singleton(new Integer(DEFAULT_BLOCK_SIZE)).iterator();
    }
 
+   /**
+    * <p>Expands a key into a session key. When enabled by the
+    * {@link Properties#KEY_SCHEDULE_CACHE} property, the session keys of
+    * recently used keys are taken from a bounded cache shared by all the
+    * instances, which saves the 521 encryptions of the expansion.</p>
+    */
    public Object makeKey(byte[] k, int bs) {
-      Context ctx = new Context();
+      if (!Properties.useKeyScheduleCache()) {
+         KeyScheduleCache.release();
+         return makeKey(k, bs, null);
+      }
+      Context ctx = (Context) KeyScheduleCache.get(name, k, bs);
+      if (ctx == null) {
+         ctx = (Context) makeKey(k, bs, null);
+         ctx.shared = true;
+         KeyScheduleCache.put(name, k, bs, ctx);
+      }
+      return ctx;
+   }
+
+   /**
+    * <p>Expands a key into the storage of a designated session key, earlier
+    * returned by this method, so that re-keying allocates nothing. A session
+    * key obtained from the shared cache is never overwritten; a new one is
+    * returned instead.</p>
+    *
+    * @param k the key material.
+    * @param bs the block size in bytes.
+    * @param reuse a session key to overwrite, or <code>null</code>.
+    * @return the session key.
+    */
+   public Object makeKey(byte[] k, int bs, Object reuse) {
+      Context ctx;
+      if (reuse instanceof Context && !((Context) reuse).shared) {
+         ctx = (Context) reuse;
+      } else {
+         ctx = new Context();
+      }
       System.arraycopy(P,   0, ctx.p,  0, P.length);
       System.arraycopy(KS0, 0, ctx.s0, 0, KS0.length);
       System.arraycopy(KS1, 0, ctx.s1, 0, KS1.length);
@@ -354,172 +391,151 @@ public class Blowfish extends BaseCipher {
 
       // We swap the left and right words here only, so we can avoid
       // swapping altogether during encryption/decryption.
-      int t;
-      Block x = new Block();
-      x.left = x.right = 0;
-      for (int i = 0; i < ctx.p.length; i += 2) {
-         blowfishEncrypt(x, ctx);
-         ctx.p[i  ] = x.right;
-         ctx.p[i+1] = x.left;
-         t = x.right;
-         x.right = x.left;
-         x.left = t;
-      }
-      for (int i = 0; i < ctx.s0.length; i += 2) {
-         blowfishEncrypt(x, ctx);
-         ctx.s0[i  ] = x.right;
-         ctx.s0[i+1] = x.left;
-         t = x.right;
-         x.right = x.left;
-         x.left = t;
-      }
-      for (int i = 0; i < ctx.s1.length; i += 2) {
-         blowfishEncrypt(x, ctx);
-         ctx.s1[i  ] = x.right;
-         ctx.s1[i+1] = x.left;
-         t = x.right;
-         x.right = x.left;
-         x.left = t;
-      }
-      for (int i = 0; i < ctx.s2.length; i += 2) {
-         blowfishEncrypt(x, ctx);
-         ctx.s2[i  ] = x.right;
-         ctx.s2[i+1] = x.left;
-         t = x.right;
-         x.right = x.left;
-         x.left = t;
-      }
-      for (int i = 0; i < ctx.s3.length; i += 2) {
-         blowfishEncrypt(x, ctx);
-         ctx.s3[i  ] = x.right;
-         ctx.s3[i+1] = x.left;
-         t = x.right;
-         x.right = x.left;
-         x.left = t;
-      }
-      x.left = x.right = 0;
+      long x = 0L;
+      x = expand(x, ctx.p, ctx);
+      x = expand(x, ctx.s0, ctx);
+      x = expand(x, ctx.s1, ctx);
+      x = expand(x, ctx.s2, ctx);
+      expand(x, ctx.s3, ctx);
       return ctx;
    }
 
    public
    void encrypt(byte[] in, int i, byte[] out, int o, Object k, int bs) {
-      Block x = new Block();
-      x.left  = (in[i  ] & 0xff) << 24 | (in[i+1] & 0xff) << 16 |
-                (in[i+2] & 0xff) <<  8 | (in[i+3] & 0xff);
-      x.right = (in[i+4] & 0xff) << 24 | (in[i+5] & 0xff) << 16 |
-                (in[i+6] & 0xff) <<  8 | (in[i+7] & 0xff);
-      blowfishEncrypt(x, (Context) k);
-      out[o  ] = (byte) (x.right >>> 24);
-      out[o+1] = (byte) (x.right >>> 16);
-      out[o+2] = (byte) (x.right >>>  8);
-      out[o+3] = (byte)  x.right;
-      out[o+4] = (byte) (x.left >>> 24);
-      out[o+5] = (byte) (x.left >>> 16);
-      out[o+6] = (byte) (x.left >>>  8);
-      out[o+7] = (byte)  x.left;
-      x.left = x.right = 0;
+      int left  = (in[i  ] & 0xff) << 24 | (in[i+1] & 0xff) << 16 |
+                  (in[i+2] & 0xff) <<  8 | (in[i+3] & 0xff);
+      int right = (in[i+4] & 0xff) << 24 | (in[i+5] & 0xff) << 16 |
+                  (in[i+6] & 0xff) <<  8 | (in[i+7] & 0xff);
+      long x = blowfishEncrypt(left, right, (Context) k);
+      store(x, out, o);
    }
 
    public
    void decrypt(byte[] in, int i, byte[] out, int o, Object k, int bs) {
-      Block x = new Block();
-      x.left  = (in[i  ] & 0xff) << 24 | (in[i+1] & 0xff) << 16 |
-                (in[i+2] & 0xff) <<  8 | (in[i+3] & 0xff);
-      x.right = (in[i+4] & 0xff) << 24 | (in[i+5] & 0xff) << 16 |
-             (in[i+6] & 0xff) <<  8 | (in[i+7] & 0xff);
-      blowfishDecrypt(x, (Context) k);
-      out[o  ] = (byte) (x.right >>> 24);
-      out[o+1] = (byte) (x.right >>> 16);
-      out[o+2] = (byte) (x.right >>>  8);
-      out[o+3] = (byte)  x.right;
-      out[o+4] = (byte) (x.left >>> 24);
-      out[o+5] = (byte) (x.left >>> 16);
-      out[o+6] = (byte) (x.left >>>  8);
-      out[o+7] = (byte)  x.left;
-      x.left = x.right = 0;
+      int left  = (in[i  ] & 0xff) << 24 | (in[i+1] & 0xff) << 16 |
+                  (in[i+2] & 0xff) <<  8 | (in[i+3] & 0xff);
+      int right = (in[i+4] & 0xff) << 24 | (in[i+5] & 0xff) << 16 |
+                  (in[i+6] & 0xff) <<  8 | (in[i+7] & 0xff);
+      long x = blowfishDecrypt(left, right, (Context) k);
+      store(x, out, o);
    }
 
- // Own methods
+ // Own methods
    // -----------------------------------------------------------------
 
-   /** Encrypt a single pair of 32-bit integers. */
-   private void blowfishEncrypt(Block x, Context ctx) {
+   /**
+    * Fills a P- or S-box with successive encryptions, chained from a
+    * designated pair of words, and returns the last pair.
+    */
+   private static long expand(long x, int[] box, Context ctx) {
+      for (int i = 0; i < box.length; i += 2) {
+         x = blowfishEncrypt((int)(x >>> 32), (int) x, ctx);
+         box[i  ] = (int) x;
+         box[i+1] = (int)(x >>> 32);
+         x = (long) box[i] << 32 | box[i+1] & 0xFFFFFFFFL;
+      }
+      return x;
+   }
+
+   /** Stores the right word, then the left one, of an encrypted pair. */
+   private static void store(long x, byte[] out, int o) {
+      int left = (int)(x >>> 32), right = (int) x;
+      out[o  ] = (byte) (right >>> 24);
+      out[o+1] = (byte) (right >>> 16);
+      out[o+2] = (byte) (right >>>  8);
+      out[o+3] = (byte)  right;
+      out[o+4] = (byte) (left >>> 24);
+      out[o+5] = (byte) (left >>> 16);
+      out[o+6] = (byte) (left >>>  8);
+      out[o+7] = (byte)  left;
+   }
+
+   /**
+    * Encrypt a single pair of 32-bit integers, and return the result with
+    * the left word in the high half.
+    */
+   private static long blowfishEncrypt(int left, int right, Context ctx) {
       int[] p = ctx.p;
       int[] s0 = ctx.s0, s1 = ctx.s1, s2 = ctx.s2, s3 = ctx.s3;
-      x.left ^= p[0];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[1];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[2];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[3];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[4];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[5];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[6];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[7];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[8];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[9];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[10];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[11];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[12];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[13];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[14];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[15];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[16];
-      x.right ^= p[17];
-    }
- 
-    /** Decrypt a single pair of 32-bit integers. */
-    private void blowfishDecrypt(Block x, Context ctx) {
+      left ^= p[0];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[1];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[2];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[3];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[4];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[5];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[6];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[7];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[8];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[9];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[10];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[11];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[12];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[13];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[14];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[15];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[16];
+      right ^= p[17];
+      return (long) left << 32 | right & 0xFFFFFFFFL;
+   }
+
+   /**
+    * Decrypt a single pair of 32-bit integers, and return the result with
+    * the left word in the high half.
+    */
+   private static long blowfishDecrypt(int left, int right, Context ctx) {
       int[] p = ctx.p;
       int[] s0 = ctx.s0, s1 = ctx.s1, s2 = ctx.s2, s3 = ctx.s3;
-      x.left ^= p[17];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[16];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[15];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[14];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[13];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[12];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[11];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[10];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[9];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[8];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[7];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[6];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[5];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[4];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[3];
-      x.right ^= ((s0[x.left >>> 24] + s1[x.left >>> 16 & 0xff])
-              ^ s2[x.left >>> 8 & 0xff]) + s3[x.left & 0xff] ^ p[2];
-      x.left ^= ((s0[x.right >>> 24] + s1[x.right >>> 16 & 0xff])
-              ^ s2[x.right >>> 8 & 0xff]) + s3[x.right & 0xff] ^ p[1];
-      x.right ^= p[0];
+      left ^= p[17];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[16];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[15];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[14];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[13];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[12];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[11];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[10];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[9];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[8];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[7];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[6];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[5];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[4];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[3];
+      right ^= ((s0[left >>> 24] + s1[left >>> 16 & 0xff])
+              ^ s2[left >>> 8 & 0xff]) + s3[left & 0xff] ^ p[2];
+      left ^= ((s0[right >>> 24] + s1[right >>> 16 & 0xff])
+              ^ s2[right >>> 8 & 0xff]) + s3[right & 0xff] ^ p[1];
+      right ^= p[0];
+      return (long) left << 32 | right & 0xFFFFFFFFL;
    }
 
    public boolean selfTest() {
@@ -537,7 +553,7 @@ public class Blowfish extends BaseCipher {
    // -----------------------------------------------------------------------
 
    /** A simple wrapper for the P- and S-boxes. */
-   private class Context implements Cloneable {
+   private static class Context implements Cloneable {
 
       // Constants and variables.
       // --------------------------------------------------------------------
@@ -545,6 +561,9 @@ public class Blowfish extends BaseCipher {
       /** The P-array. */
       int[] p, s0, s1, s2, s3;
 
+      /** Whether this instance is in the shared cache, hence read-only. */
+      boolean shared;
+
       // Constructors.
       // --------------------------------------------------------------------
 
@@ -578,7 +597,4 @@ public class Blowfish extends BaseCipher {
       }
    }
 
-   private class Block {
-      int left, right;
-   }
 }
@@ -43,9 +43,11 @@ package gnu.crypto.cipher;
 // do so, delete this exception statement from your version.
 // ----------------------------------------------------------------------------
 
+import gnu.crypto.Properties;
 import gnu.crypto.Registry;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -59,6 +61,12 @@ public class CipherFactory implements Registry {
    // Constants and variables
    // -------------------------------------------------------------------------
 
+   /**
+    * Self-tested prototypes, keyed by lower-case algorithm name; replaced,
+    * never modified, when a prototype is added, so that look-ups take no lock.
+    */
+   private static volatile HashMap prototypes = new HashMap();
+
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -73,6 +81,11 @@ public class CipherFactory implements Registry {
    /**
     * <p>Returns an instance of a block cipher given its name.</p>
     *
+    * <p>The self-test of each algorithm is run the first time an instance
+    * of it is requested; later instances are cloned from a pristine, tested
+    * prototype, unless {@link Properties#isStrictSelfTest()} is
+    * <code>true</code>.</p>
+    *
     * @param name the case-insensitive name of the symmetric-key block cipher
     * algorithm.
     * @return an instance of the designated cipher algorithm, or
@@ -86,6 +99,43 @@ public class CipherFactory implements Registry {
       }
 
       name = name.trim();
+      final String key = name.toLowerCase();
+      final boolean strict = Properties.isStrictSelfTest();
+      if (!strict) {
+         final IBlockCipher prototype = (IBlockCipher) prototypes.get(key);
+         if (prototype != null) {
+            return (IBlockCipher) prototype.clone();
+         }
+      }
+
+      final IBlockCipher result = make(name);
+      if (result != null && !result.selfTest()) {
+         throw new InternalError(result.name());
+      }
+      if (result != null && !strict) {
+         addPrototype(key, make(name));
+      }
+
+      return result;
+   }
+
+   private static synchronized void
+   addPrototype(String key, IBlockCipher prototype) {
+      final HashMap map = new HashMap(prototypes);
+      map.put(key, prototype);
+      prototypes = map;
+   }
+
+   /**
+    * <p>Returns a new, untested, instance of a block cipher given its
+    * name.</p>
+    *
+    * @param name the case-insensitive name of the symmetric-key block cipher
+    * algorithm.
+    * @return an instance of the designated cipher algorithm, or
+    * <code>null</code> if none is found.
+    */
+   private static IBlockCipher make(String name) {
       IBlockCipher result = null;
       if (name.equalsIgnoreCase(ANUBIS_CIPHER)) {
          result = new Anubis();
@@ -98,6 +148,8 @@ public class CipherFactory implements Registry {
       } else if (name.equalsIgnoreCase(RIJNDAEL_CIPHER)
             || name.equalsIgnoreCase(AES_CIPHER)) {
          result = new Rijndael();
+      } else if (name.equalsIgnoreCase(AES_CT_CIPHER)) {
+         result = new ConstantTimeAES();
       } else if (name.equalsIgnoreCase(SERPENT_CIPHER)) {
          result = new Serpent();
       } else if (name.equalsIgnoreCase(SQUARE_CIPHER)) {
@@ -115,10 +167,6 @@ public class CipherFactory implements Registry {
          result = new NullCipher();
       }
 
-      if (result != null && !result.selfTest()) {
-         throw new InternalError(result.name());
-      }
-
       return result;
    }
 
@@ -135,6 +183,7 @@ public class CipherFactory implements Registry {
       hs.add(DES_CIPHER);
       hs.add(KHAZAD_CIPHER);
       hs.add(RIJNDAEL_CIPHER);
+      hs.add(AES_CT_CIPHER);
       hs.add(SERPENT_CIPHER);
       hs.add(SQUARE_CIPHER);
       hs.add(TRIPLEDES_CIPHER);
@@ -0,0 +1,652 @@
+package gnu.crypto.cipher;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+import gnu.crypto.Registry;
+import gnu.crypto.util.Util;
+
+import java.security.InvalidKeyException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * <p>A bitsliced implementation of the AES (Rijndael with a 128-bit block
+ * size), which uses no look-up tables and no branches that depend on the key
+ * or on the data, so that its running time and its memory accesses leak
+ * nothing through the caches of shared hosts. It computes the same function
+ * as {@link Rijndael} with 128-bit blocks.</p>
+ *
+ * <p>Four blocks are processed at once: their 512 bits are spread over eight
+ * 64-bit words, each holding one bit of every byte, and the S-box becomes a
+ * circuit of some 130 logical operations on these words. A single block
+ * costs as much as four, so this cipher is best used through
+ * {@link BaseCipher#encryptBlocks(byte[], int, byte[], int, int)}, as the
+ * counter, output feedback and electronic code book modes do.</p>
+ *
+ * <p>References:</p>
+ *
+ * <ol>
+ *    <li>Joan Boyar and Rene Peralta, <a
+ *    href="http://eprint.iacr.org/2011/332">A depth-16 circuit for the AES
+ *    S-box</a>.</li>
+ *    <li>Emilia K&auml;sper and Peter Schwabe, <a
+ *    href="http://eprint.iacr.org/2009/129">Faster and Timing-Attack
+ *    Resistant AES-GCM</a>.</li>
+ *    <li>Thomas Pornin, the <code>aes_ct64</code> implementation of <a
+ *    href="https://www.bearssl.org/">BearSSL</a>, whose data layout is used
+ *    here.</li>
+ * </ol>
+ *
+ * @version $Revision$
+ */
+public final class ConstantTimeAES extends BaseCipher {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final int DEFAULT_BLOCK_SIZE = 16; // in bytes
+   private static final int DEFAULT_KEY_SIZE = 16; // in bytes
+
+   /** The number of blocks processed in one pass. */
+   private static final int LANES = 4;
+
+   /**
+    * KAT vector (from ecb_vk):
+    * I=96
+    * KEY=0000000000000000000000010000000000000000000000000000000000000000
+    * CT=E44429474D6FC3084EB2A6B8B46AF754
+    */
+   private static final byte[] KAT_KEY =
+         Util.toBytesFromString("0000000000000000000000010000000000000000000000000000000000000000");
+   private static final byte[] KAT_CT =
+         Util.toBytesFromString("E44429474D6FC3084EB2A6B8B46AF754");
+
+   /** caches the result of the correctness test, once executed. */
+   private static Boolean valid;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   /** Trivial 0-arguments constructor. */
+   public ConstantTimeAES() {
+      super(Registry.AES_CT_CIPHER, DEFAULT_BLOCK_SIZE, DEFAULT_KEY_SIZE);
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Spreads one half of a block into a word: the bytes at
+    * <code>i</code>, <code>i+8</code>, <code>i+1</code>, <code>i+9</code>,
+    * ... <code>i+11</code>, from the least significant byte up.</p>
+    */
+   private static long interleave(byte[] in, int i) {
+      return (in[i     ] & 0xFFL)       | (in[i +  8] & 0xFFL) <<  8 |
+             (in[i +  1] & 0xFFL) << 16 | (in[i +  9] & 0xFFL) << 24 |
+             (in[i +  2] & 0xFFL) << 32 | (in[i + 10] & 0xFFL) << 40 |
+             (in[i +  3] & 0xFFL) << 48 | (in[i + 11] & 0xFFL) << 56;
+   }
+
+   /** The inverse of {@link #interleave(byte[], int)}. */
+   private static void deinterleave(long x, byte[] out, int o) {
+      out[o     ] = (byte)  x;
+      out[o +  8] = (byte)(x >>>  8);
+      out[o +  1] = (byte)(x >>> 16);
+      out[o +  9] = (byte)(x >>> 24);
+      out[o +  2] = (byte)(x >>> 32);
+      out[o + 10] = (byte)(x >>> 40);
+      out[o +  3] = (byte)(x >>> 48);
+      out[o + 11] = (byte)(x >>> 56);
+   }
+
+   /** Loads the block at <code>in[i]</code> into lane <code>b</code>. */
+   private static void load(byte[] in, int i, long[] q, int b) {
+      q[b    ] = interleave(in, i);
+      q[b + 4] = interleave(in, i + 4);
+   }
+
+   /** Stores lane <code>b</code> as the block at <code>out[o]</code>. */
+   private static void store(long[] q, int b, byte[] out, int o) {
+      deinterleave(q[b    ], out, o);
+      deinterleave(q[b + 4], out, o + 4);
+   }
+
+   /**
+    * <p>Transposes each 8x8 matrix of bits made of the same byte of the eight
+    * words, turning bytes into bit planes and back; it is its own inverse.
+    * Once transposed, <code>q[k]</code> holds bit <code>k</code> of each of
+    * the 64 bytes of the four blocks.</p>
+    */
+   private static void ortho(long[] q) {
+      swap(q, 0, 1, 0x5555555555555555L, 1);
+      swap(q, 2, 3, 0x5555555555555555L, 1);
+      swap(q, 4, 5, 0x5555555555555555L, 1);
+      swap(q, 6, 7, 0x5555555555555555L, 1);
+
+      swap(q, 0, 2, 0x3333333333333333L, 2);
+      swap(q, 1, 3, 0x3333333333333333L, 2);
+      swap(q, 4, 6, 0x3333333333333333L, 2);
+      swap(q, 5, 7, 0x3333333333333333L, 2);
+
+      swap(q, 0, 4, 0x0F0F0F0F0F0F0F0FL, 4);
+      swap(q, 1, 5, 0x0F0F0F0F0F0F0F0FL, 4);
+      swap(q, 2, 6, 0x0F0F0F0F0F0F0F0FL, 4);
+      swap(q, 3, 7, 0x0F0F0F0F0F0F0F0FL, 4);
+   }
+
+   private static void swap(long[] q, int x, int y, long cl, int s) {
+      final long a = q[x], b = q[y], ch = ~cl;
+      q[x] = (a & cl) | ((b & cl) << s);
+      q[y] = ((a & ch) >>> s) | (b & ch);
+   }
+
+   /**
+    * <p>The AES S-box, applied to the 64 bytes at once, as the circuit of
+    * Boyar and Peralta: a linear layer, a non-linear core of 32 ANDs for the
+    * inversion in GF(2<sup>8</sup>), and another linear layer.</p>
+    */
+   private static void sbox(long[] q) {
+      final long x0 = q[7], x1 = q[6], x2 = q[5], x3 = q[4],
+                 x4 = q[3], x5 = q[2], x6 = q[1], x7 = q[0];
+
+      // top linear transformation
+      final long y14 = x3 ^ x5;
+      final long y13 = x0 ^ x6;
+      final long y9 = x0 ^ x3;
+      final long y8 = x0 ^ x5;
+      final long t0 = x1 ^ x2;
+      final long y1 = t0 ^ x7;
+      final long y4 = y1 ^ x3;
+      final long y12 = y13 ^ y14;
+      final long y2 = y1 ^ x0;
+      final long y5 = y1 ^ x6;
+      final long y3 = y5 ^ y8;
+      final long t1 = x4 ^ y12;
+      final long y15 = t1 ^ x5;
+      final long y20 = t1 ^ x1;
+      final long y6 = y15 ^ x7;
+      final long y10 = y15 ^ t0;
+      final long y11 = y20 ^ y9;
+      final long y7 = x7 ^ y11;
+      final long y17 = y10 ^ y11;
+      final long y19 = y10 ^ y8;
+      final long y16 = t0 ^ y11;
+      final long y21 = y13 ^ y16;
+      final long y18 = x0 ^ y16;
+
+      // non-linear section
+      final long t2 = y12 & y15;
+      final long t3 = y3 & y6;
+      final long t4 = t3 ^ t2;
+      final long t5 = y4 & x7;
+      final long t6 = t5 ^ t2;
+      final long t7 = y13 & y16;
+      final long t8 = y5 & y1;
+      final long t9 = t8 ^ t7;
+      final long t10 = y2 & y7;
+      final long t11 = t10 ^ t7;
+      final long t12 = y9 & y11;
+      final long t13 = y14 & y17;
+      final long t14 = t13 ^ t12;
+      final long t15 = y8 & y10;
+      final long t16 = t15 ^ t12;
+      final long t17 = t4 ^ t14;
+      final long t18 = t6 ^ t16;
+      final long t19 = t9 ^ t14;
+      final long t20 = t11 ^ t16;
+      final long t21 = t17 ^ y20;
+      final long t22 = t18 ^ y19;
+      final long t23 = t19 ^ y21;
+      final long t24 = t20 ^ y18;
+
+      final long t25 = t21 ^ t22;
+      final long t26 = t21 & t23;
+      final long t27 = t24 ^ t26;
+      final long t28 = t25 & t27;
+      final long t29 = t28 ^ t22;
+      final long t30 = t23 ^ t24;
+      final long t31 = t22 ^ t26;
+      final long t32 = t31 & t30;
+      final long t33 = t32 ^ t24;
+      final long t34 = t23 ^ t33;
+      final long t35 = t27 ^ t33;
+      final long t36 = t24 & t35;
+      final long t37 = t36 ^ t34;
+      final long t38 = t27 ^ t36;
+      final long t39 = t29 & t38;
+      final long t40 = t25 ^ t39;
+
+      final long t41 = t40 ^ t37;
+      final long t42 = t29 ^ t33;
+      final long t43 = t29 ^ t40;
+      final long t44 = t33 ^ t37;
+      final long t45 = t42 ^ t41;
+      final long z0 = t44 & y15;
+      final long z1 = t37 & y6;
+      final long z2 = t33 & x7;
+      final long z3 = t43 & y16;
+      final long z4 = t40 & y1;
+      final long z5 = t29 & y7;
+      final long z6 = t42 & y11;
+      final long z7 = t45 & y17;
+      final long z8 = t41 & y10;
+      final long z9 = t44 & y12;
+      final long z10 = t37 & y3;
+      final long z11 = t33 & y4;
+      final long z12 = t43 & y13;
+      final long z13 = t40 & y5;
+      final long z14 = t29 & y2;
+      final long z15 = t42 & y9;
+      final long z16 = t45 & y14;
+      final long z17 = t41 & y8;
+
+      // bottom linear transformation
+      final long t46 = z15 ^ z16;
+      final long t47 = z10 ^ z11;
+      final long t48 = z5 ^ z13;
+      final long t49 = z9 ^ z10;
+      final long t50 = z2 ^ z12;
+      final long t51 = z2 ^ z5;
+      final long t52 = z7 ^ z8;
+      final long t53 = z0 ^ z3;
+      final long t54 = z6 ^ z7;
+      final long t55 = z16 ^ z17;
+      final long t56 = z12 ^ t48;
+      final long t57 = t50 ^ t53;
+      final long t58 = z4 ^ t46;
+      final long t59 = z3 ^ t54;
+      final long t60 = t46 ^ t57;
+      final long t61 = z14 ^ t57;
+      final long t62 = t52 ^ t58;
+      final long t63 = t49 ^ t58;
+      final long t64 = z4 ^ t59;
+      final long t65 = t61 ^ t62;
+      final long t66 = z1 ^ t63;
+      final long s0 = t59 ^ t63;
+      final long s6 = t56 ^ ~t62;
+      final long s7 = t48 ^ ~t60;
+      final long t67 = t64 ^ t65;
+      final long s3 = t53 ^ t66;
+      final long s4 = t51 ^ t66;
+      final long s5 = t47 ^ t65;
+      final long s1 = t64 ^ ~s3;
+      final long s2 = t55 ^ ~t67;
+
+      q[7] = s0; q[6] = s1; q[5] = s2; q[4] = s3;
+      q[3] = s4; q[2] = s5; q[1] = s6; q[0] = s7;
+   }
+
+   /**
+    * <p>The inverse S-box. Since the S-box is an inversion followed by an
+    * affine map <i>A</i>, its inverse is <i>A</i><sup>-1</sup> applied both
+    * before and after the S-box itself.</p>
+    */
+   private static void invSbox(long[] q) {
+      invAffine(q);
+      sbox(q);
+      invAffine(q);
+   }
+
+   private static void invAffine(long[] q) {
+      final long q0 = ~q[0], q1 = ~q[1], q2 = q[2], q3 = q[3],
+                 q4 = q[4], q5 = ~q[5], q6 = ~q[6], q7 = q[7];
+      q[7] = q1 ^ q4 ^ q6;
+      q[6] = q0 ^ q3 ^ q5;
+      q[5] = q7 ^ q2 ^ q4;
+      q[4] = q6 ^ q1 ^ q3;
+      q[3] = q5 ^ q0 ^ q2;
+      q[2] = q4 ^ q7 ^ q1;
+      q[1] = q3 ^ q6 ^ q0;
+      q[0] = q2 ^ q5 ^ q7;
+   }
+
+   private static void shiftRows(long[] q) {
+      for (int i = 0; i < 8; i++) {
+         final long x = q[i];
+         q[i] =  (x & 0x000000000000FFFFL)
+              | ((x & 0x00000000FFF00000L) >>>  4)
+              | ((x & 0x00000000000F0000L) <<  12)
+              | ((x & 0x0000FF0000000000L) >>>  8)
+              | ((x & 0x000000FF00000000L) <<   8)
+              | ((x & 0xF000000000000000L) >>> 12)
+              | ((x & 0x0FFF000000000000L) <<   4);
+      }
+   }
+
+   private static void invShiftRows(long[] q) {
+      for (int i = 0; i < 8; i++) {
+         final long x = q[i];
+         q[i] =  (x & 0x000000000000FFFFL)
+              | ((x & 0x000000000FFF0000L) <<   4)
+              | ((x & 0x00000000F0000000L) >>> 12)
+              | ((x & 0x000000FF00000000L) <<   8)
+              | ((x & 0x0000FF0000000000L) >>>  8)
+              | ((x & 0x000F000000000000L) <<  12)
+              | ((x & 0xFFF0000000000000L) >>>  4);
+      }
+   }
+
+   /**
+    * <p>MixColumns. Each 16 bits of a plane hold one row of the four blocks,
+    * so that <code>r</code>, the plane rotated by 16 bits, and a rotation by
+    * 32 bits, bring the other bytes of each column in place.</p>
+    */
+   private static void mixColumns(long[] q) {
+      final long q0 = q[0], q1 = q[1], q2 = q[2], q3 = q[3],
+                 q4 = q[4], q5 = q[5], q6 = q[6], q7 = q[7];
+      final long r0 = q0 >>> 16 | q0 << 48, r1 = q1 >>> 16 | q1 << 48,
+                 r2 = q2 >>> 16 | q2 << 48, r3 = q3 >>> 16 | q3 << 48,
+                 r4 = q4 >>> 16 | q4 << 48, r5 = q5 >>> 16 | q5 << 48,
+                 r6 = q6 >>> 16 | q6 << 48, r7 = q7 >>> 16 | q7 << 48;
+
+      q[0] = q7 ^ r7 ^ r0 ^ rotr32(q0 ^ r0);
+      q[1] = q0 ^ r0 ^ q7 ^ r7 ^ r1 ^ rotr32(q1 ^ r1);
+      q[2] = q1 ^ r1 ^ r2 ^ rotr32(q2 ^ r2);
+      q[3] = q2 ^ r2 ^ q7 ^ r7 ^ r3 ^ rotr32(q3 ^ r3);
+      q[4] = q3 ^ r3 ^ q7 ^ r7 ^ r4 ^ rotr32(q4 ^ r4);
+      q[5] = q4 ^ r4 ^ r5 ^ rotr32(q5 ^ r5);
+      q[6] = q5 ^ r5 ^ r6 ^ rotr32(q6 ^ r6);
+      q[7] = q6 ^ r6 ^ r7 ^ rotr32(q7 ^ r7);
+   }
+
+   private static void invMixColumns(long[] q) {
+      final long q0 = q[0], q1 = q[1], q2 = q[2], q3 = q[3],
+                 q4 = q[4], q5 = q[5], q6 = q[6], q7 = q[7];
+      final long r0 = q0 >>> 16 | q0 << 48, r1 = q1 >>> 16 | q1 << 48,
+                 r2 = q2 >>> 16 | q2 << 48, r3 = q3 >>> 16 | q3 << 48,
+                 r4 = q4 >>> 16 | q4 << 48, r5 = q5 >>> 16 | q5 << 48,
+                 r6 = q6 >>> 16 | q6 << 48, r7 = q7 >>> 16 | q7 << 48;
+
+      q[0] = q5 ^ q6 ^ q7 ^ r0 ^ r5 ^ r7
+           ^ rotr32(q0 ^ q5 ^ q6 ^ r0 ^ r5);
+      q[1] = q0 ^ q5 ^ r0 ^ r1 ^ r5 ^ r6 ^ r7
+           ^ rotr32(q1 ^ q5 ^ q7 ^ r1 ^ r5 ^ r6);
+      q[2] = q0 ^ q1 ^ q6 ^ r1 ^ r2 ^ r6 ^ r7
+           ^ rotr32(q0 ^ q2 ^ q6 ^ r2 ^ r6 ^ r7);
+      q[3] = q0 ^ q1 ^ q2 ^ q5 ^ q6 ^ r0 ^ r2 ^ r3 ^ r5
+           ^ rotr32(q0 ^ q1 ^ q3 ^ q5 ^ q6 ^ q7 ^ r0 ^ r3 ^ r5 ^ r7);
+      q[4] = q1 ^ q2 ^ q3 ^ q5 ^ r1 ^ r3 ^ r4 ^ r5 ^ r6 ^ r7
+           ^ rotr32(q1 ^ q2 ^ q4 ^ q5 ^ q7 ^ r1 ^ r4 ^ r5 ^ r6);
+      q[5] = q2 ^ q3 ^ q4 ^ q6 ^ r2 ^ r4 ^ r5 ^ r6 ^ r7
+           ^ rotr32(q2 ^ q3 ^ q5 ^ q6 ^ r2 ^ r5 ^ r6 ^ r7);
+      q[6] = q3 ^ q4 ^ q5 ^ q7 ^ r3 ^ r5 ^ r6 ^ r7
+           ^ rotr32(q3 ^ q4 ^ q6 ^ q7 ^ r3 ^ r6 ^ r7);
+      q[7] = q4 ^ q5 ^ q6 ^ r4 ^ r6 ^ r7
+           ^ rotr32(q4 ^ q5 ^ q7 ^ r4 ^ r7);
+   }
+
+   private static long rotr32(long x) {
+      return x << 32 | x >>> 32;
+   }
+
+   private static void addRoundKey(long[] q, long[] sk, int off) {
+      for (int i = 0; i < 8; i++) {
+         q[i] ^= sk[off + i];
+      }
+   }
+
+   /**
+    * <p>Applies the S-box to the four bytes of a word, in constant time.</p>
+    */
+   private static int subWord(int x) {
+      final long[] q = new long[8];
+      q[0] = x & 0xFFFFFFFFL;
+      ortho(q);
+      sbox(q);
+      ortho(q);
+      return (int) q[0];
+   }
+
+   /** Encrypts <code>n</code> (at most four) consecutive blocks. */
+   private static void
+   bitslicedEncrypt(byte[] in, int i, byte[] out, int o, long[] sk, int n) {
+      final long[] q = new long[8];
+      for (int b = 0; b < n; b++) {
+         load(in, i + 16*b, q, b);
+      }
+      ortho(q);
+
+      final int rounds = sk.length / 8 - 1;
+      addRoundKey(q, sk, 0);
+      for (int r = 1; r < rounds; r++) {
+         sbox(q);
+         shiftRows(q);
+         mixColumns(q);
+         addRoundKey(q, sk, 8*r);
+      }
+      sbox(q);
+      shiftRows(q);
+      addRoundKey(q, sk, 8*rounds);
+
+      ortho(q);
+      for (int b = 0; b < n; b++) {
+         store(q, b, out, o + 16*b);
+      }
+   }
+
+   /** Decrypts <code>n</code> (at most four) consecutive blocks. */
+   private static void
+   bitslicedDecrypt(byte[] in, int i, byte[] out, int o, long[] sk, int n) {
+      final long[] q = new long[8];
+      for (int b = 0; b < n; b++) {
+         load(in, i + 16*b, q, b);
+      }
+      ortho(q);
+
+      final int rounds = sk.length / 8 - 1;
+      addRoundKey(q, sk, 8*rounds);
+      for (int r = rounds - 1; r > 0; r--) {
+         invShiftRows(q);
+         invSbox(q);
+         addRoundKey(q, sk, 8*r);
+         invMixColumns(q);
+      }
+      invShiftRows(q);
+      invSbox(q);
+      addRoundKey(q, sk, 0);
+
+      ortho(q);
+      for (int b = 0; b < n; b++) {
+         store(q, b, out, o + 16*b);
+      }
+   }
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   // java.lang.Cloneable interface implementation ----------------------------
+
+   public Object clone() {
+      ConstantTimeAES result = new ConstantTimeAES();
+      result.currentBlockSize = this.currentBlockSize;
+
+      return result;
+   }
+
+   // IBlockCipherSpi interface implementation --------------------------------
+
+   public Iterator blockSizes() {
+      ArrayList al = new ArrayList();
+      al.add(new Integer(DEFAULT_BLOCK_SIZE));
+
+      return Collections.unmodifiableList(al).iterator();
+   }
+
+   public Iterator keySizes() {
+      ArrayList al = new ArrayList();
+      al.add(new Integer(128 / 8));
+      al.add(new Integer(192 / 8));
+      al.add(new Integer(256 / 8));
+
+      return Collections.unmodifiableList(al).iterator();
+   }
+
+   /**
+    * <p>Expands a user-supplied key material into a session key: the round
+    * keys, each bitsliced as four copies of itself would be, so that adding
+    * one to the state is eight XORs. The S-box of the key expansion is the
+    * same circuit as that of the cipher.</p>
+    *
+    * @param k the 128/192/256-bit user-key to use.
+    * @param bs the block size in bytes; must be 16.
+    * @return an Object encapsulating the session key.
+    * @exception IllegalArgumentException if the block size is not 16.
+    * @exception InvalidKeyException if the key data is invalid.
+    */
+   public Object makeKey(byte[] k, int bs) throws InvalidKeyException {
+      if (k == null) {
+         throw new InvalidKeyException("Empty key");
+      }
+      if (!(k.length == 16 || k.length == 24 || k.length == 32)) {
+         throw new InvalidKeyException("Incorrect key length");
+      }
+      if (bs != DEFAULT_BLOCK_SIZE) {
+         throw new IllegalArgumentException();
+      }
+
+      final int Nk = k.length / 4;
+      final int rounds = Nk + 6;
+      final int[] w = new int[4 * (rounds + 1)];
+      int i, j;
+      for (i = 0, j = 0; i < Nk; ) {
+         w[i++] =  k[j++]         << 24 |
+                  (k[j++] & 0xFF) << 16 |
+                  (k[j++] & 0xFF) <<  8 |
+                  (k[j++] & 0xFF);
+      }
+      int rcon = 1;
+      for (i = Nk; i < w.length; i++) {
+         int t = w[i - 1];
+         if (i % Nk == 0) {
+            t = subWord(t << 8 | t >>> 24) ^ rcon << 24;
+            rcon = (rcon << 1) ^ ((rcon >>> 7) * 0x11B);
+         } else if (Nk > 6 && i % Nk == 4) {
+            t = subWord(t);
+         }
+         w[i] = w[i - Nk] ^ t;
+      }
+
+      final long[] sk = new long[8 * (rounds + 1)];
+      final long[] q = new long[8];
+      final byte[] rk = new byte[DEFAULT_BLOCK_SIZE];
+      for (int r = 0; r <= rounds; r++) {
+         for (i = 0, j = 0; i < 4; i++) {
+            final int t = w[4*r + i];
+            rk[j++] = (byte)(t >>> 24);
+            rk[j++] = (byte)(t >>> 16);
+            rk[j++] = (byte)(t >>>  8);
+            rk[j++] = (byte) t;
+         }
+         for (int b = 0; b < LANES; b++) {
+            load(rk, 0, q, b);
+         }
+         ortho(q);
+         System.arraycopy(q, 0, sk, 8*r, 8);
+      }
+
+      return sk;
+   }
+
+   public void encrypt(byte[] in, int i, byte[] out, int j, Object k, int bs) {
+      if (bs != DEFAULT_BLOCK_SIZE) {
+         throw new IllegalArgumentException();
+      }
+
+      bitslicedEncrypt(in, i, out, j, (long[]) k, 1);
+   }
+
+   public void decrypt(byte[] in, int i, byte[] out, int j, Object k, int bs) {
+      if (bs != DEFAULT_BLOCK_SIZE) {
+         throw new IllegalArgumentException();
+      }
+
+      bitslicedDecrypt(in, i, out, j, (long[]) k, 1);
+   }
+
+   public boolean selfTest() {
+      if (valid == null) {
+         boolean result = super.selfTest(); // do symmetry tests
+         if (result) {
+            result = testKat(KAT_KEY, KAT_CT);
+         }
+         valid = new Boolean(result);
+      }
+      return valid.booleanValue();
+   }
+
+   // multi-block operations --------------------------------------------------
+
+   /**
+    * <p>Encrypts a run of blocks four at a time; the last pass may carry
+    * fewer, in which case the spare lanes are encrypted for nothing.</p>
+    */
+   protected void
+   encrypt(byte[] in, int i, byte[] out, int o, Object k, int bs, int count) {
+      if (bs != DEFAULT_BLOCK_SIZE) {
+         throw new IllegalArgumentException();
+      }
+
+      final long[] sk = (long[]) k;
+      for ( ; count > 0; count -= LANES, i += 16*LANES, o += 16*LANES) {
+         bitslicedEncrypt(in, i, out, o, sk, Math.min(count, LANES));
+      }
+   }
+
+   /**
+    * <p>Decrypts a run of blocks four at a time, as
+    * {@link #encrypt(byte[], int, byte[], int, Object, int, int)} does.</p>
+    */
+   protected void
+   decrypt(byte[] in, int i, byte[] out, int o, Object k, int bs, int count) {
+      if (bs != DEFAULT_BLOCK_SIZE) {
+         throw new IllegalArgumentException();
+      }
+
+      final long[] sk = (long[]) k;
+      for ( ; count > 0; count -= LANES, i += 16*LANES, o += 16*LANES) {
+         bitslicedDecrypt(in, i, out, o, sk, Math.min(count, LANES));
+      }
+   }
+}
@@ -565,6 +565,131 @@ public class DES extends BaseCipher {
       out[o  ] = (byte) left;
    }
 
+   /**
+    * <p>Three chained DES operations on one or more consecutive blocks, as
+    * used by {@link TripleDES}. The 64-bit state is kept in two ints across
+    * the three passes: the initial permutation is applied once on load, the
+    * 48 rounds run back to back (the halves being swapped between passes),
+    * and the final permutation is applied once on store.</p>
+    *
+    * @param in The input bytes.
+    * @param i The starting offset into the input bytes.
+    * @param out The output bytes.
+    * @param o The starting offset into the output bytes.
+    * @param k1 The working key of the first pass.
+    * @param k2 The working key of the second pass.
+    * @param k3 The working key of the third pass.
+    * @param count The number of 8-byte blocks to process.
+    */
+   static void desFunc3(byte[] in, int i, byte[] out, int o,
+                        int[] k1, int[] k2, int[] k3, int count) {
+      int right, left, work, t, k, round, pass;
+      int[] key;
+
+      while (count-- > 0) {
+         // Load.
+         left  = (in[i++] & 0xff) << 24 | (in[i++] & 0xff) << 16
+               | (in[i++] & 0xff) <<  8 |  in[i++] & 0xff;
+         right = (in[i++] & 0xff) << 24 | (in[i++] & 0xff) << 16
+               | (in[i++] & 0xff) <<  8 |  in[i++] & 0xff;
+
+         // Initial permutation.
+         work  = ((left >>>  4) ^ right) & 0x0F0F0F0F;
+         left  ^= work << 4;
+         right ^= work;
+
+         work  = ((left >>> 16) ^ right) & 0x0000FFFF;
+         left  ^= work << 16;
+         right ^= work;
+
+         work  = ((right >>>  2) ^ left) & 0x33333333;
+         right ^= work << 2;
+         left  ^= work;
+
+         work  = ((right >>>  8) ^ left) & 0x00FF00FF;
+         right ^= work << 8;
+         left  ^= work;
+
+         right = (right << 1) | (right >>> 31);
+         work = (left ^ right) & 0xAAAAAAAA;
+         left  ^= work;
+         right ^= work;
+         left = (left << 1) | (left >>> 31);
+
+         for (pass = 0; pass < 3; pass++) {
+            key = pass == 0 ? k1 : (pass == 1 ? k2 : k3);
+            k = 0;
+            for (round = 0; round < 8; round++) {
+               work = right >>> 4 | right << 28;
+               work ^= key[k++];
+               t  = SP7[work & 0x3F]; work >>>= 8;
+               t |= SP5[work & 0x3F]; work >>>= 8;
+               t |= SP3[work & 0x3F]; work >>>= 8;
+               t |= SP1[work & 0x3F];
+               work = right ^ key[k++];
+               t |= SP8[work & 0x3F]; work >>>= 8;
+               t |= SP6[work & 0x3F]; work >>>= 8;
+               t |= SP4[work & 0x3F]; work >>>= 8;
+               t |= SP2[work & 0x3F];
+               left ^= t;
+
+               work = left >>> 4 | left << 28;
+               work ^= key[k++];
+               t  = SP7[work & 0x3F]; work >>>= 8;
+               t |= SP5[work & 0x3F]; work >>>= 8;
+               t |= SP3[work & 0x3F]; work >>>= 8;
+               t |= SP1[work & 0x3F];
+               work = left ^ key[k++];
+               t |= SP8[work & 0x3F]; work >>>= 8;
+               t |= SP6[work & 0x3F]; work >>>= 8;
+               t |= SP4[work & 0x3F]; work >>>= 8;
+               t |= SP2[work & 0x3F];
+               right ^= t;
+            }
+
+            // Storing then reloading a block swaps its two halves; FP and
+            // IP in between cancel each other out.
+            if (pass < 2) {
+               work = left;
+               left = right;
+               right = work;
+            }
+         }
+
+         // The final permutation.
+         right = (right << 31) | (right >>> 1);
+         work = (left ^ right) & 0xAAAAAAAA;
+         left  ^= work;
+         right ^= work;
+         left = (left << 31) | (left >>> 1);
+
+         work = ((left >>> 8) ^ right) & 0x00FF00FF;
+         left ^= work << 8;
+         right ^= work;
+
+         work = ((left >>> 2) ^ right) & 0x33333333;
+         left  ^= work << 2;
+         right ^= work;
+
+         work = ((right >>> 16) ^ left) & 0x0000FFFF;
+         right ^= work << 16;
+         left  ^= work;
+
+         work = ((right >>> 4) ^ left) & 0x0F0F0F0F;
+         right ^= work << 4;
+         left  ^= work;
+
+         out[o++] = (byte)(right >>> 24);
+         out[o++] = (byte)(right >>> 16);
+         out[o++] = (byte)(right >>>  8);
+         out[o++] = (byte) right;
+         out[o++] = (byte)(left >>> 24);
+         out[o++] = (byte)(left >>> 16);
+         out[o++] = (byte)(left >>>  8);
+         out[o++] = (byte) left;
+      }
+   }
+
    // Instance methods implementing BaseCipher
    // -------------------------------------------------------------------------
 
@@ -0,0 +1,199 @@
+package gnu.crypto.cipher;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+import gnu.crypto.hash.Sha160;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>A bounded cache of session keys, shared by all the instances of the
+ * ciphers with a costly key schedule, so that re-keying to a recently used
+ * key is nearly free. The least recently used session key is dropped when the
+ * cache is full.</p>
+ *
+ * <p>The cache is only used when enabled by the
+ * {@link gnu.crypto.Properties#KEY_SCHEDULE_CACHE} property. It never holds
+ * the key material itself: session keys are looked up by a SHA-1 digest of
+ * the key, and digests are compared in time independent of their values. The
+ * session keys are key-equivalent, though, and stay in memory until dropped
+ * or cleared.</p>
+ *
+ * <p>The cached session keys are shared, hence must never be modified. Their
+ * ciphers mark them so, and never expand a new key into one of them.</p>
+ *
+ * @version $Revision$
+ * @see gnu.crypto.Properties#KEY_SCHEDULE_CACHE
+ */
+final class KeyScheduleCache {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** The maximum number of session keys held, for all the ciphers. */
+   static final int CAPACITY = 64;
+
+   /** The session keys, least recently used first. */
+   private static final LinkedHashMap cache =
+         new LinkedHashMap(CAPACITY * 4 / 3 + 1, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry eldest) {
+               return size() > CAPACITY;
+            }
+         };
+
+   /** Whether session keys may have been cached since the last clearing. */
+   private static volatile boolean used = false;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   /** Trivial constructor to enforce Singleton pattern. */
+   private KeyScheduleCache() {
+      super();
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Returns the cached session key of a cipher for a designated key and
+    * block size.</p>
+    *
+    * @param cipher the canonical name of the cipher.
+    * @param k the key material.
+    * @param bs the block size in bytes.
+    * @return the cached session key, or <code>null</code> if none.
+    */
+   static Object get(String cipher, byte[] k, int bs) {
+      final Entry entry = new Entry(cipher, k, bs);
+      synchronized (cache) {
+         return cache.get(entry);
+      }
+   }
+
+   /**
+    * <p>Caches the session key of a cipher for a designated key and block
+    * size. Only a digest of the key material is kept.</p>
+    *
+    * @param cipher the canonical name of the cipher.
+    * @param k the key material.
+    * @param bs the block size in bytes.
+    * @param sessionKey the read-only session key.
+    */
+   static void put(String cipher, byte[] k, int bs, Object sessionKey) {
+      final Entry entry = new Entry(cipher, k, bs);
+      synchronized (cache) {
+         used = true;
+         cache.put(entry, sessionKey);
+      }
+   }
+
+   /**
+    * <p>Drops all the cached session keys, if there may be any. Ciphers call
+    * it on every key expansion while the cache is disabled, so it only takes
+    * the lock when session keys were cached.</p>
+    */
+   static void release() {
+      if (used) {
+         clear();
+      }
+   }
+
+   /** Drops all the cached session keys. */
+   static void clear() {
+      synchronized (cache) {
+         cache.clear();
+         used = false;
+      }
+   }
+
+   /** Returns the number of cached session keys. */
+   static int size() {
+      synchronized (cache) {
+         return cache.size();
+      }
+   }
+
+   // Inner class(es)
+   // =========================================================================
+
+   /** The look-up key of a session key. */
+   private static final class Entry {
+
+      private final String cipher;
+      private final int bs;
+      private final byte[] digest;
+      private final int hash;
+
+      Entry(String cipher, byte[] k, int bs) {
+         super();
+
+         this.cipher = cipher;
+         this.bs = bs;
+         final Sha160 md = new Sha160();
+         md.update(k, 0, k.length);
+         this.digest = md.digest();
+         this.hash = (cipher.hashCode() * 31 + bs) * 31
+               + (digest[0] << 24 | (digest[1] & 0xFF) << 16
+                  | (digest[2] & 0xFF) << 8 | (digest[3] & 0xFF));
+      }
+
+      public int hashCode() {
+         return hash;
+      }
+
+      public boolean equals(Object obj) {
+         if (!(obj instanceof Entry)) {
+            return false;
+         }
+         Entry that = (Entry) obj;
+         int diff = 0;
+         for (int i = 0; i < digest.length; i++) {
+            diff |= digest[i] ^ that.digest[i];
+         }
+         return diff == 0 && bs == that.bs && cipher.equals(that.cipher);
+      }
+   }
+}
@@ -70,6 +70,12 @@ import java.util.Iterator;
  * <a href="http://www.ii.uib.no/~osvik/">Dag Arne Osvik</a>, which are
  * optimized for the Pentium family of processors.</p>
  *
+ * <p>Runs of consecutive blocks, as passed to the bulk methods of
+ * {@link BaseCipher}, are processed two at a time, one per 32-bit lane of
+ * <code>long</code> registers.</p>
+ *
+ * <p>This file is the source of truth for Serpent; it is not generated.</p>
+ *
  * <p>References:</p>
  *
  * <ol>
@@ -91,6 +97,23 @@ public class Serpent extends BaseCipher {
    /** The fractional part of the golden ratio, (sqrt(5)+1)/2. */
    private static final int PHI = 0x9e3779b9;
 
+   /**
+    * Lane masks of the two-block engine: HI<i>n</i> keeps, in each 32-bit half
+    * of a long, the bits that a left shift by <i>n</i> leaves within that half.
+    */
+   private static final long HI1 = 0xFFFFFFFEFFFFFFFEL;
+   private static final long HI3 = 0xFFFFFFF8FFFFFFF8L;
+   private static final long HI5 = 0xFFFFFFE0FFFFFFE0L;
+   private static final long HI7 = 0xFFFFFF80FFFFFF80L;
+   private static final long HI10 = 0xFFFFFC00FFFFFC00L;
+   private static final long HI13 = 0xFFFFE000FFFFE000L;
+   private static final long HI19 = 0xFFF80000FFF80000L;
+   private static final long HI22 = 0xFFC00000FFC00000L;
+   private static final long HI25 = 0xFE000000FE000000L;
+   private static final long HI27 = 0xF8000000F8000000L;
+   private static final long HI29 = 0xE0000000E0000000L;
+   private static final long HI31 = 0x8000000080000000L;
+
    /**
     * KAT vector (from ecb_vk):
     * I=9
@@ -396,6 +419,49 @@ public class Serpent extends BaseCipher {
       out[o+15] = (byte)(x3 >>> 24);
    }
 
+   /**
+    * <p>Encrypts consecutive blocks two at a time, one per 32-bit lane of
+    * <code>long</code> registers, with the same S-box sequences as the one
+    * block path; a last odd block is encrypted alone.</p>
+    */
+   protected void
+   encrypt(byte[] in, int i, byte[] out, int o, Object K, int bs, int count) {
+      final long[] kk = ((Key) K).wide();
+      final long[] x = new long[5];
+      for ( ; count > 1; count -= 2, i += 32, o += 32) {
+         load2(in, i, x);
+         encrypt2R0(x, kk);
+         encrypt2R8(x, kk);
+         encrypt2R16(x, kk);
+         encrypt2R24(x, kk);
+         store2(x[0], x[1], x[2], x[3], out, o);
+      }
+      if (count == 1) {
+         encrypt(in, i, out, o, K, bs);
+      }
+   }
+
+   /**
+    * <p>Decrypts consecutive blocks two at a time; see
+    * {@link #encrypt(byte[], int, byte[], int, Object, int, int)}.</p>
+    */
+   protected void
+   decrypt(byte[] in, int i, byte[] out, int o, Object K, int bs, int count) {
+      final long[] kk = ((Key) K).wide();
+      final long[] x = new long[5];
+      for ( ; count > 1; count -= 2, i += 32, o += 32) {
+         load2(in, i, x);
+         decrypt2R31(x, kk);
+         decrypt2R23(x, kk);
+         decrypt2R15(x, kk);
+         decrypt2R7(x, kk);
+         store2(x[2], x[3], x[1], x[4], out, o);
+      }
+      if (count == 1) {
+         decrypt(in, i, out, o, K, bs);
+      }
+   }
+
    public boolean selfTest() {
       if (valid == null) {
          boolean result = super.selfTest(); // do symmetry tests
@@ -409,6 +475,758 @@ public class Serpent extends BaseCipher {
 
    // Own methods. ----------------------------------------------------------
 
+   // The two-block engine is maintained by hand; no generator emits it. It
+   // is the single-block round code, with every rotation masked per 32-bit
+   // lane by the HIn constants, and with each subkey repeated in both lanes
+   // of kk[]. It is split in stages of eight rounds, passing the registers
+   // in x[], to keep each method small enough to be compiled.
+
+   /** Rounds 0 to 7 of the two-block encryption. */
+   private static void encrypt2R0(long[] x, long[] kk) {
+      long x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4];
+
+      x3 ^= kk[3]; x2 ^= kk[2]; x1 ^= kk[1]; x0 ^= kk[0];
+
+      x4 =  x3; x3 |= x0; x0 ^= x4; x4 ^= x2; x4 = ~x4; x3 ^= x1; x1 &= x0;
+      x1 ^= x4; x2 ^= x0; x0 ^= x3; x4 |= x0; x0 ^= x2; x2 &= x1; x3 ^= x2;
+      x1 = ~x1; x2 ^= x4; x1 ^= x2;
+      x2 = (x2 << 13) & HI13 | (x2 >>> 19) & ~HI13; x3 = (x3 << 3) & HI3 | (x3 >>> 29) & ~HI3;
+      x1 ^= x2; x4 = (x2 << 3) & HI3; x0 ^= x3; x1 ^= x3;
+      x1 = (x1 << 1) & HI1 | (x1 >>> 31) & ~HI1; x0 ^= x4;
+      x0 = (x0 << 7) & HI7 | (x0 >>> 25) & ~HI7; x4 = x1; x2 ^= x1; x4 = (x4 << 7) & HI7; x3 ^= x0;
+      x2 ^= x0; x3 ^= x4; x0 ^= kk[7]; x1 ^= kk[5];
+      x2 = (x2 << 5) & HI5 | (x2 >>> 27) & ~HI5; x3 = (x3 << 22) & HI22 | (x3 >>> 10) & ~HI22;
+      x2 ^= kk[4]; x3 ^= kk[6];
+
+      x4 =  x1; x1 ^= x2; x2 ^= x0; x0 = ~x0; x4 &= x1; x2 |= x1; x0 ^= x3;
+      x2 ^= x0; x1 ^= x0; x0 ^= x4; x1 |= x4; x4 ^= x3; x3 &= x2; x3 ^= x1;
+      x1 |= x2; x2 = ~x2; x2 ^= x3; x4 ^= x1;
+      x4 = (x4 << 13) & HI13 | (x4 >>> 19) & ~HI13; x0 = (x0 << 3) & HI3 | (x0 >>> 29) & ~HI3;
+      x3 ^= x4; x1 = (x4 << 3) & HI3; x2 ^= x0; x3 ^= x0;
+      x3 = (x3 << 1) & HI1 | (x3 >>> 31) & ~HI1; x2 ^= x1;
+      x2 = (x2 << 7) & HI7 | (x2 >>> 25) & ~HI7; x1 = x3; x4 ^= x3; x1 = (x1 << 7) & HI7; x0 ^= x2;
+      x4 ^= x2; x0 ^= x1; x2 ^= kk[11]; x3 ^= kk[9];
+      x4 = (x4 << 5) & HI5 | (x4 >>> 27) & ~HI5; x0 = (x0 << 22) & HI22 | (x0 >>> 10) & ~HI22;
+      x4 ^= kk[8]; x0 ^= kk[10];
+
+      x2 = ~x2; x3 ^= x4; x1 =  x4; x4 &= x0; x4 ^= x2; x2 |= x1; x0 ^= x3;
+      x2 ^= x3; x3 &= x4; x4 ^= x0; x0 &= x2; x2 |= x3; x4 = ~x4; x2 ^= x4;
+      x1 ^= x4; x4 ^= x0; x3 |= x0;
+      x1 = (x1 << 13) & HI13 | (x1 >>> 19) & ~HI13; x4 = (x4 << 3) & HI3 | (x4 >>> 29) & ~HI3;
+      x3 ^= x1; x0 = (x1 << 3) & HI3; x2 ^= x4; x3 ^= x4;
+      x3 = (x3 << 1) & HI1 | (x3 >>> 31) & ~HI1; x2 ^= x0;
+      x2 = (x2 << 7) & HI7 | (x2 >>> 25) & ~HI7; x0 = x3; x1 ^= x3; x0 = (x0 << 7) & HI7; x4 ^= x2;
+      x1 ^= x2; x4 ^= x0; x2 ^= kk[15]; x3 ^= kk[13];
+      x1 = (x1 << 5) & HI5 | (x1 >>> 27) & ~HI5; x4 = (x4 << 22) & HI22 | (x4 >>> 10) & ~HI22;
+      x1 ^= kk[12]; x4 ^= kk[14];
+
+      x0 =  x3; x3 ^= x2; x2 |= x1; x0 &= x1; x1 ^= x4; x4 ^= x3; x3 &= x2;
+      x4 ^= x2; x1 |= x0; x0 ^= x2; x3 ^= x1; x1 &= x2; x2 &= x0; x2 ^= x4;
+      x0 |= x3; x4 &= x3; x0 ^= x2; x1 ^= x2; x2 ^= x4;
+      x2 = (x2 << 13) & HI13 | (x2 >>> 19) & ~HI13; x3 = (x3 << 3) & HI3 | (x3 >>> 29) & ~HI3;
+      x0 ^= x2; x4 = (x2 << 3) & HI3; x1 ^= x3; x0 ^= x3;
+      x0 = (x0 << 1) & HI1 | (x0 >>> 31) & ~HI1; x1 ^= x4;
+      x1 = (x1 << 7) & HI7 | (x1 >>> 25) & ~HI7; x4 = x0; x2 ^= x0; x4 = (x4 << 7) & HI7; x3 ^= x1;
+      x2 ^= x1; x3 ^= x4; x1 ^= kk[19]; x0 ^= kk[17];
+      x2 = (x2 << 5) & HI5 | (x2 >>> 27) & ~HI5; x3 = (x3 << 22) & HI22 | (x3 >>> 10) & ~HI22;
+      x2 ^= kk[16]; x3 ^= kk[18];
+
+      x4 =  x1; x1 &= x2; x2 ^= x4; x1 ^= x3; x3 |= x4; x2 ^= x0; x4 ^= x1;
+      x3 |= x2; x3 ^= x0; x0 &= x2; x0 ^= x4; x4 &= x3; x3 ^= x1; x4 ^= x2;
+      x1 |= x0; x0 = ~x0; x1 ^= x2;
+      x0 = (x0 << 13) & HI13 | (x0 >>> 19) & ~HI13; x1 = (x1 << 3) & HI3 | (x1 >>> 29) & ~HI3;
+      x3 ^= x0; x2 = (x0 << 3) & HI3; x4 ^= x1; x3 ^= x1;
+      x3 = (x3 << 1) & HI1 | (x3 >>> 31) & ~HI1; x4 ^= x2;
+      x4 = (x4 << 7) & HI7 | (x4 >>> 25) & ~HI7; x2 = x3; x0 ^= x3; x2 = (x2 << 7) & HI7; x1 ^= x4;
+      x0 ^= x4; x1 ^= x2; x4 ^= kk[23]; x3 ^= kk[21];
+      x0 = (x0 << 5) & HI5 | (x0 >>> 27) & ~HI5; x1 = (x1 << 22) & HI22 | (x1 >>> 10) & ~HI22;
+      x0 ^= kk[20]; x1 ^= kk[22];
+
+      x2 =  x3; x3 |= x0; x1 ^= x3; x4 = ~x4; x2 ^= x0; x0 ^= x1; x3 &= x2;
+      x2 |= x4; x2 ^= x0; x0 &= x4; x3 ^= x4; x4 ^= x1; x0 ^= x3; x1 &= x2;
+      x3 ^= x1; x1 &= x0; x4 ^= x1;
+      x2 = (x2 << 13) & HI13 | (x2 >>> 19) & ~HI13; x3 = (x3 << 3) & HI3 | (x3 >>> 29) & ~HI3;
+      x0 ^= x2; x1 = (x2 << 3) & HI3; x4 ^= x3; x0 ^= x3;
+      x0 = (x0 << 1) & HI1 | (x0 >>> 31) & ~HI1; x4 ^= x1;
+      x4 = (x4 << 7) & HI7 | (x4 >>> 25) & ~HI7; x1 = x0; x2 ^= x0; x1 = (x1 << 7) & HI7; x3 ^= x4;
+      x2 ^= x4; x3 ^= x1; x4 ^= kk[27]; x0 ^= kk[25];
+      x2 = (x2 << 5) & HI5 | (x2 >>> 27) & ~HI5; x3 = (x3 << 22) & HI22 | (x3 >>> 10) & ~HI22;
+      x2 ^= kk[24]; x3 ^= kk[26];
+
+      x1 =  x0; x4 ^= x2; x0 ^= x3; x3 ^= x2; x2 &= x4; x0 |= x4; x1 = ~x1;
+      x2 ^= x0; x0 ^= x3; x4 ^= x1; x1 ^= x2; x3 &= x2; x1 ^= x0; x3 ^= x4;
+      x4 &= x0; x4 ^= x2; x0 ^= x3;
+      x3 = (x3 << 13) & HI13 | (x3 >>> 19) & ~HI13; x0 = (x0 << 3) & HI3 | (x0 >>> 29) & ~HI3;
+      x1 ^= x3; x2 = (x3 << 3) & HI3; x4 ^= x0; x1 ^= x0;
+      x1 = (x1 << 1) & HI1 | (x1 >>> 31) & ~HI1; x4 ^= x2;
+      x4 = (x4 << 7) & HI7 | (x4 >>> 25) & ~HI7; x2 = x1; x3 ^= x1; x2 = (x2 << 7) & HI7; x0 ^= x4;
+      x3 ^= x4; x0 ^= x2; x4 ^= kk[31]; x1 ^= kk[29];
+      x3 = (x3 << 5) & HI5 | (x3 >>> 27) & ~HI5; x0 = (x0 << 22) & HI22 | (x0 >>> 10) & ~HI22;
+      x3 ^= kk[28]; x0 ^= kk[30];
+
+      x1 = ~x1; x2 =  x1; x3 = ~x3; x1 &= x0; x1 ^= x4; x4 |= x2; x2 ^= x0;
+      x0 ^= x4; x4 ^= x3; x3 |= x1; x0 &= x3; x3 ^= x2; x2 ^= x4; x4 &= x3;
+      x2 ^= x1; x0 ^= x2; x4 ^= x1; x2 |= x3; x2 ^= x1;
+      x2 = (x2 << 13) & HI13 | (x2 >>> 19) & ~HI13; x4 = (x4 << 3) & HI3 | (x4 >>> 29) & ~HI3;
+      x0 ^= x2; x1 = (x2 << 3) & HI3; x3 ^= x4; x0 ^= x4;
+      x0 = (x0 << 1) & HI1 | (x0 >>> 31) & ~HI1; x3 ^= x1;
+      x3 = (x3 << 7) & HI7 | (x3 >>> 25) & ~HI7; x1 = x0; x2 ^= x0; x1 = (x1 << 7) & HI7; x4 ^= x3;
+      x2 ^= x3; x4 ^= x1; x3 ^= kk[35]; x0 ^= kk[33];
+      x2 = (x2 << 5) & HI5 | (x2 >>> 27) & ~HI5; x4 = (x4 << 22) & HI22 | (x4 >>> 10) & ~HI22;
+      x2 ^= kk[32]; x4 ^= kk[34];
+      x[0] = x0; x[1] = x1; x[2] = x2; x[3] = x3; x[4] = x4;
+   }
+
+   /** Rounds 8 to 15 of the two-block encryption. */
+   private static void encrypt2R8(long[] x, long[] kk) {
+      long x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4];
+
+      x1 =  x3; x3 |= x2; x2 ^= x1; x1 ^= x4; x1 = ~x1; x3 ^= x0; x0 &= x2;
+      x0 ^= x1; x4 ^= x2; x2 ^= x3; x1 |= x2; x2 ^= x4; x4 &= x0; x3 ^= x4;
+      x0 = ~x0; x4 ^= x1; x0 ^= x4;
+      x4 = (x4 << 13) & HI13 | (x4 >>> 19) & ~HI13; x3 = (x3 << 3) & HI3 | (x3 >>> 29) & ~HI3;
+      x0 ^= x4; x1 = (x4 << 3) & HI3; x2 ^= x3; x0 ^= x3;
+      x0 = (x0 << 1) & HI1 | (x0 >>> 31) & ~HI1; x2 ^= x1;
+      x2 = (x2 << 7) & HI7 | (x2 >>> 25) & ~HI7; x1 = x0; x4 ^= x0; x1 = (x1 << 7) & HI7; x3 ^= x2;
+      x4 ^= x2; x3 ^= x1; x2 ^= kk[39]; x0 ^= kk[37];
+      x4 = (x4 << 5) & HI5 | (x4 >>> 27) & ~HI5; x3 = (x3 << 22) & HI22 | (x3 >>> 10) & ~HI22;
+      x4 ^= kk[36]; x3 ^= kk[38];
+
+      x1 =  x0; x0 ^= x4; x4 ^= x2; x2 = ~x2; x1 &= x0; x4 |= x0; x2 ^= x3;
+      x4 ^= x2; x0 ^= x2; x2 ^= x1; x0 |= x1; x1 ^= x3; x3 &= x4; x3 ^= x0;
+      x0 |= x4; x4 = ~x4; x4 ^= x3; x1 ^= x0;
+      x1 = (x1 << 13) & HI13 | (x1 >>> 19) & ~HI13; x2 = (x2 << 3) & HI3 | (x2 >>> 29) & ~HI3;
+      x3 ^= x1; x0 = (x1 << 3) & HI3; x4 ^= x2; x3 ^= x2;
+      x3 = (x3 << 1) & HI1 | (x3 >>> 31) & ~HI1; x4 ^= x0;
+      x4 = (x4 << 7) & HI7 | (x4 >>> 25) & ~HI7; x0 = x3; x1 ^= x3; x0 = (x0 << 7) & HI7; x2 ^= x4;
+      x1 ^= x4; x2 ^= x0; x4 ^= kk[43]; x3 ^= kk[41];
+      x1 = (x1 << 5) & HI5 | (x1 >>> 27) & ~HI5; x2 = (x2 << 22) & HI22 | (x2 >>> 10) & ~HI22;
+      x1 ^= kk[40]; x2 ^= kk[42];
+
+      x4 = ~x4; x3 ^= x1; x0 =  x1; x1 &= x2; x1 ^= x4; x4 |= x0; x2 ^= x3;
+      x4 ^= x3; x3 &= x1; x1 ^= x2; x2 &= x4; x4 |= x3; x1 = ~x1; x4 ^= x1;
+      x0 ^= x1; x1 ^= x2; x3 |= x2;
+      x0 = (x0 << 13) & HI13 | (x0 >>> 19) & ~HI13; x1 = (x1 << 3) & HI3 | (x1 >>> 29) & ~HI3;
+      x3 ^= x0; x2 = (x0 << 3) & HI3; x4 ^= x1; x3 ^= x1;
+      x3 = (x3 << 1) & HI1 | (x3 >>> 31) & ~HI1; x4 ^= x2;
+      x4 = (x4 << 7) & HI7 | (x4 >>> 25) & ~HI7; x2 = x3; x0 ^= x3; x2 = (x2 << 7) & HI7; x1 ^= x4;
+      x0 ^= x4; x1 ^= x2; x4 ^= kk[47]; x3 ^= kk[45];
+      x0 = (x0 << 5) & HI5 | (x0 >>> 27) & ~HI5; x1 = (x1 << 22) & HI22 | (x1 >>> 10) & ~HI22;
+      x0 ^= kk[44]; x1 ^= kk[46];
+
+      x2 =  x3; x3 ^= x4; x4 |= x0; x2 &= x0; x0 ^= x1; x1 ^= x3; x3 &= x4;
+      x1 ^= x4; x0 |= x2; x2 ^= x4; x3 ^= x0; x0 &= x4; x4 &= x2; x4 ^= x1;
+      x2 |= x3; x1 &= x3; x2 ^= x4; x0 ^= x4; x4 ^= x1;
+      x4 = (x4 << 13) & HI13 | (x4 >>> 19) & ~HI13; x3 = (x3 << 3) & HI3 | (x3 >>> 29) & ~HI3;
+      x2 ^= x4; x1 = (x4 << 3) & HI3; x0 ^= x3; x2 ^= x3;
+      x2 = (x2 << 1) & HI1 | (x2 >>> 31) & ~HI1; x0 ^= x1;
+      x0 = (x0 << 7) & HI7 | (x0 >>> 25) & ~HI7; x1 = x2; x4 ^= x2; x1 = (x1 << 7) & HI7; x3 ^= x0;
+      x4 ^= x0; x3 ^= x1; x0 ^= kk[51]; x2 ^= kk[49];
+      x4 = (x4 << 5) & HI5 | (x4 >>> 27) & ~HI5; x3 = (x3 << 22) & HI22 | (x3 >>> 10) & ~HI22;
+      x4 ^= kk[48]; x3 ^= kk[50];
+
+      x1 =  x0; x0 &= x4; x4 ^= x1; x0 ^= x3; x3 |= x1; x4 ^= x2; x1 ^= x0;
+      x3 |= x4; x3 ^= x2; x2 &= x4; x2 ^= x1; x1 &= x3; x3 ^= x0; x1 ^= x4;
+      x0 |= x2; x2 = ~x2; x0 ^= x4;
+      x2 = (x2 << 13) & HI13 | (x2 >>> 19) & ~HI13; x0 = (x0 << 3) & HI3 | (x0 >>> 29) & ~HI3;
+      x3 ^= x2; x4 = (x2 << 3) & HI3; x1 ^= x0; x3 ^= x0;
+      x3 = (x3 << 1) & HI1 | (x3 >>> 31) & ~HI1; x1 ^= x4;
+      x1 = (x1 << 7) & HI7 | (x1 >>> 25) & ~HI7; x4 = x3; x2 ^= x3; x4 = (x4 << 7) & HI7; x0 ^= x1;
+      x2 ^= x1; x0 ^= x4; x1 ^= kk[55]; x3 ^= kk[53];
+      x2 = (x2 << 5) & HI5 | (x2 >>> 27) & ~HI5; x0 = (x0 << 22) & HI22 | (x0 >>> 10) & ~HI22;
+      x2 ^= kk[52]; x0 ^= kk[54];
+
+      x4 =  x3; x3 |= x2; x0 ^= x3; x1 = ~x1; x4 ^= x2; x2 ^= x0; x3 &= x4;
+      x4 |= x1; x4 ^= x2; x2 &= x1; x3 ^= x1; x1 ^= x0; x2 ^= x3; x0 &= x4;
+      x3 ^= x0; x0 &= x2; x1 ^= x0;
+      x4 = (x4 << 13) & HI13 | (x4 >>> 19) & ~HI13; x3 = (x3 << 3) & HI3 | (x3 >>> 29) & ~HI3;
+      x2 ^= x4; x0 = (x4 << 3) & HI3; x1 ^= x3; x2 ^= x3;
+      x2 = (x2 << 1) & HI1 | (x2 >>> 31) & ~HI1; x1 ^= x0;
+      x1 = (x1 << 7) & HI7 | (x1 >>> 25) & ~HI7; x0 = x2; x4 ^= x2; x0 = (x0 << 7) & HI7; x3 ^= x1;
+      x4 ^= x1; x3 ^= x0; x1 ^= kk[59]; x2 ^= kk[57];
+      x4 = (x4 << 5) & HI5 | (x4 >>> 27) & ~HI5; x3 = (x3 << 22) & HI22 | (x3 >>> 10) & ~HI22;
+      x4 ^= kk[56]; x3 ^= kk[58];
+
+      x0 =  x2; x1 ^= x4; x2 ^= x3; x3 ^= x4; x4 &= x1; x2 |= x1; x0 = ~x0;
+      x4 ^= x2; x2 ^= x3; x1 ^= x0; x0 ^= x4; x3 &= x4; x0 ^= x2; x3 ^= x1;
+      x1 &= x2; x1 ^= x4; x2 ^= x3;
+      x3 = (x3 << 13) & HI13 | (x3 >>> 19) & ~HI13; x2 = (x2 << 3) & HI3 | (x2 >>> 29) & ~HI3;
+      x0 ^= x3; x4 = (x3 << 3) & HI3; x1 ^= x2; x0 ^= x2;
+      x0 = (x0 << 1) & HI1 | (x0 >>> 31) & ~HI1; x1 ^= x4;
+      x1 = (x1 << 7) & HI7 | (x1 >>> 25) & ~HI7; x4 = x0; x3 ^= x0; x4 = (x4 << 7) & HI7; x2 ^= x1;
+      x3 ^= x1; x2 ^= x4; x1 ^= kk[63]; x0 ^= kk[61];
+      x3 = (x3 << 5) & HI5 | (x3 >>> 27) & ~HI5; x2 = (x2 << 22) & HI22 | (x2 >>> 10) & ~HI22;
+      x3 ^= kk[60]; x2 ^= kk[62];
+
+      x0 = ~x0; x4 =  x0; x3 = ~x3; x0 &= x2; x0 ^= x1; x1 |= x4; x4 ^= x2;
+      x2 ^= x1; x1 ^= x3; x3 |= x0; x2 &= x3; x3 ^= x4; x4 ^= x1; x1 &= x3;
+      x4 ^= x0; x2 ^= x4; x1 ^= x0; x4 |= x3; x4 ^= x0;
+      x4 = (x4 << 13) & HI13 | (x4 >>> 19) & ~HI13; x1 = (x1 << 3) & HI3 | (x1 >>> 29) & ~HI3;
+      x2 ^= x4; x0 = (x4 << 3) & HI3; x3 ^= x1; x2 ^= x1;
+      x2 = (x2 << 1) & HI1 | (x2 >>> 31) & ~HI1; x3 ^= x0;
+      x3 = (x3 << 7) & HI7 | (x3 >>> 25) & ~HI7; x0 = x2; x4 ^= x2; x0 = (x0 << 7) & HI7; x1 ^= x3;
+      x4 ^= x3; x1 ^= x0; x3 ^= kk[67]; x2 ^= kk[65];
+      x4 = (x4 << 5) & HI5 | (x4 >>> 27) & ~HI5; x1 = (x1 << 22) & HI22 | (x1 >>> 10) & ~HI22;
+      x4 ^= kk[64]; x1 ^= kk[66];
+      x[0] = x0; x[1] = x1; x[2] = x2; x[3] = x3; x[4] = x4;
+   }
+
+   /** Rounds 16 to 23 of the two-block encryption. */
+   private static void encrypt2R16(long[] x, long[] kk) {
+      long x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4];
+
+      x0 =  x3; x3 |= x4; x4 ^= x0; x0 ^= x1; x0 = ~x0; x3 ^= x2; x2 &= x4;
+      x2 ^= x0; x1 ^= x4; x4 ^= x3; x0 |= x4; x4 ^= x1; x1 &= x2; x3 ^= x1;
+      x2 = ~x2; x1 ^= x0; x2 ^= x1;
+      x1 = (x1 << 13) & HI13 | (x1 >>> 19) & ~HI13; x3 = (x3 << 3) & HI3 | (x3 >>> 29) & ~HI3;
+      x2 ^= x1; x0 = (x1 << 3) & HI3; x4 ^= x3; x2 ^= x3;
+      x2 = (x2 << 1) & HI1 | (x2 >>> 31) & ~HI1; x4 ^= x0;
+      x4 = (x4 << 7) & HI7 | (x4 >>> 25) & ~HI7; x0 = x2; x1 ^= x2; x0 = (x0 << 7) & HI7; x3 ^= x4;
+      x1 ^= x4; x3 ^= x0; x4 ^= kk[71]; x2 ^= kk[69];
+      x1 = (x1 << 5) & HI5 | (x1 >>> 27) & ~HI5; x3 = (x3 << 22) & HI22 | (x3 >>> 10) & ~HI22;
+      x1 ^= kk[68]; x3 ^= kk[70];
+
+      x0 =  x2; x2 ^= x1; x1 ^= x4; x4 = ~x4; x0 &= x2; x1 |= x2; x4 ^= x3;
+      x1 ^= x4; x2 ^= x4; x4 ^= x0; x2 |= x0; x0 ^= x3; x3 &= x1; x3 ^= x2;
+      x2 |= x1; x1 = ~x1; x1 ^= x3; x0 ^= x2;
+      x0 = (x0 << 13) & HI13 | (x0 >>> 19) & ~HI13; x4 = (x4 << 3) & HI3 | (x4 >>> 29) & ~HI3;
+      x3 ^= x0; x2 = (x0 << 3) & HI3; x1 ^= x4; x3 ^= x4;
+      x3 = (x3 << 1) & HI1 | (x3 >>> 31) & ~HI1; x1 ^= x2;
+      x1 = (x1 << 7) & HI7 | (x1 >>> 25) & ~HI7; x2 = x3; x0 ^= x3; x2 = (x2 << 7) & HI7; x4 ^= x1;
+      x0 ^= x1; x4 ^= x2; x1 ^= kk[75]; x3 ^= kk[73];
+      x0 = (x0 << 5) & HI5 | (x0 >>> 27) & ~HI5; x4 = (x4 << 22) & HI22 | (x4 >>> 10) & ~HI22;
+      x0 ^= kk[72]; x4 ^= kk[74];
+
+      x1 = ~x1; x3 ^= x0; x2 =  x0; x0 &= x4; x0 ^= x1; x1 |= x2; x4 ^= x3;
+      x1 ^= x3; x3 &= x0; x0 ^= x4; x4 &= x1; x1 |= x3; x0 = ~x0; x1 ^= x0;
+      x2 ^= x0; x0 ^= x4; x3 |= x4;
+      x2 = (x2 << 13) & HI13 | (x2 >>> 19) & ~HI13; x0 = (x0 << 3) & HI3 | (x0 >>> 29) & ~HI3;
+      x3 ^= x2; x4 = (x2 << 3) & HI3; x1 ^= x0; x3 ^= x0;
+      x3 = (x3 << 1) & HI1 | (x3 >>> 31) & ~HI1; x1 ^= x4;
+      x1 = (x1 << 7) & HI7 | (x1 >>> 25) & ~HI7; x4 = x3; x2 ^= x3; x4 = (x4 << 7) & HI7; x0 ^= x1;
+      x2 ^= x1; x0 ^= x4; x1 ^= kk[79]; x3 ^= kk[77];
+      x2 = (x2 << 5) & HI5 | (x2 >>> 27) & ~HI5; x0 = (x0 << 22) & HI22 | (x0 >>> 10) & ~HI22;
+      x2 ^= kk[76]; x0 ^= kk[78];
+
+      x4 =  x3; x3 ^= x1; x1 |= x2; x4 &= x2; x2 ^= x0; x0 ^= x3; x3 &= x1;
+      x0 ^= x1; x2 |= x4; x4 ^= x1; x3 ^= x2; x2 &= x1; x1 &= x4; x1 ^= x0;
+      x4 |= x3; x0 &= x3; x4 ^= x1; x2 ^= x1; x1 ^= x0;
+      x1 = (x1 << 13) & HI13 | (x1 >>> 19) & ~HI13; x3 = (x3 << 3) & HI3 | (x3 >>> 29) & ~HI3;
+      x4 ^= x1; x0 = (x1 << 3) & HI3; x2 ^= x3; x4 ^= x3;
+      x4 = (x4 << 1) & HI1 | (x4 >>> 31) & ~HI1; x2 ^= x0;
+      x2 = (x2 << 7) & HI7 | (x2 >>> 25) & ~HI7; x0 = x4; x1 ^= x4; x0 = (x0 << 7) & HI7; x3 ^= x2;
+      x1 ^= x2; x3 ^= x0; x2 ^= kk[83]; x4 ^= kk[81];
+      x1 = (x1 << 5) & HI5 | (x1 >>> 27) & ~HI5; x3 = (x3 << 22) & HI22 | (x3 >>> 10) & ~HI22;
+      x1 ^= kk[80]; x3 ^= kk[82];
+
+      x0 =  x2; x2 &= x1; x1 ^= x0; x2 ^= x3; x3 |= x0; x1 ^= x4; x0 ^= x2;
+      x3 |= x1; x3 ^= x4; x4 &= x1; x4 ^= x0; x0 &= x3; x3 ^= x2; x0 ^= x1;
+      x2 |= x4; x4 = ~x4; x2 ^= x1;
+      x4 = (x4 << 13) & HI13 | (x4 >>> 19) & ~HI13; x2 = (x2 << 3) & HI3 | (x2 >>> 29) & ~HI3;
+      x3 ^= x4; x1 = (x4 << 3) & HI3; x0 ^= x2; x3 ^= x2;
+      x3 = (x3 << 1) & HI1 | (x3 >>> 31) & ~HI1; x0 ^= x1;
+      x0 = (x0 << 7) & HI7 | (x0 >>> 25) & ~HI7; x1 = x3; x4 ^= x3; x1 = (x1 << 7) & HI7; x2 ^= x0;
+      x4 ^= x0; x2 ^= x1; x0 ^= kk[87]; x3 ^= kk[85];
+      x4 = (x4 << 5) & HI5 | (x4 >>> 27) & ~HI5; x2 = (x2 << 22) & HI22 | (x2 >>> 10) & ~HI22;
+      x4 ^= kk[84]; x2 ^= kk[86];
+
+      x1 =  x3; x3 |= x4; x2 ^= x3; x0 = ~x0; x1 ^= x4; x4 ^= x2; x3 &= x1;
+      x1 |= x0; x1 ^= x4; x4 &= x0; x3 ^= x0; x0 ^= x2; x4 ^= x3; x2 &= x1;
+      x3 ^= x2; x2 &= x4; x0 ^= x2;
+      x1 = (x1 << 13) & HI13 | (x1 >>> 19) & ~HI13; x3 = (x3 << 3) & HI3 | (x3 >>> 29) & ~HI3;
+      x4 ^= x1; x2 = (x1 << 3) & HI3; x0 ^= x3; x4 ^= x3;
+      x4 = (x4 << 1) & HI1 | (x4 >>> 31) & ~HI1; x0 ^= x2;
+      x0 = (x0 << 7) & HI7 | (x0 >>> 25) & ~HI7; x2 = x4; x1 ^= x4; x2 = (x2 << 7) & HI7; x3 ^= x0;
+      x1 ^= x0; x3 ^= x2; x0 ^= kk[91]; x4 ^= kk[89];
+      x1 = (x1 << 5) & HI5 | (x1 >>> 27) & ~HI5; x3 = (x3 << 22) & HI22 | (x3 >>> 10) & ~HI22;
+      x1 ^= kk[88]; x3 ^= kk[90];
+
+      x2 =  x4; x0 ^= x1; x4 ^= x3; x3 ^= x1; x1 &= x0; x4 |= x0; x2 = ~x2;
+      x1 ^= x4; x4 ^= x3; x0 ^= x2; x2 ^= x1; x3 &= x1; x2 ^= x4; x3 ^= x0;
+      x0 &= x4; x0 ^= x1; x4 ^= x3;
+      x3 = (x3 << 13) & HI13 | (x3 >>> 19) & ~HI13; x4 = (x4 << 3) & HI3 | (x4 >>> 29) & ~HI3;
+      x2 ^= x3; x1 = (x3 << 3) & HI3; x0 ^= x4; x2 ^= x4;
+      x2 = (x2 << 1) & HI1 | (x2 >>> 31) & ~HI1; x0 ^= x1;
+      x0 = (x0 << 7) & HI7 | (x0 >>> 25) & ~HI7; x1 = x2; x3 ^= x2; x1 = (x1 << 7) & HI7; x4 ^= x0;
+      x3 ^= x0; x4 ^= x1; x0 ^= kk[95]; x2 ^= kk[93];
+      x3 = (x3 << 5) & HI5 | (x3 >>> 27) & ~HI5; x4 = (x4 << 22) & HI22 | (x4 >>> 10) & ~HI22;
+      x3 ^= kk[92]; x4 ^= kk[94];
+
+      x2 = ~x2; x1 =  x2; x3 = ~x3; x2 &= x4; x2 ^= x0; x0 |= x1; x1 ^= x4;
+      x4 ^= x0; x0 ^= x3; x3 |= x2; x4 &= x3; x3 ^= x1; x1 ^= x0; x0 &= x3;
+      x1 ^= x2; x4 ^= x1; x0 ^= x2; x1 |= x3; x1 ^= x2;
+      x1 = (x1 << 13) & HI13 | (x1 >>> 19) & ~HI13; x0 = (x0 << 3) & HI3 | (x0 >>> 29) & ~HI3;
+      x4 ^= x1; x2 = (x1 << 3) & HI3; x3 ^= x0; x4 ^= x0;
+      x4 = (x4 << 1) & HI1 | (x4 >>> 31) & ~HI1; x3 ^= x2;
+      x3 = (x3 << 7) & HI7 | (x3 >>> 25) & ~HI7; x2 = x4; x1 ^= x4; x2 = (x2 << 7) & HI7; x0 ^= x3;
+      x1 ^= x3; x0 ^= x2; x3 ^= kk[99]; x4 ^= kk[97];
+      x1 = (x1 << 5) & HI5 | (x1 >>> 27) & ~HI5; x0 = (x0 << 22) & HI22 | (x0 >>> 10) & ~HI22;
+      x1 ^= kk[96]; x0 ^= kk[98];
+      x[0] = x0; x[1] = x1; x[2] = x2; x[3] = x3; x[4] = x4;
+   }
+
+   /** Rounds 24 to 31 of the two-block encryption. */
+   private static void encrypt2R24(long[] x, long[] kk) {
+      long x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4];
+
+      x2 =  x3; x3 |= x1; x1 ^= x2; x2 ^= x0; x2 = ~x2; x3 ^= x4; x4 &= x1;
+      x4 ^= x2; x0 ^= x1; x1 ^= x3; x2 |= x1; x1 ^= x0; x0 &= x4; x3 ^= x0;
+      x4 = ~x4; x0 ^= x2; x4 ^= x0;
+      x0 = (x0 << 13) & HI13 | (x0 >>> 19) & ~HI13; x3 = (x3 << 3) & HI3 | (x3 >>> 29) & ~HI3;
+      x4 ^= x0; x2 = (x0 << 3) & HI3; x1 ^= x3; x4 ^= x3;
+      x4 = (x4 << 1) & HI1 | (x4 >>> 31) & ~HI1; x1 ^= x2;
+      x1 = (x1 << 7) & HI7 | (x1 >>> 25) & ~HI7; x2 = x4; x0 ^= x4; x2 = (x2 << 7) & HI7; x3 ^= x1;
+      x0 ^= x1; x3 ^= x2; x1 ^= kk[103]; x4 ^= kk[101];
+      x0 = (x0 << 5) & HI5 | (x0 >>> 27) & ~HI5; x3 = (x3 << 22) & HI22 | (x3 >>> 10) & ~HI22;
+      x0 ^= kk[100]; x3 ^= kk[102];
+
+      x2 =  x4; x4 ^= x0; x0 ^= x1; x1 = ~x1; x2 &= x4; x0 |= x4; x1 ^= x3;
+      x0 ^= x1; x4 ^= x1; x1 ^= x2; x4 |= x2; x2 ^= x3; x3 &= x0; x3 ^= x4;
+      x4 |= x0; x0 = ~x0; x0 ^= x3; x2 ^= x4;
+      x2 = (x2 << 13) & HI13 | (x2 >>> 19) & ~HI13; x1 = (x1 << 3) & HI3 | (x1 >>> 29) & ~HI3;
+      x3 ^= x2; x4 = (x2 << 3) & HI3; x0 ^= x1; x3 ^= x1;
+      x3 = (x3 << 1) & HI1 | (x3 >>> 31) & ~HI1; x0 ^= x4;
+      x0 = (x0 << 7) & HI7 | (x0 >>> 25) & ~HI7; x4 = x3; x2 ^= x3; x4 = (x4 << 7) & HI7; x1 ^= x0;
+      x2 ^= x0; x1 ^= x4; x0 ^= kk[107]; x3 ^= kk[105];
+      x2 = (x2 << 5) & HI5 | (x2 >>> 27) & ~HI5; x1 = (x1 << 22) & HI22 | (x1 >>> 10) & ~HI22;
+      x2 ^= kk[104]; x1 ^= kk[106];
+
+      x0 = ~x0; x3 ^= x2; x4 =  x2; x2 &= x1; x2 ^= x0; x0 |= x4; x1 ^= x3;
+      x0 ^= x3; x3 &= x2; x2 ^= x1; x1 &= x0; x0 |= x3; x2 = ~x2; x0 ^= x2;
+      x4 ^= x2; x2 ^= x1; x3 |= x1;
+      x4 = (x4 << 13) & HI13 | (x4 >>> 19) & ~HI13; x2 = (x2 << 3) & HI3 | (x2 >>> 29) & ~HI3;
+      x3 ^= x4; x1 = (x4 << 3) & HI3; x0 ^= x2; x3 ^= x2;
+      x3 = (x3 << 1) & HI1 | (x3 >>> 31) & ~HI1; x0 ^= x1;
+      x0 = (x0 << 7) & HI7 | (x0 >>> 25) & ~HI7; x1 = x3; x4 ^= x3; x1 = (x1 << 7) & HI7; x2 ^= x0;
+      x4 ^= x0; x2 ^= x1; x0 ^= kk[111]; x3 ^= kk[109];
+      x4 = (x4 << 5) & HI5 | (x4 >>> 27) & ~HI5; x2 = (x2 << 22) & HI22 | (x2 >>> 10) & ~HI22;
+      x4 ^= kk[108]; x2 ^= kk[110];
+
+      x1 =  x3; x3 ^= x0; x0 |= x4; x1 &= x4; x4 ^= x2; x2 ^= x3; x3 &= x0;
+      x2 ^= x0; x4 |= x1; x1 ^= x0; x3 ^= x4; x4 &= x0; x0 &= x1; x0 ^= x2;
+      x1 |= x3; x2 &= x3; x1 ^= x0; x4 ^= x0; x0 ^= x2;
+      x0 = (x0 << 13) & HI13 | (x0 >>> 19) & ~HI13; x3 = (x3 << 3) & HI3 | (x3 >>> 29) & ~HI3;
+      x1 ^= x0; x2 = (x0 << 3) & HI3; x4 ^= x3; x1 ^= x3;
+      x1 = (x1 << 1) & HI1 | (x1 >>> 31) & ~HI1; x4 ^= x2;
+      x4 = (x4 << 7) & HI7 | (x4 >>> 25) & ~HI7; x2 = x1; x0 ^= x1; x2 = (x2 << 7) & HI7; x3 ^= x4;
+      x0 ^= x4; x3 ^= x2; x4 ^= kk[115]; x1 ^= kk[113];
+      x0 = (x0 << 5) & HI5 | (x0 >>> 27) & ~HI5; x3 = (x3 << 22) & HI22 | (x3 >>> 10) & ~HI22;
+      x0 ^= kk[112]; x3 ^= kk[114];
+
+      x2 =  x4; x4 &= x0; x0 ^= x2; x4 ^= x3; x3 |= x2; x0 ^= x1; x2 ^= x4;
+      x3 |= x0; x3 ^= x1; x1 &= x0; x1 ^= x2; x2 &= x3; x3 ^= x4; x2 ^= x0;
+      x4 |= x1; x1 = ~x1; x4 ^= x0;
+      x1 = (x1 << 13) & HI13 | (x1 >>> 19) & ~HI13; x4 = (x4 << 3) & HI3 | (x4 >>> 29) & ~HI3;
+      x3 ^= x1; x0 = (x1 << 3) & HI3; x2 ^= x4; x3 ^= x4;
+      x3 = (x3 << 1) & HI1 | (x3 >>> 31) & ~HI1; x2 ^= x0;
+      x2 = (x2 << 7) & HI7 | (x2 >>> 25) & ~HI7; x0 = x3; x1 ^= x3; x0 = (x0 << 7) & HI7; x4 ^= x2;
+      x1 ^= x2; x4 ^= x0; x2 ^= kk[119]; x3 ^= kk[117];
+      x1 = (x1 << 5) & HI5 | (x1 >>> 27) & ~HI5; x4 = (x4 << 22) & HI22 | (x4 >>> 10) & ~HI22;
+      x1 ^= kk[116]; x4 ^= kk[118];
+
+      x0 =  x3; x3 |= x1; x4 ^= x3; x2 = ~x2; x0 ^= x1; x1 ^= x4; x3 &= x0;
+      x0 |= x2; x0 ^= x1; x1 &= x2; x3 ^= x2; x2 ^= x4; x1 ^= x3; x4 &= x0;
+      x3 ^= x4; x4 &= x1; x2 ^= x4;
+      x0 = (x0 << 13) & HI13 | (x0 >>> 19) & ~HI13; x3 = (x3 << 3) & HI3 | (x3 >>> 29) & ~HI3;
+      x1 ^= x0; x4 = (x0 << 3) & HI3; x2 ^= x3; x1 ^= x3;
+      x1 = (x1 << 1) & HI1 | (x1 >>> 31) & ~HI1; x2 ^= x4;
+      x2 = (x2 << 7) & HI7 | (x2 >>> 25) & ~HI7; x4 = x1; x0 ^= x1; x4 = (x4 << 7) & HI7; x3 ^= x2;
+      x0 ^= x2; x3 ^= x4; x2 ^= kk[123]; x1 ^= kk[121];
+      x0 = (x0 << 5) & HI5 | (x0 >>> 27) & ~HI5; x3 = (x3 << 22) & HI22 | (x3 >>> 10) & ~HI22;
+      x0 ^= kk[120]; x3 ^= kk[122];
+
+      x4 =  x1; x2 ^= x0; x1 ^= x3; x3 ^= x0; x0 &= x2; x1 |= x2; x4 = ~x4;
+      x0 ^= x1; x1 ^= x3; x2 ^= x4; x4 ^= x0; x3 &= x0; x4 ^= x1; x3 ^= x2;
+      x2 &= x1; x2 ^= x0; x1 ^= x3;
+      x3 = (x3 << 13) & HI13 | (x3 >>> 19) & ~HI13; x1 = (x1 << 3) & HI3 | (x1 >>> 29) & ~HI3;
+      x4 ^= x3; x0 = (x3 << 3) & HI3; x2 ^= x1; x4 ^= x1;
+      x4 = (x4 << 1) & HI1 | (x4 >>> 31) & ~HI1; x2 ^= x0;
+      x2 = (x2 << 7) & HI7 | (x2 >>> 25) & ~HI7; x0 = x4; x3 ^= x4; x0 = (x0 << 7) & HI7; x1 ^= x2;
+      x3 ^= x2; x1 ^= x0; x2 ^= kk[127]; x4 ^= kk[125];
+      x3 = (x3 << 5) & HI5 | (x3 >>> 27) & ~HI5; x1 = (x1 << 22) & HI22 | (x1 >>> 10) & ~HI22;
+      x3 ^= kk[124]; x1 ^= kk[126];
+
+      x4 = ~x4; x0 =  x4; x3 = ~x3; x4 &= x1; x4 ^= x2; x2 |= x0; x0 ^= x1;
+      x1 ^= x2; x2 ^= x3; x3 |= x4; x1 &= x3; x3 ^= x0; x0 ^= x2; x2 &= x3;
+      x0 ^= x4; x1 ^= x0; x2 ^= x4; x0 |= x3; x0 ^= x4;
+      x3 ^= kk[131]; x2 ^= kk[130]; x1 ^= kk[129]; x0 ^= kk[128];
+      x[0] = x0; x[1] = x1; x[2] = x2; x[3] = x3; x[4] = x4;
+   }
+
+   /** Rounds 31 down to 24 of the two-block decryption. */
+   private static void decrypt2R31(long[] x, long[] kk) {
+      long x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4];
+
+      x3 ^= kk[131]; x2 ^= kk[130]; x1 ^= kk[129]; x0 ^= kk[128];
+
+      x4 =  x3; x3 &= x0; x0 ^= x2; x2 |= x4; x4 ^= x1; x0 = ~x0; x1 |= x3;
+      x4 ^= x0; x0 &= x2; x0 ^= x1; x1 &= x2; x3 ^= x2; x4 ^= x3; x2 &= x3;
+      x3 |= x0; x1 ^= x4; x3 ^= x4; x4 &= x0; x4 ^= x2;
+      x1 ^= kk[124]; x3 ^= kk[125]; x0 ^= kk[126]; x4 ^= kk[127];
+      x1 = (x1 << 27) & HI27 | (x1 >>> 5) & ~HI27; x0 = (x0 << 10) & HI10 | (x0 >>> 22) & ~HI10;
+      x2 = x3; x0 ^= x4; x1 ^= x4; x2 = (x2 << 7) & HI7; x1 ^= x3;
+      x3 = (x3 << 31) & HI31 | (x3 >>> 1) & ~HI31; x0 ^= x2; x4 = (x4 << 25) & HI25 | (x4 >>> 7) & ~HI25;
+      x2 = (x1 << 3) & HI3; x3 ^= x1; x4 ^= x2; x1 = (x1 << 19) & HI19 | (x1 >>> 13) & ~HI19;
+      x3 ^= x0; x4 ^= x0; x0 = (x0 << 29) & HI29 | (x0 >>> 3) & ~HI29;
+
+      x1 ^= x0; x2 =  x1; x1 &= x4; x0 ^= x4; x1 ^= x0; x4 ^= x3; x0 |= x2;
+      x0 ^= x4; x4 &= x1; x1 = ~x1; x4 ^= x3; x3 &= x0; x2 ^= x1; x4 ^= x2;
+      x2 ^= x0; x1 ^= x3; x0 ^= x1;
+      x0 ^= kk[120]; x2 ^= kk[121]; x4 ^= kk[122]; x1 ^= kk[123];
+      x0 = (x0 << 27) & HI27 | (x0 >>> 5) & ~HI27; x4 = (x4 << 10) & HI10 | (x4 >>> 22) & ~HI10;
+      x3 = x2; x4 ^= x1; x0 ^= x1; x3 = (x3 << 7) & HI7; x0 ^= x2;
+      x2 = (x2 << 31) & HI31 | (x2 >>> 1) & ~HI31; x4 ^= x3; x1 = (x1 << 25) & HI25 | (x1 >>> 7) & ~HI25;
+      x3 = (x0 << 3) & HI3; x2 ^= x0; x1 ^= x3; x0 = (x0 << 19) & HI19 | (x0 >>> 13) & ~HI19;
+      x2 ^= x4; x1 ^= x4; x4 = (x4 << 29) & HI29 | (x4 >>> 3) & ~HI29;
+
+      x3 =  x2; x2 |= x4; x4 ^= x3; x2 ^= x1; x1 &= x3; x4 ^= x1; x1 |= x0;
+      x0 = ~x0; x1 ^= x4; x4 |= x0; x3 ^= x2; x4 ^= x3; x3 &= x0; x0 ^= x2;
+      x2 ^= x1; x0 &= x4; x4 ^= x1; x0 ^= x4; x4 ^= x3; x3 ^= x1;
+      x2 ^= kk[116]; x3 ^= kk[117]; x0 ^= kk[118]; x4 ^= kk[119];
+      x2 = (x2 << 27) & HI27 | (x2 >>> 5) & ~HI27; x0 = (x0 << 10) & HI10 | (x0 >>> 22) & ~HI10;
+      x1 = x3; x0 ^= x4; x2 ^= x4; x1 = (x1 << 7) & HI7; x2 ^= x3;
+      x3 = (x3 << 31) & HI31 | (x3 >>> 1) & ~HI31; x0 ^= x1; x4 = (x4 << 25) & HI25 | (x4 >>> 7) & ~HI25;
+      x1 = (x2 << 3) & HI3; x3 ^= x2; x4 ^= x1; x2 = (x2 << 19) & HI19 | (x2 >>> 13) & ~HI19;
+      x3 ^= x0; x4 ^= x0; x0 = (x0 << 29) & HI29 | (x0 >>> 3) & ~HI29;
+
+      x0 ^= x4; x1 =  x2; x2 &= x3; x2 ^= x0; x0 |= x4; x1 = ~x1; x3 ^= x2;
+      x2 ^= x0; x0 &= x1; x0 ^= x2; x2 |= x1; x2 ^= x4; x4 &= x0; x1 ^= x4;
+      x4 ^= x3; x3 &= x2; x1 ^= x3; x2 ^= x4;
+      x2 ^= kk[112]; x0 ^= kk[113]; x1 ^= kk[114]; x4 ^= kk[115];
+      x2 = (x2 << 27) & HI27 | (x2 >>> 5) & ~HI27; x1 = (x1 << 10) & HI10 | (x1 >>> 22) & ~HI10;
+      x3 = x0; x1 ^= x4; x2 ^= x4; x3 = (x3 << 7) & HI7; x2 ^= x0;
+      x0 = (x0 << 31) & HI31 | (x0 >>> 1) & ~HI31; x1 ^= x3; x4 = (x4 << 25) & HI25 | (x4 >>> 7) & ~HI25;
+      x3 = (x2 << 3) & HI3; x0 ^= x2; x4 ^= x3; x2 = (x2 << 19) & HI19 | (x2 >>> 13) & ~HI19;
+      x0 ^= x1; x4 ^= x1; x1 = (x1 << 29) & HI29 | (x1 >>> 3) & ~HI29;
+
+      x1 ^= x0; x3 =  x0; x0 &= x1; x0 ^= x2; x2 |= x3; x3 ^= x4; x2 ^= x4;
+      x4 |= x0; x0 ^= x1; x0 ^= x4; x2 ^= x1; x1 ^= x4; x4 &= x0; x0 ^= x2;
+      x2 &= x1; x3 ^= x4; x4 ^= x2; x2 ^= x0;
+      x1 ^= kk[108]; x2 ^= kk[109]; x3 ^= kk[110]; x4 ^= kk[111];
+      x1 = (x1 << 27) & HI27 | (x1 >>> 5) & ~HI27; x3 = (x3 << 10) & HI10 | (x3 >>> 22) & ~HI10;
+      x0 = x2; x3 ^= x4; x1 ^= x4; x0 = (x0 << 7) & HI7; x1 ^= x2;
+      x2 = (x2 << 31) & HI31 | (x2 >>> 1) & ~HI31; x3 ^= x0; x4 = (x4 << 25) & HI25 | (x4 >>> 7) & ~HI25;
+      x0 = (x1 << 3) & HI3; x2 ^= x1; x4 ^= x0; x1 = (x1 << 19) & HI19 | (x1 >>> 13) & ~HI19;
+      x2 ^= x3; x4 ^= x3; x3 = (x3 << 29) & HI29 | (x3 >>> 3) & ~HI29;
+
+      x3 ^= x2; x0 =  x4; x4 = ~x4; x4 |= x3; x3 ^= x0; x0 ^= x1; x4 ^= x2;
+      x2 |= x3; x3 ^= x1; x2 ^= x0; x0 |= x4; x3 ^= x4; x0 ^= x3; x3 &= x2;
+      x3 ^= x4; x4 ^= x0; x0 ^= x1;
+      x2 ^= kk[104]; x0 ^= kk[105]; x4 ^= kk[106]; x3 ^= kk[107];
+      x2 = (x2 << 27) & HI27 | (x2 >>> 5) & ~HI27; x4 = (x4 << 10) & HI10 | (x4 >>> 22) & ~HI10;
+      x1 = x0; x4 ^= x3; x2 ^= x3; x1 = (x1 << 7) & HI7; x2 ^= x0;
+      x0 = (x0 << 31) & HI31 | (x0 >>> 1) & ~HI31; x4 ^= x1; x3 = (x3 << 25) & HI25 | (x3 >>> 7) & ~HI25;
+      x1 = (x2 << 3) & HI3; x0 ^= x2; x3 ^= x1; x2 = (x2 << 19) & HI19 | (x2 >>> 13) & ~HI19;
+      x0 ^= x4; x3 ^= x4; x4 = (x4 << 29) & HI29 | (x4 >>> 3) & ~HI29;
+
+      x0 ^= x3; x1 =  x2; x2 ^= x4; x4 = ~x4; x1 |= x0; x1 ^= x3; x3 &= x0;
+      x0 ^= x4; x4 &= x1; x1 ^= x0; x0 |= x3; x3 ^= x2; x4 ^= x2; x2 |= x1;
+      x4 ^= x1; x0 ^= x2; x1 ^= x0;
+      x1 ^= kk[100]; x0 ^= kk[101]; x4 ^= kk[102]; x3 ^= kk[103];
+      x1 = (x1 << 27) & HI27 | (x1 >>> 5) & ~HI27; x4 = (x4 << 10) & HI10 | (x4 >>> 22) & ~HI10;
+      x2 = x0; x4 ^= x3; x1 ^= x3; x2 = (x2 << 7) & HI7; x1 ^= x0;
+      x0 = (x0 << 31) & HI31 | (x0 >>> 1) & ~HI31; x4 ^= x2; x3 = (x3 << 25) & HI25 | (x3 >>> 7) & ~HI25;
+      x2 = (x1 << 3) & HI3; x0 ^= x1; x3 ^= x2; x1 = (x1 << 19) & HI19 | (x1 >>> 13) & ~HI19;
+      x0 ^= x4; x3 ^= x4; x4 = (x4 << 29) & HI29 | (x4 >>> 3) & ~HI29;
+
+      x2 =  x3; x0 ^= x1; x3 |= x0; x2 ^= x0; x1 = ~x1; x4 ^= x3; x3 ^= x1;
+      x1 &= x0; x1 ^= x4; x4 &= x3; x3 ^= x2; x4 ^= x3; x0 ^= x3; x3 &= x1;
+      x0 ^= x1; x1 ^= x4; x2 ^= x3;
+      x4 ^= kk[96]; x2 ^= kk[97]; x0 ^= kk[98]; x1 ^= kk[99];
+      x4 = (x4 << 27) & HI27 | (x4 >>> 5) & ~HI27; x0 = (x0 << 10) & HI10 | (x0 >>> 22) & ~HI10;
+      x3 = x2; x0 ^= x1; x4 ^= x1; x3 = (x3 << 7) & HI7; x4 ^= x2;
+      x2 = (x2 << 31) & HI31 | (x2 >>> 1) & ~HI31; x0 ^= x3; x1 = (x1 << 25) & HI25 | (x1 >>> 7) & ~HI25;
+      x3 = (x4 << 3) & HI3; x2 ^= x4; x1 ^= x3; x4 = (x4 << 19) & HI19 | (x4 >>> 13) & ~HI19;
+      x2 ^= x0; x1 ^= x0; x0 = (x0 << 29) & HI29 | (x0 >>> 3) & ~HI29;
+      x[0] = x0; x[1] = x1; x[2] = x2; x[3] = x3; x[4] = x4;
+   }
+
+   /** Rounds 23 down to 16 of the two-block decryption. */
+   private static void decrypt2R23(long[] x, long[] kk) {
+      long x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4];
+
+      x3 =  x1; x1 &= x4; x4 ^= x0; x0 |= x3; x3 ^= x2; x4 = ~x4; x2 |= x1;
+      x3 ^= x4; x4 &= x0; x4 ^= x2; x2 &= x0; x1 ^= x0; x3 ^= x1; x0 &= x1;
+      x1 |= x4; x2 ^= x3; x1 ^= x3; x3 &= x4; x3 ^= x0;
+      x2 ^= kk[92]; x1 ^= kk[93]; x4 ^= kk[94]; x3 ^= kk[95];
+      x2 = (x2 << 27) & HI27 | (x2 >>> 5) & ~HI27; x4 = (x4 << 10) & HI10 | (x4 >>> 22) & ~HI10;
+      x0 = x1; x4 ^= x3; x2 ^= x3; x0 = (x0 << 7) & HI7; x2 ^= x1;
+      x1 = (x1 << 31) & HI31 | (x1 >>> 1) & ~HI31; x4 ^= x0; x3 = (x3 << 25) & HI25 | (x3 >>> 7) & ~HI25;
+      x0 = (x2 << 3) & HI3; x1 ^= x2; x3 ^= x0; x2 = (x2 << 19) & HI19 | (x2 >>> 13) & ~HI19;
+      x1 ^= x4; x3 ^= x4; x4 = (x4 << 29) & HI29 | (x4 >>> 3) & ~HI29;
+
+      x2 ^= x4; x0 =  x2; x2 &= x3; x4 ^= x3; x2 ^= x4; x3 ^= x1; x4 |= x0;
+      x4 ^= x3; x3 &= x2; x2 = ~x2; x3 ^= x1; x1 &= x4; x0 ^= x2; x3 ^= x0;
+      x0 ^= x4; x2 ^= x1; x4 ^= x2;
+      x4 ^= kk[88]; x0 ^= kk[89]; x3 ^= kk[90]; x2 ^= kk[91];
+      x4 = (x4 << 27) & HI27 | (x4 >>> 5) & ~HI27; x3 = (x3 << 10) & HI10 | (x3 >>> 22) & ~HI10;
+      x1 = x0; x3 ^= x2; x4 ^= x2; x1 = (x1 << 7) & HI7; x4 ^= x0;
+      x0 = (x0 << 31) & HI31 | (x0 >>> 1) & ~HI31; x3 ^= x1; x2 = (x2 << 25) & HI25 | (x2 >>> 7) & ~HI25;
+      x1 = (x4 << 3) & HI3; x0 ^= x4; x2 ^= x1; x4 = (x4 << 19) & HI19 | (x4 >>> 13) & ~HI19;
+      x0 ^= x3; x2 ^= x3; x3 = (x3 << 29) & HI29 | (x3 >>> 3) & ~HI29;
+
+      x1 =  x0; x0 |= x3; x3 ^= x1; x0 ^= x2; x2 &= x1; x3 ^= x2; x2 |= x4;
+      x4 = ~x4; x2 ^= x3; x3 |= x4; x1 ^= x0; x3 ^= x1; x1 &= x4; x4 ^= x0;
+      x0 ^= x2; x4 &= x3; x3 ^= x2; x4 ^= x3; x3 ^= x1; x1 ^= x2;
+      x0 ^= kk[84]; x1 ^= kk[85]; x4 ^= kk[86]; x3 ^= kk[87];
+      x0 = (x0 << 27) & HI27 | (x0 >>> 5) & ~HI27; x4 = (x4 << 10) & HI10 | (x4 >>> 22) & ~HI10;
+      x2 = x1; x4 ^= x3; x0 ^= x3; x2 = (x2 << 7) & HI7; x0 ^= x1;
+      x1 = (x1 << 31) & HI31 | (x1 >>> 1) & ~HI31; x4 ^= x2; x3 = (x3 << 25) & HI25 | (x3 >>> 7) & ~HI25;
+      x2 = (x0 << 3) & HI3; x1 ^= x0; x3 ^= x2; x0 = (x0 << 19) & HI19 | (x0 >>> 13) & ~HI19;
+      x1 ^= x4; x3 ^= x4; x4 = (x4 << 29) & HI29 | (x4 >>> 3) & ~HI29;
+
+      x4 ^= x3; x2 =  x0; x0 &= x1; x0 ^= x4; x4 |= x3; x2 = ~x2; x1 ^= x0;
+      x0 ^= x4; x4 &= x2; x4 ^= x0; x0 |= x2; x0 ^= x3; x3 &= x4; x2 ^= x3;
+      x3 ^= x1; x1 &= x0; x2 ^= x1; x0 ^= x3;
+      x0 ^= kk[80]; x4 ^= kk[81]; x2 ^= kk[82]; x3 ^= kk[83];
+      x0 = (x0 << 27) & HI27 | (x0 >>> 5) & ~HI27; x2 = (x2 << 10) & HI10 | (x2 >>> 22) & ~HI10;
+      x1 = x4; x2 ^= x3; x0 ^= x3; x1 = (x1 << 7) & HI7; x0 ^= x4;
+      x4 = (x4 << 31) & HI31 | (x4 >>> 1) & ~HI31; x2 ^= x1; x3 = (x3 << 25) & HI25 | (x3 >>> 7) & ~HI25;
+      x1 = (x0 << 3) & HI3; x4 ^= x0; x3 ^= x1; x0 = (x0 << 19) & HI19 | (x0 >>> 13) & ~HI19;
+      x4 ^= x2; x3 ^= x2; x2 = (x2 << 29) & HI29 | (x2 >>> 3) & ~HI29;
+
+      x2 ^= x4; x1 =  x4; x4 &= x2; x4 ^= x0; x0 |= x1; x1 ^= x3; x0 ^= x3;
+      x3 |= x4; x4 ^= x2; x4 ^= x3; x0 ^= x2; x2 ^= x3; x3 &= x4; x4 ^= x0;
+      x0 &= x2; x1 ^= x3; x3 ^= x0; x0 ^= x4;
+      x2 ^= kk[76]; x0 ^= kk[77]; x1 ^= kk[78]; x3 ^= kk[79];
+      x2 = (x2 << 27) & HI27 | (x2 >>> 5) & ~HI27; x1 = (x1 << 10) & HI10 | (x1 >>> 22) & ~HI10;
+      x4 = x0; x1 ^= x3; x2 ^= x3; x4 = (x4 << 7) & HI7; x2 ^= x0;
+      x0 = (x0 << 31) & HI31 | (x0 >>> 1) & ~HI31; x1 ^= x4; x3 = (x3 << 25) & HI25 | (x3 >>> 7) & ~HI25;
+      x4 = (x2 << 3) & HI3; x0 ^= x2; x3 ^= x4; x2 = (x2 << 19) & HI19 | (x2 >>> 13) & ~HI19;
+      x0 ^= x1; x3 ^= x1; x1 = (x1 << 29) & HI29 | (x1 >>> 3) & ~HI29;
+
+      x1 ^= x0; x4 =  x3; x3 = ~x3; x3 |= x1; x1 ^= x4; x4 ^= x2; x3 ^= x0;
+      x0 |= x1; x1 ^= x2; x0 ^= x4; x4 |= x3; x1 ^= x3; x4 ^= x1; x1 &= x0;
+      x1 ^= x3; x3 ^= x4; x4 ^= x2;
+      x0 ^= kk[72]; x4 ^= kk[73]; x3 ^= kk[74]; x1 ^= kk[75];
+      x0 = (x0 << 27) & HI27 | (x0 >>> 5) & ~HI27; x3 = (x3 << 10) & HI10 | (x3 >>> 22) & ~HI10;
+      x2 = x4; x3 ^= x1; x0 ^= x1; x2 = (x2 << 7) & HI7; x0 ^= x4;
+      x4 = (x4 << 31) & HI31 | (x4 >>> 1) & ~HI31; x3 ^= x2; x1 = (x1 << 25) & HI25 | (x1 >>> 7) & ~HI25;
+      x2 = (x0 << 3) & HI3; x4 ^= x0; x1 ^= x2; x0 = (x0 << 19) & HI19 | (x0 >>> 13) & ~HI19;
+      x4 ^= x3; x1 ^= x3; x3 = (x3 << 29) & HI29 | (x3 >>> 3) & ~HI29;
+
+      x4 ^= x1; x2 =  x0; x0 ^= x3; x3 = ~x3; x2 |= x4; x2 ^= x1; x1 &= x4;
+      x4 ^= x3; x3 &= x2; x2 ^= x4; x4 |= x1; x1 ^= x0; x3 ^= x0; x0 |= x2;
+      x3 ^= x2; x4 ^= x0; x2 ^= x4;
+      x2 ^= kk[68]; x4 ^= kk[69]; x3 ^= kk[70]; x1 ^= kk[71];
+      x2 = (x2 << 27) & HI27 | (x2 >>> 5) & ~HI27; x3 = (x3 << 10) & HI10 | (x3 >>> 22) & ~HI10;
+      x0 = x4; x3 ^= x1; x2 ^= x1; x0 = (x0 << 7) & HI7; x2 ^= x4;
+      x4 = (x4 << 31) & HI31 | (x4 >>> 1) & ~HI31; x3 ^= x0; x1 = (x1 << 25) & HI25 | (x1 >>> 7) & ~HI25;
+      x0 = (x2 << 3) & HI3; x4 ^= x2; x1 ^= x0; x2 = (x2 << 19) & HI19 | (x2 >>> 13) & ~HI19;
+      x4 ^= x3; x1 ^= x3; x3 = (x3 << 29) & HI29 | (x3 >>> 3) & ~HI29;
+
+      x0 =  x1; x4 ^= x2; x1 |= x4; x0 ^= x4; x2 = ~x2; x3 ^= x1; x1 ^= x2;
+      x2 &= x4; x2 ^= x3; x3 &= x1; x1 ^= x0; x3 ^= x1; x4 ^= x1; x1 &= x2;
+      x4 ^= x2; x2 ^= x3; x0 ^= x1;
+      x3 ^= kk[64]; x0 ^= kk[65]; x4 ^= kk[66]; x2 ^= kk[67];
+      x3 = (x3 << 27) & HI27 | (x3 >>> 5) & ~HI27; x4 = (x4 << 10) & HI10 | (x4 >>> 22) & ~HI10;
+      x1 = x0; x4 ^= x2; x3 ^= x2; x1 = (x1 << 7) & HI7; x3 ^= x0;
+      x0 = (x0 << 31) & HI31 | (x0 >>> 1) & ~HI31; x4 ^= x1; x2 = (x2 << 25) & HI25 | (x2 >>> 7) & ~HI25;
+      x1 = (x3 << 3) & HI3; x0 ^= x3; x2 ^= x1; x3 = (x3 << 19) & HI19 | (x3 >>> 13) & ~HI19;
+      x0 ^= x4; x2 ^= x4; x4 = (x4 << 29) & HI29 | (x4 >>> 3) & ~HI29;
+      x[0] = x0; x[1] = x1; x[2] = x2; x[3] = x3; x[4] = x4;
+   }
+
+   /** Rounds 15 down to 8 of the two-block decryption. */
+   private static void decrypt2R15(long[] x, long[] kk) {
+      long x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4];
+
+      x1 =  x2; x2 &= x3; x3 ^= x4; x4 |= x1; x1 ^= x0; x3 = ~x3; x0 |= x2;
+      x1 ^= x3; x3 &= x4; x3 ^= x0; x0 &= x4; x2 ^= x4; x1 ^= x2; x4 &= x2;
+      x2 |= x3; x0 ^= x1; x2 ^= x1; x1 &= x3; x1 ^= x4;
+      x0 ^= kk[60]; x2 ^= kk[61]; x3 ^= kk[62]; x1 ^= kk[63];
+      x0 = (x0 << 27) & HI27 | (x0 >>> 5) & ~HI27; x3 = (x3 << 10) & HI10 | (x3 >>> 22) & ~HI10;
+      x4 = x2; x3 ^= x1; x0 ^= x1; x4 = (x4 << 7) & HI7; x0 ^= x2;
+      x2 = (x2 << 31) & HI31 | (x2 >>> 1) & ~HI31; x3 ^= x4; x1 = (x1 << 25) & HI25 | (x1 >>> 7) & ~HI25;
+      x4 = (x0 << 3) & HI3; x2 ^= x0; x1 ^= x4; x0 = (x0 << 19) & HI19 | (x0 >>> 13) & ~HI19;
+      x2 ^= x3; x1 ^= x3; x3 = (x3 << 29) & HI29 | (x3 >>> 3) & ~HI29;
+
+      x0 ^= x3; x4 =  x0; x0 &= x1; x3 ^= x1; x0 ^= x3; x1 ^= x2; x3 |= x4;
+      x3 ^= x1; x1 &= x0; x0 = ~x0; x1 ^= x2; x2 &= x3; x4 ^= x0; x1 ^= x4;
+      x4 ^= x3; x0 ^= x2; x3 ^= x0;
+      x3 ^= kk[56]; x4 ^= kk[57]; x1 ^= kk[58]; x0 ^= kk[59];
+      x3 = (x3 << 27) & HI27 | (x3 >>> 5) & ~HI27; x1 = (x1 << 10) & HI10 | (x1 >>> 22) & ~HI10;
+      x2 = x4; x1 ^= x0; x3 ^= x0; x2 = (x2 << 7) & HI7; x3 ^= x4;
+      x4 = (x4 << 31) & HI31 | (x4 >>> 1) & ~HI31; x1 ^= x2; x0 = (x0 << 25) & HI25 | (x0 >>> 7) & ~HI25;
+      x2 = (x3 << 3) & HI3; x4 ^= x3; x0 ^= x2; x3 = (x3 << 19) & HI19 | (x3 >>> 13) & ~HI19;
+      x4 ^= x1; x0 ^= x1; x1 = (x1 << 29) & HI29 | (x1 >>> 3) & ~HI29;
+
+      x2 =  x4; x4 |= x1; x1 ^= x2; x4 ^= x0; x0 &= x2; x1 ^= x0; x0 |= x3;
+      x3 = ~x3; x0 ^= x1; x1 |= x3; x2 ^= x4; x1 ^= x2; x2 &= x3; x3 ^= x4;
+      x4 ^= x0; x3 &= x1; x1 ^= x0; x3 ^= x1; x1 ^= x2; x2 ^= x0;
+      x4 ^= kk[52]; x2 ^= kk[53]; x3 ^= kk[54]; x1 ^= kk[55];
+      x4 = (x4 << 27) & HI27 | (x4 >>> 5) & ~HI27; x3 = (x3 << 10) & HI10 | (x3 >>> 22) & ~HI10;
+      x0 = x2; x3 ^= x1; x4 ^= x1; x0 = (x0 << 7) & HI7; x4 ^= x2;
+      x2 = (x2 << 31) & HI31 | (x2 >>> 1) & ~HI31; x3 ^= x0; x1 = (x1 << 25) & HI25 | (x1 >>> 7) & ~HI25;
+      x0 = (x4 << 3) & HI3; x2 ^= x4; x1 ^= x0; x4 = (x4 << 19) & HI19 | (x4 >>> 13) & ~HI19;
+      x2 ^= x3; x1 ^= x3; x3 = (x3 << 29) & HI29 | (x3 >>> 3) & ~HI29;
+
+      x3 ^= x1; x0 =  x4; x4 &= x2; x4 ^= x3; x3 |= x1; x0 = ~x0; x2 ^= x4;
+      x4 ^= x3; x3 &= x0; x3 ^= x4; x4 |= x0; x4 ^= x1; x1 &= x3; x0 ^= x1;
+      x1 ^= x2; x2 &= x4; x0 ^= x2; x4 ^= x1;
+      x4 ^= kk[48]; x3 ^= kk[49]; x0 ^= kk[50]; x1 ^= kk[51];
+      x4 = (x4 << 27) & HI27 | (x4 >>> 5) & ~HI27; x0 = (x0 << 10) & HI10 | (x0 >>> 22) & ~HI10;
+      x2 = x3; x0 ^= x1; x4 ^= x1; x2 = (x2 << 7) & HI7; x4 ^= x3;
+      x3 = (x3 << 31) & HI31 | (x3 >>> 1) & ~HI31; x0 ^= x2; x1 = (x1 << 25) & HI25 | (x1 >>> 7) & ~HI25;
+      x2 = (x4 << 3) & HI3; x3 ^= x4; x1 ^= x2; x4 = (x4 << 19) & HI19 | (x4 >>> 13) & ~HI19;
+      x3 ^= x0; x1 ^= x0; x0 = (x0 << 29) & HI29 | (x0 >>> 3) & ~HI29;
+
+      x0 ^= x3; x2 =  x3; x3 &= x0; x3 ^= x4; x4 |= x2; x2 ^= x1; x4 ^= x1;
+      x1 |= x3; x3 ^= x0; x3 ^= x1; x4 ^= x0; x0 ^= x1; x1 &= x3; x3 ^= x4;
+      x4 &= x0; x2 ^= x1; x1 ^= x4; x4 ^= x3;
+      x0 ^= kk[44]; x4 ^= kk[45]; x2 ^= kk[46]; x1 ^= kk[47];
+      x0 = (x0 << 27) & HI27 | (x0 >>> 5) & ~HI27; x2 = (x2 << 10) & HI10 | (x2 >>> 22) & ~HI10;
+      x3 = x4; x2 ^= x1; x0 ^= x1; x3 = (x3 << 7) & HI7; x0 ^= x4;
+      x4 = (x4 << 31) & HI31 | (x4 >>> 1) & ~HI31; x2 ^= x3; x1 = (x1 << 25) & HI25 | (x1 >>> 7) & ~HI25;
+      x3 = (x0 << 3) & HI3; x4 ^= x0; x1 ^= x3; x0 = (x0 << 19) & HI19 | (x0 >>> 13) & ~HI19;
+      x4 ^= x2; x1 ^= x2; x2 = (x2 << 29) & HI29 | (x2 >>> 3) & ~HI29;
+
+      x2 ^= x4; x3 =  x1; x1 = ~x1; x1 |= x2; x2 ^= x3; x3 ^= x0; x1 ^= x4;
+      x4 |= x2; x2 ^= x0; x4 ^= x3; x3 |= x1; x2 ^= x1; x3 ^= x2; x2 &= x4;
+      x2 ^= x1; x1 ^= x3; x3 ^= x0;
+      x4 ^= kk[40]; x3 ^= kk[41]; x1 ^= kk[42]; x2 ^= kk[43];
+      x4 = (x4 << 27) & HI27 | (x4 >>> 5) & ~HI27; x1 = (x1 << 10) & HI10 | (x1 >>> 22) & ~HI10;
+      x0 = x3; x1 ^= x2; x4 ^= x2; x0 = (x0 << 7) & HI7; x4 ^= x3;
+      x3 = (x3 << 31) & HI31 | (x3 >>> 1) & ~HI31; x1 ^= x0; x2 = (x2 << 25) & HI25 | (x2 >>> 7) & ~HI25;
+      x0 = (x4 << 3) & HI3; x3 ^= x4; x2 ^= x0; x4 = (x4 << 19) & HI19 | (x4 >>> 13) & ~HI19;
+      x3 ^= x1; x2 ^= x1; x1 = (x1 << 29) & HI29 | (x1 >>> 3) & ~HI29;
+
+      x3 ^= x2; x0 =  x4; x4 ^= x1; x1 = ~x1; x0 |= x3; x0 ^= x2; x2 &= x3;
+      x3 ^= x1; x1 &= x0; x0 ^= x3; x3 |= x2; x2 ^= x4; x1 ^= x4; x4 |= x0;
+      x1 ^= x0; x3 ^= x4; x0 ^= x3;
+      x0 ^= kk[36]; x3 ^= kk[37]; x1 ^= kk[38]; x2 ^= kk[39];
+      x0 = (x0 << 27) & HI27 | (x0 >>> 5) & ~HI27; x1 = (x1 << 10) & HI10 | (x1 >>> 22) & ~HI10;
+      x4 = x3; x1 ^= x2; x0 ^= x2; x4 = (x4 << 7) & HI7; x0 ^= x3;
+      x3 = (x3 << 31) & HI31 | (x3 >>> 1) & ~HI31; x1 ^= x4; x2 = (x2 << 25) & HI25 | (x2 >>> 7) & ~HI25;
+      x4 = (x0 << 3) & HI3; x3 ^= x0; x2 ^= x4; x0 = (x0 << 19) & HI19 | (x0 >>> 13) & ~HI19;
+      x3 ^= x1; x2 ^= x1; x1 = (x1 << 29) & HI29 | (x1 >>> 3) & ~HI29;
+
+      x4 =  x2; x3 ^= x0; x2 |= x3; x4 ^= x3; x0 = ~x0; x1 ^= x2; x2 ^= x0;
+      x0 &= x3; x0 ^= x1; x1 &= x2; x2 ^= x4; x1 ^= x2; x3 ^= x2; x2 &= x0;
+      x3 ^= x0; x0 ^= x1; x4 ^= x2;
+      x1 ^= kk[32]; x4 ^= kk[33]; x3 ^= kk[34]; x0 ^= kk[35];
+      x1 = (x1 << 27) & HI27 | (x1 >>> 5) & ~HI27; x3 = (x3 << 10) & HI10 | (x3 >>> 22) & ~HI10;
+      x2 = x4; x3 ^= x0; x1 ^= x0; x2 = (x2 << 7) & HI7; x1 ^= x4;
+      x4 = (x4 << 31) & HI31 | (x4 >>> 1) & ~HI31; x3 ^= x2; x0 = (x0 << 25) & HI25 | (x0 >>> 7) & ~HI25;
+      x2 = (x1 << 3) & HI3; x4 ^= x1; x0 ^= x2; x1 = (x1 << 19) & HI19 | (x1 >>> 13) & ~HI19;
+      x4 ^= x3; x0 ^= x3; x3 = (x3 << 29) & HI29 | (x3 >>> 3) & ~HI29;
+      x[0] = x0; x[1] = x1; x[2] = x2; x[3] = x3; x[4] = x4;
+   }
+
+   /** Rounds 7 down to 0 of the two-block decryption. */
+   private static void decrypt2R7(long[] x, long[] kk) {
+      long x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4];
+
+      x2 =  x0; x0 &= x1; x1 ^= x3; x3 |= x2; x2 ^= x4; x1 = ~x1; x4 |= x0;
+      x2 ^= x1; x1 &= x3; x1 ^= x4; x4 &= x3; x0 ^= x3; x2 ^= x0; x3 &= x0;
+      x0 |= x1; x4 ^= x2; x0 ^= x2; x2 &= x1; x2 ^= x3;
+      x4 ^= kk[28]; x0 ^= kk[29]; x1 ^= kk[30]; x2 ^= kk[31];
+      x4 = (x4 << 27) & HI27 | (x4 >>> 5) & ~HI27; x1 = (x1 << 10) & HI10 | (x1 >>> 22) & ~HI10;
+      x3 = x0; x1 ^= x2; x4 ^= x2; x3 = (x3 << 7) & HI7; x4 ^= x0;
+      x0 = (x0 << 31) & HI31 | (x0 >>> 1) & ~HI31; x1 ^= x3; x2 = (x2 << 25) & HI25 | (x2 >>> 7) & ~HI25;
+      x3 = (x4 << 3) & HI3; x0 ^= x4; x2 ^= x3; x4 = (x4 << 19) & HI19 | (x4 >>> 13) & ~HI19;
+      x0 ^= x1; x2 ^= x1; x1 = (x1 << 29) & HI29 | (x1 >>> 3) & ~HI29;
+
+      x4 ^= x1; x3 =  x4; x4 &= x2; x1 ^= x2; x4 ^= x1; x2 ^= x0; x1 |= x3;
+      x1 ^= x2; x2 &= x4; x4 = ~x4; x2 ^= x0; x0 &= x1; x3 ^= x4; x2 ^= x3;
+      x3 ^= x1; x4 ^= x0; x1 ^= x4;
+      x1 ^= kk[24]; x3 ^= kk[25]; x2 ^= kk[26]; x4 ^= kk[27];
+      x1 = (x1 << 27) & HI27 | (x1 >>> 5) & ~HI27; x2 = (x2 << 10) & HI10 | (x2 >>> 22) & ~HI10;
+      x0 = x3; x2 ^= x4; x1 ^= x4; x0 = (x0 << 7) & HI7; x1 ^= x3;
+      x3 = (x3 << 31) & HI31 | (x3 >>> 1) & ~HI31; x2 ^= x0; x4 = (x4 << 25) & HI25 | (x4 >>> 7) & ~HI25;
+      x0 = (x1 << 3) & HI3; x3 ^= x1; x4 ^= x0; x1 = (x1 << 19) & HI19 | (x1 >>> 13) & ~HI19;
+      x3 ^= x2; x4 ^= x2; x2 = (x2 << 29) & HI29 | (x2 >>> 3) & ~HI29;
+
+      x0 =  x3; x3 |= x2; x2 ^= x0; x3 ^= x4; x4 &= x0; x2 ^= x4; x4 |= x1;
+      x1 = ~x1; x4 ^= x2; x2 |= x1; x0 ^= x3; x2 ^= x0; x0 &= x1; x1 ^= x3;
+      x3 ^= x4; x1 &= x2; x2 ^= x4; x1 ^= x2; x2 ^= x0; x0 ^= x4;
+      x3 ^= kk[20]; x0 ^= kk[21]; x1 ^= kk[22]; x2 ^= kk[23];
+      x3 = (x3 << 27) & HI27 | (x3 >>> 5) & ~HI27; x1 = (x1 << 10) & HI10 | (x1 >>> 22) & ~HI10;
+      x4 = x0; x1 ^= x2; x3 ^= x2; x4 = (x4 << 7) & HI7; x3 ^= x0;
+      x0 = (x0 << 31) & HI31 | (x0 >>> 1) & ~HI31; x1 ^= x4; x2 = (x2 << 25) & HI25 | (x2 >>> 7) & ~HI25;
+      x4 = (x3 << 3) & HI3; x0 ^= x3; x2 ^= x4; x3 = (x3 << 19) & HI19 | (x3 >>> 13) & ~HI19;
+      x0 ^= x1; x2 ^= x1; x1 = (x1 << 29) & HI29 | (x1 >>> 3) & ~HI29;
+
+      x1 ^= x2; x4 =  x3; x3 &= x0; x3 ^= x1; x1 |= x2; x4 = ~x4; x0 ^= x3;
+      x3 ^= x1; x1 &= x4; x1 ^= x3; x3 |= x4; x3 ^= x2; x2 &= x1; x4 ^= x2;
+      x2 ^= x0; x0 &= x3; x4 ^= x0; x3 ^= x2;
+      x3 ^= kk[16]; x1 ^= kk[17]; x4 ^= kk[18]; x2 ^= kk[19];
+      x3 = (x3 << 27) & HI27 | (x3 >>> 5) & ~HI27; x4 = (x4 << 10) & HI10 | (x4 >>> 22) & ~HI10;
+      x0 = x1; x4 ^= x2; x3 ^= x2; x0 = (x0 << 7) & HI7; x3 ^= x1;
+      x1 = (x1 << 31) & HI31 | (x1 >>> 1) & ~HI31; x4 ^= x0; x2 = (x2 << 25) & HI25 | (x2 >>> 7) & ~HI25;
+      x0 = (x3 << 3) & HI3; x1 ^= x3; x2 ^= x0; x3 = (x3 << 19) & HI19 | (x3 >>> 13) & ~HI19;
+      x1 ^= x4; x2 ^= x4; x4 = (x4 << 29) & HI29 | (x4 >>> 3) & ~HI29;
+
+      x4 ^= x1; x0 =  x1; x1 &= x4; x1 ^= x3; x3 |= x0; x0 ^= x2; x3 ^= x2;
+      x2 |= x1; x1 ^= x4; x1 ^= x2; x3 ^= x4; x4 ^= x2; x2 &= x1; x1 ^= x3;
+      x3 &= x4; x0 ^= x2; x2 ^= x3; x3 ^= x1;
+      x4 ^= kk[12]; x3 ^= kk[13]; x0 ^= kk[14]; x2 ^= kk[15];
+      x4 = (x4 << 27) & HI27 | (x4 >>> 5) & ~HI27; x0 = (x0 << 10) & HI10 | (x0 >>> 22) & ~HI10;
+      x1 = x3; x0 ^= x2; x4 ^= x2; x1 = (x1 << 7) & HI7; x4 ^= x3;
+      x3 = (x3 << 31) & HI31 | (x3 >>> 1) & ~HI31; x0 ^= x1; x2 = (x2 << 25) & HI25 | (x2 >>> 7) & ~HI25;
+      x1 = (x4 << 3) & HI3; x3 ^= x4; x2 ^= x1; x4 = (x4 << 19) & HI19 | (x4 >>> 13) & ~HI19;
+      x3 ^= x0; x2 ^= x0; x0 = (x0 << 29) & HI29 | (x0 >>> 3) & ~HI29;
+
+      x0 ^= x3; x1 =  x2; x2 = ~x2; x2 |= x0; x0 ^= x1; x1 ^= x4; x2 ^= x3;
+      x3 |= x0; x0 ^= x4; x3 ^= x1; x1 |= x2; x0 ^= x2; x1 ^= x0; x0 &= x3;
+      x0 ^= x2; x2 ^= x1; x1 ^= x4;
+      x3 ^= kk[8]; x1 ^= kk[9]; x2 ^= kk[10]; x0 ^= kk[11];
+      x3 = (x3 << 27) & HI27 | (x3 >>> 5) & ~HI27; x2 = (x2 << 10) & HI10 | (x2 >>> 22) & ~HI10;
+      x4 = x1; x2 ^= x0; x3 ^= x0; x4 = (x4 << 7) & HI7; x3 ^= x1;
+      x1 = (x1 << 31) & HI31 | (x1 >>> 1) & ~HI31; x2 ^= x4; x0 = (x0 << 25) & HI25 | (x0 >>> 7) & ~HI25;
+      x4 = (x3 << 3) & HI3; x1 ^= x3; x0 ^= x4; x3 = (x3 << 19) & HI19 | (x3 >>> 13) & ~HI19;
+      x1 ^= x2; x0 ^= x2; x2 = (x2 << 29) & HI29 | (x2 >>> 3) & ~HI29;
+
+      x1 ^= x0; x4 =  x3; x3 ^= x2; x2 = ~x2; x4 |= x1; x4 ^= x0; x0 &= x1;
+      x1 ^= x2; x2 &= x4; x4 ^= x1; x1 |= x0; x0 ^= x3; x2 ^= x3; x3 |= x4;
+      x2 ^= x4; x1 ^= x3; x4 ^= x1;
+      x4 ^= kk[4]; x1 ^= kk[5]; x2 ^= kk[6]; x0 ^= kk[7];
+      x4 = (x4 << 27) & HI27 | (x4 >>> 5) & ~HI27; x2 = (x2 << 10) & HI10 | (x2 >>> 22) & ~HI10;
+      x3 = x1; x2 ^= x0; x4 ^= x0; x3 = (x3 << 7) & HI7; x4 ^= x1;
+      x1 = (x1 << 31) & HI31 | (x1 >>> 1) & ~HI31; x2 ^= x3; x0 = (x0 << 25) & HI25 | (x0 >>> 7) & ~HI25;
+      x3 = (x4 << 3) & HI3; x1 ^= x4; x0 ^= x3; x4 = (x4 << 19) & HI19 | (x4 >>> 13) & ~HI19;
+      x1 ^= x2; x0 ^= x2; x2 = (x2 << 29) & HI29 | (x2 >>> 3) & ~HI29;
+
+      x3 =  x0; x1 ^= x4; x0 |= x1; x3 ^= x1; x4 = ~x4; x2 ^= x0; x0 ^= x4;
+      x4 &= x1; x4 ^= x2; x2 &= x0; x0 ^= x3; x2 ^= x0; x1 ^= x0; x0 &= x4;
+      x1 ^= x4; x4 ^= x2; x3 ^= x0;
+      x4 ^= kk[3]; x1 ^= kk[2]; x3 ^= kk[1]; x2 ^= kk[0];
+      x[0] = x0; x[1] = x1; x[2] = x2; x[3] = x3; x[4] = x4;
+   }
+
+   /**
+    * Reads the block at <code>i</code> into the low lanes of x[0..3], and the
+    * next one into the high lanes.
+    */
+   private static void load2(byte[] in, int i, long[] x) {
+      for (int j = 0; j < 4; j++, i += 4) {
+         x[j] = (in[i   ] & 0xFFL)       | (in[i+ 1] & 0xFFL) <<  8 |
+                (in[i+ 2] & 0xFFL) << 16 | (in[i+ 3] & 0xFFL) << 24 |
+                (in[i+16] & 0xFFL) << 32 | (in[i+17] & 0xFFL) << 40 |
+                (in[i+18] & 0xFFL) << 48 | (long) in[i+19]     << 56;
+      }
+   }
+
+   /** Writes the low lanes of four registers at <code>o</code>, the high ones after. */
+   private static void
+   store2(long x0, long x1, long x2, long x3, byte[] out, int o) {
+      store2(x0, out, o);
+      store2(x1, out, o +  4);
+      store2(x2, out, o +  8);
+      store2(x3, out, o + 12);
+   }
+
+   private static void store2(long x, byte[] out, int o) {
+      out[o   ] = (byte) x;
+      out[o+ 1] = (byte)(x >>>  8);
+      out[o+ 2] = (byte)(x >>> 16);
+      out[o+ 3] = (byte)(x >>> 24);
+      out[o+16] = (byte)(x >>> 32);
+      out[o+17] = (byte)(x >>> 40);
+      out[o+18] = (byte)(x >>> 48);
+      out[o+19] = (byte)(x >>> 56);
+   }
+
    // These first few S-boxes operate directly on the "registers",
    // x0..x4, and perform the linear transform.
 
@@ -1261,6 +2079,9 @@ public class Serpent extends BaseCipher {
          k115, k116, k117, k118, k119, k120, k121, k122, k123, k124, k125,
          k126, k127, k128, k129, k130, k131;
 
+      /** The subkeys replicated in both halves of a long; built on demand. */
+      private long[] wide;
+
       // Constructors.
       // --------------------------------------------------------------------
 
@@ -1315,6 +2136,37 @@ public class Serpent extends BaseCipher {
          this.k129 = that.k129; this.k130 = that.k130; this.k131 = that.k131;
       }
 
+      // Own methods.
+      // --------------------------------------------------------------------
+
+      /** Returns the subkeys for the two-block engine, one copy per lane. */
+      synchronized long[] wide() {
+         if (wide == null) {
+            final int[] k = {
+               k0, k1, k2, k3, k4, k5, k6, k7, k8, k9, k10,
+               k11, k12, k13, k14, k15, k16, k17, k18, k19,
+               k20, k21, k22, k23, k24, k25, k26, k27, k28,
+               k29, k30, k31, k32, k33, k34, k35, k36, k37,
+               k38, k39, k40, k41, k42, k43, k44, k45, k46,
+               k47, k48, k49, k50, k51, k52, k53, k54, k55,
+               k56, k57, k58, k59, k60, k61, k62, k63, k64,
+               k65, k66, k67, k68, k69, k70, k71, k72, k73,
+               k74, k75, k76, k77, k78, k79, k80, k81, k82,
+               k83, k84, k85, k86, k87, k88, k89, k90, k91,
+               k92, k93, k94, k95, k96, k97, k98, k99, k100,
+               k101, k102, k103, k104, k105, k106, k107, k108,
+               k109, k110, k111, k112, k113, k114, k115, k116,
+               k117, k118, k119, k120, k121, k122, k123, k124,
+               k125, k126, k127, k128, k129, k130, k131
+            };
+            wide = new long[k.length];
+            for (int i = 0; i < k.length; i++) {
+               wide[i] = (k[i] & 0xFFFFFFFFL) | (long) k[i] << 32;
+            }
+         }
+         return wide;
+      }
+
       // Cloneable interface implementation.
       // --------------------------------------------------------------------
 
@@ -203,16 +203,23 @@ public final class Square extends BaseCipher {
       // coefficients of the diffusion polynomial c(x) and its inverse
       // (modulo x**4 + 1) d(x), defined in sections 2.1 and 4 of the Square
       // paper.
+      // (3) the multiples are built from successive doublings, as in Rijndael,
+      // which costs much less at class-load time than calling mul().
+      int j2, j4, j8;
       for (i = 0; i < 256; i++) {
          j = Se[i] & 0xFF;
+         j2 = xtime(j);
          Te[i] = (Se[i & 3] == 0)
             ? 0
-            : mul(j, 2) << 24 | j << 16 | j << 8 | mul(j, 3);
+            : j2 << 24 | j << 16 | j << 8 | (j2 ^ j);
 
          j = Sd[i] & 0xFF;
+         j2 = xtime(j);
+         j4 = xtime(j2);
+         j8 = xtime(j4);
          Td[i] = (Sd[i & 3] == 0)
             ? 0
-            : mul(j, 14) << 24 | mul(j, 9) << 16 | mul(j, 13) << 8 | mul(j, 11);
+            : (j8 ^ j4 ^ j2) << 24 | (j8 ^ j) << 16 | (j8 ^ j4 ^ j) << 8 | (j8 ^ j2 ^ j);
       }
 /**/
    }
@@ -399,6 +406,17 @@ public final class Square extends BaseCipher {
       return result & 0xFF;
    }
 
+   /**
+    * <p>Returns the product of a binary number and 2, modulo ROOT.</p>
+    *
+    * @param a an element of GF(2**8).
+    * @return the result of (a * 2) % ROOT.
+    */
+   private static final int xtime(int a) {
+      a <<= 1;
+      return (a > 0xFF) ? a ^ ROOT : a;
+   }
+
    // Instance methods
    // -------------------------------------------------------------------------
 
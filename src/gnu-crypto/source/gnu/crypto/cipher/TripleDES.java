@@ -174,19 +174,29 @@ public class TripleDES extends BaseCipher {
    public void
    encrypt(byte[] in, int i, byte[] out, int o, Object K, int bs)
    {
-      byte[] temp = new byte[BLOCK_SIZE];
-      des.encrypt(  in, i, temp, 0, ((Context) K).k1, bs);
-      des.decrypt(temp, 0, temp, 0, ((Context) K).k2, bs);
-      des.encrypt(temp, 0,  out, o, ((Context) K).k3, bs);
+      Context ctx = (Context) K;
+      DES.desFunc3(in, i, out, o, ctx.k1.ek, ctx.k2.dk, ctx.k3.ek, 1);
    }
 
    public void
    decrypt(byte[] in, int i, byte[] out, int o, Object K, int bs)
    {
-      byte[] temp = new byte[BLOCK_SIZE];
-      des.decrypt(  in, i, temp, 0, ((Context) K).k3, bs);
-      des.encrypt(temp, 0, temp, 0, ((Context) K).k2, bs);
-      des.decrypt(temp, 0,  out, o, ((Context) K).k1, bs);
+      Context ctx = (Context) K;
+      DES.desFunc3(in, i, out, o, ctx.k3.dk, ctx.k2.ek, ctx.k1.dk, 1);
+   }
+
+   protected void
+   encrypt(byte[] in, int i, byte[] out, int o, Object K, int bs, int count)
+   {
+      Context ctx = (Context) K;
+      DES.desFunc3(in, i, out, o, ctx.k1.ek, ctx.k2.dk, ctx.k3.ek, count);
+   }
+
+   protected void
+   decrypt(byte[] in, int i, byte[] out, int o, Object K, int bs, int count)
+   {
+      Context ctx = (Context) K;
+      DES.desFunc3(in, i, out, o, ctx.k3.dk, ctx.k2.ek, ctx.k1.dk, count);
    }
 
    // Inner classes.
@@ -43,6 +43,7 @@ package gnu.crypto.cipher;
 // do so, delete this exception statement from your version.
 // ----------------------------------------------------------------------------
 
+import gnu.crypto.Properties;
 import gnu.crypto.Registry;
 import gnu.crypto.util.Util;
 
@@ -483,6 +484,11 @@ public final class Twofish extends BaseCipher {
     * <p>Expands a user-supplied key material into a session key for a designated
     * <i>block size</i>.</p>
     *
+    * <p>When enabled by the {@link Properties#KEY_SCHEDULE_CACHE} property,
+    * the session keys of recently used keys are taken from a bounded cache
+    * shared by all the instances, which saves building the key-dependent
+    * S-boxes.</p>
+    *
     * @param k the 64/128/192/256-bit user-key to use.
     * @param bs the desired block size in bytes.
     * @return an Object encapsulating the session key.
@@ -490,6 +496,34 @@ public final class Twofish extends BaseCipher {
     * @exception InvalidKeyException if the key data is invalid.
     */
    public Object makeKey(byte[] k, int bs) throws InvalidKeyException {
+      if (!Properties.useKeyScheduleCache()) {
+         KeyScheduleCache.release();
+         return makeKey(k, bs, null);
+      }
+      Context ctx = (Context) KeyScheduleCache.get(name, k, bs);
+      if (ctx == null) {
+         ctx = (Context) makeKey(k, bs, null);
+         ctx.shared = true;
+         KeyScheduleCache.put(name, k, bs, ctx);
+      }
+      return ctx;
+   }
+
+   /**
+    * <p>Expands a user-supplied key material into the storage of a designated
+    * session key, earlier returned by this method, so that re-keying allocates
+    * no S-box. A session key obtained from the shared cache is never
+    * overwritten; a new one is returned instead.</p>
+    *
+    * @param k the 64/128/192/256-bit user-key to use.
+    * @param bs the desired block size in bytes.
+    * @param reuse a session key to overwrite, or <code>null</code>.
+    * @return an Object encapsulating the session key.
+    * @exception IllegalArgumentException if the block size is not 16 (128-bit).
+    * @exception InvalidKeyException if the key data is invalid.
+    */
+   public Object makeKey(byte[] k, int bs, Object reuse)
+   throws InvalidKeyException {
       if (bs != DEFAULT_BLOCK_SIZE) {
          throw new IllegalArgumentException();
       }
@@ -525,7 +559,13 @@ public final class Twofish extends BaseCipher {
       // compute the round decryption subkeys for PHT. these same subkeys
       // will be used in encryption but will be applied in reverse order.
       int q, A, B;
-      int[] subKeys = new int[subkeyCnt];
+      final Context ctx;
+      if (reuse instanceof Context && !((Context) reuse).shared) {
+         ctx = (Context) reuse;
+      } else {
+         ctx = new Context();
+      }
+      int[] subKeys = ctx.sKey;
       for (i = q = 0; i < subkeyCnt/2; i++, q += SK_STEP) {
          A = F32(k64Cnt, q        , k32e); // A uses even key entities
          B = F32(k64Cnt, q+SK_BUMP, k32o); // B uses odd  key entities
@@ -542,7 +582,7 @@ public final class Twofish extends BaseCipher {
       int k2 = sBoxKey[2];
       int k3 = sBoxKey[3];
       int b0, b1, b2, b3;
-      int[] sBox = new int[4 * 256];
+      int[] sBox = ctx.sBox;
       for (i = 0; i < 256; i++) {
          b0 = b1 = b2 = b3 = i;
          switch (k64Cnt & 3) {
@@ -615,7 +655,7 @@ public final class Twofish extends BaseCipher {
          System.out.println();
       }
 
-      return new Object[] {sBox, subKeys};
+      return ctx;
    }
 
    public void encrypt(byte[] in, int inOffset, byte[] out, int outOffset,
@@ -624,9 +664,9 @@ public final class Twofish extends BaseCipher {
          throw new IllegalArgumentException();
       }
 
-      Object[] sk = (Object[]) sessionKey; // extract S-box and session key
-      int[] sBox = (int[]) sk[0];
-      int[] sKey = (int[]) sk[1];
+      Context ctx = (Context) sessionKey; // extract S-box and session key
+      int[] sBox = ctx.sBox;
+      int[] sKey = ctx.sKey;
 
       if (DEBUG && debuglevel > 6) {
          System.out.println("PT="+Util.toString(in, inOffset, bs));
@@ -725,9 +765,9 @@ public final class Twofish extends BaseCipher {
          throw new IllegalArgumentException();
       }
 
-      Object[] sk = (Object[]) sessionKey; // extract S-box and session key
-      int[] sBox = (int[]) sk[0];
-      int[] sKey = (int[]) sk[1];
+      Context ctx = (Context) sessionKey; // extract S-box and session key
+      int[] sBox = ctx.sBox;
+      int[] sKey = ctx.sKey;
 
       if (DEBUG && debuglevel > 6) {
          System.out.println("CT="+Util.toString(in, inOffset, bs));
@@ -830,4 +870,20 @@ public final class Twofish extends BaseCipher {
       }
       return valid.booleanValue();
    }
+
+   // Inner classes.
+   // -------------------------------------------------------------------------
+
+   /** The key-dependent S-boxes and the subkeys of a session key. */
+   private static final class Context {
+
+      /** The fully expanded key-dependent S-boxes. */
+      final int[] sBox = new int[4 * 256];
+
+      /** The whitening and round subkeys. */
+      final int[] sKey = new int[ROUND_SUBKEYS + 2*ROUNDS];
+
+      /** Whether this instance is in the shared cache, hence read-only. */
+      boolean shared;
+   }
 }
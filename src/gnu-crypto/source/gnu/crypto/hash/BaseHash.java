@@ -43,6 +43,8 @@ package gnu.crypto.hash;
 // do so, delete this exception statement from your version.
 // ----------------------------------------------------------------------------
 
+import java.nio.ByteBuffer;
+
 /**
  * <p>A base abstract class to facilitate hash implementations.</p>
  *
@@ -139,6 +141,38 @@ public abstract class BaseHash implements IMessageDigest {
       }
    }
 
+   /**
+    * <p>Continues a message digest operation with the remaining bytes of a
+    * buffer, which is left at its limit. The bytes of a direct, or of a
+    * memory-mapped, buffer are digested where they are, a block at a time, by
+    * {@link #transform(ByteBuffer)}.</p>
+    *
+    * @param in the buffer whose remaining bytes are to be digested.
+    */
+   public void update(ByteBuffer in) {
+      if (in.hasArray()) {
+         final int len = in.remaining();
+         update(in.array(), in.arrayOffset() + in.position(), len);
+         in.position(in.limit());
+         return;
+      }
+
+      int n = (int)(count % blockSize);
+      count += in.remaining();
+      if (n > 0) { // complete the buffered block first
+         final int partLen = Math.min(blockSize - n, in.remaining());
+         in.get(buffer, n, partLen);
+         if (n + partLen < blockSize) {
+            return;
+         }
+         transform(buffer, 0);
+      }
+      while (in.remaining() >= blockSize) {
+         transform(in);
+      }
+      in.get(buffer, 0, in.remaining());
+   }
+
    public byte[] digest() {
       byte[] tail = padBuffer(); // pad remaining bytes in buffer
       update(tail, 0, tail.length); // last transform of a message
@@ -158,6 +192,77 @@ public abstract class BaseHash implements IMessageDigest {
       resetContext();
    }
 
+   // batch methods -----------------------------------------------------------
+
+   /**
+    * <p>Computes the digests of several independent messages, and stores them
+    * one after the other, each as long as the result of {@link #digest()},
+    * in a designated array. That length is <i>hashSize</i> bytes for all the
+    * algorithms but Whirlpool, whose digests are 64 bytes long.</p>
+    *
+    * <p>This instance computes all of them in turn, hashing the whole blocks
+    * of each message where they are, which saves the instantiation, the
+    * buffering and the virtual calls of one hash object per message. Any
+    * computation in progress is discarded, and the instance is left reset.
+    * </p>
+    *
+    * @param messages the messages to digest.
+    * @param out where to store the <code>messages.length</code> digests.
+    * @param offset where to start in <code>out</code>.
+    */
+   public void digest(byte[][] messages, byte[] out, int offset) {
+      for (int i = 0; i < messages.length; i++) {
+         offset += digest(messages[i], 0, messages[i].length, out, offset);
+      }
+
+      reset();
+   }
+
+   /**
+    * <p>Computes the digests of several independent messages, found at
+    * designated offsets of one array, and stores them one after the other in
+    * a designated array. This instance computes and stores all of them in
+    * turn, as {@link #digest(byte[][], byte[], int)} does.</p>
+    *
+    * @param in the array containing the messages.
+    * @param offsets where each message starts in <code>in</code>.
+    * @param lengths the length, in bytes, of each message.
+    * @param out where to store the <code>offsets.length</code> digests.
+    * @param offset where to start in <code>out</code>.
+    */
+   public void digest(byte[] in, int[] offsets, int[] lengths, byte[] out,
+                      int offset) {
+      if (offsets.length != lengths.length) {
+         throw new IllegalArgumentException("offsets and lengths differ");
+      }
+      for (int i = 0; i < offsets.length; i++) {
+         offset += digest(in, offsets[i], lengths[i], out, offset);
+      }
+
+      reset();
+   }
+
+   /**
+    * Digests one message of a batch, straight from where it is, and returns
+    * the length of the digest.
+    */
+   private int digest(byte[] in, int offset, int length, byte[] out,
+                       int outOffset) {
+      resetContext();
+      final int whole = length - length % blockSize;
+      for (int i = 0; i < whole; i += blockSize) {
+         transform(in, offset + i);
+      }
+      System.arraycopy(in, offset + whole, buffer, 0, length - whole);
+      count = length;
+
+      final byte[] tail = padBuffer();
+      update(tail, 0, tail.length);
+      final byte[] result = getResult();
+      System.arraycopy(result, 0, out, outOffset, result.length);
+      return result.length;
+   }
+
    // methods to be implemented by concrete subclasses ------------------------
 
    public abstract Object clone();
@@ -191,4 +296,17 @@ public abstract class BaseHash implements IMessageDigest {
     * input buffer.
     */
    protected abstract void transform(byte[] in, int offset);
+
+   /**
+    * <p>The block digest transformation of the next <i>blockSize</i> bytes of
+    * a buffer, which are consumed. This implementation copies them to the
+    * input buffer, then transforms them there; subclasses may override it to
+    * read them where they are.</p>
+    *
+    * @param in the buffer holding, at its position, the block to digest.
+    */
+   protected void transform(ByteBuffer in) {
+      in.get(buffer, 0, blockSize);
+      transform(buffer, 0);
+   }
 }
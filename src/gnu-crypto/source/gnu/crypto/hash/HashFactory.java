@@ -43,9 +43,11 @@ package gnu.crypto.hash;
 // do so, delete this exception statement from your version.
 // ----------------------------------------------------------------------------
 
+import gnu.crypto.Properties;
 import gnu.crypto.Registry;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -59,6 +61,12 @@ public class HashFactory {
    // Constants and variables
    // -------------------------------------------------------------------------
 
+   /**
+    * Self-tested prototypes, keyed by lower-case algorithm name; replaced,
+    * never modified, when a prototype is added, so that look-ups take no lock.
+    */
+   private static volatile HashMap prototypes = new HashMap();
+
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -84,6 +92,34 @@ public class HashFactory {
       }
 
       name = name.trim();
+      final String key = name.toLowerCase();
+      final boolean strict = Properties.isStrictSelfTest();
+      if (!strict) {
+         final IMessageDigest prototype = (IMessageDigest) prototypes.get(key);
+         if (prototype != null) {
+            return (IMessageDigest) prototype.clone();
+         }
+      }
+
+      final IMessageDigest result = make(name);
+      if (result != null && !result.selfTest()) {
+         throw new InternalError(result.name());
+      }
+      if (result != null && !strict) {
+         addPrototype(key, make(name));
+      }
+
+      return result;
+   }
+
+   private static synchronized void
+   addPrototype(String key, IMessageDigest prototype) {
+      final HashMap map = new HashMap(prototypes);
+      map.put(key, prototype);
+      prototypes = map;
+   }
+
+   private static IMessageDigest make(String name) {
       IMessageDigest result = null;
       if (name.equalsIgnoreCase(Registry.WHIRLPOOL_HASH)) {
          result = new Whirlpool();
@@ -118,10 +154,6 @@ public class HashFactory {
          result = new Haval();
       }
 
-      if (result != null && !result.selfTest()) {
-         throw new InternalError(result.name());
-      }
-
       return result;
    }
 
@@ -116,7 +116,7 @@ public class MD5 extends BaseHash {
 
    // Implementation of concrete methods in BaseHash --------------------------
 
-   protected synchronized void transform(byte[] in, int i) {
+   protected void transform(byte[] in, int i) {
       int X0 =  (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
       int X1 =  (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
       int X2 =  (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
@@ -68,46 +68,12 @@ public class RipeMD128 extends BaseHash {
 
    private static final String DIGEST0 = "CDF26213A150DC3ECB610F18F6B38B46";
 
-   /** Constants for the transform method. */
-   // selection of message word
-   private static final int[] R  = {
-      0,  1,  2,  3,  4,  5,  6,  7,  8,  9, 10, 11, 12, 13, 14, 15,
-      7,  4, 13,  1, 10,  6, 15,  3, 12,  0,  9,  5,  2, 14, 11,  8,
-      3, 10, 14,  4,  9, 15,  8,  1,  2,  7,  0,  6, 13, 11,  5, 12,
-      1,  9, 11, 10,  0,  8, 12,  4, 13,  3,  7, 15, 14,  5,  6,  2
-   };
-
-   private static final int[] Rp = {
-       5, 14,  7,  0,  9,  2, 11,  4, 13,  6, 15,  8,  1, 10,  3, 12,
-       6, 11,  3,  7,  0, 13,  5, 10, 14, 15,  8, 12,  4,  9,  1,  2,
-      15,  5,  1,  3,  7, 14,  6,  9, 11,  8, 12,  2, 10,  0,  4, 13,
-       8,  6,  4,  1,  3, 11, 15,  0,  5, 12,  2, 13,  9,  7, 10, 14
-   };
-
-   // amount for rotate left (rol)
-   private static final int[] S  = {
-      11, 14, 15, 12,  5,  8,  7,  9, 11, 13, 14, 15,  6,  7,  9,  8,
-       7,  6,  8, 13, 11,  9,  7, 15,  7, 12, 15,  9, 11,  7, 13, 12,
-      11, 13,  6,  7, 14,  9, 13, 15, 14,  8, 13,  6,  5, 12,  7,  5,
-      11, 12, 14, 15, 14, 15,  9,  8,  9, 14,  5,  6,  8,  6,  5, 12
-   };
-
-   private static final int[] Sp = {
-       8,  9,  9, 11, 13, 15, 15,  5,  7,  7,  8, 11, 14, 14, 12,  6,
-       9, 13, 15,  7, 12,  8,  9, 11,  7,  7, 12,  7,  6, 15, 13, 11,
-       9,  7, 15, 11,  8,  6,  6, 14, 12, 13,  5, 14, 13, 13,  7,  5,
-      15,  5,  8, 11, 14, 14,  6, 14,  6,  9, 12,  9, 12,  5, 15,  8
-   };
-
    /** caches the result of the correctness test, once executed. */
    private static Boolean valid;
 
    /** 128-bit h0, h1, h2, h3 (interim result) */
    private int h0, h1, h2, h3;
 
-   /** 512 bits work buffer = 16 x 32-bit words */
-   private int[] X = new int[16];
-
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -146,67 +112,170 @@ public class RipeMD128 extends BaseHash {
 
    // Implementation of concrete methods in BaseHash --------------------------
 
-   protected void transform (byte[] in, int offset) {
-      int A, B, C, D, Ap, Bp, Cp, Dp, T, s, i;
-
-      // encode 64 bytes from input block into an array of 16 unsigned
-      // integers.
-      for (i = 0; i < 16; i++) {
-         X[i] = (in[offset++] & 0xFF)       |
-                (in[offset++] & 0xFF) <<  8 |
-                (in[offset++] & 0xFF) << 16 |
-                 in[offset++]         << 24;
-      }
-
-      A = Ap = h0;
-      B = Bp = h1;
-      C = Cp = h2;
-      D = Dp = h3;
-
-      for (i = 0; i < 16; i++) { // rounds 0...15
-         s = S[i];
-         T = A + (B ^ C ^ D) + X[i];
-         A = D; D = C; C = B; B = T << s | T >>> (32 - s);
-
-         s = Sp[i];
-         T = Ap + ((Bp & Dp) | (Cp & ~Dp)) + X[Rp[i]] + 0x50A28BE6;
-         Ap = Dp; Dp = Cp; Cp = Bp; Bp = T << s | T >>> (32 - s);
-      }
-
-      for ( ; i < 32; i++) { // rounds 16...31
-         s = S[i];
-         T = A + ((B & C) | (~B & D)) + X[R[i]] + 0x5A827999;
-         A = D; D = C; C = B; B = T << s | T >>> (32 - s);
-
-         s = Sp[i];
-         T = Ap + ((Bp | ~Cp) ^ Dp) + X[Rp[i]] + 0x5C4DD124;
-         Ap = Dp; Dp = Cp; Cp = Bp; Bp = T << s | T >>> (32 - s);
-      }
-
-      for ( ; i < 48; i++) { // rounds 32...47
-         s = S[i];
-         T = A + ((B | ~C) ^ D) + X[R[i]] + 0x6ED9EBA1;
-         A = D; D = C; C = B; B = T << s | T >>> (32 - s);
-
-         s = Sp[i];
-         T = Ap + ((Bp & Cp) | (~Bp & Dp)) + X[Rp[i]] + 0x6D703EF3;
-         Ap = Dp; Dp = Cp; Cp = Bp; Bp = T << s | T >>> (32 - s);
-      }
-
-      for ( ; i < 64; i++) { // rounds 48...63
-         s = S[i];
-         T = A + ((B & D) | (C & ~D)) + X[R[i]] + 0x8F1BBCDC;
-         A = D; D = C; C = B; B = T << s | T >>> (32 - s);
-
-         s = Sp[i];
-         T = Ap + (Bp ^ Cp ^ Dp) + X[Rp[i]];
-         Ap = Dp; Dp = Cp; Cp = Bp; Bp = T << s | T >>> (32 - s);
-      }
-
-      T =  h1 + C + Dp;
-      h1 = h2 + D + Ap;
-      h2 = h3 + A + Bp;
-      h3 = h0 + B + Cp;
+   protected void transform(byte[] in, int i) {
+      // the 16 message words and both lines of registers are locals, and the
+      // steps are unrolled with the registers renamed, not shuffled, so that
+      // the method stays small enough for the JIT to compile.
+      int X0  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X1  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X2  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X3  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X4  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X5  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X6  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X7  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X8  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X9  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X10 = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X11 = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X12 = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X13 = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X14 = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X15 = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i  ] << 24;
+
+      int A = h0, B = h1, C = h2, D = h3, T;
+      int a = h0, b = h1, c = h2, d = h3;
+
+      // rounds 0...15
+      T = A + (B ^ C ^ D) + X0; A = T << 11 | T >>> 21;
+      T = a + (b & d | c & ~d) + X5 + 0x50A28BE6; a = T << 8 | T >>> 24;
+      T = D + (A ^ B ^ C) + X1; D = T << 14 | T >>> 18;
+      T = d + (a & c | b & ~c) + X14 + 0x50A28BE6; d = T << 9 | T >>> 23;
+      T = C + (D ^ A ^ B) + X2; C = T << 15 | T >>> 17;
+      T = c + (d & b | a & ~b) + X7 + 0x50A28BE6; c = T << 9 | T >>> 23;
+      T = B + (C ^ D ^ A) + X3; B = T << 12 | T >>> 20;
+      T = b + (c & a | d & ~a) + X0 + 0x50A28BE6; b = T << 11 | T >>> 21;
+      T = A + (B ^ C ^ D) + X4; A = T << 5 | T >>> 27;
+      T = a + (b & d | c & ~d) + X9 + 0x50A28BE6; a = T << 13 | T >>> 19;
+      T = D + (A ^ B ^ C) + X5; D = T << 8 | T >>> 24;
+      T = d + (a & c | b & ~c) + X2 + 0x50A28BE6; d = T << 15 | T >>> 17;
+      T = C + (D ^ A ^ B) + X6; C = T << 7 | T >>> 25;
+      T = c + (d & b | a & ~b) + X11 + 0x50A28BE6; c = T << 15 | T >>> 17;
+      T = B + (C ^ D ^ A) + X7; B = T << 9 | T >>> 23;
+      T = b + (c & a | d & ~a) + X4 + 0x50A28BE6; b = T << 5 | T >>> 27;
+      T = A + (B ^ C ^ D) + X8; A = T << 11 | T >>> 21;
+      T = a + (b & d | c & ~d) + X13 + 0x50A28BE6; a = T << 7 | T >>> 25;
+      T = D + (A ^ B ^ C) + X9; D = T << 13 | T >>> 19;
+      T = d + (a & c | b & ~c) + X6 + 0x50A28BE6; d = T << 7 | T >>> 25;
+      T = C + (D ^ A ^ B) + X10; C = T << 14 | T >>> 18;
+      T = c + (d & b | a & ~b) + X15 + 0x50A28BE6; c = T << 8 | T >>> 24;
+      T = B + (C ^ D ^ A) + X11; B = T << 15 | T >>> 17;
+      T = b + (c & a | d & ~a) + X8 + 0x50A28BE6; b = T << 11 | T >>> 21;
+      T = A + (B ^ C ^ D) + X12; A = T << 6 | T >>> 26;
+      T = a + (b & d | c & ~d) + X1 + 0x50A28BE6; a = T << 14 | T >>> 18;
+      T = D + (A ^ B ^ C) + X13; D = T << 7 | T >>> 25;
+      T = d + (a & c | b & ~c) + X10 + 0x50A28BE6; d = T << 14 | T >>> 18;
+      T = C + (D ^ A ^ B) + X14; C = T << 9 | T >>> 23;
+      T = c + (d & b | a & ~b) + X3 + 0x50A28BE6; c = T << 12 | T >>> 20;
+      T = B + (C ^ D ^ A) + X15; B = T << 8 | T >>> 24;
+      T = b + (c & a | d & ~a) + X12 + 0x50A28BE6; b = T << 6 | T >>> 26;
+
+      // rounds 16...31
+      T = A + (B & C | ~B & D) + X7 + 0x5A827999; A = T << 7 | T >>> 25;
+      T = a + ((b | ~c) ^ d) + X6 + 0x5C4DD124; a = T << 9 | T >>> 23;
+      T = D + (A & B | ~A & C) + X4 + 0x5A827999; D = T << 6 | T >>> 26;
+      T = d + ((a | ~b) ^ c) + X11 + 0x5C4DD124; d = T << 13 | T >>> 19;
+      T = C + (D & A | ~D & B) + X13 + 0x5A827999; C = T << 8 | T >>> 24;
+      T = c + ((d | ~a) ^ b) + X3 + 0x5C4DD124; c = T << 15 | T >>> 17;
+      T = B + (C & D | ~C & A) + X1 + 0x5A827999; B = T << 13 | T >>> 19;
+      T = b + ((c | ~d) ^ a) + X7 + 0x5C4DD124; b = T << 7 | T >>> 25;
+      T = A + (B & C | ~B & D) + X10 + 0x5A827999; A = T << 11 | T >>> 21;
+      T = a + ((b | ~c) ^ d) + X0 + 0x5C4DD124; a = T << 12 | T >>> 20;
+      T = D + (A & B | ~A & C) + X6 + 0x5A827999; D = T << 9 | T >>> 23;
+      T = d + ((a | ~b) ^ c) + X13 + 0x5C4DD124; d = T << 8 | T >>> 24;
+      T = C + (D & A | ~D & B) + X15 + 0x5A827999; C = T << 7 | T >>> 25;
+      T = c + ((d | ~a) ^ b) + X5 + 0x5C4DD124; c = T << 9 | T >>> 23;
+      T = B + (C & D | ~C & A) + X3 + 0x5A827999; B = T << 15 | T >>> 17;
+      T = b + ((c | ~d) ^ a) + X10 + 0x5C4DD124; b = T << 11 | T >>> 21;
+      T = A + (B & C | ~B & D) + X12 + 0x5A827999; A = T << 7 | T >>> 25;
+      T = a + ((b | ~c) ^ d) + X14 + 0x5C4DD124; a = T << 7 | T >>> 25;
+      T = D + (A & B | ~A & C) + X0 + 0x5A827999; D = T << 12 | T >>> 20;
+      T = d + ((a | ~b) ^ c) + X15 + 0x5C4DD124; d = T << 7 | T >>> 25;
+      T = C + (D & A | ~D & B) + X9 + 0x5A827999; C = T << 15 | T >>> 17;
+      T = c + ((d | ~a) ^ b) + X8 + 0x5C4DD124; c = T << 12 | T >>> 20;
+      T = B + (C & D | ~C & A) + X5 + 0x5A827999; B = T << 9 | T >>> 23;
+      T = b + ((c | ~d) ^ a) + X12 + 0x5C4DD124; b = T << 7 | T >>> 25;
+      T = A + (B & C | ~B & D) + X2 + 0x5A827999; A = T << 11 | T >>> 21;
+      T = a + ((b | ~c) ^ d) + X4 + 0x5C4DD124; a = T << 6 | T >>> 26;
+      T = D + (A & B | ~A & C) + X14 + 0x5A827999; D = T << 7 | T >>> 25;
+      T = d + ((a | ~b) ^ c) + X9 + 0x5C4DD124; d = T << 15 | T >>> 17;
+      T = C + (D & A | ~D & B) + X11 + 0x5A827999; C = T << 13 | T >>> 19;
+      T = c + ((d | ~a) ^ b) + X1 + 0x5C4DD124; c = T << 13 | T >>> 19;
+      T = B + (C & D | ~C & A) + X8 + 0x5A827999; B = T << 12 | T >>> 20;
+      T = b + ((c | ~d) ^ a) + X2 + 0x5C4DD124; b = T << 11 | T >>> 21;
+
+      // rounds 32...47
+      T = A + ((B | ~C) ^ D) + X3 + 0x6ED9EBA1; A = T << 11 | T >>> 21;
+      T = a + (b & c | ~b & d) + X15 + 0x6D703EF3; a = T << 9 | T >>> 23;
+      T = D + ((A | ~B) ^ C) + X10 + 0x6ED9EBA1; D = T << 13 | T >>> 19;
+      T = d + (a & b | ~a & c) + X5 + 0x6D703EF3; d = T << 7 | T >>> 25;
+      T = C + ((D | ~A) ^ B) + X14 + 0x6ED9EBA1; C = T << 6 | T >>> 26;
+      T = c + (d & a | ~d & b) + X1 + 0x6D703EF3; c = T << 15 | T >>> 17;
+      T = B + ((C | ~D) ^ A) + X4 + 0x6ED9EBA1; B = T << 7 | T >>> 25;
+      T = b + (c & d | ~c & a) + X3 + 0x6D703EF3; b = T << 11 | T >>> 21;
+      T = A + ((B | ~C) ^ D) + X9 + 0x6ED9EBA1; A = T << 14 | T >>> 18;
+      T = a + (b & c | ~b & d) + X7 + 0x6D703EF3; a = T << 8 | T >>> 24;
+      T = D + ((A | ~B) ^ C) + X15 + 0x6ED9EBA1; D = T << 9 | T >>> 23;
+      T = d + (a & b | ~a & c) + X14 + 0x6D703EF3; d = T << 6 | T >>> 26;
+      T = C + ((D | ~A) ^ B) + X8 + 0x6ED9EBA1; C = T << 13 | T >>> 19;
+      T = c + (d & a | ~d & b) + X6 + 0x6D703EF3; c = T << 6 | T >>> 26;
+      T = B + ((C | ~D) ^ A) + X1 + 0x6ED9EBA1; B = T << 15 | T >>> 17;
+      T = b + (c & d | ~c & a) + X9 + 0x6D703EF3; b = T << 14 | T >>> 18;
+      T = A + ((B | ~C) ^ D) + X2 + 0x6ED9EBA1; A = T << 14 | T >>> 18;
+      T = a + (b & c | ~b & d) + X11 + 0x6D703EF3; a = T << 12 | T >>> 20;
+      T = D + ((A | ~B) ^ C) + X7 + 0x6ED9EBA1; D = T << 8 | T >>> 24;
+      T = d + (a & b | ~a & c) + X8 + 0x6D703EF3; d = T << 13 | T >>> 19;
+      T = C + ((D | ~A) ^ B) + X0 + 0x6ED9EBA1; C = T << 13 | T >>> 19;
+      T = c + (d & a | ~d & b) + X12 + 0x6D703EF3; c = T << 5 | T >>> 27;
+      T = B + ((C | ~D) ^ A) + X6 + 0x6ED9EBA1; B = T << 6 | T >>> 26;
+      T = b + (c & d | ~c & a) + X2 + 0x6D703EF3; b = T << 14 | T >>> 18;
+      T = A + ((B | ~C) ^ D) + X13 + 0x6ED9EBA1; A = T << 5 | T >>> 27;
+      T = a + (b & c | ~b & d) + X10 + 0x6D703EF3; a = T << 13 | T >>> 19;
+      T = D + ((A | ~B) ^ C) + X11 + 0x6ED9EBA1; D = T << 12 | T >>> 20;
+      T = d + (a & b | ~a & c) + X0 + 0x6D703EF3; d = T << 13 | T >>> 19;
+      T = C + ((D | ~A) ^ B) + X5 + 0x6ED9EBA1; C = T << 7 | T >>> 25;
+      T = c + (d & a | ~d & b) + X4 + 0x6D703EF3; c = T << 7 | T >>> 25;
+      T = B + ((C | ~D) ^ A) + X12 + 0x6ED9EBA1; B = T << 5 | T >>> 27;
+      T = b + (c & d | ~c & a) + X13 + 0x6D703EF3; b = T << 5 | T >>> 27;
+
+      // rounds 48...63
+      T = A + (B & D | C & ~D) + X1 + 0x8F1BBCDC; A = T << 11 | T >>> 21;
+      T = a + (b ^ c ^ d) + X8; a = T << 15 | T >>> 17;
+      T = D + (A & C | B & ~C) + X9 + 0x8F1BBCDC; D = T << 12 | T >>> 20;
+      T = d + (a ^ b ^ c) + X6; d = T << 5 | T >>> 27;
+      T = C + (D & B | A & ~B) + X11 + 0x8F1BBCDC; C = T << 14 | T >>> 18;
+      T = c + (d ^ a ^ b) + X4; c = T << 8 | T >>> 24;
+      T = B + (C & A | D & ~A) + X10 + 0x8F1BBCDC; B = T << 15 | T >>> 17;
+      T = b + (c ^ d ^ a) + X1; b = T << 11 | T >>> 21;
+      T = A + (B & D | C & ~D) + X0 + 0x8F1BBCDC; A = T << 14 | T >>> 18;
+      T = a + (b ^ c ^ d) + X3; a = T << 14 | T >>> 18;
+      T = D + (A & C | B & ~C) + X8 + 0x8F1BBCDC; D = T << 15 | T >>> 17;
+      T = d + (a ^ b ^ c) + X11; d = T << 14 | T >>> 18;
+      T = C + (D & B | A & ~B) + X12 + 0x8F1BBCDC; C = T << 9 | T >>> 23;
+      T = c + (d ^ a ^ b) + X15; c = T << 6 | T >>> 26;
+      T = B + (C & A | D & ~A) + X4 + 0x8F1BBCDC; B = T << 8 | T >>> 24;
+      T = b + (c ^ d ^ a) + X0; b = T << 14 | T >>> 18;
+      T = A + (B & D | C & ~D) + X13 + 0x8F1BBCDC; A = T << 9 | T >>> 23;
+      T = a + (b ^ c ^ d) + X5; a = T << 6 | T >>> 26;
+      T = D + (A & C | B & ~C) + X3 + 0x8F1BBCDC; D = T << 14 | T >>> 18;
+      T = d + (a ^ b ^ c) + X12; d = T << 9 | T >>> 23;
+      T = C + (D & B | A & ~B) + X7 + 0x8F1BBCDC; C = T << 5 | T >>> 27;
+      T = c + (d ^ a ^ b) + X2; c = T << 12 | T >>> 20;
+      T = B + (C & A | D & ~A) + X15 + 0x8F1BBCDC; B = T << 6 | T >>> 26;
+      T = b + (c ^ d ^ a) + X13; b = T << 9 | T >>> 23;
+      T = A + (B & D | C & ~D) + X14 + 0x8F1BBCDC; A = T << 8 | T >>> 24;
+      T = a + (b ^ c ^ d) + X9; a = T << 12 | T >>> 20;
+      T = D + (A & C | B & ~C) + X5 + 0x8F1BBCDC; D = T << 6 | T >>> 26;
+      T = d + (a ^ b ^ c) + X7; d = T << 5 | T >>> 27;
+      T = C + (D & B | A & ~B) + X6 + 0x8F1BBCDC; C = T << 5 | T >>> 27;
+      T = c + (d ^ a ^ b) + X10; c = T << 15 | T >>> 17;
+      T = B + (C & A | D & ~A) + X2 + 0x8F1BBCDC; B = T << 12 | T >>> 20;
+      T = b + (c ^ d ^ a) + X14; b = T << 8 | T >>> 24;
+
+      T =  h1 + C + d;
+      h1 = h2 + D + a;
+      h2 = h3 + A + b;
+      h3 = h0 + B + c;
       h0 = T;
    }
 
@@ -68,49 +68,12 @@ public class RipeMD160 extends BaseHash {
 
    private static final String DIGEST0 = "9C1185A5C5E9FC54612808977EE8F548B2258D31";
 
-   // selection of message word
-   private static final int[] R  = {
-      0,  1,  2,  3,  4,  5,  6,  7,  8,  9, 10, 11, 12, 13, 14, 15,
-      7,  4, 13,  1, 10,  6, 15,  3, 12,  0,  9,  5,  2, 14, 11,  8,
-      3, 10, 14,  4,  9, 15,  8,  1,  2,  7,  0,  6, 13, 11,  5, 12,
-      1,  9, 11, 10,  0,  8, 12,  4, 13,  3,  7, 15, 14,  5,  6,  2,
-      4,  0,  5,  9,  7, 12,  2, 10, 14,  1,  3,  8, 11,  6, 15, 13
-   };
-
-   private static final int[] Rp = {
-       5, 14,  7,  0,  9,  2, 11,  4, 13,  6, 15,  8,  1, 10,  3, 12,
-       6, 11,  3,  7,  0, 13,  5, 10, 14, 15,  8, 12,  4,  9,  1,  2,
-      15,  5,  1,  3,  7, 14,  6,  9, 11,  8, 12,  2, 10,  0,  4, 13,
-       8,  6,  4,  1,  3, 11, 15,  0,  5, 12,  2, 13,  9,  7, 10, 14,
-      12, 15, 10,  4,  1,  5,  8,  7,  6,  2, 13, 14,  0,  3,  9, 11
-   };
-
-   // amount for rotate left (rol)
-   private static final int[] S  = {
-      11, 14, 15, 12,  5,  8,  7,  9, 11, 13, 14, 15,  6,  7,  9,  8,
-       7,  6,  8, 13, 11,  9,  7, 15,  7, 12, 15,  9, 11,  7, 13, 12,
-      11, 13,  6,  7, 14,  9, 13, 15, 14,  8, 13,  6,  5, 12,  7,  5,
-      11, 12, 14, 15, 14, 15,  9,  8,  9, 14,  5,  6,  8,  6,  5, 12,
-       9, 15,  5, 11,  6,  8, 13, 12,  5, 12, 13, 14, 11,  8,  5,  6
-   };
-
-   private static final int[] Sp = {
-       8,  9,  9, 11, 13, 15, 15,  5,  7,  7,  8, 11, 14, 14, 12,  6,
-       9, 13, 15,  7, 12,  8,  9, 11,  7,  7, 12,  7,  6, 15, 13, 11,
-       9,  7, 15, 11,  8,  6,  6, 14, 12, 13,  5, 14, 13, 13,  7,  5,
-      15,  5,  8, 11, 14, 14,  6, 14,  6,  9, 12,  9, 12,  5, 15,  8,
-       8,  5, 12,  9, 12,  5, 14,  6,  8, 13,  6,  5, 15, 13, 11, 11
-   };
-
    /** caches the result of the correctness test, once executed. */
    private static Boolean valid;
 
    /** 160-bit h0, h1, h2, h3, h4 (interim result) */
    private int h0, h1, h2, h3, h4;
 
-   /** 512 bits work buffer = 16 x 32-bit words */
-   private int[] X = new int[16];
-
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -150,89 +113,122 @@ public class RipeMD160 extends BaseHash {
 
    // Implementation of concrete methods in BaseHash --------------------------
 
-   protected void transform (byte[] in, int offset) {
-      int A, B, C, D, E, Ap, Bp, Cp, Dp, Ep, T, s, i;
-
-      // encode 64 bytes from input block into an array of 16 unsigned integers
-      for (i = 0; i < 16; i++) {
-         X[i] = (in[offset++] & 0xFF)       |
-                (in[offset++] & 0xFF) <<  8 |
-                (in[offset++] & 0xFF) << 16 |
-                 in[offset++]         << 24;
-      }
-
-      A = Ap = h0;
-      B = Bp = h1;
-      C = Cp = h2;
-      D = Dp = h3;
-      E = Ep = h4;
-
-      for (i = 0; i < 16; i++) { // rounds 0...15
-         s = S[i];
-         T = A + (B ^ C ^ D) + X[i];
-         A = E; E = D; D = C << 10 | C >>> 22; C = B;
-         B = (T << s | T >>> (32 - s)) + A;
-
-         s = Sp[i];
-         T = Ap + (Bp ^ (Cp | ~Dp)) + X[Rp[i]] + 0x50A28BE6;
-         Ap = Ep; Ep = Dp; Dp = Cp << 10 | Cp >>> 22; Cp = Bp;
-         Bp = (T << s | T >>> (32 - s)) + Ap;
-      }
-
-      for ( ; i < 32; i++) { // rounds 16...31
-         s = S[i];
-         T = A + ((B & C) | (~B & D)) + X[R[i]] + 0x5A827999;
-         A = E; E = D; D = C << 10 | C >>> 22; C = B;
-         B = (T << s | T >>> (32 - s)) + A;
-
-         s = Sp[i];
-         T = Ap + ((Bp & Dp) | (Cp & ~Dp)) + X[Rp[i]] + 0x5C4DD124;
-         Ap = Ep; Ep = Dp; Dp = Cp << 10 | Cp >>> 22; Cp = Bp;
-         Bp = (T << s | T >>> (32 - s)) + Ap;
-      }
-
-      for ( ; i < 48; i++) { // rounds 32...47
-         s = S[i];
-         T = A + ((B | ~C) ^ D) + X[R[i]] + 0x6ED9EBA1;
-         A = E; E = D; D = C << 10 | C >>> 22; C = B;
-         B = (T << s | T >>> (32 - s)) + A;
-
-         s = Sp[i];
-         T = Ap + ((Bp | ~Cp) ^ Dp) + X[Rp[i]] + 0x6D703EF3;
-         Ap = Ep; Ep = Dp; Dp = Cp << 10 | Cp >>> 22; Cp = Bp;
-         Bp = (T << s | T >>> (32 - s)) + Ap;
-      }
-
-      for ( ; i < 64; i++) { // rounds 48...63
-         s = S[i];
-         T = A + ((B & D) | (C & ~D)) + X[R[i]] + 0x8F1BBCDC;
-         A = E; E = D; D = C << 10 | C >>> 22; C = B;
-         B = (T << s | T >>> (32 - s)) + A;
-
-         s = Sp[i];
-         T = Ap + ((Bp & Cp) | (~Bp & Dp)) + X[Rp[i]] + 0x7A6D76E9;
-         Ap = Ep; Ep = Dp; Dp = Cp << 10 | Cp >>> 22; Cp = Bp;
-         Bp = (T << s | T >>> (32 - s)) + Ap;
-      }
-
-      for ( ; i < 80; i++) { // rounds 64...79
-         s = S[i];
-         T = A + (B ^ (C | ~D)) + X[R[i]] + 0xA953FD4E;
-         A = E; E = D; D = C << 10 | C >>> 22; C = B;
-         B = (T << s | T >>> (32 - s)) + A;
-
-         s = Sp[i];
-         T = Ap + (Bp ^ Cp ^ Dp) + X[Rp[i]];
-         Ap = Ep; Ep = Dp; Dp = Cp << 10 | Cp >>> 22; Cp = Bp;
-         Bp = (T << s | T >>> (32 - s)) + Ap;
-      }
-
-      T =  h1 + C + Dp;
-      h1 = h2 + D + Ep;
-      h2 = h3 + E + Ap;
-      h3 = h4 + A + Bp;
-      h4 = h0 + B + Cp;
-      h0 = T;
+   protected void transform(byte[] in, int i) {
+      // the 16 message words and the registers are locals, and the steps are
+      // unrolled with the registers renamed, not shuffled; the two lines are
+      // split across two methods so that each is small enough for the JIT to
+      // compile.
+      int X0  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X1  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X2  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X3  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X4  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X5  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X6  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X7  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X8  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X9  = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X10 = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X11 = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X12 = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X13 = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X14 = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i++] << 24;
+      int X15 = (in[i++] & 0xFF) | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF) << 16 | in[i  ] << 24;
+
+      int A = h0, B = h1, C = h2, D = h3, E = h4, T;
+
+      // rounds 0...15
+      T = A + (B ^ C ^ D) + X0; A = (T << 11 | T >>> 21) + E; C = C << 10 | C >>> 22;
+      T = E + (A ^ B ^ C) + X1; E = (T << 14 | T >>> 18) + D; B = B << 10 | B >>> 22;
+      T = D + (E ^ A ^ B) + X2; D = (T << 15 | T >>> 17) + C; A = A << 10 | A >>> 22;
+      T = C + (D ^ E ^ A) + X3; C = (T << 12 | T >>> 20) + B; E = E << 10 | E >>> 22;
+      T = B + (C ^ D ^ E) + X4; B = (T << 5 | T >>> 27) + A; D = D << 10 | D >>> 22;
+      T = A + (B ^ C ^ D) + X5; A = (T << 8 | T >>> 24) + E; C = C << 10 | C >>> 22;
+      T = E + (A ^ B ^ C) + X6; E = (T << 7 | T >>> 25) + D; B = B << 10 | B >>> 22;
+      T = D + (E ^ A ^ B) + X7; D = (T << 9 | T >>> 23) + C; A = A << 10 | A >>> 22;
+      T = C + (D ^ E ^ A) + X8; C = (T << 11 | T >>> 21) + B; E = E << 10 | E >>> 22;
+      T = B + (C ^ D ^ E) + X9; B = (T << 13 | T >>> 19) + A; D = D << 10 | D >>> 22;
+      T = A + (B ^ C ^ D) + X10; A = (T << 14 | T >>> 18) + E; C = C << 10 | C >>> 22;
+      T = E + (A ^ B ^ C) + X11; E = (T << 15 | T >>> 17) + D; B = B << 10 | B >>> 22;
+      T = D + (E ^ A ^ B) + X12; D = (T << 6 | T >>> 26) + C; A = A << 10 | A >>> 22;
+      T = C + (D ^ E ^ A) + X13; C = (T << 7 | T >>> 25) + B; E = E << 10 | E >>> 22;
+      T = B + (C ^ D ^ E) + X14; B = (T << 9 | T >>> 23) + A; D = D << 10 | D >>> 22;
+      T = A + (B ^ C ^ D) + X15; A = (T << 8 | T >>> 24) + E; C = C << 10 | C >>> 22;
+
+      // rounds 16...31
+      T = E + (A & B | ~A & C) + X7 + 0x5A827999; E = (T << 7 | T >>> 25) + D; B = B << 10 | B >>> 22;
+      T = D + (E & A | ~E & B) + X4 + 0x5A827999; D = (T << 6 | T >>> 26) + C; A = A << 10 | A >>> 22;
+      T = C + (D & E | ~D & A) + X13 + 0x5A827999; C = (T << 8 | T >>> 24) + B; E = E << 10 | E >>> 22;
+      T = B + (C & D | ~C & E) + X1 + 0x5A827999; B = (T << 13 | T >>> 19) + A; D = D << 10 | D >>> 22;
+      T = A + (B & C | ~B & D) + X10 + 0x5A827999; A = (T << 11 | T >>> 21) + E; C = C << 10 | C >>> 22;
+      T = E + (A & B | ~A & C) + X6 + 0x5A827999; E = (T << 9 | T >>> 23) + D; B = B << 10 | B >>> 22;
+      T = D + (E & A | ~E & B) + X15 + 0x5A827999; D = (T << 7 | T >>> 25) + C; A = A << 10 | A >>> 22;
+      T = C + (D & E | ~D & A) + X3 + 0x5A827999; C = (T << 15 | T >>> 17) + B; E = E << 10 | E >>> 22;
+      T = B + (C & D | ~C & E) + X12 + 0x5A827999; B = (T << 7 | T >>> 25) + A; D = D << 10 | D >>> 22;
+      T = A + (B & C | ~B & D) + X0 + 0x5A827999; A = (T << 12 | T >>> 20) + E; C = C << 10 | C >>> 22;
+      T = E + (A & B | ~A & C) + X9 + 0x5A827999; E = (T << 15 | T >>> 17) + D; B = B << 10 | B >>> 22;
+      T = D + (E & A | ~E & B) + X5 + 0x5A827999; D = (T << 9 | T >>> 23) + C; A = A << 10 | A >>> 22;
+      T = C + (D & E | ~D & A) + X2 + 0x5A827999; C = (T << 11 | T >>> 21) + B; E = E << 10 | E >>> 22;
+      T = B + (C & D | ~C & E) + X14 + 0x5A827999; B = (T << 7 | T >>> 25) + A; D = D << 10 | D >>> 22;
+      T = A + (B & C | ~B & D) + X11 + 0x5A827999; A = (T << 13 | T >>> 19) + E; C = C << 10 | C >>> 22;
+      T = E + (A & B | ~A & C) + X8 + 0x5A827999; E = (T << 12 | T >>> 20) + D; B = B << 10 | B >>> 22;
+
+      // rounds 32...47
+      T = D + ((E | ~A) ^ B) + X3 + 0x6ED9EBA1; D = (T << 11 | T >>> 21) + C; A = A << 10 | A >>> 22;
+      T = C + ((D | ~E) ^ A) + X10 + 0x6ED9EBA1; C = (T << 13 | T >>> 19) + B; E = E << 10 | E >>> 22;
+      T = B + ((C | ~D) ^ E) + X14 + 0x6ED9EBA1; B = (T << 6 | T >>> 26) + A; D = D << 10 | D >>> 22;
+      T = A + ((B | ~C) ^ D) + X4 + 0x6ED9EBA1; A = (T << 7 | T >>> 25) + E; C = C << 10 | C >>> 22;
+      T = E + ((A | ~B) ^ C) + X9 + 0x6ED9EBA1; E = (T << 14 | T >>> 18) + D; B = B << 10 | B >>> 22;
+      T = D + ((E | ~A) ^ B) + X15 + 0x6ED9EBA1; D = (T << 9 | T >>> 23) + C; A = A << 10 | A >>> 22;
+      T = C + ((D | ~E) ^ A) + X8 + 0x6ED9EBA1; C = (T << 13 | T >>> 19) + B; E = E << 10 | E >>> 22;
+      T = B + ((C | ~D) ^ E) + X1 + 0x6ED9EBA1; B = (T << 15 | T >>> 17) + A; D = D << 10 | D >>> 22;
+      T = A + ((B | ~C) ^ D) + X2 + 0x6ED9EBA1; A = (T << 14 | T >>> 18) + E; C = C << 10 | C >>> 22;
+      T = E + ((A | ~B) ^ C) + X7 + 0x6ED9EBA1; E = (T << 8 | T >>> 24) + D; B = B << 10 | B >>> 22;
+      T = D + ((E | ~A) ^ B) + X0 + 0x6ED9EBA1; D = (T << 13 | T >>> 19) + C; A = A << 10 | A >>> 22;
+      T = C + ((D | ~E) ^ A) + X6 + 0x6ED9EBA1; C = (T << 6 | T >>> 26) + B; E = E << 10 | E >>> 22;
+      T = B + ((C | ~D) ^ E) + X13 + 0x6ED9EBA1; B = (T << 5 | T >>> 27) + A; D = D << 10 | D >>> 22;
+      T = A + ((B | ~C) ^ D) + X11 + 0x6ED9EBA1; A = (T << 12 | T >>> 20) + E; C = C << 10 | C >>> 22;
+      T = E + ((A | ~B) ^ C) + X5 + 0x6ED9EBA1; E = (T << 7 | T >>> 25) + D; B = B << 10 | B >>> 22;
+      T = D + ((E | ~A) ^ B) + X12 + 0x6ED9EBA1; D = (T << 5 | T >>> 27) + C; A = A << 10 | A >>> 22;
+
+      // rounds 48...63
+      T = C + (D & A | E & ~A) + X1 + 0x8F1BBCDC; C = (T << 11 | T >>> 21) + B; E = E << 10 | E >>> 22;
+      T = B + (C & E | D & ~E) + X9 + 0x8F1BBCDC; B = (T << 12 | T >>> 20) + A; D = D << 10 | D >>> 22;
+      T = A + (B & D | C & ~D) + X11 + 0x8F1BBCDC; A = (T << 14 | T >>> 18) + E; C = C << 10 | C >>> 22;
+      T = E + (A & C | B & ~C) + X10 + 0x8F1BBCDC; E = (T << 15 | T >>> 17) + D; B = B << 10 | B >>> 22;
+      T = D + (E & B | A & ~B) + X0 + 0x8F1BBCDC; D = (T << 14 | T >>> 18) + C; A = A << 10 | A >>> 22;
+      T = C + (D & A | E & ~A) + X8 + 0x8F1BBCDC; C = (T << 15 | T >>> 17) + B; E = E << 10 | E >>> 22;
+      T = B + (C & E | D & ~E) + X12 + 0x8F1BBCDC; B = (T << 9 | T >>> 23) + A; D = D << 10 | D >>> 22;
+      T = A + (B & D | C & ~D) + X4 + 0x8F1BBCDC; A = (T << 8 | T >>> 24) + E; C = C << 10 | C >>> 22;
+      T = E + (A & C | B & ~C) + X13 + 0x8F1BBCDC; E = (T << 9 | T >>> 23) + D; B = B << 10 | B >>> 22;
+      T = D + (E & B | A & ~B) + X3 + 0x8F1BBCDC; D = (T << 14 | T >>> 18) + C; A = A << 10 | A >>> 22;
+      T = C + (D & A | E & ~A) + X7 + 0x8F1BBCDC; C = (T << 5 | T >>> 27) + B; E = E << 10 | E >>> 22;
+      T = B + (C & E | D & ~E) + X15 + 0x8F1BBCDC; B = (T << 6 | T >>> 26) + A; D = D << 10 | D >>> 22;
+      T = A + (B & D | C & ~D) + X14 + 0x8F1BBCDC; A = (T << 8 | T >>> 24) + E; C = C << 10 | C >>> 22;
+      T = E + (A & C | B & ~C) + X5 + 0x8F1BBCDC; E = (T << 6 | T >>> 26) + D; B = B << 10 | B >>> 22;
+      T = D + (E & B | A & ~B) + X6 + 0x8F1BBCDC; D = (T << 5 | T >>> 27) + C; A = A << 10 | A >>> 22;
+      T = C + (D & A | E & ~A) + X2 + 0x8F1BBCDC; C = (T << 12 | T >>> 20) + B; E = E << 10 | E >>> 22;
+
+      // rounds 64...79
+      T = B + (C ^ (D | ~E)) + X4 + 0xA953FD4E; B = (T << 9 | T >>> 23) + A; D = D << 10 | D >>> 22;
+      T = A + (B ^ (C | ~D)) + X0 + 0xA953FD4E; A = (T << 15 | T >>> 17) + E; C = C << 10 | C >>> 22;
+      T = E + (A ^ (B | ~C)) + X5 + 0xA953FD4E; E = (T << 5 | T >>> 27) + D; B = B << 10 | B >>> 22;
+      T = D + (E ^ (A | ~B)) + X9 + 0xA953FD4E; D = (T << 11 | T >>> 21) + C; A = A << 10 | A >>> 22;
+      T = C + (D ^ (E | ~A)) + X7 + 0xA953FD4E; C = (T << 6 | T >>> 26) + B; E = E << 10 | E >>> 22;
+      T = B + (C ^ (D | ~E)) + X12 + 0xA953FD4E; B = (T << 8 | T >>> 24) + A; D = D << 10 | D >>> 22;
+      T = A + (B ^ (C | ~D)) + X2 + 0xA953FD4E; A = (T << 13 | T >>> 19) + E; C = C << 10 | C >>> 22;
+      T = E + (A ^ (B | ~C)) + X10 + 0xA953FD4E; E = (T << 12 | T >>> 20) + D; B = B << 10 | B >>> 22;
+      T = D + (E ^ (A | ~B)) + X14 + 0xA953FD4E; D = (T << 5 | T >>> 27) + C; A = A << 10 | A >>> 22;
+      T = C + (D ^ (E | ~A)) + X1 + 0xA953FD4E; C = (T << 12 | T >>> 20) + B; E = E << 10 | E >>> 22;
+      T = B + (C ^ (D | ~E)) + X3 + 0xA953FD4E; B = (T << 13 | T >>> 19) + A; D = D << 10 | D >>> 22;
+      T = A + (B ^ (C | ~D)) + X8 + 0xA953FD4E; A = (T << 14 | T >>> 18) + E; C = C << 10 | C >>> 22;
+      T = E + (A ^ (B | ~C)) + X11 + 0xA953FD4E; E = (T << 11 | T >>> 21) + D; B = B << 10 | B >>> 22;
+      T = D + (E ^ (A | ~B)) + X6 + 0xA953FD4E; D = (T << 8 | T >>> 24) + C; A = A << 10 | A >>> 22;
+      T = C + (D ^ (E | ~A)) + X15 + 0xA953FD4E; C = (T << 5 | T >>> 27) + B; E = E << 10 | E >>> 22;
+      T = B + (C ^ (D | ~E)) + X13 + 0xA953FD4E; B = (T << 6 | T >>> 26) + A; D = D << 10 | D >>> 22;
+
+      rightLine(A, B, C, D, E, X0, X1, X2, X3, X4, X5, X6, X7, X8, X9, X10,
+                X11, X12, X13, X14, X15);
    }
 
    protected byte[] padBuffer() {
@@ -285,4 +281,115 @@ public class RipeMD160 extends BaseHash {
       }
       return valid.booleanValue();
    }
+
+   // RIPEMD-160 specific methods ---------------------------------------------
+
+   /**
+    * <p>Computes the right (primed) line of the compression function over the
+    * same message words, then combines both lines into the chaining value.</p>
+    */
+   private void rightLine(int A, int B, int C, int D, int E,
+                          int X0,  int X1,  int X2,  int X3,  int X4,
+                          int X5,  int X6,  int X7,  int X8,  int X9,
+                          int X10, int X11, int X12, int X13, int X14,
+                          int X15) {
+      int a = h0, b = h1, c = h2, d = h3, e = h4, T;
+
+      // rounds 0...15
+      T = a + (b ^ (c | ~d)) + X5 + 0x50A28BE6; a = (T << 8 | T >>> 24) + e; c = c << 10 | c >>> 22;
+      T = e + (a ^ (b | ~c)) + X14 + 0x50A28BE6; e = (T << 9 | T >>> 23) + d; b = b << 10 | b >>> 22;
+      T = d + (e ^ (a | ~b)) + X7 + 0x50A28BE6; d = (T << 9 | T >>> 23) + c; a = a << 10 | a >>> 22;
+      T = c + (d ^ (e | ~a)) + X0 + 0x50A28BE6; c = (T << 11 | T >>> 21) + b; e = e << 10 | e >>> 22;
+      T = b + (c ^ (d | ~e)) + X9 + 0x50A28BE6; b = (T << 13 | T >>> 19) + a; d = d << 10 | d >>> 22;
+      T = a + (b ^ (c | ~d)) + X2 + 0x50A28BE6; a = (T << 15 | T >>> 17) + e; c = c << 10 | c >>> 22;
+      T = e + (a ^ (b | ~c)) + X11 + 0x50A28BE6; e = (T << 15 | T >>> 17) + d; b = b << 10 | b >>> 22;
+      T = d + (e ^ (a | ~b)) + X4 + 0x50A28BE6; d = (T << 5 | T >>> 27) + c; a = a << 10 | a >>> 22;
+      T = c + (d ^ (e | ~a)) + X13 + 0x50A28BE6; c = (T << 7 | T >>> 25) + b; e = e << 10 | e >>> 22;
+      T = b + (c ^ (d | ~e)) + X6 + 0x50A28BE6; b = (T << 7 | T >>> 25) + a; d = d << 10 | d >>> 22;
+      T = a + (b ^ (c | ~d)) + X15 + 0x50A28BE6; a = (T << 8 | T >>> 24) + e; c = c << 10 | c >>> 22;
+      T = e + (a ^ (b | ~c)) + X8 + 0x50A28BE6; e = (T << 11 | T >>> 21) + d; b = b << 10 | b >>> 22;
+      T = d + (e ^ (a | ~b)) + X1 + 0x50A28BE6; d = (T << 14 | T >>> 18) + c; a = a << 10 | a >>> 22;
+      T = c + (d ^ (e | ~a)) + X10 + 0x50A28BE6; c = (T << 14 | T >>> 18) + b; e = e << 10 | e >>> 22;
+      T = b + (c ^ (d | ~e)) + X3 + 0x50A28BE6; b = (T << 12 | T >>> 20) + a; d = d << 10 | d >>> 22;
+      T = a + (b ^ (c | ~d)) + X12 + 0x50A28BE6; a = (T << 6 | T >>> 26) + e; c = c << 10 | c >>> 22;
+
+      // rounds 16...31
+      T = e + (a & c | b & ~c) + X6 + 0x5C4DD124; e = (T << 9 | T >>> 23) + d; b = b << 10 | b >>> 22;
+      T = d + (e & b | a & ~b) + X11 + 0x5C4DD124; d = (T << 13 | T >>> 19) + c; a = a << 10 | a >>> 22;
+      T = c + (d & a | e & ~a) + X3 + 0x5C4DD124; c = (T << 15 | T >>> 17) + b; e = e << 10 | e >>> 22;
+      T = b + (c & e | d & ~e) + X7 + 0x5C4DD124; b = (T << 7 | T >>> 25) + a; d = d << 10 | d >>> 22;
+      T = a + (b & d | c & ~d) + X0 + 0x5C4DD124; a = (T << 12 | T >>> 20) + e; c = c << 10 | c >>> 22;
+      T = e + (a & c | b & ~c) + X13 + 0x5C4DD124; e = (T << 8 | T >>> 24) + d; b = b << 10 | b >>> 22;
+      T = d + (e & b | a & ~b) + X5 + 0x5C4DD124; d = (T << 9 | T >>> 23) + c; a = a << 10 | a >>> 22;
+      T = c + (d & a | e & ~a) + X10 + 0x5C4DD124; c = (T << 11 | T >>> 21) + b; e = e << 10 | e >>> 22;
+      T = b + (c & e | d & ~e) + X14 + 0x5C4DD124; b = (T << 7 | T >>> 25) + a; d = d << 10 | d >>> 22;
+      T = a + (b & d | c & ~d) + X15 + 0x5C4DD124; a = (T << 7 | T >>> 25) + e; c = c << 10 | c >>> 22;
+      T = e + (a & c | b & ~c) + X8 + 0x5C4DD124; e = (T << 12 | T >>> 20) + d; b = b << 10 | b >>> 22;
+      T = d + (e & b | a & ~b) + X12 + 0x5C4DD124; d = (T << 7 | T >>> 25) + c; a = a << 10 | a >>> 22;
+      T = c + (d & a | e & ~a) + X4 + 0x5C4DD124; c = (T << 6 | T >>> 26) + b; e = e << 10 | e >>> 22;
+      T = b + (c & e | d & ~e) + X9 + 0x5C4DD124; b = (T << 15 | T >>> 17) + a; d = d << 10 | d >>> 22;
+      T = a + (b & d | c & ~d) + X1 + 0x5C4DD124; a = (T << 13 | T >>> 19) + e; c = c << 10 | c >>> 22;
+      T = e + (a & c | b & ~c) + X2 + 0x5C4DD124; e = (T << 11 | T >>> 21) + d; b = b << 10 | b >>> 22;
+
+      // rounds 32...47
+      T = d + ((e | ~a) ^ b) + X15 + 0x6D703EF3; d = (T << 9 | T >>> 23) + c; a = a << 10 | a >>> 22;
+      T = c + ((d | ~e) ^ a) + X5 + 0x6D703EF3; c = (T << 7 | T >>> 25) + b; e = e << 10 | e >>> 22;
+      T = b + ((c | ~d) ^ e) + X1 + 0x6D703EF3; b = (T << 15 | T >>> 17) + a; d = d << 10 | d >>> 22;
+      T = a + ((b | ~c) ^ d) + X3 + 0x6D703EF3; a = (T << 11 | T >>> 21) + e; c = c << 10 | c >>> 22;
+      T = e + ((a | ~b) ^ c) + X7 + 0x6D703EF3; e = (T << 8 | T >>> 24) + d; b = b << 10 | b >>> 22;
+      T = d + ((e | ~a) ^ b) + X14 + 0x6D703EF3; d = (T << 6 | T >>> 26) + c; a = a << 10 | a >>> 22;
+      T = c + ((d | ~e) ^ a) + X6 + 0x6D703EF3; c = (T << 6 | T >>> 26) + b; e = e << 10 | e >>> 22;
+      T = b + ((c | ~d) ^ e) + X9 + 0x6D703EF3; b = (T << 14 | T >>> 18) + a; d = d << 10 | d >>> 22;
+      T = a + ((b | ~c) ^ d) + X11 + 0x6D703EF3; a = (T << 12 | T >>> 20) + e; c = c << 10 | c >>> 22;
+      T = e + ((a | ~b) ^ c) + X8 + 0x6D703EF3; e = (T << 13 | T >>> 19) + d; b = b << 10 | b >>> 22;
+      T = d + ((e | ~a) ^ b) + X12 + 0x6D703EF3; d = (T << 5 | T >>> 27) + c; a = a << 10 | a >>> 22;
+      T = c + ((d | ~e) ^ a) + X2 + 0x6D703EF3; c = (T << 14 | T >>> 18) + b; e = e << 10 | e >>> 22;
+      T = b + ((c | ~d) ^ e) + X10 + 0x6D703EF3; b = (T << 13 | T >>> 19) + a; d = d << 10 | d >>> 22;
+      T = a + ((b | ~c) ^ d) + X0 + 0x6D703EF3; a = (T << 13 | T >>> 19) + e; c = c << 10 | c >>> 22;
+      T = e + ((a | ~b) ^ c) + X4 + 0x6D703EF3; e = (T << 7 | T >>> 25) + d; b = b << 10 | b >>> 22;
+      T = d + ((e | ~a) ^ b) + X13 + 0x6D703EF3; d = (T << 5 | T >>> 27) + c; a = a << 10 | a >>> 22;
+
+      // rounds 48...63
+      T = c + (d & e | ~d & a) + X8 + 0x7A6D76E9; c = (T << 15 | T >>> 17) + b; e = e << 10 | e >>> 22;
+      T = b + (c & d | ~c & e) + X6 + 0x7A6D76E9; b = (T << 5 | T >>> 27) + a; d = d << 10 | d >>> 22;
+      T = a + (b & c | ~b & d) + X4 + 0x7A6D76E9; a = (T << 8 | T >>> 24) + e; c = c << 10 | c >>> 22;
+      T = e + (a & b | ~a & c) + X1 + 0x7A6D76E9; e = (T << 11 | T >>> 21) + d; b = b << 10 | b >>> 22;
+      T = d + (e & a | ~e & b) + X3 + 0x7A6D76E9; d = (T << 14 | T >>> 18) + c; a = a << 10 | a >>> 22;
+      T = c + (d & e | ~d & a) + X11 + 0x7A6D76E9; c = (T << 14 | T >>> 18) + b; e = e << 10 | e >>> 22;
+      T = b + (c & d | ~c & e) + X15 + 0x7A6D76E9; b = (T << 6 | T >>> 26) + a; d = d << 10 | d >>> 22;
+      T = a + (b & c | ~b & d) + X0 + 0x7A6D76E9; a = (T << 14 | T >>> 18) + e; c = c << 10 | c >>> 22;
+      T = e + (a & b | ~a & c) + X5 + 0x7A6D76E9; e = (T << 6 | T >>> 26) + d; b = b << 10 | b >>> 22;
+      T = d + (e & a | ~e & b) + X12 + 0x7A6D76E9; d = (T << 9 | T >>> 23) + c; a = a << 10 | a >>> 22;
+      T = c + (d & e | ~d & a) + X2 + 0x7A6D76E9; c = (T << 12 | T >>> 20) + b; e = e << 10 | e >>> 22;
+      T = b + (c & d | ~c & e) + X13 + 0x7A6D76E9; b = (T << 9 | T >>> 23) + a; d = d << 10 | d >>> 22;
+      T = a + (b & c | ~b & d) + X9 + 0x7A6D76E9; a = (T << 12 | T >>> 20) + e; c = c << 10 | c >>> 22;
+      T = e + (a & b | ~a & c) + X7 + 0x7A6D76E9; e = (T << 5 | T >>> 27) + d; b = b << 10 | b >>> 22;
+      T = d + (e & a | ~e & b) + X10 + 0x7A6D76E9; d = (T << 15 | T >>> 17) + c; a = a << 10 | a >>> 22;
+      T = c + (d & e | ~d & a) + X14 + 0x7A6D76E9; c = (T << 8 | T >>> 24) + b; e = e << 10 | e >>> 22;
+
+      // rounds 64...79
+      T = b + (c ^ d ^ e) + X12; b = (T << 8 | T >>> 24) + a; d = d << 10 | d >>> 22;
+      T = a + (b ^ c ^ d) + X15; a = (T << 5 | T >>> 27) + e; c = c << 10 | c >>> 22;
+      T = e + (a ^ b ^ c) + X10; e = (T << 12 | T >>> 20) + d; b = b << 10 | b >>> 22;
+      T = d + (e ^ a ^ b) + X4; d = (T << 9 | T >>> 23) + c; a = a << 10 | a >>> 22;
+      T = c + (d ^ e ^ a) + X1; c = (T << 12 | T >>> 20) + b; e = e << 10 | e >>> 22;
+      T = b + (c ^ d ^ e) + X5; b = (T << 5 | T >>> 27) + a; d = d << 10 | d >>> 22;
+      T = a + (b ^ c ^ d) + X8; a = (T << 14 | T >>> 18) + e; c = c << 10 | c >>> 22;
+      T = e + (a ^ b ^ c) + X7; e = (T << 6 | T >>> 26) + d; b = b << 10 | b >>> 22;
+      T = d + (e ^ a ^ b) + X6; d = (T << 8 | T >>> 24) + c; a = a << 10 | a >>> 22;
+      T = c + (d ^ e ^ a) + X2; c = (T << 13 | T >>> 19) + b; e = e << 10 | e >>> 22;
+      T = b + (c ^ d ^ e) + X13; b = (T << 6 | T >>> 26) + a; d = d << 10 | d >>> 22;
+      T = a + (b ^ c ^ d) + X14; a = (T << 5 | T >>> 27) + e; c = c << 10 | c >>> 22;
+      T = e + (a ^ b ^ c) + X0; e = (T << 15 | T >>> 17) + d; b = b << 10 | b >>> 22;
+      T = d + (e ^ a ^ b) + X3; d = (T << 13 | T >>> 19) + c; a = a << 10 | a >>> 22;
+      T = c + (d ^ e ^ a) + X9; c = (T << 11 | T >>> 21) + b; e = e << 10 | e >>> 22;
+      T = b + (c ^ d ^ e) + X11; b = (T << 11 | T >>> 21) + a; d = d << 10 | d >>> 22;
+
+      T =  h1 + C + d;
+      h1 = h2 + D + e;
+      h2 = h3 + E + a;
+      h3 = h4 + A + b;
+      h4 = h0 + B + c;
+      h0 = T;
+   }
 }
@@ -46,6 +46,9 @@ package gnu.crypto.hash;
 import gnu.crypto.Registry;
 import gnu.crypto.util.Util;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * <p>The Secure Hash Algorithm (SHA-1) is required for use with the Digital
  * Signature Algorithm (DSA) as specified in the Digital Signature Standard
@@ -83,8 +86,6 @@ public class Sha160 extends BaseHash {
 
    private static final String DIGEST0 = "A9993E364706816ABA3E25717850C26C9CD0D89D";
 
-   private static final int[] w = new int[80];
-
    /** caches the result of the correctness test, once executed. */
    private static Boolean valid;
 
@@ -121,21 +122,15 @@ public class Sha160 extends BaseHash {
 
    public static final int[]
    G(int hh0, int hh1, int hh2, int hh3, int hh4, byte[] in, int offset) {
-//      int[] w = new int[80];
-//      int i, T;
-//      for (i = 0; i < 16; i++) {
-//         w[i] = in[offset++]         << 24 |
-//               (in[offset++] & 0xFF) << 16 |
-//               (in[offset++] & 0xFF) <<  8 |
-//               (in[offset++] & 0xFF);
-//      }
-//      for (i = 16; i < 80; i++) {
-//         T = w[i-3] ^ w[i-8] ^ w[i-14] ^ w[i-16];
-//         w[i] = T << 1 | T >>> 31;
-//      }
-
-//      return sha(hh0, hh1, hh2, hh3, hh4, in, offset, w);
-      return sha(hh0, hh1, hh2, hh3, hh4, in, offset);
+      Sha160 md = new Sha160();
+      md.h0 = hh0;
+      md.h1 = hh1;
+      md.h2 = hh2;
+      md.h3 = hh3;
+      md.h4 = hh4;
+      md.transform(in, offset);
+
+      return new int[] {md.h0, md.h1, md.h2, md.h3, md.h4};
    }
 
    // Instance methods
@@ -149,27 +144,37 @@ public class Sha160 extends BaseHash {
 
    // Implementation of concrete methods in BaseHash --------------------------
 
-   protected void transform(byte[] in, int offset) {
-//      int i, T;
-//      for (i = 0; i < 16; i++) {
-//         W[i] = in[offset++]         << 24 |
-//               (in[offset++] & 0xFF) << 16 |
-//               (in[offset++] & 0xFF) <<  8 |
-//               (in[offset++] & 0xFF);
-//      }
-//      for (i = 16; i < 80; i++) {
-//         T = W[i-3] ^ W[i-8] ^ W[i-14] ^ W[i-16];
-//         W[i] = T << 1 | T >>> 31;
-//      }
-
-//      int[] result = sha(h0, h1, h2, h3, h4, in, offset, W);
-      int[] result = sha(h0, h1, h2, h3, h4, in, offset);
-
-      h0 = result[0];
-      h1 = result[1];
-      h2 = result[2];
-      h3 = result[3];
-      h4 = result[4];
+   protected void transform(byte[] in, int i) {
+      int w0  = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w1  = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w2  = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w3  = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w4  = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w5  = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w6  = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w7  = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w8  = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w9  = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w10 = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w11 = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w12 = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w13 = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w14 = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i++] & 0xFF);
+      int w15 = in[i++] << 24 | (in[i++] & 0xFF) << 16 | (in[i++] & 0xFF) << 8 | (in[i  ] & 0xFF);
+
+      compress(w0, w1, w2, w3, w4, w5, w6, w7, w8, w9, w10, w11, w12, w13, w14, w15);
+   }
+
+   /** Digests a block where it is, unless its words are little-endian. */
+   protected void transform(ByteBuffer in) {
+      if (in.order() != ByteOrder.BIG_ENDIAN) {
+         super.transform(in);
+         return;
+      }
+      compress(in.getInt(), in.getInt(), in.getInt(), in.getInt(),
+               in.getInt(), in.getInt(), in.getInt(), in.getInt(),
+               in.getInt(), in.getInt(), in.getInt(), in.getInt(),
+               in.getInt(), in.getInt(), in.getInt(), in.getInt());
    }
 
    protected byte[] padBuffer() {
@@ -229,67 +234,170 @@ public class Sha160 extends BaseHash {
 
    // SHA specific methods ----------------------------------------------------
 
-   private static final synchronized int[]
-//   sha(int hh0, int hh1, int hh2, int hh3, int hh4, byte[] in, int offset, int[] w) {
-   sha(int hh0, int hh1, int hh2, int hh3, int hh4, byte[] in, int offset) {
-      int A = hh0;
-      int B = hh1;
-      int C = hh2;
-      int D = hh3;
-      int E = hh4;
-      int r, T;
-
-      for (r = 0; r < 16; r++) {
-         w[r] = in[offset++]         << 24 |
-               (in[offset++] & 0xFF) << 16 |
-               (in[offset++] & 0xFF) <<  8 |
-               (in[offset++] & 0xFF);
-      }
-      for (r = 16; r < 80; r++) {
-         T = w[r-3] ^ w[r-8] ^ w[r-14] ^ w[r-16];
-         w[r] = T << 1 | T >>> 31;
-      }
+   private void compress(int w0, int w1, int w2, int w3, int w4, int w5,
+                         int w6, int w7, int w8, int w9, int w10, int w11,
+                         int w12, int w13, int w14, int w15) {
+      // the message schedule is kept as a window of 16 locals, and the rounds
+      // are unrolled with the registers renamed, not shuffled, so that the
+      // method stays small enough for the JIT to compile.
+      int A = h0, B = h1, C = h2, D = h3, E = h4, T;
 
       // rounds 0-19
-      for (r = 0; r < 20; r++) {
-         T = (A << 5 | A >>> 27) + ((B & C) | (~B & D)) + E + w[r] + 0x5A827999;
-         E = D;
-         D = C;
-         C = B << 30 | B >>> 2;
-         B = A;
-         A = T;
-      }
+      E += (A << 5 | A >>> 27) + (B & C | ~B & D) + w0 + 0x5A827999; B = B << 30 | B >>> 2;
+      D += (E << 5 | E >>> 27) + (A & B | ~A & C) + w1 + 0x5A827999; A = A << 30 | A >>> 2;
+      C += (D << 5 | D >>> 27) + (E & A | ~E & B) + w2 + 0x5A827999; E = E << 30 | E >>> 2;
+      B += (C << 5 | C >>> 27) + (D & E | ~D & A) + w3 + 0x5A827999; D = D << 30 | D >>> 2;
+      A += (B << 5 | B >>> 27) + (C & D | ~C & E) + w4 + 0x5A827999; C = C << 30 | C >>> 2;
+      E += (A << 5 | A >>> 27) + (B & C | ~B & D) + w5 + 0x5A827999; B = B << 30 | B >>> 2;
+      D += (E << 5 | E >>> 27) + (A & B | ~A & C) + w6 + 0x5A827999; A = A << 30 | A >>> 2;
+      C += (D << 5 | D >>> 27) + (E & A | ~E & B) + w7 + 0x5A827999; E = E << 30 | E >>> 2;
+      B += (C << 5 | C >>> 27) + (D & E | ~D & A) + w8 + 0x5A827999; D = D << 30 | D >>> 2;
+      A += (B << 5 | B >>> 27) + (C & D | ~C & E) + w9 + 0x5A827999; C = C << 30 | C >>> 2;
+      E += (A << 5 | A >>> 27) + (B & C | ~B & D) + w10 + 0x5A827999; B = B << 30 | B >>> 2;
+      D += (E << 5 | E >>> 27) + (A & B | ~A & C) + w11 + 0x5A827999; A = A << 30 | A >>> 2;
+      C += (D << 5 | D >>> 27) + (E & A | ~E & B) + w12 + 0x5A827999; E = E << 30 | E >>> 2;
+      B += (C << 5 | C >>> 27) + (D & E | ~D & A) + w13 + 0x5A827999; D = D << 30 | D >>> 2;
+      A += (B << 5 | B >>> 27) + (C & D | ~C & E) + w14 + 0x5A827999; C = C << 30 | C >>> 2;
+      E += (A << 5 | A >>> 27) + (B & C | ~B & D) + w15 + 0x5A827999; B = B << 30 | B >>> 2;
+      T = w13 ^ w8 ^ w2 ^ w0; w0 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A & B | ~A & C) + w0 + 0x5A827999; A = A << 30 | A >>> 2;
+      T = w14 ^ w9 ^ w3 ^ w1; w1 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E & A | ~E & B) + w1 + 0x5A827999; E = E << 30 | E >>> 2;
+      T = w15 ^ w10 ^ w4 ^ w2; w2 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D & E | ~D & A) + w2 + 0x5A827999; D = D << 30 | D >>> 2;
+      T = w0 ^ w11 ^ w5 ^ w3; w3 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C & D | ~C & E) + w3 + 0x5A827999; C = C << 30 | C >>> 2;
 
       // rounds 20-39
-      for (r = 20; r < 40; r++) {
-         T = (A << 5 | A >>> 27) + (B ^ C ^ D) + E + w[r] + 0x6ED9EBA1;
-         E = D;
-         D = C;
-         C = B << 30 | B >>> 2;
-         B = A;
-         A = T;
-      }
+      T = w1 ^ w12 ^ w6 ^ w4; w4 = T << 1 | T >>> 31;
+      E += (A << 5 | A >>> 27) + (B ^ C ^ D) + w4 + 0x6ED9EBA1; B = B << 30 | B >>> 2;
+      T = w2 ^ w13 ^ w7 ^ w5; w5 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A ^ B ^ C) + w5 + 0x6ED9EBA1; A = A << 30 | A >>> 2;
+      T = w3 ^ w14 ^ w8 ^ w6; w6 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E ^ A ^ B) + w6 + 0x6ED9EBA1; E = E << 30 | E >>> 2;
+      T = w4 ^ w15 ^ w9 ^ w7; w7 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D ^ E ^ A) + w7 + 0x6ED9EBA1; D = D << 30 | D >>> 2;
+      T = w5 ^ w0 ^ w10 ^ w8; w8 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C ^ D ^ E) + w8 + 0x6ED9EBA1; C = C << 30 | C >>> 2;
+      T = w6 ^ w1 ^ w11 ^ w9; w9 = T << 1 | T >>> 31;
+      E += (A << 5 | A >>> 27) + (B ^ C ^ D) + w9 + 0x6ED9EBA1; B = B << 30 | B >>> 2;
+      T = w7 ^ w2 ^ w12 ^ w10; w10 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A ^ B ^ C) + w10 + 0x6ED9EBA1; A = A << 30 | A >>> 2;
+      T = w8 ^ w3 ^ w13 ^ w11; w11 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E ^ A ^ B) + w11 + 0x6ED9EBA1; E = E << 30 | E >>> 2;
+      T = w9 ^ w4 ^ w14 ^ w12; w12 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D ^ E ^ A) + w12 + 0x6ED9EBA1; D = D << 30 | D >>> 2;
+      T = w10 ^ w5 ^ w15 ^ w13; w13 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C ^ D ^ E) + w13 + 0x6ED9EBA1; C = C << 30 | C >>> 2;
+      T = w11 ^ w6 ^ w0 ^ w14; w14 = T << 1 | T >>> 31;
+      E += (A << 5 | A >>> 27) + (B ^ C ^ D) + w14 + 0x6ED9EBA1; B = B << 30 | B >>> 2;
+      T = w12 ^ w7 ^ w1 ^ w15; w15 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A ^ B ^ C) + w15 + 0x6ED9EBA1; A = A << 30 | A >>> 2;
+      T = w13 ^ w8 ^ w2 ^ w0; w0 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E ^ A ^ B) + w0 + 0x6ED9EBA1; E = E << 30 | E >>> 2;
+      T = w14 ^ w9 ^ w3 ^ w1; w1 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D ^ E ^ A) + w1 + 0x6ED9EBA1; D = D << 30 | D >>> 2;
+      T = w15 ^ w10 ^ w4 ^ w2; w2 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C ^ D ^ E) + w2 + 0x6ED9EBA1; C = C << 30 | C >>> 2;
+      T = w0 ^ w11 ^ w5 ^ w3; w3 = T << 1 | T >>> 31;
+      E += (A << 5 | A >>> 27) + (B ^ C ^ D) + w3 + 0x6ED9EBA1; B = B << 30 | B >>> 2;
+      T = w1 ^ w12 ^ w6 ^ w4; w4 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A ^ B ^ C) + w4 + 0x6ED9EBA1; A = A << 30 | A >>> 2;
+      T = w2 ^ w13 ^ w7 ^ w5; w5 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E ^ A ^ B) + w5 + 0x6ED9EBA1; E = E << 30 | E >>> 2;
+      T = w3 ^ w14 ^ w8 ^ w6; w6 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D ^ E ^ A) + w6 + 0x6ED9EBA1; D = D << 30 | D >>> 2;
+      T = w4 ^ w15 ^ w9 ^ w7; w7 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C ^ D ^ E) + w7 + 0x6ED9EBA1; C = C << 30 | C >>> 2;
 
       // rounds 40-59
-      for (r = 40; r < 60; r++) {
-         T = (A << 5 | A >>> 27) + (B & C | B & D | C & D) + E + w[r] + 0x8F1BBCDC;
-         E = D;
-         D = C;
-         C = B << 30 | B >>> 2;
-         B = A;
-         A = T;
-      }
+      T = w5 ^ w0 ^ w10 ^ w8; w8 = T << 1 | T >>> 31;
+      E += (A << 5 | A >>> 27) + (B & C | B & D | C & D) + w8 + 0x8F1BBCDC; B = B << 30 | B >>> 2;
+      T = w6 ^ w1 ^ w11 ^ w9; w9 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A & B | A & C | B & C) + w9 + 0x8F1BBCDC; A = A << 30 | A >>> 2;
+      T = w7 ^ w2 ^ w12 ^ w10; w10 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E & A | E & B | A & B) + w10 + 0x8F1BBCDC; E = E << 30 | E >>> 2;
+      T = w8 ^ w3 ^ w13 ^ w11; w11 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D & E | D & A | E & A) + w11 + 0x8F1BBCDC; D = D << 30 | D >>> 2;
+      T = w9 ^ w4 ^ w14 ^ w12; w12 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C & D | C & E | D & E) + w12 + 0x8F1BBCDC; C = C << 30 | C >>> 2;
+      T = w10 ^ w5 ^ w15 ^ w13; w13 = T << 1 | T >>> 31;
+      E += (A << 5 | A >>> 27) + (B & C | B & D | C & D) + w13 + 0x8F1BBCDC; B = B << 30 | B >>> 2;
+      T = w11 ^ w6 ^ w0 ^ w14; w14 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A & B | A & C | B & C) + w14 + 0x8F1BBCDC; A = A << 30 | A >>> 2;
+      T = w12 ^ w7 ^ w1 ^ w15; w15 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E & A | E & B | A & B) + w15 + 0x8F1BBCDC; E = E << 30 | E >>> 2;
+      T = w13 ^ w8 ^ w2 ^ w0; w0 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D & E | D & A | E & A) + w0 + 0x8F1BBCDC; D = D << 30 | D >>> 2;
+      T = w14 ^ w9 ^ w3 ^ w1; w1 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C & D | C & E | D & E) + w1 + 0x8F1BBCDC; C = C << 30 | C >>> 2;
+      T = w15 ^ w10 ^ w4 ^ w2; w2 = T << 1 | T >>> 31;
+      E += (A << 5 | A >>> 27) + (B & C | B & D | C & D) + w2 + 0x8F1BBCDC; B = B << 30 | B >>> 2;
+      T = w0 ^ w11 ^ w5 ^ w3; w3 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A & B | A & C | B & C) + w3 + 0x8F1BBCDC; A = A << 30 | A >>> 2;
+      T = w1 ^ w12 ^ w6 ^ w4; w4 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E & A | E & B | A & B) + w4 + 0x8F1BBCDC; E = E << 30 | E >>> 2;
+      T = w2 ^ w13 ^ w7 ^ w5; w5 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D & E | D & A | E & A) + w5 + 0x8F1BBCDC; D = D << 30 | D >>> 2;
+      T = w3 ^ w14 ^ w8 ^ w6; w6 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C & D | C & E | D & E) + w6 + 0x8F1BBCDC; C = C << 30 | C >>> 2;
+      T = w4 ^ w15 ^ w9 ^ w7; w7 = T << 1 | T >>> 31;
+      E += (A << 5 | A >>> 27) + (B & C | B & D | C & D) + w7 + 0x8F1BBCDC; B = B << 30 | B >>> 2;
+      T = w5 ^ w0 ^ w10 ^ w8; w8 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A & B | A & C | B & C) + w8 + 0x8F1BBCDC; A = A << 30 | A >>> 2;
+      T = w6 ^ w1 ^ w11 ^ w9; w9 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E & A | E & B | A & B) + w9 + 0x8F1BBCDC; E = E << 30 | E >>> 2;
+      T = w7 ^ w2 ^ w12 ^ w10; w10 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D & E | D & A | E & A) + w10 + 0x8F1BBCDC; D = D << 30 | D >>> 2;
+      T = w8 ^ w3 ^ w13 ^ w11; w11 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C & D | C & E | D & E) + w11 + 0x8F1BBCDC; C = C << 30 | C >>> 2;
 
       // rounds 60-79
-      for (r = 60; r < 80; r++) {
-         T = (A << 5 | A >>> 27) + (B ^ C ^ D) + E + w[r] + 0xCA62C1D6;
-         E = D;
-         D = C;
-         C = B << 30 | B >>> 2;
-         B = A;
-         A = T;
-      }
-
-      return new int[] {hh0+A, hh1+B, hh2+C, hh3+D, hh4+E};
+      T = w9 ^ w4 ^ w14 ^ w12; w12 = T << 1 | T >>> 31;
+      E += (A << 5 | A >>> 27) + (B ^ C ^ D) + w12 + 0xCA62C1D6; B = B << 30 | B >>> 2;
+      T = w10 ^ w5 ^ w15 ^ w13; w13 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A ^ B ^ C) + w13 + 0xCA62C1D6; A = A << 30 | A >>> 2;
+      T = w11 ^ w6 ^ w0 ^ w14; w14 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E ^ A ^ B) + w14 + 0xCA62C1D6; E = E << 30 | E >>> 2;
+      T = w12 ^ w7 ^ w1 ^ w15; w15 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D ^ E ^ A) + w15 + 0xCA62C1D6; D = D << 30 | D >>> 2;
+      T = w13 ^ w8 ^ w2 ^ w0; w0 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C ^ D ^ E) + w0 + 0xCA62C1D6; C = C << 30 | C >>> 2;
+      T = w14 ^ w9 ^ w3 ^ w1; w1 = T << 1 | T >>> 31;
+      E += (A << 5 | A >>> 27) + (B ^ C ^ D) + w1 + 0xCA62C1D6; B = B << 30 | B >>> 2;
+      T = w15 ^ w10 ^ w4 ^ w2; w2 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A ^ B ^ C) + w2 + 0xCA62C1D6; A = A << 30 | A >>> 2;
+      T = w0 ^ w11 ^ w5 ^ w3; w3 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E ^ A ^ B) + w3 + 0xCA62C1D6; E = E << 30 | E >>> 2;
+      T = w1 ^ w12 ^ w6 ^ w4; w4 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D ^ E ^ A) + w4 + 0xCA62C1D6; D = D << 30 | D >>> 2;
+      T = w2 ^ w13 ^ w7 ^ w5; w5 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C ^ D ^ E) + w5 + 0xCA62C1D6; C = C << 30 | C >>> 2;
+      T = w3 ^ w14 ^ w8 ^ w6; w6 = T << 1 | T >>> 31;
+      E += (A << 5 | A >>> 27) + (B ^ C ^ D) + w6 + 0xCA62C1D6; B = B << 30 | B >>> 2;
+      T = w4 ^ w15 ^ w9 ^ w7; w7 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A ^ B ^ C) + w7 + 0xCA62C1D6; A = A << 30 | A >>> 2;
+      T = w5 ^ w0 ^ w10 ^ w8; w8 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E ^ A ^ B) + w8 + 0xCA62C1D6; E = E << 30 | E >>> 2;
+      T = w6 ^ w1 ^ w11 ^ w9; w9 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D ^ E ^ A) + w9 + 0xCA62C1D6; D = D << 30 | D >>> 2;
+      T = w7 ^ w2 ^ w12 ^ w10; w10 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C ^ D ^ E) + w10 + 0xCA62C1D6; C = C << 30 | C >>> 2;
+      T = w8 ^ w3 ^ w13 ^ w11; w11 = T << 1 | T >>> 31;
+      E += (A << 5 | A >>> 27) + (B ^ C ^ D) + w11 + 0xCA62C1D6; B = B << 30 | B >>> 2;
+      T = w9 ^ w4 ^ w14 ^ w12; w12 = T << 1 | T >>> 31;
+      D += (E << 5 | E >>> 27) + (A ^ B ^ C) + w12 + 0xCA62C1D6; A = A << 30 | A >>> 2;
+      T = w10 ^ w5 ^ w15 ^ w13; w13 = T << 1 | T >>> 31;
+      C += (D << 5 | D >>> 27) + (E ^ A ^ B) + w13 + 0xCA62C1D6; E = E << 30 | E >>> 2;
+      T = w11 ^ w6 ^ w0 ^ w14; w14 = T << 1 | T >>> 31;
+      B += (C << 5 | C >>> 27) + (D ^ E ^ A) + w14 + 0xCA62C1D6; D = D << 30 | D >>> 2;
+      T = w12 ^ w7 ^ w1 ^ w15; w15 = T << 1 | T >>> 31;
+      A += (B << 5 | B >>> 27) + (C ^ D ^ E) + w15 + 0xCA62C1D6; C = C << 30 | C >>> 2;
+
+      h0 += A;
+      h1 += B;
+      h2 += C;
+      h3 += D;
+      h4 += E;
    }
 }
@@ -46,6 +46,9 @@ package gnu.crypto.hash;
 import gnu.crypto.Registry;
 import gnu.crypto.util.Util;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * <p>Implementation of SHA2-1 [SHA-256] per the IETF Draft Specification.</p>
  *
@@ -86,7 +89,8 @@ public class Sha256 extends BaseHash {
    private static final String DIGEST0 =
          "BA7816BF8F01CFEA414140DE5DAE2223B00361A396177A9CB410FF61F20015AD";
 
-   private static final int[] w = new int[64];
+   /** message schedule; per instance so that instances do not contend. */
+   private final int[] w = new int[64];
 
    /** caches the result of the correctness test, once executed. */
    private static Boolean valid;
@@ -127,7 +131,7 @@ public class Sha256 extends BaseHash {
 
    public static final int[] G(int hh0, int hh1, int hh2, int hh3, int hh4,
                                int hh5, int hh6, int hh7, byte[] in, int offset) {
-      return sha(hh0, hh1, hh2, hh3, hh4, hh5, hh6, hh7, in, offset);
+      return sha(hh0, hh1, hh2, hh3, hh4, hh5, hh6, hh7, in, offset, new int[64]);
    }
 
    // Instance methods
@@ -142,16 +146,19 @@ public class Sha256 extends BaseHash {
    // Implementation of concrete methods in BaseHash --------------------------
 
    protected void transform(byte[] in, int offset) {
-      int[] result = sha(h0, h1, h2, h3, h4, h5, h6, h7, in, offset);
+      setContext(sha(h0, h1, h2, h3, h4, h5, h6, h7, in, offset, w));
+   }
 
-      h0 = result[0];
-      h1 = result[1];
-      h2 = result[2];
-      h3 = result[3];
-      h4 = result[4];
-      h5 = result[5];
-      h6 = result[6];
-      h7 = result[7];
+   /** Digests a block where it is, unless its words are little-endian. */
+   protected void transform(ByteBuffer in) {
+      if (in.order() != ByteOrder.BIG_ENDIAN) {
+         super.transform(in);
+         return;
+      }
+      for (int r = 0; r < 16; r++) {
+         w[r] = in.getInt();
+      }
+      setContext(sha(h0, h1, h2, h3, h4, h5, h6, h7, w));
    }
 
    protected byte[] padBuffer() {
@@ -216,8 +223,21 @@ public class Sha256 extends BaseHash {
 
    // SHA specific methods ----------------------------------------------------
 
-   private static final synchronized int[]
-   sha(int hh0, int hh1, int hh2, int hh3, int hh4, int hh5, int hh6, int hh7, byte[] in, int offset) {
+   private static final int[]
+   sha(int hh0, int hh1, int hh2, int hh3, int hh4, int hh5, int hh6, int hh7, byte[] in, int offset, int[] w) {
+      for (int r = 0; r < 16; r++) {
+         w[r] = in[offset++]         << 24 |
+               (in[offset++] & 0xFF) << 16 |
+               (in[offset++] & 0xFF) <<  8 |
+               (in[offset++] & 0xFF);
+      }
+
+      return sha(hh0, hh1, hh2, hh3, hh4, hh5, hh6, hh7, w);
+   }
+
+   /** Expands and compresses a block whose first 16 words are in w. */
+   private static final int[]
+   sha(int hh0, int hh1, int hh2, int hh3, int hh4, int hh5, int hh6, int hh7, int[] w) {
       int A = hh0;
       int B = hh1;
       int C = hh2;
@@ -228,12 +248,6 @@ public class Sha256 extends BaseHash {
       int H = hh7;
       int r, T, T2;
 
-      for (r = 0; r < 16; r++) {
-         w[r] = in[offset++]         << 24 |
-               (in[offset++] & 0xFF) << 16 |
-               (in[offset++] & 0xFF) <<  8 |
-               (in[offset++] & 0xFF);
-      }
       for (r = 16; r < 64; r++) {
          T = w[r - 2];
          T2 = w[r - 15];
@@ -257,4 +271,15 @@ public class Sha256 extends BaseHash {
          hh0 + A, hh1 + B, hh2 + C, hh3 + D, hh4 + E, hh5 + F, hh6 + G, hh7 + H
       };
    }
+
+   private void setContext(int[] result) {
+      h0 = result[0];
+      h1 = result[1];
+      h2 = result[2];
+      h3 = result[3];
+      h4 = result[4];
+      h5 = result[5];
+      h6 = result[6];
+      h7 = result[7];
+   }
 }
@@ -92,7 +92,8 @@ public class Sha384 extends BaseHash {
          "CB00753F45A35E8BB5A03D699AC65007272C32AB0EDED1631A8B605A43FF5BED" +
          "8086072BA1E7CC2358BAECA134C825A7";
 
-   private static final long[] w = new long[80];
+   /** message schedule; per instance so that instances do not contend. */
+   private final long[] w = new long[80];
 
    /** caches the result of the correctness test, once executed. */
    private static Boolean valid;
@@ -133,7 +134,7 @@ public class Sha384 extends BaseHash {
 
    public static final long[] G(long hh0, long hh1, long hh2, long hh3, long hh4,
                                 long hh5, long hh6, long hh7, byte[] in, int offset) {
-      return sha(hh0, hh1, hh2, hh3, hh4, hh5, hh6, hh7, in, offset);
+      return sha(hh0, hh1, hh2, hh3, hh4, hh5, hh6, hh7, in, offset, new long[80]);
    }
 
    // Instance methods
@@ -148,7 +149,7 @@ public class Sha384 extends BaseHash {
    // Implementation of concrete methods in BaseHash --------------------------
 
    protected void transform(byte[] in, int offset) {
-      long[] result = sha(h0, h1, h2, h3, h4, h5, h6, h7, in, offset);
+      long[] result = sha(h0, h1, h2, h3, h4, h5, h6, h7, in, offset, w);
 
       h0 = result[0];
       h1 = result[1];
@@ -232,8 +233,8 @@ public class Sha384 extends BaseHash {
 
    // SHA specific methods ----------------------------------------------------
 
-   private static final synchronized long[]
-   sha(long hh0, long hh1, long hh2, long hh3, long hh4, long hh5, long hh6, long hh7, byte[] in, int offset) {
+   private static final long[]
+   sha(long hh0, long hh1, long hh2, long hh3, long hh4, long hh5, long hh6, long hh7, byte[] in, int offset, long[] w) {
       long A = hh0;
       long B = hh1;
       long C = hh2;
@@ -92,7 +92,8 @@ public class Sha512 extends BaseHash {
          "DDAF35A193617ABACC417349AE20413112E6FA4E89A97EA20A9EEEE64B55D39A"+
          "2192992A274FC1A836BA3C23A3FEEBBD454D4423643CE80E2A9AC94FA54CA49F";
 
-   private static final long[] w = new long[80];
+   /** message schedule; per instance so that instances do not contend. */
+   private final long[] w = new long[80];
 
    /** caches the result of the correctness test, once executed. */
    private static Boolean valid;
@@ -133,7 +134,7 @@ public class Sha512 extends BaseHash {
 
    public static final long[] G(long hh0, long hh1, long hh2, long hh3, long hh4,
                                 long hh5, long hh6, long hh7, byte[] in, int offset) {
-      return sha(hh0, hh1, hh2, hh3, hh4, hh5, hh6, hh7, in, offset);
+      return sha(hh0, hh1, hh2, hh3, hh4, hh5, hh6, hh7, in, offset, new long[80]);
    }
 
    // Instance methods
@@ -148,7 +149,7 @@ public class Sha512 extends BaseHash {
    // Implementation of concrete methods in BaseHash --------------------------
 
    protected void transform(byte[] in, int offset) {
-      long[] result = sha(h0, h1, h2, h3, h4, h5, h6, h7, in, offset);
+      long[] result = sha(h0, h1, h2, h3, h4, h5, h6, h7, in, offset, w);
 
       h0 = result[0];
       h1 = result[1];
@@ -232,8 +233,8 @@ public class Sha512 extends BaseHash {
 
    // SHA specific methods ----------------------------------------------------
 
-   private static final synchronized long[]
-   sha(long hh0, long hh1, long hh2, long hh3, long hh4, long hh5, long hh6, long hh7, byte[] in, int offset) {
+   private static final long[]
+   sha(long hh0, long hh1, long hh2, long hh3, long hh4, long hh5, long hh6, long hh7, byte[] in, int offset, long[] w) {
       long A = hh0;
       long B = hh1;
       long C = hh2;
@@ -0,0 +1,455 @@
+package gnu.crypto.hash;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+import gnu.crypto.util.Batch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>A tree-hashing mode over any message digest algorithm known to the
+ * {@link HashFactory}.</p>
+ *
+ * <p>The input is cut in leaves of <i>leafSize</i> bytes (the last one may
+ * be shorter, and an empty input is one empty leaf). Each leaf is hashed as
+ * <code>H(0x00 || leaf)</code>. Consecutive nodes of a level are grouped by
+ * <i>fanout</i>, and each group of two or more nodes is hashed as
+ * <code>H(0x01 || child_1 || ... || child_n)</code> into one node of the next
+ * level; a lone node at the end of a level is carried up unchanged. The root
+ * is the only node of the last level. The prefix bytes keep leaves and
+ * interior nodes apart, so that neither can stand for the other.</p>
+ *
+ * <p>Since leaves are independent, a tree hash can be computed by several
+ * threads at once: the <code>digest()</code> class methods do so for byte
+ * arrays, byte buffers and file channels. An instance of this class computes
+ * the same value incrementally, in the calling thread.</p>
+ *
+ * @version $Revision$
+ */
+public class TreeHash extends BaseHash {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** The default number of children of an interior node. */
+   public static final int DEFAULT_FANOUT = 16;
+
+   /** The default size, in bytes, of a leaf. */
+   public static final int DEFAULT_LEAF_SIZE = 64 * 1024;
+
+   /** The size of the file windows mapped at once. */
+   private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+   /** The size of the chunks copied out of a buffer for other digests. */
+   private static final int CHUNK_SIZE = 64 * 1024;
+
+   /** The number of work units handed to each thread, to even the load. */
+   private static final int UNITS_PER_THREAD = 4;
+
+   private static final byte LEAF = 0x00;
+   private static final byte NODE = 0x01;
+
+   /** The underlying message digest. */
+   private IMessageDigest md;
+
+   /** The number of children of an interior node. */
+   private int fanout;
+
+   /** The pending nodes of each level, not yet grouped by <i>fanout</i>. */
+   private byte[][][] levels;
+
+   /** The number of pending nodes of each level. */
+   private int[] fill;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Constructs a tree hash with the default fan-out and leaf size.</p>
+    *
+    * @param algorithm the name of the underlying message digest.
+    * @exception IllegalArgumentException if the algorithm is unknown.
+    */
+   public TreeHash(String algorithm) {
+      this(algorithm, DEFAULT_FANOUT, DEFAULT_LEAF_SIZE);
+   }
+
+   /**
+    * <p>Constructs a tree hash with a designated fan-out and leaf size.</p>
+    *
+    * @param algorithm the name of the underlying message digest.
+    * @param fanout the number of children of an interior node.
+    * @param leafSize the size, in bytes, of a leaf.
+    * @exception IllegalArgumentException if the algorithm is unknown, if
+    * <code>fanout</code> is less than 2, or if <code>leafSize</code> is not
+    * positive.
+    */
+   public TreeHash(String algorithm, int fanout, int leafSize) {
+      this(newDigest(algorithm), fanout, leafSize);
+   }
+
+   private TreeHash(IMessageDigest md, int fanout, int leafSize) {
+      super("tree(" + md.name() + ")", md.hashSize(), check(fanout, leafSize));
+
+      this.md = md;
+      this.fanout = fanout;
+      this.levels = new byte[64][][];
+      this.fill = new int[64];
+   }
+
+   /**
+    * <p>Private constructor for cloning purposes.</p>
+    *
+    * @param that the instance to clone.
+    */
+   private TreeHash(TreeHash that) {
+      this((IMessageDigest) that.md.clone(), that.fanout, that.blockSize);
+
+      for (int i = 0; i < levels.length; i++) {
+         if (that.levels[i] != null) {
+            this.levels[i] = (byte[][]) that.levels[i].clone();
+         }
+      }
+      this.fill = (int[]) that.fill.clone();
+      this.count = that.count;
+      this.buffer = (byte[]) that.buffer.clone();
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Returns the tree hash of a designated portion of a byte array, with
+    * the leaves hashed by up to a designated number of threads.</p>
+    *
+    * @param algorithm the name of the underlying message digest.
+    * @param fanout the number of children of an interior node.
+    * @param leafSize the size, in bytes, of a leaf.
+    * @param in the input data.
+    * @param offset where the data starts in <code>in</code>.
+    * @param length the number of bytes to hash.
+    * @param threads the maximum number of threads to use.
+    * @return the tree hash of the data.
+    * @exception IllegalArgumentException if the algorithm is unknown, if one
+    * of the numeric parameters is out of range.
+    */
+   public static byte[] digest(String algorithm, int fanout, int leafSize,
+                               byte[] in, int offset, int length, int threads) {
+      return digest(algorithm, fanout, leafSize,
+                    ByteBuffer.wrap(in, offset, length), threads);
+   }
+
+   /**
+    * <p>Returns the tree hash of the remaining bytes of a buffer, with the
+    * leaves hashed by up to a designated number of threads. The buffer's
+    * position is left unchanged.</p>
+    *
+    * @param algorithm the name of the underlying message digest.
+    * @param fanout the number of children of an interior node.
+    * @param leafSize the size, in bytes, of a leaf.
+    * @param in the input data.
+    * @param threads the maximum number of threads to use.
+    * @return the tree hash of the data.
+    * @exception IllegalArgumentException if the algorithm is unknown, if one
+    * of the numeric parameters is out of range.
+    */
+   public static byte[] digest(String algorithm, int fanout, int leafSize,
+                               ByteBuffer in, int threads) {
+      check(fanout, leafSize);
+      checkThreads(threads);
+      final byte[][] leaves = new byte[leafCount(in.remaining(), leafSize)][];
+      hashLeaves(algorithm, leafSize, in, leaves, 0, threads);
+      return root(newDigest(algorithm), fanout, leaves);
+   }
+
+   /**
+    * <p>Returns the tree hash of the contents of a file channel, from its
+    * current position to its end, with the leaves hashed by up to a
+    * designated number of threads. The file is memory-mapped in windows of a
+    * whole number of leaves, and the channel's position is left
+    * unchanged.</p>
+    *
+    * @param algorithm the name of the underlying message digest.
+    * @param fanout the number of children of an interior node.
+    * @param leafSize the size, in bytes, of a leaf.
+    * @param channel the channel to read.
+    * @param threads the maximum number of threads to use.
+    * @return the tree hash of the channel's contents.
+    * @exception IllegalArgumentException if the algorithm is unknown, if one
+    * of the numeric parameters is out of range.
+    * @exception IOException if the channel can not be read.
+    */
+   public static byte[] digest(String algorithm, int fanout, int leafSize,
+                               FileChannel channel, int threads)
+   throws IOException {
+      check(fanout, leafSize);
+      checkThreads(threads);
+      final long start = channel.position();
+      final long end = Math.max(start, channel.size());
+      final byte[][] leaves = new byte[leafCount(end - start, leafSize)][];
+      final long window = Math.max(1, WINDOW_SIZE / leafSize) * leafSize;
+      int first = 0;
+      for (long position = start; position < end; ) {
+         final long size = Math.min(window, end - position);
+         final ByteBuffer mapped =
+               channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+         hashLeaves(algorithm, leafSize, mapped, leaves, first, threads);
+         first += (int) (size / leafSize);
+         position += size;
+      }
+      if (start == end) { // one empty leaf
+         hashLeaves(algorithm, leafSize, ByteBuffer.allocate(0), leaves, 0, 1);
+      }
+      return root(newDigest(algorithm), fanout, leaves);
+   }
+
+   private static IMessageDigest newDigest(String algorithm) {
+      final IMessageDigest result = HashFactory.getInstance(algorithm);
+      if (result == null) {
+         throw new IllegalArgumentException("Unknown hash: "+algorithm);
+      }
+      return result;
+   }
+
+   private static int check(int fanout, int leafSize) {
+      if (fanout < 2) {
+         throw new IllegalArgumentException("fanout must be at least 2");
+      }
+      if (leafSize < 1) {
+         throw new IllegalArgumentException("leafSize must be positive");
+      }
+      return leafSize;
+   }
+
+   private static void checkThreads(int threads) {
+      if (threads < 1) {
+         throw new IllegalArgumentException("threads must be positive");
+      }
+   }
+
+   private static int leafCount(long length, int leafSize) {
+      final long result = Math.max(1L, (length + leafSize - 1) / leafSize);
+      if (result > Integer.MAX_VALUE) {
+         throw new IllegalArgumentException("too many leaves; use larger ones");
+      }
+      return (int) result;
+   }
+
+   /**
+    * Hashes the leaves of the remaining bytes of a buffer, by up to a
+    * designated number of threads, into consecutive elements of an array.
+    */
+   private static void hashLeaves(final String algorithm, final int leafSize,
+                                  final ByteBuffer in, final byte[][] out,
+                                  final int first, int threads) {
+      final int start = in.position();
+      final int length = in.remaining();
+      final int count = leafCount(length, leafSize);
+      final int units =
+            Math.min(count, Math.min(count, threads) * UNITS_PER_THREAD);
+      final int per = (count + units - 1) / units;
+      final Batch batch = new Batch("TreeHash") {
+         protected void compute(int unit) {
+            final IMessageDigest md = newDigest(algorithm);
+            final ByteBuffer src = in.duplicate();
+            byte[] scratch = null;
+            if (!(md instanceof BaseHash)) {
+               scratch = new byte[Math.min(leafSize, CHUNK_SIZE)];
+            }
+            final int limit = Math.min(count, (unit + 1) * per);
+            for (int i = unit * per; i < limit; i++) {
+               final int offset = i * leafSize;
+               src.limit(start + offset + Math.min(leafSize, length - offset));
+               src.position(start + offset);
+               md.update(LEAF);
+               if (scratch == null) {
+                  ((BaseHash) md).update(src);
+               } else {
+                  while (src.hasRemaining()) {
+                     final int n = Math.min(scratch.length, src.remaining());
+                     src.get(scratch, 0, n);
+                     md.update(scratch, 0, n);
+                  }
+               }
+               out[first + i] = md.digest();
+            }
+         }
+      };
+      try {
+         batch.run((count + per - 1) / per, threads);
+      } catch (IOException shouldNotHappen) { // compute() throws none
+         throw new Error(String.valueOf(shouldNotHappen));
+      }
+   }
+
+   /** Reduces the leaves of a tree, level by level, to its root. */
+   private static byte[] root(IMessageDigest md, int fanout, byte[][] nodes) {
+      while (nodes.length > 1) {
+         final byte[][] parents = new byte[(nodes.length + fanout - 1) / fanout][];
+         for (int i = 0, j = 0; i < nodes.length; i += fanout, j++) {
+            final int n = Math.min(fanout, nodes.length - i);
+            parents[j] = (n == 1) ? nodes[i] : node(md, nodes, i, n);
+         }
+         nodes = parents;
+      }
+      return nodes[0];
+   }
+
+   /** Returns the interior node of <code>n</code> consecutive children. */
+   private static byte[] node(IMessageDigest md, byte[][] children, int offset,
+                              int n) {
+      md.update(NODE);
+      for (int i = offset; i < offset + n; i++) {
+         md.update(children[i], 0, children[i].length);
+      }
+      return md.digest();
+   }
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   // java.lang.Cloneable interface implementation ----------------------------
+
+   public Object clone() {
+      return new TreeHash(this);
+   }
+
+   // Implementation of concrete methods in BaseHash --------------------------
+
+   protected void transform(byte[] in, int offset) {
+      md.update(LEAF);
+      md.update(in, offset, blockSize);
+      push(md.digest(), 0);
+   }
+
+   protected byte[] padBuffer() {
+      return new byte[0];
+   }
+
+   protected byte[] getResult() {
+      final int n = (int) (count % blockSize);
+      if (n != 0 || count == 0L) { // the last, short, leaf
+         md.update(LEAF);
+         md.update(buffer, 0, n);
+         push(md.digest(), 0);
+      }
+      byte[] carry = null;
+      for (int level = 0; ; level++) {
+         int pending = fill[level];
+         if (carry != null) {
+            allocate(level);
+            levels[level][pending++] = carry;
+            carry = null;
+         }
+         if (pending == 0) {
+            continue;
+         }
+         boolean top = true;
+         for (int i = level + 1; top && i < fill.length; i++) {
+            top = (fill[i] == 0);
+         }
+         if (pending == 1) {
+            if (top) {
+               return levels[level][0];
+            }
+            carry = levels[level][0];
+         } else {
+            carry = node(md, levels[level], 0, pending);
+         }
+      }
+   }
+
+   protected void resetContext() {
+      if (levels != null) { // not during BaseHash's construction
+         for (int i = 0; i < levels.length; i++) {
+            levels[i] = null;
+            fill[i] = 0;
+         }
+         md.reset();
+      }
+   }
+
+   public boolean selfTest() {
+      if (!md.selfTest()) {
+         return false;
+      }
+      final byte[] data = new byte[1000];
+      for (int i = 0; i < data.length; i++) {
+         data[i] = (byte) i;
+      }
+      final TreeHash th = new TreeHash((IMessageDigest) md.clone(), 3, 64);
+      th.update(data, 0, data.length);
+      final byte[] expected = th.digest();
+      final byte[] actual = digest(md.name(), 3, 64, data, 0, data.length, 1);
+      if (expected.length != actual.length) {
+         return false;
+      }
+      for (int i = 0; i < expected.length; i++) {
+         if (expected[i] != actual[i]) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   // own methods -------------------------------------------------------------
+
+   /** Adds a node to a level, and hashes the level's group once it is full. */
+   private void push(byte[] node, int level) {
+      allocate(level);
+      levels[level][fill[level]++] = node;
+      if (fill[level] == fanout) {
+         fill[level] = 0;
+         push(node(md, levels[level], 0, fanout), level + 1);
+      }
+   }
+
+   private void allocate(int level) {
+      if (levels[level] == null) {
+         levels[level] = new byte[fanout][];
+      }
+   }
+}
@@ -119,17 +119,6 @@ public final class Whirlpool extends BaseHash {
    /** The 512-bit context as 8 longs. */
    private long H0, H1, H2, H3, H4, H5, H6, H7;
 
-   /** Work area for computing the round key schedule. */
-   private long k00, k01, k02, k03, k04, k05, k06, k07;
-   private long Kr0, Kr1, Kr2, Kr3, Kr4, Kr5, Kr6, Kr7;
-
-   /** work area for transforming the 512-bit buffer. */
-   private long n0,  n1,  n2,  n3,  n4,  n5,  n6,  n7;
-   private long nn0, nn1, nn2, nn3, nn4, nn5, nn6, nn7;
-
-   /** work area for holding block cipher's intermediate values. */
-   private long w0, w1, w2, w3, w4, w5, w6, w7;
-
    // Static code - to intialise lookup tables --------------------------------
 
    static {
@@ -307,6 +296,14 @@ public final class Whirlpool extends BaseHash {
    // Implementation of concrete methods in BaseHash --------------------------
 
    protected void transform(byte[] in, int offset) {
+      // the whole work area is kept in locals, none of it in fields, so that
+      // the JIT can hold it in registers.
+      long n0, n1, n2, n3, n4, n5, n6, n7;
+      long k00, k01, k02, k03, k04, k05, k06, k07;
+      long Kr0, Kr1, Kr2, Kr3, Kr4, Kr5, Kr6, Kr7;
+      long nn0, nn1, nn2, nn3, nn4, nn5, nn6, nn7;
+      long w0, w1, w2, w3, w4, w5, w6, w7;
+
       // apply mu to the input
       n0 = (in[offset++] & 0xFFL) << 56 | (in[offset++] & 0xFFL) << 48 |
            (in[offset++] & 0xFFL) << 40 | (in[offset++] & 0xFFL) << 32 |
@@ -366,46 +363,46 @@ public final class Whirlpool extends BaseHash {
       for (int r = 0; r < R; r++) {
          // 1. compute intermediate round key schedule by applying ro[rc]
          // to the previous round key schedule --rc being the round constant
-         Kr0 = T0[(int)((k00 >> 56) & 0xFFL)] ^ T1[(int)((k07 >> 48) & 0xFFL)] ^
-               T2[(int)((k06 >> 40) & 0xFFL)] ^ T3[(int)((k05 >> 32) & 0xFFL)] ^
-               T4[(int)((k04 >> 24) & 0xFFL)] ^ T5[(int)((k03 >> 16) & 0xFFL)] ^
-               T6[(int)((k02 >>  8) & 0xFFL)] ^ T7[(int)( k01        & 0xFFL)] ^
+         Kr0 = T0[(int)(k00 >>> 56)] ^ T1[(int)(k07 >>> 48) & 0xFF] ^
+               T2[(int)(k06 >>> 40) & 0xFF] ^ T3[(int)(k05 >>> 32) & 0xFF] ^
+               T4[(int)(k04 >>> 24) & 0xFF] ^ T5[(int)(k03 >>> 16) & 0xFF] ^
+               T6[(int)(k02 >>>  8) & 0xFF] ^ T7[(int) k01 & 0xFF] ^
                rc[r];
 
-         Kr1 = T0[(int)((k01 >> 56) & 0xFFL)] ^ T1[(int)((k00 >> 48) & 0xFFL)] ^
-               T2[(int)((k07 >> 40) & 0xFFL)] ^ T3[(int)((k06 >> 32) & 0xFFL)] ^
-               T4[(int)((k05 >> 24) & 0xFFL)] ^ T5[(int)((k04 >> 16) & 0xFFL)] ^
-               T6[(int)((k03 >>  8) & 0xFFL)] ^ T7[(int)( k02        & 0xFFL)];
-
-         Kr2 = T0[(int)((k02 >> 56) & 0xFFL)] ^ T1[(int)((k01 >> 48) & 0xFFL)] ^
-               T2[(int)((k00 >> 40) & 0xFFL)] ^ T3[(int)((k07 >> 32) & 0xFFL)] ^
-               T4[(int)((k06 >> 24) & 0xFFL)] ^ T5[(int)((k05 >> 16) & 0xFFL)] ^
-               T6[(int)((k04 >>  8) & 0xFFL)] ^ T7[(int)( k03        & 0xFFL)];
-
-         Kr3 = T0[(int)((k03 >> 56) & 0xFFL)] ^ T1[(int)((k02 >> 48) & 0xFFL)] ^
-               T2[(int)((k01 >> 40) & 0xFFL)] ^ T3[(int)((k00 >> 32) & 0xFFL)] ^
-               T4[(int)((k07 >> 24) & 0xFFL)] ^ T5[(int)((k06 >> 16) & 0xFFL)] ^
-               T6[(int)((k05 >>  8) & 0xFFL)] ^ T7[(int)( k04        & 0xFFL)];
-
-         Kr4 = T0[(int)((k04 >> 56) & 0xFFL)] ^ T1[(int)((k03 >> 48) & 0xFFL)] ^
-               T2[(int)((k02 >> 40) & 0xFFL)] ^ T3[(int)((k01 >> 32) & 0xFFL)] ^
-               T4[(int)((k00 >> 24) & 0xFFL)] ^ T5[(int)((k07 >> 16) & 0xFFL)] ^
-               T6[(int)((k06 >>  8) & 0xFFL)] ^ T7[(int)( k05        & 0xFFL)];
-
-         Kr5 = T0[(int)((k05 >> 56) & 0xFFL)] ^ T1[(int)((k04 >> 48) & 0xFFL)] ^
-               T2[(int)((k03 >> 40) & 0xFFL)] ^ T3[(int)((k02 >> 32) & 0xFFL)] ^
-               T4[(int)((k01 >> 24) & 0xFFL)] ^ T5[(int)((k00 >> 16) & 0xFFL)] ^
-               T6[(int)((k07 >>  8) & 0xFFL)] ^ T7[(int)( k06        & 0xFFL)];
-
-         Kr6 = T0[(int)((k06 >> 56) & 0xFFL)] ^ T1[(int)((k05 >> 48) & 0xFFL)] ^
-               T2[(int)((k04 >> 40) & 0xFFL)] ^ T3[(int)((k03 >> 32) & 0xFFL)] ^
-               T4[(int)((k02 >> 24) & 0xFFL)] ^ T5[(int)((k01 >> 16) & 0xFFL)] ^
-               T6[(int)((k00 >>  8) & 0xFFL)] ^ T7[(int)( k07        & 0xFFL)];
-
-         Kr7 = T0[(int)((k07 >> 56) & 0xFFL)] ^ T1[(int)((k06 >> 48) & 0xFFL)] ^
-               T2[(int)((k05 >> 40) & 0xFFL)] ^ T3[(int)((k04 >> 32) & 0xFFL)] ^
-               T4[(int)((k03 >> 24) & 0xFFL)] ^ T5[(int)((k02 >> 16) & 0xFFL)] ^
-               T6[(int)((k01 >>  8) & 0xFFL)] ^ T7[(int)( k00        & 0xFFL)];
+         Kr1 = T0[(int)(k01 >>> 56)] ^ T1[(int)(k00 >>> 48) & 0xFF] ^
+               T2[(int)(k07 >>> 40) & 0xFF] ^ T3[(int)(k06 >>> 32) & 0xFF] ^
+               T4[(int)(k05 >>> 24) & 0xFF] ^ T5[(int)(k04 >>> 16) & 0xFF] ^
+               T6[(int)(k03 >>>  8) & 0xFF] ^ T7[(int) k02 & 0xFF];
+
+         Kr2 = T0[(int)(k02 >>> 56)] ^ T1[(int)(k01 >>> 48) & 0xFF] ^
+               T2[(int)(k00 >>> 40) & 0xFF] ^ T3[(int)(k07 >>> 32) & 0xFF] ^
+               T4[(int)(k06 >>> 24) & 0xFF] ^ T5[(int)(k05 >>> 16) & 0xFF] ^
+               T6[(int)(k04 >>>  8) & 0xFF] ^ T7[(int) k03 & 0xFF];
+
+         Kr3 = T0[(int)(k03 >>> 56)] ^ T1[(int)(k02 >>> 48) & 0xFF] ^
+               T2[(int)(k01 >>> 40) & 0xFF] ^ T3[(int)(k00 >>> 32) & 0xFF] ^
+               T4[(int)(k07 >>> 24) & 0xFF] ^ T5[(int)(k06 >>> 16) & 0xFF] ^
+               T6[(int)(k05 >>>  8) & 0xFF] ^ T7[(int) k04 & 0xFF];
+
+         Kr4 = T0[(int)(k04 >>> 56)] ^ T1[(int)(k03 >>> 48) & 0xFF] ^
+               T2[(int)(k02 >>> 40) & 0xFF] ^ T3[(int)(k01 >>> 32) & 0xFF] ^
+               T4[(int)(k00 >>> 24) & 0xFF] ^ T5[(int)(k07 >>> 16) & 0xFF] ^
+               T6[(int)(k06 >>>  8) & 0xFF] ^ T7[(int) k05 & 0xFF];
+
+         Kr5 = T0[(int)(k05 >>> 56)] ^ T1[(int)(k04 >>> 48) & 0xFF] ^
+               T2[(int)(k03 >>> 40) & 0xFF] ^ T3[(int)(k02 >>> 32) & 0xFF] ^
+               T4[(int)(k01 >>> 24) & 0xFF] ^ T5[(int)(k00 >>> 16) & 0xFF] ^
+               T6[(int)(k07 >>>  8) & 0xFF] ^ T7[(int) k06 & 0xFF];
+
+         Kr6 = T0[(int)(k06 >>> 56)] ^ T1[(int)(k05 >>> 48) & 0xFF] ^
+               T2[(int)(k04 >>> 40) & 0xFF] ^ T3[(int)(k03 >>> 32) & 0xFF] ^
+               T4[(int)(k02 >>> 24) & 0xFF] ^ T5[(int)(k01 >>> 16) & 0xFF] ^
+               T6[(int)(k00 >>>  8) & 0xFF] ^ T7[(int) k07 & 0xFF];
+
+         Kr7 = T0[(int)(k07 >>> 56)] ^ T1[(int)(k06 >>> 48) & 0xFF] ^
+               T2[(int)(k05 >>> 40) & 0xFF] ^ T3[(int)(k04 >>> 32) & 0xFF] ^
+               T4[(int)(k03 >>> 24) & 0xFF] ^ T5[(int)(k02 >>> 16) & 0xFF] ^
+               T6[(int)(k01 >>>  8) & 0xFF] ^ T7[(int) k00 & 0xFF];
 
          k00 = Kr0;
          k01 = Kr1;
@@ -417,45 +414,45 @@ public final class Whirlpool extends BaseHash {
          k07 = Kr7;
 
          // 2. incrementally compute the cipher output
-         w0 = T0[(int)((nn0 >> 56) & 0xFFL)] ^ T1[(int)((nn7 >> 48) & 0xFFL)] ^
-              T2[(int)((nn6 >> 40) & 0xFFL)] ^ T3[(int)((nn5 >> 32) & 0xFFL)] ^
-              T4[(int)((nn4 >> 24) & 0xFFL)] ^ T5[(int)((nn3 >> 16) & 0xFFL)] ^
-              T6[(int)((nn2 >>  8) & 0xFFL)] ^ T7[(int)( nn1        & 0xFFL)] ^
+         w0 = T0[(int)(nn0 >>> 56)] ^ T1[(int)(nn7 >>> 48) & 0xFF] ^
+              T2[(int)(nn6 >>> 40) & 0xFF] ^ T3[(int)(nn5 >>> 32) & 0xFF] ^
+              T4[(int)(nn4 >>> 24) & 0xFF] ^ T5[(int)(nn3 >>> 16) & 0xFF] ^
+              T6[(int)(nn2 >>>  8) & 0xFF] ^ T7[(int) nn1 & 0xFF] ^
               Kr0;
-         w1 = T0[(int)((nn1 >> 56) & 0xFFL)] ^ T1[(int)((nn0 >> 48) & 0xFFL)] ^
-              T2[(int)((nn7 >> 40) & 0xFFL)] ^ T3[(int)((nn6 >> 32) & 0xFFL)] ^
-              T4[(int)((nn5 >> 24) & 0xFFL)] ^ T5[(int)((nn4 >> 16) & 0xFFL)] ^
-              T6[(int)((nn3 >>  8) & 0xFFL)] ^ T7[(int)( nn2        & 0xFFL)] ^
+         w1 = T0[(int)(nn1 >>> 56)] ^ T1[(int)(nn0 >>> 48) & 0xFF] ^
+              T2[(int)(nn7 >>> 40) & 0xFF] ^ T3[(int)(nn6 >>> 32) & 0xFF] ^
+              T4[(int)(nn5 >>> 24) & 0xFF] ^ T5[(int)(nn4 >>> 16) & 0xFF] ^
+              T6[(int)(nn3 >>>  8) & 0xFF] ^ T7[(int) nn2 & 0xFF] ^
               Kr1;
-         w2 = T0[(int)((nn2 >> 56) & 0xFFL)] ^ T1[(int)((nn1 >> 48) & 0xFFL)] ^
-              T2[(int)((nn0 >> 40) & 0xFFL)] ^ T3[(int)((nn7 >> 32) & 0xFFL)] ^
-              T4[(int)((nn6 >> 24) & 0xFFL)] ^ T5[(int)((nn5 >> 16) & 0xFFL)] ^
-              T6[(int)((nn4 >>  8) & 0xFFL)] ^ T7[(int)( nn3        & 0xFFL)] ^
+         w2 = T0[(int)(nn2 >>> 56)] ^ T1[(int)(nn1 >>> 48) & 0xFF] ^
+              T2[(int)(nn0 >>> 40) & 0xFF] ^ T3[(int)(nn7 >>> 32) & 0xFF] ^
+              T4[(int)(nn6 >>> 24) & 0xFF] ^ T5[(int)(nn5 >>> 16) & 0xFF] ^
+              T6[(int)(nn4 >>>  8) & 0xFF] ^ T7[(int) nn3 & 0xFF] ^
               Kr2;
-         w3 = T0[(int)((nn3 >> 56) & 0xFFL)] ^ T1[(int)((nn2 >> 48) & 0xFFL)] ^
-              T2[(int)((nn1 >> 40) & 0xFFL)] ^ T3[(int)((nn0 >> 32) & 0xFFL)] ^
-              T4[(int)((nn7 >> 24) & 0xFFL)] ^ T5[(int)((nn6 >> 16) & 0xFFL)] ^
-              T6[(int)((nn5 >>  8) & 0xFFL)] ^ T7[(int)( nn4        & 0xFFL)] ^
+         w3 = T0[(int)(nn3 >>> 56)] ^ T1[(int)(nn2 >>> 48) & 0xFF] ^
+              T2[(int)(nn1 >>> 40) & 0xFF] ^ T3[(int)(nn0 >>> 32) & 0xFF] ^
+              T4[(int)(nn7 >>> 24) & 0xFF] ^ T5[(int)(nn6 >>> 16) & 0xFF] ^
+              T6[(int)(nn5 >>>  8) & 0xFF] ^ T7[(int) nn4 & 0xFF] ^
               Kr3;
-         w4 = T0[(int)((nn4 >> 56) & 0xFFL)] ^ T1[(int)((nn3 >> 48) & 0xFFL)] ^
-              T2[(int)((nn2 >> 40) & 0xFFL)] ^ T3[(int)((nn1 >> 32) & 0xFFL)] ^
-              T4[(int)((nn0 >> 24) & 0xFFL)] ^ T5[(int)((nn7 >> 16) & 0xFFL)] ^
-              T6[(int)((nn6 >>  8) & 0xFFL)] ^ T7[(int)( nn5        & 0xFFL)] ^
+         w4 = T0[(int)(nn4 >>> 56)] ^ T1[(int)(nn3 >>> 48) & 0xFF] ^
+              T2[(int)(nn2 >>> 40) & 0xFF] ^ T3[(int)(nn1 >>> 32) & 0xFF] ^
+              T4[(int)(nn0 >>> 24) & 0xFF] ^ T5[(int)(nn7 >>> 16) & 0xFF] ^
+              T6[(int)(nn6 >>>  8) & 0xFF] ^ T7[(int) nn5 & 0xFF] ^
               Kr4;
-         w5 = T0[(int)((nn5 >> 56) & 0xFFL)] ^ T1[(int)((nn4 >> 48) & 0xFFL)] ^
-              T2[(int)((nn3 >> 40) & 0xFFL)] ^ T3[(int)((nn2 >> 32) & 0xFFL)] ^
-              T4[(int)((nn1 >> 24) & 0xFFL)] ^ T5[(int)((nn0 >> 16) & 0xFFL)] ^
-              T6[(int)((nn7 >>  8) & 0xFFL)] ^ T7[(int)( nn6        & 0xFFL)] ^
+         w5 = T0[(int)(nn5 >>> 56)] ^ T1[(int)(nn4 >>> 48) & 0xFF] ^
+              T2[(int)(nn3 >>> 40) & 0xFF] ^ T3[(int)(nn2 >>> 32) & 0xFF] ^
+              T4[(int)(nn1 >>> 24) & 0xFF] ^ T5[(int)(nn0 >>> 16) & 0xFF] ^
+              T6[(int)(nn7 >>>  8) & 0xFF] ^ T7[(int) nn6 & 0xFF] ^
               Kr5;
-         w6 = T0[(int)((nn6 >> 56) & 0xFFL)] ^ T1[(int)((nn5 >> 48) & 0xFFL)] ^
-              T2[(int)((nn4 >> 40) & 0xFFL)] ^ T3[(int)((nn3 >> 32) & 0xFFL)] ^
-              T4[(int)((nn2 >> 24) & 0xFFL)] ^ T5[(int)((nn1 >> 16) & 0xFFL)] ^
-              T6[(int)((nn0 >>  8) & 0xFFL)] ^ T7[(int)( nn7        & 0xFFL)] ^
+         w6 = T0[(int)(nn6 >>> 56)] ^ T1[(int)(nn5 >>> 48) & 0xFF] ^
+              T2[(int)(nn4 >>> 40) & 0xFF] ^ T3[(int)(nn3 >>> 32) & 0xFF] ^
+              T4[(int)(nn2 >>> 24) & 0xFF] ^ T5[(int)(nn1 >>> 16) & 0xFF] ^
+              T6[(int)(nn0 >>>  8) & 0xFF] ^ T7[(int) nn7 & 0xFF] ^
               Kr6;
-         w7 = T0[(int)((nn7 >> 56) & 0xFFL)] ^ T1[(int)((nn6 >> 48) & 0xFFL)] ^
-              T2[(int)((nn5 >> 40) & 0xFFL)] ^ T3[(int)((nn4 >> 32) & 0xFFL)] ^
-              T4[(int)((nn3 >> 24) & 0xFFL)] ^ T5[(int)((nn2 >> 16) & 0xFFL)] ^
-              T6[(int)((nn1 >>  8) & 0xFFL)] ^ T7[(int)( nn0        & 0xFFL)] ^
+         w7 = T0[(int)(nn7 >>> 56)] ^ T1[(int)(nn6 >>> 48) & 0xFF] ^
+              T2[(int)(nn5 >>> 40) & 0xFF] ^ T3[(int)(nn4 >>> 32) & 0xFF] ^
+              T4[(int)(nn3 >>> 24) & 0xFF] ^ T5[(int)(nn2 >>> 16) & 0xFF] ^
+              T6[(int)(nn1 >>>  8) & 0xFF] ^ T7[(int) nn0 & 0xFF] ^
               Kr7;
 
          nn0 = w0;
@@ -174,6 +174,8 @@ public final class GnuCrypto extends Provider {
                put("Cipher.NULL ImplementedIn", "Software");
                put("Cipher.AES", "gnu.crypto.jce.cipher.RijndaelSpi");
                put("Cipher.AES ImplementedIn", "Software");
+               put("Cipher.AES-CT", "gnu.crypto.jce.cipher.ConstantTimeAESSpi");
+               put("Cipher.AES-CT ImplementedIn", "Software");
                put("Cipher.RIJNDAEL", "gnu.crypto.jce.cipher.RijndaelSpi");
                put("Cipher.RIJNDAEL ImplementedIn", "Software");
                put("Cipher.SERPENT", "gnu.crypto.jce.cipher.SerpentSpi");
@@ -446,6 +448,7 @@ public final class GnuCrypto extends Provider {
 
                // Aliases
                put("Alg.Alias.AlgorithmParameters.AES", "BlockCipherParameters");
+               put("Alg.Alias.AlgorithmParameters.AES-CT", "BlockCipherParameters");
                put("Alg.Alias.AlgorithmParameters.BLOWFISH", "BlockCipherParameters");
                put("Alg.Alias.AlgorithmParameters.ANUBIS", "BlockCipherParameters");
                put("Alg.Alias.AlgorithmParameters.KHAZAD", "BlockCipherParameters");
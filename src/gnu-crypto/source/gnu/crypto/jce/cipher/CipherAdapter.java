@@ -46,13 +46,17 @@ package gnu.crypto.jce.cipher;
 
 import gnu.crypto.cipher.IBlockCipher;
 import gnu.crypto.cipher.CipherFactory;
+import gnu.crypto.jce.spec.AuthenticatedModeParameterSpec;
 import gnu.crypto.jce.spec.BlockCipherParameterSpec;
+import gnu.crypto.mode.BaseMode;
+import gnu.crypto.mode.IAuthenticatedMode;
 import gnu.crypto.mode.IMode;
 import gnu.crypto.mode.ModeFactory;
 import gnu.crypto.pad.IPad;
 import gnu.crypto.pad.PadFactory;
 import gnu.crypto.pad.WrongPaddingException;
 
+import java.io.ByteArrayOutputStream;
 import java.security.AlgorithmParameters;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
@@ -89,6 +93,15 @@ import javax.crypto.spec.IvParameterSpec;
  * Otherwise a subclass need only call the {@link #CipherAdapter(String)}
  * constructor with the name of the cipher.</p>
  *
+ * <p>The authenticated modes (EAX, GCM and OCB) take their nonce and tag
+ * length from an {@link AuthenticatedModeParameterSpec}, or only their nonce
+ * from an {@link IvParameterSpec}; the associated data is supplied with
+ * <code>updateAAD()</code>. When encrypting, the tag is appended to the
+ * ciphertext by <code>doFinal()</code>, after which the instance must be
+ * initialised again with a fresh nonce. When decrypting, the ciphertext is
+ * held back until <code>doFinal()</code>, which only releases the plaintext
+ * once the tag has been verified. Padding does not apply to these modes.</p>
+ *
  * @version $Revision: 1.3 $
  */
 class CipherAdapter extends CipherSpi {
@@ -120,6 +133,9 @@ class CipherAdapter extends CipherSpi {
    /** The length of blocks we are processing. */
    protected int blockLen;
 
+   /** The ciphertext held back, when decrypting with an authenticated mode. */
+   protected ByteArrayOutputStream held;
+
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -196,6 +212,13 @@ class CipherAdapter extends CipherSpi {
    }
 
    protected int engineGetOutputSize(int inputLen) {
+      if (mode instanceof IAuthenticatedMode) {
+         final int tagSize = ((IAuthenticatedMode) mode).macSize();
+         if (held != null) {
+            return Math.max(0, held.size() + inputLen - tagSize);
+         }
+         return partLen + inputLen + tagSize;
+      }
       final int blockSize = mode.currentBlockSize();
       return ((inputLen + partLen) / blockSize) * blockSize;
    }
@@ -251,11 +274,18 @@ class CipherAdapter extends CipherSpi {
       }
       partBlock = new byte[blockLen];
       partLen = 0;
+      if (mode instanceof IAuthenticatedMode
+            && opmode == Cipher.DECRYPT_MODE) {
+         held = new ByteArrayOutputStream();
+      } else {
+         held = null;
+      }
    }
 
    protected void
    engineInit(int opmode, Key key, AlgorithmParameterSpec params, SecureRandom random)
    throws InvalidKeyException, InvalidAlgorithmParameterException {
+      attributes.remove(IAuthenticatedMode.TAG_SIZE);
       if (params == null) {
          byte[] iv = new byte[blockLen];
          random.nextBytes(iv);
@@ -270,6 +300,14 @@ class CipherAdapter extends CipherSpi {
                ((BlockCipherParameterSpec) params).getIV());
          keyLen = ((BlockCipherParameterSpec) params).getKeySize();
          blockLen = ((BlockCipherParameterSpec) params).getBlockSize();
+      } else if (params instanceof AuthenticatedModeParameterSpec) {
+         attributes.put(IMode.IV,
+               ((AuthenticatedModeParameterSpec) params).getIV());
+         attributes.put(IAuthenticatedMode.TAG_SIZE, new Integer(
+               ((AuthenticatedModeParameterSpec) params).getTagSize()));
+         blockLen = cipher.defaultBlockSize();
+         attributes.put(IBlockCipher.CIPHER_BLOCK_SIZE, new Integer(blockLen));
+         keyLen = 0;
       } else if (params instanceof IvParameterSpec) {
          attributes.put(IMode.IV, ((IvParameterSpec) params).getIV());
          blockLen = cipher.defaultBlockSize();
@@ -293,7 +331,20 @@ class CipherAdapter extends CipherSpi {
       engineInit(opmode, key, spec, random);
    }
 
+   protected void engineUpdateAAD(byte[] input, int off, int len) {
+      if (!(mode instanceof IAuthenticatedMode)) {
+         throw new IllegalStateException("not an authenticated mode");
+      }
+      ((IAuthenticatedMode) mode).update(input, off, len);
+   }
+
    protected byte[] engineUpdate(byte[] input, int off, int len) {
+      if (held != null) {
+         if (len > 0) {
+            held.write(input, off, len);
+         }
+         return new byte[0];
+      }
       final int blockSize = mode.currentBlockSize();
       final int count = (partLen + len) / blockSize;
       final byte[] out = new byte[count * blockSize];
@@ -342,6 +393,10 @@ class CipherAdapter extends CipherSpi {
       if (inLen == 0) { // nothing to process
          return 0;
       }
+      if (held != null) { // released by engineDoFinal() once verified
+         held.write(in, inOff, inLen);
+         return 0;
+      }
       final int blockSize = mode.currentBlockSize();
       final int blockCount = (partLen + inLen) / blockSize;
       final int result = blockCount * blockSize;
@@ -365,10 +420,15 @@ class CipherAdapter extends CipherSpi {
          }
          inOff = 0;
       }
-      for (int i = 0; i < blockCount; i++) { // update blockCount * blockSize
-         mode.update(buf, inOff, out, outOff);
-         inOff += blockSize;
-         outOff += blockSize;
+      if (mode instanceof BaseMode) { // one pass over all the blocks
+         ((BaseMode) mode).update(buf, inOff, out, outOff, blockCount);
+         inOff += result;
+      } else {
+         for (int i = 0; i < blockCount; i++) { // update blockCount * blockSize
+            mode.update(buf, inOff, out, outOff);
+            inOff += blockSize;
+            outOff += blockSize;
+         }
       }
       partLen += inLen - result;
       if (partLen > 0) { // cache remaining bytes from buf
@@ -379,6 +439,9 @@ class CipherAdapter extends CipherSpi {
 
    protected byte[] engineDoFinal(byte[] input, int off, int len)
    throws IllegalBlockSizeException, BadPaddingException {
+      if (mode instanceof IAuthenticatedMode) {
+         return authenticatedDoFinal(input, off, len);
+      }
       final byte[] result;
       final byte[] buf = engineUpdate(input, off, len);
       if (pad != null) {
@@ -423,4 +486,59 @@ class CipherAdapter extends CipherSpi {
       System.arraycopy(buf, 0, out, outOff, buf.length);
       return buf.length;
    }
+
+   // own methods -------------------------------------------------------------
+
+   private byte[] authenticatedDoFinal(byte[] input, int off, int len)
+   throws IllegalBlockSizeException, BadPaddingException {
+      final IAuthenticatedMode aem = (IAuthenticatedMode) mode;
+      final int tagSize = aem.macSize();
+      if (held == null) { // encryption
+         final byte[] buf = engineUpdate(input, off, len);
+         final byte[] result = new byte[buf.length + partLen + tagSize];
+         System.arraycopy(buf, 0, result, 0, buf.length);
+         aem.finish(partBlock, 0, partLen, result, buf.length);
+         System.arraycopy(aem.digest(), 0, result, buf.length + partLen, tagSize);
+         partLen = 0;
+         return result;
+      }
+
+      if (input != null && len > 0) {
+         held.write(input, off, len);
+      }
+      final byte[] buf = held.toByteArray();
+      held.reset();
+      final int limit = buf.length - tagSize;
+      if (limit < 0) {
+         restart();
+         throw new IllegalBlockSizeException("missing tag");
+      }
+      final int blockSize = mode.currentBlockSize();
+      int i = 0;
+      for ( ; i + blockSize <= limit; i += blockSize) {
+         aem.update(buf, i, buf, i);
+      }
+      aem.finish(buf, i, limit - i, buf, i);
+      final boolean ok = aem.verify(buf, limit);
+      restart();
+      if (!ok) {
+         for (i = 0; i < limit; i++) {
+            buf[i] = 0;
+         }
+         throw new BadPaddingException("tag mismatch");
+      }
+      final byte[] result = new byte[limit];
+      System.arraycopy(buf, 0, result, 0, limit);
+      return result;
+   }
+
+   /** Re-arms an authenticated mode for the next message to decrypt. */
+   private void restart() {
+      mode.reset();
+      try {
+         mode.init(attributes);
+      } catch (InvalidKeyException x) { // accepted by engineInit()
+         throw new IllegalStateException(String.valueOf(x));
+      }
+   }
 }
@@ -0,0 +1,111 @@
+package gnu.crypto.jce.spec;
+
+// --------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify it
+// under the terms of the GNU General Public License as published by the
+// Free Software Foundation; either version 2 of the License, or (at
+// your option) any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the
+//
+//    Free Software Foundation, Inc.,
+//    59 Temple Place, Suite 330,
+//    Boston, MA  02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+//
+// --------------------------------------------------------------------------
+
+import gnu.crypto.util.Util;
+
+import java.security.spec.AlgorithmParameterSpec;
+
+/**
+ * The parameters of an authenticated encryption mode, such as EAX, GCM or
+ * OCB: the nonce of the message and the length of its authentication tag.
+ *
+ * @version $Revision$
+ */
+public class AuthenticatedModeParameterSpec implements AlgorithmParameterSpec {
+
+   // Constants and variables.
+   // -----------------------------------------------------------------------
+
+   /**
+    * The nonce.
+    */
+   protected byte[] iv;
+
+   /**
+    * The tag length, in bytes.
+    */
+   protected int tagSize;
+
+   // Constructors.
+   // -----------------------------------------------------------------------
+
+   /**
+    * Create a new parameter specification.
+    *
+    * @param iv      The nonce; it must never be used twice with the same key.
+    * @param tagSize The length of the authentication tag, in bytes.
+    */
+   public AuthenticatedModeParameterSpec(byte[] iv, int tagSize) {
+      this.iv = (byte[]) iv.clone();
+      this.tagSize = tagSize;
+   }
+
+   // Instance methods.
+   // -----------------------------------------------------------------------
+
+   /**
+    * Get the nonce.
+    *
+    * @return The nonce.
+    */
+   public byte[] getIV() {
+      return (byte[]) iv.clone();
+   }
+
+   /**
+    * Get the length of the authentication tag.
+    *
+    * @return The tag length, in bytes.
+    */
+   public int getTagSize() {
+      return tagSize;
+   }
+
+   public String toString() {
+      return getClass().getName() + " { IV=" + Util.toString(iv)
+         + ", TS=" + tagSize + " }";
+   }
+}
@@ -243,13 +243,22 @@ public class SRPKeyPairGenerator implements IKeyPairGenerator {
 
    private KeyPair hostKeyPair() {
       byte[] bBytes = new byte[(l + 7) / 8];
-      BigInteger b, B;
+      BigInteger b, gb, B;
       do {
-         do {
-            nextRandomBytes(bBytes);
-            b = new BigInteger(1, bBytes);
-         } while (b.compareTo(ONE) <= 0 || b.compareTo(N) >= 0);
-         B = THREE.multiply(v).add(g.modPow(b, N)).mod(N);
+         // a caller-supplied source of randomness bypasses the pools
+         BigInteger[] pair = (rnd == null) ? SRPKeyPool.take(N, g) : null;
+         if (pair != null) {
+            b = pair[0];
+            gb = pair[1];
+            pair[0] = pair[1] = null;
+         } else {
+            do {
+               nextRandomBytes(bBytes);
+               b = new BigInteger(1, bBytes);
+            } while (b.compareTo(ONE) <= 0 || b.compareTo(N) >= 0);
+            gb = g.modPow(b, N);
+         }
+         B = THREE.multiply(v).add(gb).mod(N);
       } while (B.compareTo(ZERO) == 0 || B.compareTo(N) >= 0);
 
       KeyPair result = new KeyPair(
@@ -0,0 +1,313 @@
+package gnu.crypto.key.srp6;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+import gnu.crypto.prng.IRandom;
+import gnu.crypto.prng.LimitReachedException;
+import gnu.crypto.prng.MDGenerator;
+import gnu.crypto.util.PRNG;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+
+/**
+ * <p>A pool of precomputed SRP host ephemeral values, <code>(b, g^b mod
+ * N)</code>, for one SRP group. Once a pool is started for a group, the
+ * {@link SRPKeyPairGenerator} takes the host's ephemeral exponent from it,
+ * leaving only the per-user part of <code>B = k*v + g^b mod N</code> to the
+ * handshake; should the pool run dry, the generator falls back to computing
+ * the whole of <code>B</code>.</p>
+ *
+ * <p>Pools are refilled by background threads running at minimum priority.
+ * Each thread draws its exponents from a generator of its own, seeded from
+ * the library's shared {@link PRNG} by the thread starting the pool, so that
+ * they do not contend for the shared PRNG's lock. Every pair is handed out
+ * at most once, and the pool drops its references to it when it does.</p>
+ *
+ * @version $Revision$
+ */
+public final class SRPKeyPool implements Runnable {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final BigInteger ONE = BigInteger.ONE;
+
+   /** The pools started so far, keyed by their shared modulus. */
+   private static final HashMap pools = new HashMap();
+
+   /** The shared modulus of this pool's group. */
+   private final BigInteger N;
+
+   /** The generator of this pool's group. */
+   private final BigInteger g;
+
+   /** The maximum number of pairs to keep. */
+   private final int capacity;
+
+   /** The available pairs, as two-element arrays: <code>{ b, g^b }</code>. */
+   private final LinkedList pairs = new LinkedList();
+
+   private final Thread[] threads;
+
+   /** The sources of randomness of the threads, in the same order. */
+   private final IRandom[] randoms;
+
+   /** The number of pairs handed out. */
+   private long taken = 0L;
+
+   private volatile boolean running = true;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   private SRPKeyPool(BigInteger N, BigInteger g, int capacity, int count) {
+      super();
+
+      this.N = N;
+      this.g = g;
+      this.capacity = capacity;
+      this.threads = new Thread[count];
+      this.randoms = new IRandom[count];
+      for (int i = 0; i < count; i++) {
+         randoms[i] = newRandom();
+         threads[i] = new Thread(this,
+               "SRP-"+String.valueOf(N.bitLength())+"-"+String.valueOf(i));
+         threads[i].setDaemon(true);
+         threads[i].setPriority(Thread.MIN_PRIORITY);
+      }
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Starts a pool of precomputed host ephemeral values for a designated
+    * SRP group, replacing any previous pool for the same modulus.</p>
+    *
+    * @param N the shared modulus.
+    * @param g the generator.
+    * @param capacity the number of pairs to keep ready.
+    * @param count the number of background threads refilling the pool.
+    * @exception IllegalArgumentException if <code>N</code> and <code>g</code>
+    * are not acceptable SRP parameters, or if either <code>capacity</code> or
+    * <code>count</code> is not positive.
+    */
+   public static void start(BigInteger N, BigInteger g, int capacity, int count) {
+      if (capacity < 1 || count < 1) {
+         throw new IllegalArgumentException("capacity and count must be positive");
+      }
+      SRPAlgorithm.checkParams(N, g);
+      SRPKeyPool pool = new SRPKeyPool(N, g, capacity, count);
+      SRPKeyPool old;
+      synchronized (pools) {
+         old = (SRPKeyPool) pools.put(N, pool);
+      }
+      if (old != null) {
+         old.halt();
+      }
+      for (int i = 0; i < count; i++) {
+         pool.threads[i].start();
+      }
+   }
+
+   /**
+    * <p>Stops the pool of a designated SRP group, if any, and discards its
+    * precomputed pairs.</p>
+    *
+    * @param N the shared modulus of the group.
+    */
+   public static void stop(BigInteger N) {
+      SRPKeyPool pool;
+      synchronized (pools) {
+         pool = (SRPKeyPool) pools.remove(N);
+      }
+      if (pool != null) {
+         pool.halt();
+      }
+   }
+
+   /**
+    * <p>Returns the number of pairs ready for use in the pool of a designated
+    * SRP group.</p>
+    *
+    * @param N the shared modulus of the group.
+    * @return the number of pairs available, or <code>-1</code> if no pool
+    * was started for <code>N</code>.
+    */
+   public static int available(BigInteger N) {
+      SRPKeyPool pool;
+      synchronized (pools) {
+         pool = (SRPKeyPool) pools.get(N);
+      }
+      if (pool == null) {
+         return -1;
+      }
+      synchronized (pool) {
+         return pool.pairs.size();
+      }
+   }
+
+   /**
+    * <p>Returns the number of pairs handed out by the pool of a designated
+    * SRP group since it was started.</p>
+    *
+    * @param N the shared modulus of the group.
+    * @return the number of pairs taken from the pool, or <code>-1</code> if
+    * no pool was started for <code>N</code>.
+    */
+   public static long taken(BigInteger N) {
+      SRPKeyPool pool;
+      synchronized (pools) {
+         pool = (SRPKeyPool) pools.get(N);
+      }
+      if (pool == null) {
+         return -1L;
+      }
+      synchronized (pool) {
+         return pool.taken;
+      }
+   }
+
+   /**
+    * <p>Removes a precomputed pair from the pool of a designated SRP group.</p>
+    *
+    * @param N the shared modulus.
+    * @param g the generator.
+    * @return a two-element array, <code>{ b, g^b mod N }</code>, never handed
+    * out before; or <code>null</code> if there is no pool for this group or
+    * if it is empty.
+    */
+   static BigInteger[] take(BigInteger N, BigInteger g) {
+      SRPKeyPool pool;
+      synchronized (pools) {
+         pool = (SRPKeyPool) pools.get(N);
+      }
+      if (pool == null || !pool.g.equals(g)) {
+         return null;
+      }
+      synchronized (pool) {
+         if (pool.pairs.isEmpty()) {
+            return null;
+         }
+         BigInteger[] result = (BigInteger[]) pool.pairs.removeFirst();
+         pool.taken++;
+         pool.notify(); // there is room for one more
+         return result;
+      }
+   }
+
+   private static IRandom newRandom() {
+      byte[] seed = new byte[32];
+      PRNG.nextBytes(seed);
+      IRandom result = new MDGenerator();
+      HashMap map = new HashMap();
+      map.put(MDGenerator.SEEED, seed);
+      result.init(map);
+      return result;
+   }
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   // Runnable interface implementation ---------------------------------------
+
+   /** The loop of one background thread refilling this pool. */
+   public void run() {
+      IRandom rnd = null;
+      for (int i = 0; i < threads.length; i++) {
+         if (threads[i] == Thread.currentThread()) {
+            rnd = randoms[i];
+            randoms[i] = null;
+         }
+      }
+      byte[] bBytes = new byte[(N.bitLength() + 7) / 8];
+      while (true) {
+         synchronized (this) {
+            while (running && pairs.size() >= capacity) {
+               try {
+                  wait();
+               } catch (InterruptedException x) {
+                  return;
+               }
+            }
+            if (!running) {
+               return;
+            }
+         }
+
+         BigInteger b = null;
+         while (b == null) {
+            try {
+               rnd.nextBytes(bBytes, 0, bBytes.length);
+            } catch (LimitReachedException shouldNotHappen) { // MDGenerator
+               throw new Error(String.valueOf(shouldNotHappen));
+            }
+            b = new BigInteger(1, bBytes);
+            if (b.compareTo(ONE) <= 0 || b.compareTo(N) >= 0) {
+               b = null;
+            }
+         }
+         Arrays.fill(bBytes, (byte) 0);
+         BigInteger[] pair = new BigInteger[] { b, g.modPow(b, N) };
+
+         synchronized (this) {
+            if (running && pairs.size() < capacity) {
+               pairs.addLast(pair);
+            }
+         }
+      }
+   }
+
+   // other instance methods --------------------------------------------------
+
+   private synchronized void halt() {
+      running = false;
+      pairs.clear();
+      notifyAll();
+   }
+}
@@ -87,6 +87,7 @@ implements Registry {
    }
 
    private AuthenticatedEntry() {
+      type = TYPE;
       setMasked(true);
    }
 
@@ -44,11 +44,19 @@ package gnu.crypto.keyring;  // -*- c-basic-offset: 3 -*-
 //
 // ---------------------------------------------------------------------------
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
+import java.util.Date;
 import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
@@ -63,6 +71,12 @@ public abstract class BaseKeyring implements IKeyring {
    private static final IllegalStateException NOT_LOADED
       = new IllegalStateException("keyring not loaded");
 
+   /** Content type of the entry heading every journal record. */
+   private static final String JOURNAL_HEADER = "application/x-gkr-journal";
+
+   /** Content type of the entries recording the removal of an alias. */
+   private static final String JOURNAL_REMOVE = "application/x-gkr-remove";
+
    /**
     * The top-level keyring data.
     */
@@ -70,6 +84,24 @@ public abstract class BaseKeyring implements IKeyring {
 
    protected CompressedEntry keyring2;
 
+   /**
+    * The changes made since this keyring was last loaded or stored, in
+    * order: added {@link Entry}s and the {@link String} aliases removed.
+    */
+   protected List pending = new LinkedList();
+
+   /** The keyring file changes can be appended to, if any. */
+   private File journalFile;
+
+   /** The expected length of the journal file. */
+   private long journalLength;
+
+   /** The length of the compacted keyring at the start of the file. */
+   private long baseLength;
+
+   /** The number of journal records in the journal file. */
+   private int sequence;
+
    // Constructors.
    // ------------------------------------------------------------------------
 
@@ -79,10 +111,22 @@ public abstract class BaseKeyring implements IKeyring {
    // Instance methods.
    // ------------------------------------------------------------------------
 
+   /**
+    * <p>Loads this keyring.</p>
+    *
+    * <p>The journal records appended to a {@link #KEYRING_DATA_FILE} are
+    * replayed. A {@link #KEYRING_DATA_IN} stream is only read up to the end of
+    * the keyring, and whatever follows is left unread.</p>
+    */
    public void load(Map attributes) throws IOException {
       InputStream in = (InputStream) attributes.get(KEYRING_DATA_IN);
+      File file = null;
       if (in == null) {
-         throw new IllegalArgumentException("no input stream");
+         file = (File) attributes.get(KEYRING_DATA_FILE);
+         if (file == null) {
+            throw new IllegalArgumentException("no input stream");
+         }
+         in = MappedInputStream.map(file);
       }
       char[] password = (char[]) attributes.get(KEYRING_PASSWORD);
       if (password == null) {
@@ -98,16 +142,49 @@ public abstract class BaseKeyring implements IKeyring {
 
       load(in, password);
 
+      keyring2 = null;
       List l = keyring.getEntries();
       if (l.size() == 1 && (l.get(0) instanceof CompressedEntry)) {
          keyring2 = (CompressedEntry) l.get(0);
       }
+
+      pending.clear();
+      journalFile = null;
+      sequence = 0;
+      if (file != null) { // a stream is left positioned after the keyring
+         long remaining = in.available();
+         sequence = replayJournal(new DataInputStream(in), password);
+         journalFile = file;
+         journalLength = file.length();
+         baseLength = journalLength - remaining;
+      }
    }
 
+   /**
+    * <p>Stores this keyring.</p>
+    *
+    * <p>If the attributes designate a {@link #KEYRING_DATA_FILE} rather than
+    * a {@link #KEYRING_DATA_OUT} stream, and that file is the one this
+    * keyring was loaded from or last stored to, only the changes made since
+    * then are written: they are appended to the file as a password-
+    * authenticated journal record, which {@link #load(Map)} replays. The
+    * whole keyring is rewritten (compacted) instead when the journal would
+    * grow larger than the keyring it amends, or when the file has been
+    * modified by someone else.</p>
+    *
+    * <p>Journal records are bound to the keyring they amend and are
+    * numbered, so they cannot be reordered, dropped from the middle of the
+    * journal, or replayed against another keyring. Trailing records can be
+    * truncated undetected, as with any append-only file.</p>
+    */
    public void store(Map attributes) throws IOException {
       OutputStream out = (OutputStream) attributes.get(KEYRING_DATA_OUT);
+      File file = null;
       if (out == null) {
-         throw new IllegalArgumentException("no output stream");
+         file = (File) attributes.get(KEYRING_DATA_FILE);
+         if (file == null) {
+            throw new IllegalArgumentException("no output stream");
+         }
       }
       char[] password = (char[]) attributes.get(KEYRING_PASSWORD);
       if (password == null) {
@@ -117,12 +194,21 @@ public abstract class BaseKeyring implements IKeyring {
          throw new IllegalStateException("empty keyring");
       }
 
-      out.write(Registry.GKR_MAGIC);
-      store(out, password);
+      if (file == null) {
+         out.write(Registry.GKR_MAGIC);
+         store(out, password);
+         pending.clear();
+         journalFile = null;
+      } else if (!file.equals(journalFile) || file.length() != journalLength
+                 || !appendJournal(password)) {
+         compact(file, password);
+      }
    }
 
    public void reset() {
       keyring = null;
+      pending.clear();
+      journalFile = null;
    }
 
    public int size() {
@@ -161,6 +247,7 @@ public abstract class BaseKeyring implements IKeyring {
          keyring2.add(entry);
       else
          keyring.add(entry);
+      pending.add(entry);
    }
 
    public void remove(String alias) {
@@ -168,6 +255,7 @@ public abstract class BaseKeyring implements IKeyring {
          throw new IllegalStateException("keyring not loaded");
       }
       keyring.remove(alias);
+      pending.add(alias);
    }
 
    protected String fixAlias(String alias) {
@@ -176,4 +264,140 @@ public abstract class BaseKeyring implements IKeyring {
 
    protected abstract void load(InputStream in, char[] password) throws IOException;
    protected abstract void store(OutputStream out, char[] password) throws IOException;
+
+   // Own methods.
+   // ------------------------------------------------------------------------
+
+   /**
+    * Rewrites the designated file with the whole keyring, and makes it the
+    * file subsequent changes are journaled to.
+    */
+   private void compact(File file, char[] password) throws IOException {
+      File dir = file.getAbsoluteFile().getParentFile();
+      File tmp = File.createTempFile("gkr", null, dir);
+      try {
+         FileOutputStream out = new FileOutputStream(tmp);
+         try {
+            out.write(Registry.GKR_MAGIC);
+            store(out, password);
+         } finally {
+            out.close();
+         }
+         if (!tmp.renameTo(file)) {
+            // some platforms cannot rename over an existing file
+            file.delete();
+            if (!tmp.renameTo(file)) {
+               throw new IOException("cannot rename " + tmp + " to " + file);
+            }
+         }
+      } finally {
+         tmp.delete();
+      }
+      pending.clear();
+      journalFile = file;
+      journalLength = baseLength = file.length();
+      sequence = 0;
+   }
+
+   /**
+    * Appends the pending changes to the journal file as one record.
+    *
+    * @return false if the journal needs to be compacted instead.
+    */
+   private boolean appendJournal(char[] password) throws IOException {
+      if (pending.isEmpty()) {
+         return true;
+      }
+      Properties p = keyring.getProperties();
+      String generation = p.get("salt");
+      int maclen;
+      try {
+         maclen = Integer.parseInt(p.get("maclen"));
+      } catch (NumberFormatException x) {
+         return false;
+      }
+      PasswordAuthenticatedEntry record =
+         new PasswordAuthenticatedEntry(p.get("mac"), maclen, new Properties());
+
+      Properties h = new Properties();
+      h.put("alias", "journal");
+      h.put("generation", generation);
+      h.put("sequence", String.valueOf(sequence));
+      record.addReference(new BinaryDataEntry(JOURNAL_HEADER, new byte[0],
+                                              new Date(), h));
+      for (Iterator it = pending.iterator(); it.hasNext(); ) {
+         Object o = it.next();
+         if (o instanceof String) {
+            Properties r = new Properties();
+            r.put("alias", (String) o);
+            record.addReference(new BinaryDataEntry(JOURNAL_REMOVE,
+                                                    new byte[0], new Date(), r));
+         } else {
+            record.addReference((Entry) o);
+         }
+      }
+
+      ByteArrayOutputStream buf = new ByteArrayOutputStream(1024);
+      DataOutputStream out2 = new DataOutputStream(buf);
+      record.encode(out2, password);
+      out2.flush();
+      if (journalLength - baseLength + buf.size() > baseLength) {
+         return false;
+      }
+
+      FileOutputStream out = new FileOutputStream(journalFile, true);
+      try {
+         buf.writeTo(out);
+      } finally {
+         out.close();
+      }
+      pending.clear();
+      journalLength += buf.size();
+      sequence++;
+      return true;
+   }
+
+   /**
+    * Reads the journal records following the compacted keyring and applies
+    * the changes they contain.
+    *
+    * @return the number of records applied.
+    */
+   private int replayJournal(DataInputStream in, char[] password)
+   throws IOException {
+      String generation = keyring.getProperties().get("salt");
+      int n = 0;
+      for (int type = in.read(); type != -1; type = in.read(), n++) {
+         if (type != PasswordAuthenticatedEntry.TYPE) {
+            throw new MalformedKeyringException("expecting journal record");
+         }
+         PasswordAuthenticatedEntry record =
+            PasswordAuthenticatedEntry.decode(in, password);
+         Iterator it = record.detachEntries().iterator();
+         Entry e = it.hasNext() ? (Entry) it.next() : null;
+         if (!(e instanceof BinaryDataEntry)
+             || !JOURNAL_HEADER.equals(((BinaryDataEntry) e).getContentType())) {
+            throw new MalformedKeyringException("no journal record header");
+         }
+         Properties h = e.getProperties();
+         if (generation == null || !generation.equals(h.get("generation"))) {
+            throw new MalformedKeyringException("journal record for another keyring");
+         }
+         if (!String.valueOf(n).equals(h.get("sequence"))) {
+            throw new MalformedKeyringException("journal record out of sequence");
+         }
+         while (it.hasNext()) {
+            e = (Entry) it.next();
+            if ((e instanceof BinaryDataEntry)
+                && JOURNAL_REMOVE.equals(((BinaryDataEntry) e).getContentType())) {
+               keyring.remove(((BinaryDataEntry) e).getAlias());
+            } else if (keyring2 != null) {
+               keyring2.add(e);
+            } else {
+               keyring.add(e);
+            }
+         }
+      }
+      return n;
+   }
 }
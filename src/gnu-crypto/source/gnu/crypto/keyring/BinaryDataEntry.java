@@ -88,6 +88,7 @@ public class BinaryDataEntry extends PrimitiveEntry {
    }
 
    private BinaryDataEntry() {
+      type = TYPE;
    }
 
    // Class methods.
@@ -81,7 +81,9 @@ public final class CertPathEntry extends PrimitiveEntry {
       this.path = (Certificate[]) path.clone();
    }
 
-   private CertPathEntry() { }
+   private CertPathEntry() {
+      type = TYPE;
+   }
 
    // Class method.
    // ------------------------------------------------------------------------
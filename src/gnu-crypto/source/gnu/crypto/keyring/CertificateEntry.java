@@ -93,7 +93,9 @@ public final class CertificateEntry extends PrimitiveEntry {
       this.properties.put("type", certificate.getType());
    }
 
-   private CertificateEntry() { }
+   private CertificateEntry() {
+      type = TYPE;
+   }
 
    // Class methods
    // -------------------------------------------------------------------------
@@ -69,6 +69,7 @@ public class CompressedEntry extends EnvelopeEntry {
    }
 
    private CompressedEntry() {
+      type = TYPE;
    }
 
    // Class methods.
@@ -0,0 +1,392 @@
+package gnu.crypto.keyring;  // -*- c-basic-offset: 3 -*-
+
+// ---------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+//
+// ---------------------------------------------------------------------------
+
+import gnu.crypto.Registry;
+import gnu.crypto.mac.IMac;
+import gnu.crypto.mac.MacFactory;
+import gnu.crypto.prng.IPBE;
+import gnu.crypto.prng.IRandom;
+import gnu.crypto.prng.LimitReachedException;
+import gnu.crypto.prng.PRNGFactory;
+import gnu.crypto.util.Batch;
+import gnu.crypto.util.PRNG;
+
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A bounded, process-wide cache of password-derived keys used by the
+ * password-protected keyring entries.</p>
+ *
+ * <p>Deriving a key with PBKDF2 costs {@link
+ * PasswordProtectedEntry#ITERATION_COUNT} MAC computations; fetching many
+ * entries protected by the same password and salt would otherwise repeat the
+ * same derivation for each one. The cache is disabled until given a positive
+ * {@link #setCapacity(int) capacity}, since the keys it holds stay in memory
+ * until evicted or cleared.</p>
+ *
+ * <p>Only the keys derived to unmask entries are cached: those derived to
+ * protect an entry use a fresh salt, and would never be looked up again.
+ * Derived bytes are indexed by an HMAC, under a random key drawn once per
+ * process, of the password and the salt, along with the iteration count, the
+ * name of the pseudo-random function and the number of bytes derived; these
+ * HMACs are compared in time independent of their values. The least recently
+ * used mapping is evicted once the cache holds more than {@link
+ * #getCapacity()} keys. Evicted and cleared keys are overwritten with
+ * zeroes.</p>
+ *
+ * @version $Revision$
+ */
+public final class DerivedKeyCache {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** The default maximum number of derived keys kept: caching is disabled. */
+   public static final int DEFAULT_CAPACITY = 0;
+
+   /** The name of the MAC indexing the derived keys. */
+   private static final String MAC = Registry.HMAC_NAME_PREFIX
+         + Registry.SHA160_HASH;
+
+   /** The maximum number of derived keys kept; zero disables caching. */
+   private static int capacity = DEFAULT_CAPACITY;
+
+   /** The number of look-ups served from, and not found in, the cache. */
+   private static long hits, misses;
+
+   /** The key of the MAC indexing the derived keys, drawn on first use. */
+   private static byte[] macKey;
+
+   /** The derived keys, in least-recently-used order. */
+   private static final Map cache = new LinkedHashMap(16, 0.75f, true) {
+      protected boolean removeEldestEntry(Map.Entry eldest) {
+         if (size() <= capacity) {
+            return false;
+         }
+         wipe(eldest);
+         return true;
+      }
+   };
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   /** Trivial private constructor to enforce Singleton pattern. */
+   private DerivedKeyCache() {
+      super();
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * Returns the maximum number of derived keys this cache keeps.
+    *
+    * @return the capacity of this cache.
+    */
+   public static synchronized int getCapacity() {
+      return capacity;
+   }
+
+   /**
+    * Sets the maximum number of derived keys this cache keeps, evicting (and
+    * wiping) the least recently used ones if necessary. A value of zero
+    * disables caching altogether.
+    *
+    * @param n the new capacity.
+    * @exception IllegalArgumentException if <code>n</code> is negative.
+    */
+   public static synchronized void setCapacity(int n) {
+      if (n < 0) {
+         throw new IllegalArgumentException("negative capacity");
+      }
+      capacity = n;
+      for (Iterator it = cache.entrySet().iterator(); cache.size() > capacity; ) {
+         wipe((Map.Entry) it.next());
+         it.remove();
+      }
+   }
+
+   /**
+    * Returns the number of derived keys currently cached.
+    *
+    * @return the number of derived keys currently cached.
+    */
+   public static synchronized int size() {
+      return cache.size();
+   }
+
+   /**
+    * Returns the number of derived keys served from this cache, rather than
+    * computed, since the class was loaded.
+    *
+    * @return the number of cache hits.
+    */
+   public static synchronized long hits() {
+      return hits;
+   }
+
+   /**
+    * Returns the number of derived keys that had to be computed, while the
+    * cache was enabled, since the class was loaded.
+    *
+    * @return the number of cache misses.
+    */
+   public static synchronized long misses() {
+      return misses;
+   }
+
+   /** Wipes and removes every derived key held in this cache. */
+   public static synchronized void clear() {
+      for (Iterator it = cache.entrySet().iterator(); it.hasNext(); ) {
+         wipe((Map.Entry) it.next());
+      }
+      cache.clear();
+   }
+
+   /**
+    * <p>Returns <code>length</code> bytes derived from a password and a salt
+    * by the designated password-based KDF. If <code>reuse</code> is
+    * <code>true</code> and the cache is enabled, they are only computed if not
+    * already cached, and cached once computed.</p>
+    *
+    * @param prf the name of the password-based KDF; eg.
+    * <code>"PBKDF2-HMAC-SHA"</code>.
+    * @param password the password.
+    * @param salt the salt.
+    * @param iterations the iteration count.
+    * @param length the number of bytes to derive.
+    * @param reuse whether the same bytes are likely to be derived again; ie.
+    * whether they unmask, rather than protect, an entry.
+    * @return a copy of the derived bytes, which the caller may wipe.
+    */
+   static byte[] derive(String prf, char[] password, byte[] salt,
+                        int iterations, int length, boolean reuse) {
+      CacheKey key = null;
+      if (reuse && getCapacity() > 0) {
+         key = new CacheKey(prf, password, salt, iterations, length);
+         synchronized (DerivedKeyCache.class) {
+            byte[] result = (byte[]) cache.get(key);
+            if (result != null) {
+               hits++;
+               key.wipe();
+               return (byte[]) result.clone();
+            }
+            misses++;
+         }
+      }
+      // derive outside the lock so that distinct keys are computed concurrently
+      HashMap pbAttr = new HashMap();
+      pbAttr.put(IPBE.PASSWORD, password);
+      pbAttr.put(IPBE.SALT, salt);
+      pbAttr.put(IPBE.ITERATION_COUNT, new Integer(iterations));
+      IRandom kdf = PRNGFactory.getInstance(prf);
+      kdf.init(pbAttr);
+      byte[] result = new byte[length];
+      try {
+         kdf.nextBytes(result, 0, length);
+      } catch (LimitReachedException shouldNotHappen) {
+         throw new Error(shouldNotHappen.toString());
+      }
+      if (key != null) {
+         synchronized (DerivedKeyCache.class) {
+            if (capacity > 0 && !cache.containsKey(key)) {
+               cache.put(key, result.clone());
+            } else {
+               key.wipe();
+            }
+         }
+      }
+      return result;
+   }
+
+   /**
+    * <p>Derives, in parallel, the keys needed to unmask the designated
+    * password-protected entries, so that their subsequent verification or
+    * decryption only costs a cache lookup. Entries that are not masked, or
+    * that are not password-protected, are ignored. Nothing is done while the
+    * cache is disabled.</p>
+    *
+    * <p>Only the first {@link #getCapacity()} entries are considered, since
+    * the keys of any more would evict each other before they are used;
+    * callers with more entries should pass them in chunks of that size,
+    * unmasking each chunk before prefetching the next.</p>
+    *
+    * @param entries the entries whose keys should be derived.
+    * @param password the password protecting the entries.
+    */
+   static void prefetch(List entries, final char[] password) {
+      final int max = getCapacity();
+      final List todo = entries.size() > max ? entries.subList(0, max) : entries;
+      int n = Math.min(todo.size(), Runtime.getRuntime().availableProcessors());
+      if (n < 2) {
+         // nothing to gain over deriving the keys on demand
+         return;
+      }
+      try {
+         new Batch("DerivedKeyCache") {
+            protected void compute(int i) {
+               prefetch((Entry) todo.get(i), password);
+            }
+         }.run(todo.size(), n);
+      } catch (IOException shouldNotHappen) {
+         throw new Error(String.valueOf(shouldNotHappen));
+      }
+   }
+
+   private static void prefetch(Entry e, char[] password) {
+      try {
+         if (e instanceof PasswordAuthenticatedEntry) {
+            ((PasswordAuthenticatedEntry) e).deriveKey(password);
+         } else if (e instanceof PasswordEncryptedEntry) {
+            ((PasswordEncryptedEntry) e).deriveKey(password);
+         }
+      } catch (Exception ignored) {
+         // reported when the entry is actually unmasked
+      }
+   }
+
+   /**
+    * Returns a new instance of the MAC indexing the derived keys, keyed with
+    * the key of this process.
+    */
+   private static IMac newMac() {
+      HashMap macAttr = new HashMap();
+      synchronized (DerivedKeyCache.class) {
+         if (macKey == null) {
+            macKey = new byte[20];
+            PRNG.nextBytes(macKey);
+         }
+         macAttr.put(IMac.MAC_KEY_MATERIAL, macKey.clone());
+      }
+      IMac result = MacFactory.getInstance(MAC);
+      try {
+         result.init(macAttr);
+      } catch (InvalidKeyException shouldNotHappen) {
+         throw new Error(shouldNotHappen.toString());
+      } finally {
+         Arrays.fill((byte[]) macAttr.get(IMac.MAC_KEY_MATERIAL), (byte) 0x00);
+      }
+      return result;
+   }
+
+   private static void wipe(Map.Entry e) {
+      ((CacheKey) e.getKey()).wipe();
+      Arrays.fill((byte[]) e.getValue(), (byte) 0x00);
+   }
+
+   // Inner class(es)
+   // =========================================================================
+
+   /** The lookup key of a derived key. */
+   private static final class CacheKey {
+
+      private final String prf;
+      private final byte[] mac;
+      private final int iterations;
+      private final int length;
+      private final int hash;
+
+      CacheKey(String prf, char[] password, byte[] salt, int iterations,
+               int length) {
+         this.prf = prf;
+         this.iterations = iterations;
+         this.length = length;
+
+         // the password characters are fed as big-endian 16-bit values, and
+         // the salt follows: both lengths are authenticated too
+         IMac m = newMac();
+         for (int i = 0; i < password.length; i++) {
+            m.update((byte)(password[i] >>> 8));
+            m.update((byte) password[i]);
+         }
+         m.update((byte)(password.length >>> 24));
+         m.update((byte)(password.length >>> 16));
+         m.update((byte)(password.length >>>  8));
+         m.update((byte) password.length);
+         m.update(salt, 0, salt.length);
+         m.update((byte)(salt.length >>> 24));
+         m.update((byte)(salt.length >>> 16));
+         m.update((byte)(salt.length >>>  8));
+         m.update((byte) salt.length);
+         mac = m.digest();
+
+         hash = (prf.hashCode() * 31 + iterations) * 31 + length
+               ^ (mac[0] << 24 | (mac[1] & 0xFF) << 16
+                  | (mac[2] & 0xFF) << 8 | (mac[3] & 0xFF));
+      }
+
+      public int hashCode() {
+         return hash;
+      }
+
+      public boolean equals(Object o) {
+         if (!(o instanceof CacheKey)) {
+            return false;
+         }
+         CacheKey that = (CacheKey) o;
+         int diff = 0;
+         for (int i = 0; i < mac.length; i++) {
+            diff |= mac[i] ^ that.mac[i];
+         }
+         return diff == 0
+               && iterations == that.iterations
+               && length == that.length
+               && prf.equals(that.prf);
+      }
+
+      void wipe() {
+         Arrays.fill(mac, (byte) 0x00);
+      }
+   }
+}
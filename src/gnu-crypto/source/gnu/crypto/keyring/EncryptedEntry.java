@@ -89,6 +89,7 @@ public class EncryptedEntry extends MaskableEnvelopeEntry implements Registry {
    }
 
    private EncryptedEntry() {
+      type = TYPE;
       setMasked(true);
    }
 
@@ -128,7 +128,8 @@ public abstract class EnvelopeEntry extends Entry {
    }
 
    /**
-    * Tests if this envelope contains the given entry.
+    * Tests if this envelope contains the given entry. The contents of
+    * contained envelopes that are still masked are not searched.
     *
     * @param entry The entry to test.
     * @return True if this envelope contains the given entry.
@@ -141,6 +142,9 @@ public abstract class EnvelopeEntry extends Entry {
             Entry e = (Entry) it.next();
             if (e.equals(entry))
                return true;
+            if ((e instanceof MaskableEnvelopeEntry) &&
+                ((MaskableEnvelopeEntry) e).isMasked())
+               continue;
             if ((e instanceof EnvelopeEntry) &&
                 ((EnvelopeEntry) e).containsEntry(entry))
                return true;
@@ -241,7 +245,10 @@ public abstract class EnvelopeEntry extends Entry {
    }
 
    /**
-    * Removes all primitive entries that have the specified alias.
+    * Removes all primitive entries that have the specified alias. Contained
+    * envelopes that hold no other alias are removed whole, so that masked
+    * envelopes need not be opened; those that do not hold it are left as
+    * they are.
     *
     * @param alias The alias of the entries to remove.
     */
@@ -249,7 +256,12 @@ public abstract class EnvelopeEntry extends Entry {
       for (Iterator it = entries.iterator(); it.hasNext(); ) {
          Entry e = (Entry) it.next();
          if (e instanceof EnvelopeEntry) {
-            ((EnvelopeEntry) e).remove(alias);
+            EnvelopeEntry ee = (EnvelopeEntry) e;
+            if (alias.equals(ee.getAliasList())) {
+               it.remove();
+            } else if (ee.containsAlias(alias)) {
+               ee.remove(alias);
+            }
          } else if (e instanceof PrimitiveEntry) {
             if (((PrimitiveEntry) e).getAlias().equals(alias)) {
                it.remove();
@@ -271,6 +283,36 @@ public abstract class EnvelopeEntry extends Entry {
       }
    }
 
+   /**
+    * Adds an entry to be encoded with this envelope without taking ownership
+    * of it; the entry remains part of the envelope that contains it.
+    *
+    * @param entry The entry to add.
+    */
+   void addReference(Entry entry) {
+      entries.add(entry);
+      payload = null;
+   }
+
+   /**
+    * Removes and returns all entries of this envelope, releasing contained
+    * envelopes so that they may be added to another one.
+    *
+    * @return The entries this envelope contained.
+    */
+   List detachEntries() {
+      List result = new ArrayList(entries);
+      for (Iterator it = entries.iterator(); it.hasNext(); ) {
+         Entry e = (Entry) it.next();
+         if (e instanceof EnvelopeEntry) {
+            ((EnvelopeEntry) e).containingEnvelope = null;
+         }
+      }
+      entries.clear();
+      payload = null;
+      return result;
+   }
+
    protected void setContainingEnvelope(EnvelopeEntry e) {
       if (containingEnvelope != null) {
          throw new IllegalArgumentException("envelopes may not be shared");
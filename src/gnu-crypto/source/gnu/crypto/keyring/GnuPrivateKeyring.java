@@ -55,6 +55,7 @@ import java.security.Key;
 import java.security.PublicKey;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.Certificate;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -120,46 +121,85 @@ public class GnuPrivateKeyring extends BaseKeyring implements IPrivateKeyring {
       if (!containsAlias(alias)) {
          return null;
       }
-      List l = get(alias);
+      // unmasked envelopes are transparent to get(), so the entries of an
+      // alias fetched before are found without their envelopes
       PasswordAuthenticatedEntry e1 = null;
       PasswordEncryptedEntry e2 = null;
-      for (Iterator it = l.iterator(); it.hasNext(); ) {
+      PrivateKeyEntry e3 = null;
+      for (Iterator it = get(alias).iterator(); it.hasNext(); ) {
          Entry e = (Entry) it.next();
-         if (e instanceof PasswordAuthenticatedEntry) {
+         if (e1 == null && e instanceof PasswordAuthenticatedEntry) {
             e1 = (PasswordAuthenticatedEntry) e;
-            break;
-         }
-      }
-      if (e1 == null) {
-         return null;
-      }
-      try {
-         e1.verify(password);
-      } catch (Exception e) {
-         throw new UnrecoverableKeyException("authentication failed");
-      }
-      for (Iterator it = e1.getEntries().iterator(); it.hasNext(); ) {
-         Entry e = (Entry) it.next();
-         if (e instanceof PasswordEncryptedEntry) {
+         } else if (e2 == null && e instanceof PasswordEncryptedEntry) {
             e2 = (PasswordEncryptedEntry) e;
-            break;
+         } else if (e3 == null && e instanceof PrivateKeyEntry) {
+            e3 = (PrivateKeyEntry) e;
          }
       }
-      if (e2 == null) {
-         return null;
-      }
-      try {
-         e2.decrypt(password);
-      } catch (Exception e) {
-         throw new UnrecoverableKeyException("decryption failed");
+      if (e1 != null) {
+         try {
+            e1.verify(password);
+         } catch (Exception e) {
+            throw new UnrecoverableKeyException("authentication failed");
+         }
+         e2 = null;
+         for (Iterator it = e1.getEntries().iterator(); it.hasNext(); ) {
+            Entry e = (Entry) it.next();
+            if (e instanceof PasswordEncryptedEntry) {
+               e2 = (PasswordEncryptedEntry) e;
+               break;
+            }
+         }
+         if (e2 == null) {
+            return null;
+         }
       }
-      for (Iterator it = e2.get(alias).iterator(); it.hasNext(); ) {
-         Entry e = (Entry) it.next();
-         if (e instanceof PrivateKeyEntry) {
-            return ((PrivateKeyEntry) e).getKey();
+      if (e2 != null) {
+         try {
+            e2.decrypt(password);
+         } catch (Exception e) {
+            throw new UnrecoverableKeyException("decryption failed");
+         }
+         e3 = null;
+         for (Iterator it = e2.get(alias).iterator(); it.hasNext(); ) {
+            Entry e = (Entry) it.next();
+            if (e instanceof PrivateKeyEntry) {
+               e3 = (PrivateKeyEntry) e;
+               break;
+            }
          }
       }
-      return null;
+      return e3 == null ? null : e3.getKey();
+   }
+
+   /**
+    * <p>Returns the private keys with the designated aliases, all protected
+    * by the same password. When the {@link DerivedKeyCache} is enabled, the
+    * password-derived keys protecting the entries are computed in parallel
+    * before the entries are verified and decrypted, which is considerably
+    * faster than calling {@link #getPrivateKey(String, char[])} for each alias
+    * in turn. More aliases than the cache holds keys for are processed in
+    * chunks.</p>
+    *
+    * @param aliases the aliases of the keys to return.
+    * @param password the password protecting the keys.
+    * @return an array of the same length as <code>aliases</code> whose
+    * elements are the corresponding private keys, or <code>null</code> where
+    * {@link #getPrivateKey(String, char[])} would return <code>null</code>.
+    * @throws UnrecoverableKeyException if an entry cannot be authenticated or
+    * decrypted with the designated password.
+    */
+   public Key[] getPrivateKeys(String[] aliases, char[] password)
+   throws UnrecoverableKeyException {
+      // each alias needs two derived keys, and those of a chunk must all
+      // still be cached when its entries are unmasked
+      final int chunk = Math.max(1, DerivedKeyCache.getCapacity() / 2);
+      Key[] result = new Key[aliases.length];
+      for (int from = 0; from < aliases.length; from += chunk) {
+         int to = Math.min(aliases.length, from + chunk);
+         getPrivateKeys(aliases, from, to, password, result);
+      }
+      return result;
    }
 
    public void putPrivateKey(String alias, Key key, char[] password) {
@@ -181,6 +221,7 @@ public class GnuPrivateKeyring extends BaseKeyring implements IPrivateKeyring {
          throw new IllegalArgumentException(ioe.toString());
       }
       keyring.add(auth);
+      pending.add(auth);
    }
 
    public boolean containsPublicKey(String alias) {
@@ -269,4 +310,58 @@ public class GnuPrivateKeyring extends BaseKeyring implements IPrivateKeyring {
       out.write(USAGE);
       keyring.encode(new DataOutputStream(out), password);
    }
+
+   // own methods -------------------------------------------------------------
+
+   /**
+    * <p>Fetches the keys of <code>aliases[from..to-1]</code> into the same
+    * elements of <code>result</code>, deriving first, in parallel, the keys
+    * of their password-authenticated entries, then those of the encrypted
+    * entries these hold, whose salts can only be read once the former are
+    * verified.</p>
+    */
+   private void getPrivateKeys(String[] aliases, int from, int to,
+                               char[] password, Key[] result)
+   throws UnrecoverableKeyException {
+      List auth = new ArrayList();
+      for (int i = from; i < to; i++) {
+         if (!containsAlias(aliases[i])) {
+            continue;
+         }
+         for (Iterator it = get(aliases[i]).iterator(); it.hasNext(); ) {
+            Entry e = (Entry) it.next();
+            if (e instanceof PasswordAuthenticatedEntry) {
+               if (((PasswordAuthenticatedEntry) e).isMasked()) {
+                  auth.add(e);
+               }
+               break;
+            }
+         }
+      }
+      DerivedKeyCache.prefetch(auth, password);
+
+      List enc = new ArrayList();
+      for (Iterator it = auth.iterator(); it.hasNext(); ) {
+         PasswordAuthenticatedEntry e1 = (PasswordAuthenticatedEntry) it.next();
+         try {
+            e1.verify(password);
+         } catch (Exception e) {
+            throw new UnrecoverableKeyException("authentication failed");
+         }
+         for (Iterator it2 = e1.getEntries().iterator(); it2.hasNext(); ) {
+            Entry e = (Entry) it2.next();
+            if (e instanceof PasswordEncryptedEntry) {
+               if (((PasswordEncryptedEntry) e).isMasked()) {
+                  enc.add(e);
+               }
+               break;
+            }
+         }
+      }
+      DerivedKeyCache.prefetch(enc, password);
+
+      for (int i = from; i < to; i++) {
+         result[i] = getPrivateKey(aliases[i], password);
+      }
+   }
 }
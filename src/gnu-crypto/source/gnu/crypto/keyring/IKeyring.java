@@ -70,6 +70,18 @@ public interface IKeyring {
     */
    public static final String KEYRING_DATA_IN = "gnu.crypto.keyring.data.in";
 
+   /**
+    * <p>Property name for a keyring file to load the keyring from, or to store
+    * it to, as an alternative to {@link #KEYRING_DATA_IN} and {@link
+    * #KEYRING_DATA_OUT}. The value mapped must be a {@link java.io.File}.
+    * When loading, the file is memory-mapped read-only and parsed directly
+    * from the mapping, so large keyrings shared by several processes are read
+    * from the same pages of the operating system's file cache. When storing,
+    * changes are appended to the file the keyring was loaded from rather
+    * than rewriting it in full.</p>
+    */
+   public static final String KEYRING_DATA_FILE = "gnu.crypto.keyring.data.file";
+
    /**
     * <p>Property name for the data sink to store the keyring to. The value
     * mapped must be a {@link java.io.OutputStream}.</p>
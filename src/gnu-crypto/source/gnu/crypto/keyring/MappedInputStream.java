@@ -0,0 +1,156 @@
+package gnu.crypto.keyring;  // -*- c-basic-offset: 3 -*-
+
+// ---------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+//
+// ---------------------------------------------------------------------------
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An input stream that reads from a read-only memory mapping of a keyring
+ * file. Bytes are taken directly from the mapped region, so the file's pages
+ * are shared with every other process mapping the same file and no
+ * intermediate buffering or per-byte system call is required.
+ */
+final class MappedInputStream extends InputStream {
+
+   // Fields.
+   // ------------------------------------------------------------------------
+
+   private final ByteBuffer buffer;
+   private int mark;
+
+   // Constructors.
+   // ------------------------------------------------------------------------
+
+   MappedInputStream(ByteBuffer buffer) {
+      if (buffer == null)
+         throw new IllegalArgumentException("no buffer");
+      this.buffer = buffer;
+      mark = buffer.position();
+   }
+
+   // Class methods.
+   // ------------------------------------------------------------------------
+
+   /**
+    * Maps the designated file read-only and returns a stream over the
+    * mapping. The underlying channel is closed before returning; the mapping
+    * remains valid until the returned stream is garbage collected.
+    *
+    * @param file The file to map.
+    * @return A stream over the mapped file contents.
+    * @throws IOException If the file cannot be opened or mapped.
+    */
+   static MappedInputStream map(File file) throws IOException {
+      FileInputStream fin = new FileInputStream(file);
+      try {
+         FileChannel ch = fin.getChannel();
+         long size = ch.size();
+         if (size > Integer.MAX_VALUE)
+            throw new MalformedKeyringException("keyring too large");
+         return new MappedInputStream(ch.map(FileChannel.MapMode.READ_ONLY,
+                                             0L, size));
+      } finally {
+         fin.close();
+      }
+   }
+
+   // Instance methods.
+   // ------------------------------------------------------------------------
+
+   public int available() {
+      return buffer.remaining();
+   }
+
+   public void close() {
+   }
+
+   public void mark(int readLimit) {
+      mark = buffer.position();
+   }
+
+   public boolean markSupported() {
+      return true;
+   }
+
+   public int read() {
+      if (!buffer.hasRemaining())
+         return -1;
+      return buffer.get() & 0xFF;
+   }
+
+   public int read(byte[] buf) {
+      return read(buf, 0, buf.length);
+   }
+
+   public int read(byte[] buf, int off, int len) {
+      if (len == 0)
+         return 0;
+      int n = buffer.remaining();
+      if (n == 0)
+         return -1;
+      if (len < n)
+         n = len;
+      buffer.get(buf, off, n);
+      return n;
+   }
+
+   public void reset() {
+      buffer.position(mark);
+   }
+
+   public long skip(long len) {
+      if (len <= 0L)
+         return 0L;
+      int n = (int) Math.min(len, (long) buffer.remaining());
+      buffer.position(buffer.position() + n);
+      return n;
+   }
+}
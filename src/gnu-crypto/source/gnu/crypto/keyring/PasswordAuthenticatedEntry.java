@@ -49,10 +49,6 @@ import gnu.crypto.mac.IMac;
 import gnu.crypto.mac.MacFactory;
 import gnu.crypto.mac.MacInputStream;
 import gnu.crypto.mac.MacOutputStream;
-import gnu.crypto.prng.IPBE;
-import gnu.crypto.prng.IRandom;
-import gnu.crypto.prng.LimitReachedException;
-import gnu.crypto.prng.PRNGFactory;
 import gnu.crypto.util.PRNG;
 import gnu.crypto.util.Util;
 
@@ -94,6 +90,7 @@ implements PasswordProtectedEntry, Registry {
    }
 
    private PasswordAuthenticatedEntry() {
+      type = TYPE;
       setMasked(true);
    }
 
@@ -106,7 +103,7 @@ implements PasswordProtectedEntry, Registry {
       PasswordAuthenticatedEntry entry = new PasswordAuthenticatedEntry();
       entry.properties = new Properties();
       entry.properties.decode(in);
-      IMac mac = entry.getMac(password);
+      IMac mac = entry.getMac(password, true);
       int len = in.readInt() - mac.macSize();
       MeteredInputStream min = new MeteredInputStream(in, len);
       MacInputStream macin = new MacInputStream(min, mac);
@@ -145,7 +142,7 @@ implements PasswordProtectedEntry, Registry {
       }
       IMac m = null;
       try {
-         m = getMac(password);
+         m = getMac(password, true);
       } catch (Exception x) {
          throw new IllegalArgumentException(x.toString());
       }
@@ -156,14 +153,15 @@ implements PasswordProtectedEntry, Registry {
       if (!Arrays.equals(macValue, m.digest())) {
          throw new IllegalArgumentException("MAC verification failed");
       }
+      setMasked(false);
       try {
          DataInputStream in =
                new DataInputStream(new ByteArrayInputStream(payload, 0, payload.length - m.macSize()));
          decodeEnvelope(in);
       } catch (IOException ioe) {
+         setMasked(true);
          throw new IllegalArgumentException("malformed keyring fragment");
       }
-      setMasked(false);
       payload = null;
    }
 
@@ -174,7 +172,7 @@ implements PasswordProtectedEntry, Registry {
       byte[] salt = new byte[8];
       PRNG.nextBytes(salt, 0, salt.length);
       properties.put("salt", Util.toString(salt));
-      IMac m = getMac(password);
+      IMac m = getMac(password, false);
       ByteArrayOutputStream bout = new ByteArrayOutputStream(1024);
       MacOutputStream macout = new MacOutputStream(bout, m);
       DataOutputStream out2 = new DataOutputStream(macout);
@@ -197,10 +195,21 @@ implements PasswordProtectedEntry, Registry {
       }
    }
 
+   /**
+    * Derives (and caches) the MAC key for this entry without verifying it.
+    *
+    * @param password the password.
+    * @throws MalformedKeyringException if the MAC parameters are invalid.
+    */
+   void deriveKey(char[] password) throws MalformedKeyringException {
+      getMac(password, true);
+   }
+
    // Own methods.
    // ------------------------------------------------------------------------
 
-   private IMac getMac(char[] password) throws MalformedKeyringException {
+   private IMac getMac(char[] password, boolean reuse)
+   throws MalformedKeyringException {
       if (!properties.containsKey("salt")) {
          throw new MalformedKeyringException("no salt");
       }
@@ -220,19 +229,9 @@ implements PasswordProtectedEntry, Registry {
          throw new MalformedKeyringException("bad MAC length");
       }
 
-      HashMap pbAttr = new HashMap();
-      pbAttr.put(IPBE.PASSWORD, password);
-      pbAttr.put(IPBE.SALT, salt);
-      pbAttr.put(IPBE.ITERATION_COUNT, ITERATION_COUNT);
-      IRandom kdf = PRNGFactory.getInstance("PBKDF2-HMAC-SHA");
-      kdf.init(pbAttr);
-
-      byte[] dk = new byte[keylen];
-      try {
-         kdf.nextBytes(dk, 0, keylen);
-      } catch (LimitReachedException shouldNotHappen) {
-         throw new Error(shouldNotHappen.toString());
-      }
+      byte[] dk = DerivedKeyCache.derive("PBKDF2-HMAC-SHA", password, salt,
+                                         ITERATION_COUNT.intValue(), keylen,
+                                         reuse);
 
       HashMap macAttr = new HashMap();
       macAttr.put(IMac.MAC_KEY_MATERIAL, dk);
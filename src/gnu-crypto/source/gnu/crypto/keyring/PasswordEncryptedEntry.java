@@ -67,10 +67,6 @@ import gnu.crypto.mode.ModeFactory;
 import gnu.crypto.pad.IPad;
 import gnu.crypto.pad.PadFactory;
 import gnu.crypto.pad.WrongPaddingException;
-import gnu.crypto.prng.IPBE;
-import gnu.crypto.prng.IRandom;
-import gnu.crypto.prng.LimitReachedException;
-import gnu.crypto.prng.PRNGFactory;
 import gnu.crypto.util.PRNG;
 import gnu.crypto.util.Util;
 
@@ -101,6 +97,7 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry
    }
 
    private PasswordEncryptedEntry() {
+      type = TYPE;
       setMasked(true);
    }
 
@@ -138,19 +135,20 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry
       padding.init(mode.currentBlockSize());
       byte[] buf = new byte[payload.length];
       int count = 0;
-      for (int i = 0; i < payload.length; i++) {
+      while (count < payload.length) {
          mode.update(payload, count, buf, count);
          count += mode.currentBlockSize();
       }
       int padlen = padding.unpad(buf, 0, buf.length);
       DataInputStream in =
          new DataInputStream(new ByteArrayInputStream(buf, 0, buf.length - padlen));
+      setMasked(false);
       try {
          decodeEnvelope(in);
       } catch (IOException ioe) {
+         setMasked(true);
          throw new IllegalArgumentException("decryption failed");
       }
-      setMasked(false);
       payload = null;
    }
 
@@ -175,7 +173,7 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry
       System.arraycopy(plaintext, plaintext.length - l, lastBlock, 0, l);
       System.arraycopy(padding, 0, lastBlock, l, padding.length);
       int count = 0;
-      while (count + mode.currentBlockSize() < plaintext.length) {
+      while (count < plaintext.length - l) {
          mode.update(plaintext, count, payload, count);
          count += mode.currentBlockSize();
       }
@@ -193,6 +191,17 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry
       }
    }
 
+   /**
+    * Derives (and caches) the key and IV for this entry without decrypting
+    * it.
+    *
+    * @param password the password.
+    * @throws IllegalArgumentException if the cipher parameters are invalid.
+    */
+   void deriveKey(char[] password) {
+      getMode(password, IMode.DECRYPTION);
+   }
+
    // Own methods.
    // ------------------------------------------------------------------------
 
@@ -219,13 +228,6 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry
          throw new IllegalArgumentException("no such mode: " + properties.get("mode"));
       }
 
-      HashMap pbAttr = new HashMap();
-      pbAttr.put(IPBE.PASSWORD, password);
-      pbAttr.put(IPBE.SALT, salt);
-      pbAttr.put(IPBE.ITERATION_COUNT, ITERATION_COUNT);
-      IRandom kdf = PRNGFactory.getInstance("PBKDF2-HMAC-SHA");
-      kdf.init(pbAttr);
-
       int keylen = 0;
       if (!properties.containsKey("keylen")) {
          throw new IllegalArgumentException("no key length");
@@ -234,14 +236,15 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry
          keylen = Integer.parseInt(properties.get("keylen"));
       } catch (NumberFormatException nfe) {
       }
+      byte[] km = DerivedKeyCache.derive("PBKDF2-HMAC-SHA", password, salt,
+                                         ITERATION_COUNT.intValue(),
+                                         keylen + blockSize,
+                                         state == IMode.DECRYPTION);
       byte[] dk = new byte[keylen];
       byte[] iv = new byte[blockSize];
-      try {
-         kdf.nextBytes(dk, 0, keylen);
-         kdf.nextBytes(iv, 0, blockSize);
-      } catch (LimitReachedException shouldNotHappen) {
-         throw new Error(shouldNotHappen.toString());
-      }
+      System.arraycopy(km, 0, dk, 0, keylen);
+      System.arraycopy(km, keylen, iv, 0, blockSize);
+      Arrays.fill(km, (byte) 0x00);
       HashMap modeAttr = new HashMap();
       modeAttr.put(IMode.KEY_MATERIAL, dk);
       modeAttr.put(IMode.STATE, new Integer(state));
@@ -100,6 +100,7 @@ public final class PrivateKeyEntry extends PrimitiveEntry {
 
    private PrivateKeyEntry() {
       super();
+      type = TYPE;
    }
 
    // Class methods
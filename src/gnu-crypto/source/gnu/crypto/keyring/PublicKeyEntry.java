@@ -83,7 +83,9 @@ public final class PublicKeyEntry extends PrimitiveEntry {
       this.key = key;
    }
 
-   private PublicKeyEntry() { }
+   private PublicKeyEntry() {
+      type = TYPE;
+   }
 
    // Class method.
    // ------------------------------------------------------------------------
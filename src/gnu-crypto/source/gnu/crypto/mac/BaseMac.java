@@ -45,6 +45,7 @@ package gnu.crypto.mac;
 
 import gnu.crypto.hash.IMessageDigest;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.security.InvalidKeyException;
 
@@ -59,6 +60,9 @@ public abstract class BaseMac implements IMac {
    // Constants and variables
    // -------------------------------------------------------------------------
 
+   /** The size of the chunks in which buffers are copied to be processed. */
+   private static final int CHUNK_SIZE = 4096;
+
    /** The canonical name prefix of the <i>MAC</i>. */
    protected String name;
 
@@ -124,6 +128,29 @@ public abstract class BaseMac implements IMac {
       underlyingHash.update(b, offset, len);
    }
 
+   /**
+    * <p>Continues a <i>MAC</i> operation with the remaining bytes of a buffer.
+    * This implementation passes the bytes of a buffer without an accessible
+    * array to {@link #update(byte[], int, int)}, in small chunks.</p>
+    *
+    * @param in the buffer whose remaining bytes are to be processed.
+    */
+   public void update(ByteBuffer in) {
+      if (in.hasArray()) {
+         final int len = in.remaining();
+         update(in.array(), in.arrayOffset() + in.position(), len);
+         in.position(in.limit());
+         return;
+      }
+
+      final byte[] chunk = new byte[Math.min(in.remaining(), CHUNK_SIZE)];
+      while (in.hasRemaining()) {
+         final int len = Math.min(chunk.length, in.remaining());
+         in.get(chunk, 0, len);
+         update(chunk, 0, len);
+      }
+   }
+
    public void reset() {
       underlyingHash.reset();
    }
@@ -44,10 +44,12 @@ package gnu.crypto.mac;
 // ----------------------------------------------------------------------------
 
 import gnu.crypto.Registry;
+import gnu.crypto.hash.BaseHash;
 import gnu.crypto.hash.IMessageDigest;
 import gnu.crypto.hash.MD5;
 import gnu.crypto.util.Util;
 
+import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
 import java.util.HashMap;
 import java.util.Map;
@@ -222,6 +224,18 @@ public class HMac extends BaseMac {
       K = null;
    }
 
+   /**
+    * Digests the bytes of the buffer in the inner hash, where they are if the
+    * latter is a {@link BaseHash}.
+    */
+   public void update(ByteBuffer in) {
+      if (underlyingHash instanceof BaseHash) {
+         ((BaseHash) underlyingHash).update(in);
+      } else {
+         super.update(in);
+      }
+   }
+
    public void reset() {
       super.reset();
       if (ipad != null) {
@@ -43,10 +43,12 @@ package gnu.crypto.mac;
 // do so, delete this exception statement from your version.
 // ----------------------------------------------------------------------------
 
+import gnu.crypto.Properties;
 import gnu.crypto.Registry;
 import gnu.crypto.hash.HashFactory;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
@@ -62,6 +64,12 @@ public class HMacFactory implements Registry {
    // Constants and variables
    // -------------------------------------------------------------------------
 
+   /**
+    * Self-tested prototypes, keyed by lower-case hash algorithm name; replaced,
+    * never modified, when a prototype is added, so that look-ups take no lock.
+    */
+   private static volatile HashMap prototypes = new HashMap();
+
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -98,14 +106,32 @@ public class HMacFactory implements Registry {
 
       // strip the prefix
       name = name.substring(HMAC_NAME_PREFIX.length()).trim();
-      IMac result = new HMac(HashFactory.getInstance(name));
+      final boolean strict = Properties.isStrictSelfTest();
+      if (!strict) {
+         final IMac prototype = (IMac) prototypes.get(name);
+         if (prototype != null) {
+            return (IMac) prototype.clone();
+         }
+      }
+
+      final IMac result = new HMac(HashFactory.getInstance(name));
       if (result != null && !result.selfTest()) {
          throw new InternalError(result.name());
       }
+      if (result != null && !strict) {
+         addPrototype(name, (IMac) result.clone());
+      }
 
       return result;
    }
 
+   private static synchronized void
+   addPrototype(String key, IMac prototype) {
+      final HashMap map = new HashMap(prototypes);
+      map.put(key, prototype);
+      prototypes = map;
+   }
+
    /**
     * <p>Returns a {@link java.util.Set} of names of <i>HMAC</i> algorithms
     * supported by this <i>Factory</i>.</p>
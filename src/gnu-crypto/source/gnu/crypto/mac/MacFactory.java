@@ -43,9 +43,11 @@ package gnu.crypto.mac;
 // do so, delete this exception statement from your version.
 // ----------------------------------------------------------------------------
 
+import gnu.crypto.Properties;
 import gnu.crypto.Registry;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -60,6 +62,12 @@ public class MacFactory implements Registry {
    // Constants and variables
    // -------------------------------------------------------------------------
 
+   /**
+    * Self-tested prototypes, keyed by lower-case algorithm name; replaced,
+    * never modified, when a prototype is added, so that look-ups take no lock.
+    */
+   private static volatile HashMap prototypes = new HashMap();
+
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -90,6 +98,33 @@ public class MacFactory implements Registry {
          return HMacFactory.getInstance(name);
       }
 
+      final boolean strict = Properties.isStrictSelfTest();
+      if (!strict) {
+         final IMac prototype = (IMac) prototypes.get(name);
+         if (prototype != null) {
+            return (IMac) prototype.clone();
+         }
+      }
+
+      final IMac result = make(name);
+      if (result != null && !result.selfTest()) {
+         throw new InternalError(result.name());
+      }
+      if (result != null && !strict) {
+         addPrototype(name, make(name));
+      }
+
+      return result;
+   }
+
+   private static synchronized void
+   addPrototype(String key, IMac prototype) {
+      final HashMap map = new HashMap(prototypes);
+      map.put(key, prototype);
+      prototypes = map;
+   }
+
+   private static IMac make(String name) {
       IMac result = null;
       if (name.equalsIgnoreCase(UHASH32)) {
          result = new UHash32();
@@ -102,10 +137,6 @@ public class MacFactory implements Registry {
 //         result = new TMMH32();
 //      }
 
-      if (result != null && !result.selfTest()) {
-         throw new InternalError(result.name());
-      }
-
       return result;
    }
 
@@ -95,6 +95,9 @@ public class TMMH16 extends BaseMac {
 
    private static final int P = (1 << 16) + 1; // the TMMH/16 prime
 
+   /** Number of message words hashed per block by the bulk update. */
+   private static final int BLOCK_WORDS = 256;
+
    /** caches the result of the correctness test, once executed. */
    private static Boolean valid;
 
@@ -108,6 +111,9 @@ public class TMMH16 extends BaseMac {
    private int[] K0; // the first TAG_WORDS words of the keystream
    private int[] Ki; // the sliding TAG_WORDS words of the keystream
    private int Mi; // current message word being constructed
+   private transient byte[] kb; // keystream bytes of a bulk update block
+   private transient int[] kw; // Ki[1..] followed by a block of key words
+   private transient int[] mw; // message words of a bulk update block
 
    // Constructor(s)
    // -------------------------------------------------------------------------
@@ -126,14 +132,24 @@ public class TMMH16 extends BaseMac {
       this();
 
       this.tagWords = that.tagWords;
-      this.keystream = (IRandom) that.keystream.clone();
+      if (that.keystream != null) {
+         this.keystream = (IRandom) that.keystream.clone();
+      }
       this.keyWords = that.keyWords;
       this.msgLength = that.msgLength;
       this.msgWords = that.msgWords;
-      this.context = (int[]) that.context.clone();
-      this.prefix = (byte[]) that.prefix.clone();
-      this.K0 = (int[]) that.K0.clone();
-      this.Ki = (int[]) that.Ki.clone();
+      if (that.context != null) {
+         this.context = (int[]) that.context.clone();
+      }
+      if (that.prefix != null) {
+         this.prefix = (byte[]) that.prefix.clone();
+      }
+      if (that.K0 != null) {
+         this.K0 = (int[]) that.K0.clone();
+      }
+      if (that.Ki != null) {
+         this.Ki = (int[]) that.Ki.clone();
+      }
       this.Mi = that.Mi;
    }
 
@@ -175,6 +191,7 @@ public class TMMH16 extends BaseMac {
          K0 = new int[tagWords];
          Ki = new int[tagWords];
          context = new int[tagWords];
+         mw = null; // bulk scratch is sized after tagWords
       }
 
       prefix = (byte[]) attributes.get(PREFIX);
@@ -221,9 +238,7 @@ public class TMMH16 extends BaseMac {
    }
 
    public void update(byte[] b, int offset, int len) {
-      for (int i = 0; i < len; i++) {
-         this.update(b[offset + i], keystream);
-      }
+      this.update(b, offset, len, keystream);
    }
 
    // For TMMH/16, KEY_LENGTH and TAG_LENGTH MUST be a multiple of two. The key,
@@ -304,6 +319,21 @@ public class TMMH16 extends BaseMac {
     * @param prng the source of randomness to use.
     */
    public void update(byte[] b, int offset, int len, IRandom prng) {
+      if (len > 0 && msgLength % 2 != 0) { // complete the pending word
+         this.update(b[offset++], prng);
+         len--;
+      }
+      if (len > 1 && mw == null) {
+         kb = new byte[2 * BLOCK_WORDS];
+         kw = new int[BLOCK_WORDS + tagWords];
+         mw = new int[BLOCK_WORDS];
+      }
+      while (len > 1) {
+         int n = Math.min(len / 2, BLOCK_WORDS);
+         updateBlock(b, offset, n, prng);
+         offset += 2 * n;
+         len -= 2 * n;
+      }
       for (int i = 0; i < len; i++) {
          this.update(b[offset + i], prng);
       }
@@ -330,6 +360,43 @@ public class TMMH16 extends BaseMac {
       return result;
    }
 
+   /**
+    * <p>Hashes <code>n</code> whole words of the message, pulling the
+    * <code>n</code> key words they need from the keystream in one go.</p>
+    *
+    * @param b the message bytes.
+    * @param offset where the <code>n</code> words start in <code>b</code>.
+    * @param n the number of words to hash; at most {@link #BLOCK_WORDS}.
+    * @param prng the source of keying material.
+    */
+   private void updateBlock(byte[] b, int offset, int n, IRandom prng) {
+      try {
+         prng.nextBytes(kb, 0, 2 * n);
+      } catch (LimitReachedException x) {
+         throw new RuntimeException(String.valueOf(x));
+      }
+
+      // the key words K[m+1..m+tagWords+n-1] used by the n words M[m+1..m+n]
+      final int shift = tagWords - 1;
+      System.arraycopy(Ki, 1, kw, 0, shift);
+      for (int i = 0, j = 0; i < n; i++) {
+         kw[shift + i] = (kb[j++] & 0xFF) << 8 | (kb[j++] & 0xFF);
+         mw[i] = (b[offset++] & 0xFF) << 8 | (b[offset++] & 0xFF);
+      }
+      for (int i = 0; i < tagWords; i++) { // int arithmetic is modulo 2^32
+         int t = context[i];
+         for (int w = 0; w < n; w++) {
+            t += kw[i + w] * mw[w];
+         }
+         context[i] = t;
+      }
+      System.arraycopy(kw, n - 1, Ki, 0, tagWords);
+
+      keyWords += n;
+      msgWords += n;
+      msgLength += 2 * n;
+   }
+
    private int getNextKeyWord(IRandom prng) {
       int result = 0;
       try {
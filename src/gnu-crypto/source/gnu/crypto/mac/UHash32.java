@@ -48,8 +48,6 @@ import gnu.crypto.prng.IRandom;
 import gnu.crypto.prng.LimitReachedException;
 import gnu.crypto.prng.UMacGenerator;
 
-import java.io.ByteArrayOutputStream;
-import java.math.BigInteger;
 import java.security.InvalidKeyException;
 import java.util.HashMap;
 import java.util.Map;
@@ -96,34 +94,56 @@ public class UHash32 extends BaseMac {
    // -------------------------------------------------------------------------
 
    // UMAC prime values
-   private static final BigInteger PRIME_19 = BigInteger.valueOf(0x7FFFFL);
-   private static final BigInteger PRIME_32 = BigInteger.valueOf(0xFFFFFFFBL);
-   private static final BigInteger PRIME_36 = BigInteger.valueOf(0xFFFFFFFFBL);
-   private static final BigInteger PRIME_64 =  new BigInteger(1,
-         new byte[] {
-            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
-            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xC5
-         });
-   private static final BigInteger PRIME_128 = new BigInteger(1,
-         new byte[] {
-            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
-            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
-            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
-            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x61
-         });
-
-   static final BigInteger TWO = BigInteger.valueOf(2L);
-   static final long BOUNDARY = TWO.shiftLeft(17).longValue();
-
-   // 2**64 - 2**32
-   static final BigInteger LOWER_RANGE = TWO.pow(64).subtract(TWO.pow(32));
-   // 2**128 - 2**96
-   static final BigInteger UPPER_RANGE = TWO.pow(128).subtract(TWO.pow(96));
-
-   static final byte[] ALL_ZEROES = new byte[32];
+   //
+   //   +-----+--------------------+---------------------------------------+
+   //   |  x  | prime(x) [Decimal] | prime(x) [Hexadecimal]                |
+   //   +-----+--------------------+---------------------------------------+
+   //   | 19  | 2^19  - 1          | 0x0007FFFF                            |
+   //   | 32  | 2^32  - 5          | 0xFFFFFFFB                            |
+   //   | 36  | 2^36  - 5          | 0x0000000F FFFFFFFB                   |
+   //   | 64  | 2^64  - 59         | 0xFFFFFFFF FFFFFFC5                   |
+   //   | 128 | 2^128 - 159        | 0xFFFFFFFF FFFFFFFF FFFFFFFF FFFFFF61 |
+   //   +-----+--------------------+---------------------------------------+
+   static final long PRIME_36 = 0x0000000FFFFFFFFBL;
+   static final long PRIME_64 = 0xFFFFFFFFFFFFFFC5L;
+
+   /** 2**64 - prime(64). */
+   private static final long OFFSET_64 = 59L;
+   /** 2**128 - prime(128). */
+   private static final long OFFSET_128 = 159L;
+   /** The least significant 32-bit word of prime(128). */
+   private static final long PRIME_128_LOW = 0xFFFFFF61L;
+
+   /** L2 input, in bytes, hashed under prime(64) before switching. */
+   static final long BOUNDARY = 2L << 17;
+
+   private static final long MASK_32 = 0xFFFFFFFFL;
 
    int streams;
-   L1Hash32[] l1hash;
+
+   /** The L1 key words; those of stream i start at index 4*i. */
+   private int[] l1Key;
+
+   /** The message bytes not yet hashed by NH. */
+   private byte[] buffer = new byte[UMac32.L1_KEY_LEN];
+
+   /** The number of meaningful bytes in <code>buffer</code>. */
+   private int count;
+
+   /** The number of chunks hashed by NH so far. */
+   private long chunks;
+
+   /** The message words of the chunk being hashed by NH. */
+   private int[] words = new int[UMac32.L1_KEY_LEN / 4];
+
+   /** The NH output of the first chunk of each stream, held back from L2. */
+   private long[] first;
+
+   private L2Hash32[] l2hash;
+   private L3Hash32[] l3hash;
+
+   /** The L2 output of the stream being digested, as two 64-bit words. */
+   private long[] B = new long[2];
 
    // Constructor(s)
    // -------------------------------------------------------------------------
@@ -142,47 +162,61 @@ public class UHash32 extends BaseMac {
       this();
 
       this.streams = that.streams;
-      if (that.l1hash != null) {
-//         this.l1hash = new L1Hash32[that.l1hash.length];
-         this.l1hash = new L1Hash32[that.streams];
-//         for (int i = 0; i < that.l1hash.length; i++) {
+      if (that.l1Key != null) {
+         this.l1Key = (int[]) that.l1Key.clone();
+         this.first = (long[]) that.first.clone();
+         this.l2hash = new L2Hash32[that.streams];
+         this.l3hash = new L3Hash32[that.streams];
          for (int i = 0; i < that.streams; i++) {
-            if (that.l1hash[i] != null) {
-               this.l1hash[i] = (L1Hash32) that.l1hash[i].clone();
-            }
+            this.l2hash[i] = (L2Hash32) that.l2hash[i].clone();
+            this.l3hash[i] = (L3Hash32) that.l3hash[i].clone();
          }
       }
+      System.arraycopy(that.buffer, 0, this.buffer, 0, that.count);
+      this.count = that.count;
+      this.chunks = that.chunks;
    }
 
    // Class methods
    // -------------------------------------------------------------------------
 
    /**
-    * <p>The prime numbers used in UMAC are:</p>
-    * <pre>
-    *   +-----+--------------------+---------------------------------------+
-    *   |  x  | prime(x) [Decimal] | prime(x) [Hexadecimal]                |
-    *   +-----+--------------------+---------------------------------------+
-    *   | 19  | 2^19  - 1          | 0x0007FFFF                            |
-    *   | 32  | 2^32  - 5          | 0xFFFFFFFB                            |
-    *   | 36  | 2^36  - 5          | 0x0000000F FFFFFFFB                   |
-    *   | 64  | 2^64  - 59         | 0xFFFFFFFF FFFFFFC5                   |
-    *   | 128 | 2^128 - 159        | 0xFFFFFFFF FFFFFFFF FFFFFFFF FFFFFF61 |
-    *   +-----+--------------------+---------------------------------------+
-    *</pre>
+    * <p>Returns <code>true</code> if <code>a</code> is less than
+    * <code>b</code> when both are taken as unsigned 64-bit integers.</p>
+    */
+   private static boolean less(long a, long b) {
+      return (a ^ Long.MIN_VALUE) < (b ^ Long.MIN_VALUE);
+   }
+
+   /**
+    * <p>Returns a value congruent to <code>(k * y + m) mod prime(64)</code>,
+    * and less than 2**64 but not necessarily less than prime(64).</p>
     *
-    * @param n a number of bits.
-    * @return the largest prime number less than 2**n.
+    * @param y the current polynomial hash value.
+    * @param k the key, whose 32-bit halves are both less than 2**25.
+    * @param m the next message word.
     */
-   static final BigInteger prime(int n) {
-      switch (n) {
-      case 19: return PRIME_19;
-      case 32: return PRIME_32;
-      case 36: return PRIME_36;
-      case 64: return PRIME_64;
-      case 128: return PRIME_128;
-      default: throw new IllegalArgumentException("Undefined prime("+String.valueOf(n)+")");
+   private static long poly64(long y, long k, long m) {
+      final long kh = k >>> 32, kl = k & MASK_32;
+      final long yh = y >>> 32, yl = y & MASK_32;
+      final long x = kh * yl + yh * kl; // less than 2**58
+      // 2**64 == 59 (mod prime(64))
+      long result = (kh * yh + (x >>> 32)) * OFFSET_64 + kl * yl;
+      final long t = x << 32;
+      result += t;
+      if (less(result, t)) {
+         result += OFFSET_64;
       }
+      result += m;
+      if (less(result, m)) {
+         result += OFFSET_64;
+      }
+      return result;
+   }
+
+   /** Returns the designated value, less than 2**64, modulo prime(64). */
+   private static long reduce64(long y) {
+      return less(y, PRIME_64) ? y : y - PRIME_64;
    }
 
    // Instance methods
@@ -238,11 +272,18 @@ public class UHash32 extends BaseMac {
          x.printStackTrace(System.err);
          throw new RuntimeException("KDF for L1Key reached limit");
       }
+      l1Key = new int[L1Key.length / 4];
+      for (int i = 0, j = 0; i < l1Key.length; i++) {
+         l1Key[i] = L1Key[j++]         << 24 |
+                   (L1Key[j++] & 0xFF) << 16 |
+                   (L1Key[j++] & 0xFF) <<  8 |
+                   (L1Key[j++] & 0xFF);
+      }
 
-      l1hash = new L1Hash32[streams];
+      first = new long[streams];
+      l2hash = new L2Hash32[streams];
+      l3hash = new L3Hash32[streams];
       for (int i = 0; i < streams; i++) {
-         byte[] k1 =  new byte[UMac32.L1_KEY_LEN];
-         System.arraycopy(L1Key,  i * 16, k1,  0, UMac32.L1_KEY_LEN);
          byte[] k2 =  new byte[24];
          try {
             kdf2.nextBytes(k2, 0, 24);
@@ -267,37 +308,80 @@ public class UHash32 extends BaseMac {
             throw new RuntimeException("KDF for L3Key2 reached limit");
          }
 
-         L1Hash32 mac = new L1Hash32();
-         mac.init(k1, k2, k31, k32);
-         l1hash[i] = mac;
+         l2hash[i] = new L2Hash32(k2);
+         l3hash[i] = new L3Hash32(k31, k32);
       }
+      count = 0;
+      chunks = 0L;
    }
 
    public void update(byte b) {
-      for (int i = 0; i < streams; i++) {
-         l1hash[i].update(b);
+      buffer[count++] = b;
+      if (count == UMac32.L1_KEY_LEN) {
+         nh32(buffer, 0, UMac32.L1_KEY_LEN);
+         count = 0;
       }
    }
 
    public void update(byte[] b, int offset, int len) {
-      for (int i = 0; i < len; i++) {
-         this.update(b[offset + i]);
+      // Break M into L1_KEY_LEN byte chunks (final chunk may be shorter).
+      // Whole chunks are hashed straight from the caller's array.
+      if (count > 0) {
+         final int n = Math.min(len, UMac32.L1_KEY_LEN - count);
+         System.arraycopy(b, offset, buffer, count, n);
+         count += n;
+         offset += n;
+         len -= n;
+         if (count < UMac32.L1_KEY_LEN) {
+            return;
+         }
+         nh32(buffer, 0, UMac32.L1_KEY_LEN);
+         count = 0;
+      }
+      while (len >= UMac32.L1_KEY_LEN) {
+         nh32(b, offset, UMac32.L1_KEY_LEN);
+         offset += UMac32.L1_KEY_LEN;
+         len -= UMac32.L1_KEY_LEN;
       }
+      System.arraycopy(b, offset, buffer, 0, len);
+      count = len;
    }
 
    public byte[] digest() {
+      // For the last chunk: pad to 32-byte boundary, NH hash and add
+      // bit-length.
+      if (count != 0) {
+         final int limit = (count + 31) & ~31;
+         for (int i = count; i < limit; i++) {
+            buffer[i] = 0;
+         }
+         nh32(buffer, 0, limit);
+      }
+
       byte[] result = new byte[UMac32.OUTPUT_LEN];
-      for (int i = 0; i < streams; i++) {
-         byte[] partialResult = l1hash[i].digest();
-         System.arraycopy(partialResult, 0, result, 4*i, 4);
+      for (int i = 0, j = 0; i < streams; i++) {
+         // If length(M) <= L1_KEY_LEN, then skip L2-HASH.
+         if (chunks == 1) {
+            B[0] = 0L;
+            B[1] = first[i];
+         } else {
+            l2hash[i].digest(B);
+         }
+         final int Y = l3hash[i].digest(B[0], B[1]);
+         result[j++] = (byte)(Y >>> 24);
+         result[j++] = (byte)(Y >>> 16);
+         result[j++] = (byte)(Y >>>  8);
+         result[j++] = (byte) Y;
       }
       reset();
       return result;
    }
 
    public void reset() {
+      count = 0;
+      chunks = 0L;
       for (int i = 0; i < streams; i++) {
-         l1hash[i].reset();
+         l2hash[i].reset();
       }
    }
 
@@ -307,206 +391,53 @@ public class UHash32 extends BaseMac {
 
    // helper methods ----------------------------------------------------------
 
-   // Inner classes
-   // =========================================================================
-
    /**
-    * First hash stage of the UHash32 algorithm.
+    * <p>5.1  NH-32: NH hashing with a 32-bit word size. Hashes one chunk of
+    * the message for every stream, and passes the results to L2.</p>
+    *
+    * @param in the message bytes.
+    * @param offset the index of the first byte of the chunk in <code>in</code>.
+    * @param len count of bytes, divisible by 32, to process.
     */
-   class L1Hash32 implements Cloneable {
-
-      // Constants and variables
-      // ----------------------------------------------------------------------
-
-      private int[] key; // key material as an array of 32-bit ints
-      private byte[] buffer; // work buffer L1_KEY_LEN long
-      private int count; // meaningful bytes in buffer
-      private ByteArrayOutputStream Y;
-//      private byte[] y;
-      private long totalCount;
-      private L2Hash32 l2hash;
-      private L3Hash32 l3hash;
-
-      // Constructor(s)
-      // ----------------------------------------------------------------------
-
-      /** Trivial 0-arguments constructor. */
-      L1Hash32() {
-         super();
-
-         key = new int[UMac32.L1_KEY_LEN / 4];
-         buffer = new byte[UMac32.L1_KEY_LEN];
-         count = 0;
-         Y = new ByteArrayOutputStream();
-         totalCount = 0L;
+   private void nh32(byte[] in, int offset, int len) {
+      // Break M and K into 4-byte chunks
+      final int t = len / 4;
+      final int[] m = words;
+      for (int i = 0; i < t; i++) {
+         m[i] =  in[offset++]         << 24 |
+                (in[offset++] & 0xFF) << 16 |
+                (in[offset++] & 0xFF) <<  8 |
+                (in[offset++] & 0xFF);
       }
 
-      /**
-       * <p>Private constructor for cloning purposes.</p>
-       *
-       * @param that the instance to clone.
-       */
-      private L1Hash32(L1Hash32 that) {
-         this();
-
-         System.arraycopy(that.key, 0, this.key, 0, that.key.length);
-         System.arraycopy(that.buffer, 0, this.buffer, 0, that.count);
-         this.count = that.count;
-         byte[] otherY = that.Y.toByteArray();
-         this.Y.write(otherY, 0, otherY.length);
-         this.totalCount = that.totalCount;
-         if (that.l2hash != null) {
-            this.l2hash = (L2Hash32) that.l2hash.clone();
-         }
-         if (that.l3hash != null) {
-            this.l3hash = (L3Hash32) that.l3hash.clone();
-         }
-      }
-
-      // Class methods
-      // ----------------------------------------------------------------------
-
-      // Instance methods
-      // ----------------------------------------------------------------------
-
-      // java.lang.Cloneable interface implementation -------------------------
-
-      public Object clone() {
-         return new L1Hash32(this);
-      }
-
-      // other instance methods -----------------------------------------------
-
-      public void init(byte[] k1, byte[] k2, byte[] k31, byte[] k32) {
-         for (int i = 0, j = 0; i < (UMac32.L1_KEY_LEN / 4); i++) {
-            key[i] = k1[j++]         << 24 |
-                    (k1[j++] & 0xFF) << 16 |
-                    (k1[j++] & 0xFF) <<  8 |
-                    (k1[j++] & 0xFF);
-         }
-
-         l2hash = new L2Hash32(k2);
-         l3hash = new L3Hash32(k31, k32);
-      }
-
-      public void update(byte b) {
-         // Break M into L1_KEY_LEN byte chunks (final chunk may be shorter)
-
-         // Let M_1, M_2, ..., M_t be strings so that M = M_1 || M_2 || .. ||
-         // M_t, and length(M_i) = L1_KEY_LEN for all 0 < i < t.
-
-         // For each chunk, except the last: endian-adjust, NH hash
-         // and add bit-length.  Use results to build Y.
-         buffer[count] = b;
-         count++;
-         totalCount++;
-         if (count >= UMac32.L1_KEY_LEN) {
-            byte[] y = nh32(UMac32.L1_KEY_LEN);
-            Y.write(y, 0, 8);
-
-            count = 0;
-
-            // For each iteration, extract key and three-layer hash.
-            // If length(M) <= L1_KEY_LEN, then skip L2-HASH.
-            if (Y.size() == 16) { // we already hashed twice L1_KEY_LEN
-               byte[] A = Y.toByteArray();
-               Y.reset();
-               l2hash.update(A, 0, 16);
-            }
-         }
-      }
-
-      public byte[] digest() {
-         // For the last chunk: pad to 32-byte boundary, endian-adjust,
-         // NH hash and add bit-length.  Concatenate the result to Y.
-         if (count != 0) {
-            if (count % 32 != 0) {
-               int limit = 32 * ((count + 31) / 32);
-               System.arraycopy(ALL_ZEROES, 0, buffer, count, limit - count);
-               count += limit - count;
-            }
-            byte[] y = nh32(count);
-            Y.write(y, 0, 8);
+      final int[] k = l1Key;
+      long y;
+      for (int s = 0; s < streams; s++) {
+         // Perform NH hash on the chunks, pairing words for multiplication
+         // which are 4 apart to accommodate vector-parallelism. The key of
+         // each stream is that of the previous one shifted by 4 words.
+         y = len * 8L;
+         for (int i = 0, j = 4 * s; i < t; i += 8, j += 8) {
+            y += ((m[i+0] + k[j+0]) & MASK_32) * ((m[i+4] + k[j+4]) & MASK_32);
+            y += ((m[i+1] + k[j+1]) & MASK_32) * ((m[i+5] + k[j+5]) & MASK_32);
+            y += ((m[i+2] + k[j+2]) & MASK_32) * ((m[i+6] + k[j+6]) & MASK_32);
+            y += ((m[i+3] + k[j+3]) & MASK_32) * ((m[i+7] + k[j+7]) & MASK_32);
          }
 
-         byte[] A = Y.toByteArray();
-         Y.reset();
-         byte[] B;
-         if (totalCount <= UMac32.L1_KEY_LEN) {
-            // we might have 'update'd the bytes already. check
-            if (A.length == 0) { // we did
-               B = l2hash.digest();
-            } else { // did not
-               B = new byte[16];
-               System.arraycopy(A, 0, B, 8, 8);
-            }
+         // the first result is only passed to L2 if a second one follows
+         if (chunks == 0) {
+            first[s] = y;
          } else {
-            if (A.length != 0) {
-               l2hash.update(A, 0, A.length);
+            if (chunks == 1) {
+               l2hash[s].update(first[s]);
             }
-            B = l2hash.digest();
-         }
-
-         byte[] result = l3hash.digest(B);
-         reset();
-         return result;
-      }
-
-      public void reset() {
-         count = 0;
-         Y.reset();
-         totalCount = 0L;
-         if (l2hash != null) {
-            l2hash.reset();
+            l2hash[s].update(y);
          }
       }
-
-      // helper methods -------------------------------------------------------
-
-      /**
-       * 5.1  NH-32: NH hashing with a 32-bit word size.
-       *
-       * @param len count of bytes, divisible by 32, in buffer to process
-       * @return Y, string of length 8 bytes.
-       */
-      private byte[] nh32(int len) {
-         // Break M and K into 4-byte chunks
-         int t = len / 4;
-
-         // Let M_1, M_2, ..., M_t be 4-byte strings
-         // so that M = M_1 || M_2 || .. || M_t.
-         // Let K_1, K_2, ..., K_t be 4-byte strings
-         // so that K_1 || K_2 || .. || K_t  is a prefix of K.
-         int[] m = new int[t];
-
-         int i;
-         int j = 0;
-         for (i = 0, j = 0; i < t; i++) {
-            m[i] = buffer[j++]         << 24 |
-                  (buffer[j++] & 0xFF) << 16 |
-                  (buffer[j++] & 0xFF) <<  8 |
-                  (buffer[j++] & 0xFF);
-         }
-
-         // Perform NH hash on the chunks, pairing words for multiplication
-         // which are 4 apart to accommodate vector-parallelism.
-         long result = len * 8L;
-         for (i = 0; i < t; i += 8) {
-            result += ((m[i+0] + key[i+0]) & 0xFFFFFFFFL) * ((m[i+4] + key[i+4]) & 0xFFFFFFFFL);
-            result += ((m[i+1] + key[i+1]) & 0xFFFFFFFFL) * ((m[i+5] + key[i+5]) & 0xFFFFFFFFL);
-            result += ((m[i+2] + key[i+2]) & 0xFFFFFFFFL) * ((m[i+6] + key[i+6]) & 0xFFFFFFFFL);
-            result += ((m[i+3] + key[i+3]) & 0xFFFFFFFFL) * ((m[i+7] + key[i+7]) & 0xFFFFFFFFL);
-         }
-
-         return new byte[] {
-            (byte)(result >>> 56), (byte)(result >>> 48),
-            (byte)(result >>> 40), (byte)(result >>> 32),
-            (byte)(result >>> 24), (byte)(result >>> 16),
-            (byte)(result >>>  8), (byte) result
-         };
-      }
+      chunks++;
    }
 
+   // Inner classes
    // =========================================================================
 
    /**
@@ -520,17 +451,23 @@ public class UHash32 extends BaseMac {
     *    <li>Returns:<br>
     *       Y, string of length 16 bytes.</li>
     * </ul>
+    *
+    * <p>The 128-bit quantities are held as four 32-bit words, least
+    * significant first.</p>
     */
-   class L2Hash32 implements Cloneable {
+   static class L2Hash32 implements Cloneable {
 
       // Constants and variables
       // ----------------------------------------------------------------------
 
-      private BigInteger k64, k128;
-      private BigInteger y;
+      private long k64;
+      private long[] k128 = new long[4];
+      private long y64;
+      private long[] y128 = new long[4];
       private boolean highBound;
       private long bytesSoFar;
-      private ByteArrayOutputStream buffer;
+      private boolean halfPending; // true if 'half' holds the 1st 8 bytes
+      private long half;
 
       // Constructor(s)
       // ----------------------------------------------------------------------
@@ -548,41 +485,29 @@ public class UHash32 extends BaseMac {
 //         k64    = str2uint(K[1..8]  and Mask64);
 //         k128   = str2uint(K[9..24] and Mask128);
          int i = 0;
-         k64 = new BigInteger(1, new byte[] {
-            (byte)(K[i++] & 0x01), (byte)(K[i++] & 0xFF),
-            (byte)(K[i++] & 0xFF), (byte)(K[i++] & 0xFF),
-            (byte)(K[i++] & 0x01), (byte)(K[i++] & 0xFF),
-            (byte)(K[i++] & 0xFF), (byte)(K[i++] & 0xFF)
-         });
-         k128 = new BigInteger(1, new byte[] {
-            (byte)(K[i++] & 0x01), (byte)(K[i++] & 0xFF),
-            (byte)(K[i++] & 0xFF), (byte)(K[i++] & 0xFF),
-            (byte)(K[i++] & 0x01), (byte)(K[i++] & 0xFF),
-            (byte)(K[i++] & 0xFF), (byte)(K[i++] & 0xFF),
-            (byte)(K[i++] & 0x01), (byte)(K[i++] & 0xFF),
-            (byte)(K[i++] & 0xFF), (byte)(K[i++] & 0xFF),
-            (byte)(K[i++] & 0x01), (byte)(K[i++] & 0xFF),
-            (byte)(K[i++] & 0xFF), (byte)(K[i++] & 0xFF)
-         });
-
-         y = BigInteger.ONE;
-         highBound = false;
-         bytesSoFar = 0L;
+         k64 = (K[i++] & 0x01L) << 56 | (K[i++] & 0xFFL) << 48 |
+               (K[i++] & 0xFFL) << 40 | (K[i++] & 0xFFL) << 32 |
+               (K[i++] & 0x01L) << 24 | (K[i++] & 0xFFL) << 16 |
+               (K[i++] & 0xFFL) <<  8 | (K[i++] & 0xFFL);
+         for (int j = 3; j >= 0; j--) {
+            k128[j] = (K[i++] & 0x01L) << 24 | (K[i++] & 0xFFL) << 16 |
+                      (K[i++] & 0xFFL) <<  8 | (K[i++] & 0xFFL);
+         }
+
+         reset();
       }
 
       private L2Hash32(L2Hash32 that) {
          super();
 
          this.k64 = that.k64;
-         this.k128 = that.k128;
-         this.y = that.y;
+         this.k128 = (long[]) that.k128.clone();
+         this.y64 = that.y64;
+         this.y128 = (long[]) that.y128.clone();
          this.highBound = that.highBound;
          this.bytesSoFar = that.bytesSoFar;
-         if (that.buffer != null) {
-            byte[] thatbuffer = that.buffer.toByteArray();
-            this.buffer = new ByteArrayOutputStream();
-            this.buffer.write(thatbuffer, 0, thatbuffer.length);
-         }
+         this.halfPending = that.halfPending;
+         this.half = that.half;
       }
 
       // Class methods
@@ -599,116 +524,140 @@ public class UHash32 extends BaseMac {
 
       // other instance methods -----------------------------------------------
 
-      // this is called with either 8-bytes or 16-bytes
-      void update(byte[] b, int offset, int len) {
-         if (len == 0) {
-            return;
-         }
-
-         if (!highBound) { // do the first (only?) 8-bytes
-            poly(64, LOWER_RANGE, k64, b, offset, 8);
+      /**
+       * @param m the next 8 bytes of input, as an unsigned integer.
+       */
+      void update(long m) {
+         if (!highBound) {
+            // 5.3  POLY: Polynomial hash under prime(64). For each input word,
+            // compare it with maxwordrange (2^64 - 2^32). If larger then hash
+            // the words 'marker' and (m - offset), both in range.
+            if ((m >>> 32) == MASK_32) {
+               y64 = poly64(y64, k64, PRIME_64 - 1L);
+               y64 = poly64(y64, k64, m - OFFSET_64);
+            } else {
+               y64 = poly64(y64, k64, m);
+            }
             bytesSoFar += 8L;
             highBound = (bytesSoFar > BOUNDARY);
             if (highBound) { // if we just crossed the limit then process y
-               poly(128, UPPER_RANGE, k128, yTo16bytes(), 0, 16);
-               buffer = new ByteArrayOutputStream();
-            }
-            // do the rest if any
-            update(b, offset + 8, len -8);
-         } else { // we're already beyond the 2**17 bytes size limit
-            // process in chuncks of 16
-            buffer.write(b, offset, len);
-            if (buffer.size() > 16) {
-               byte[] bb = buffer.toByteArray();
-               poly(128, UPPER_RANGE, k128, bb, 0, 16);
-               if (bb.length > 16) {
-                  buffer.write(bb, 16, bb.length - 16);
-               }
+               y64 = reduce64(y64);
+               y128[0] = y64 & MASK_32;
+               y128[1] = y64 >>> 32;
+               y128[2] = 0L;
+               y128[3] = 0L;
+               poly128(0L, y64);
+               halfPending = false;
             }
+         } else if (!halfPending) { // we're beyond the limit: 16-byte words
+            half = m;
+            halfPending = true;
+         } else {
+            poly128(half, m);
+            halfPending = false;
          }
       }
 
-      byte[] digest() {
-         // If M no more than 2^17 bytes, hash under 64-bit prime,
-         // otherwise, hash first 2^17 bytes under 64-bit prime and
-         // remainder under 128-bit prime.
+      /**
+       * <p>If M no more than 2^17 bytes, hash under 64-bit prime, otherwise,
+       * hash first 2^17 bytes under 64-bit prime and remainder under 128-bit
+       * prime.</p>
+       *
+       * @param out where to store the 16-byte result, as two 64-bit words,
+       * most significant first.
+       */
+      void digest(long[] out) {
          if (!highBound) { // y is up-to-date
-            // do nothing
-         } else { // we may have some bytes in buffer
-            byte[] bb = buffer.toByteArray();
-            byte[] lastBlock = new byte[16];
-            System.arraycopy(bb, 0, lastBlock, 0, bb.length);
-            lastBlock[bb.length] = (byte) 0x80;
-            poly(128, UPPER_RANGE, k128, lastBlock, 0, 16);
+            out[0] = 0L;
+            out[1] = reduce64(y64);
+         } else { // pad the, possibly empty, last word with 0x80 and zeroes
+            if (halfPending) {
+               poly128(half, 0x80L << 56);
+            } else {
+               poly128(0x80L << 56, 0L);
+            }
+            out[0] = y128[3] << 32 | y128[2];
+            out[1] = y128[1] << 32 | y128[0];
          }
-
-         byte[] result = yTo16bytes();
          reset();
-         return result;
       }
 
       void reset() {
-         y = BigInteger.ONE;
+         y64 = 1L;
          highBound = false;
          bytesSoFar = 0L;
-         if (buffer != null) {
-            buffer.reset();
-         }
+         halfPending = false;
       }
 
       // helper methods -------------------------------------------------------
 
-      private byte[] yTo16bytes() {
-         byte[] yy = y.toByteArray();
-         byte[] result = new byte[16];
-         if (yy.length > 16) {
-            System.arraycopy(yy, yy.length - 16, result, 0, 16);
-         } else {
-            System.arraycopy(yy, 0, result, 16 - yy.length, yy.length);
+      /**
+       * <p>5.3  POLY: Polynomial hash of one 16-byte word under prime(128).</p>
+       *
+       * @param mh the most significant 8 bytes of the word.
+       * @param ml the least significant 8 bytes of the word.
+       */
+      private void poly128(long mh, long ml) {
+         if ((mh >>> 32) == MASK_32) { // m >= maxwordrange (2^128 - 2^96)
+            step128(PRIME_128_LOW - 1L, MASK_32, MASK_32, MASK_32); // marker
+            if (less(ml, OFFSET_128)) {
+               mh--;
+            }
+            ml -= OFFSET_128;
          }
-
-         return result;
+         step128(ml & MASK_32, ml >>> 32, mh & MASK_32, mh >>> 32);
       }
 
       /**
-       * 5.3  POLY: Polynomial hash
-       * Function Name: POLY
+       * <p>Sets y to <code>(k * y + m) mod prime(128)</code>.</p>
        *
-       * @param wordbits positive integer divisible by 8: called with 64 or 128.
-       * @param maxwordrange positive integer less than 2**wordbits.
-       * @param k integer in the range 0 .. prime(wordbits) - 1.
-       * @param M string with length divisible by (wordbits / 8) bytes.
-       * return y, integer in the range 0 .. prime(wordbits) - 1.
+       * @param m0 the least significant 32-bit word of m.
+       * @param m1 the 2nd least significant 32-bit word of m.
+       * @param m2 the 2nd most significant 32-bit word of m.
+       * @param m3 the most significant 32-bit word of m.
        */
-      private void poly(int wordbits, BigInteger maxwordrange, BigInteger k,
-                        byte[] M, int off, int len) {
-         byte[] mag = new byte[len];
-         System.arraycopy(M, off, mag, 0, len);
-         // Define constants used for fixing out-of-range words
-//         int wordbytes = wordbits / 8;
-
-         BigInteger p = prime(wordbits);
-         BigInteger offset = TWO.pow(wordbits).subtract(p); // 2^wordbits - p;
-         BigInteger marker = p.subtract(BigInteger.ONE);
-
-         // Break M into chunks of length wordbytes bytes
-//         long n = M.length / wordbytes;
-         // Let M_1, M_2, ..., M_n be strings of length wordbytes bytes
-         // so that M = M_1 || M_2 || .. || M_n
-
-         // For each input word, compare it with maxwordrange.  If larger
-         // then hash the words 'marker' and (m - offset), both in range.
-//         for (int i = 0; i < n; i++) {
-            BigInteger m = new BigInteger(1, mag);
-            if (m.compareTo(maxwordrange) >= 0) { // m >= maxwordrange
-               y = y.multiply(k).add(marker).mod(p); // (k * y + marker) % p;
-               y = y.multiply(k).add(m.subtract(offset)).mod(p); // (k * y + (m - offset)) % p;
-            } else {
-               y = y.multiply(k).add(m).mod(p); // (k * y + m) % p;
-            }
-//         }
+      private void step128(long m0, long m1, long m2, long m3) {
+         final long[] k = k128, y = y128;
+         // the words of k are less than 2^25: no column sum overflows
+         long c0 = k[0]*y[0];
+         long c1 = k[0]*y[1] + k[1]*y[0];
+         long c2 = k[0]*y[2] + k[1]*y[1] + k[2]*y[0];
+         long c3 = k[0]*y[3] + k[1]*y[2] + k[2]*y[1] + k[3]*y[0];
+         long c4 = k[1]*y[3] + k[2]*y[2] + k[3]*y[1];
+         long c5 = k[2]*y[3] + k[3]*y[2];
+         long c6 = k[3]*y[3];
+         c1 += c0 >>> 32; c0 &= MASK_32;
+         c2 += c1 >>> 32; c1 &= MASK_32;
+         c3 += c2 >>> 32; c2 &= MASK_32;
+         c4 += c3 >>> 32; c3 &= MASK_32;
+         c5 += c4 >>> 32; c4 &= MASK_32;
+         c6 += c5 >>> 32; c5 &= MASK_32;
+         long c7 = c6 >>> 32; c6 &= MASK_32;
+
+         // 2^128 == 159 (mod prime(128)): fold the upper half, and add m
+         c0 += c4 * OFFSET_128 + m0;
+         c1 += c5 * OFFSET_128 + m1 + (c0 >>> 32); c0 &= MASK_32;
+         c2 += c6 * OFFSET_128 + m2 + (c1 >>> 32); c1 &= MASK_32;
+         c3 += c7 * OFFSET_128 + m3 + (c2 >>> 32); c2 &= MASK_32;
+         long carry = c3 >>> 32; c3 &= MASK_32;
+         while (carry != 0L) {
+            c0 += carry * OFFSET_128;
+            c1 += c0 >>> 32; c0 &= MASK_32;
+            c2 += c1 >>> 32; c1 &= MASK_32;
+            c3 += c2 >>> 32; c2 &= MASK_32;
+            carry = c3 >>> 32; c3 &= MASK_32;
+         }
 
-//         return y;
+         // one subtraction of prime(128) at most is needed now
+         if (c3 == MASK_32 && c2 == MASK_32 && c1 == MASK_32
+               && c0 >= PRIME_128_LOW) {
+            c0 -= PRIME_128_LOW;
+            c1 = c2 = c3 = 0L;
+         }
+         y[0] = c0;
+         y[1] = c1;
+         y[2] = c2;
+         y[3] = c3;
       }
    }
 
@@ -724,14 +673,16 @@ public class UHash32 extends BaseMac {
     * Returns:
     *    Y, string of length 4 bytes.
     */
-   class L3Hash32 implements Cloneable {
+   static class L3Hash32 implements Cloneable {
 
       // Constants and variables
       // ----------------------------------------------------------------------
 
-      private static final long PRIME_36 = 0x0000000FFFFFFFFBL;
+      /** The first 8 key words, each less than 2^32. */
+      private long[] k = new long[8];
 
-      private int[] k = new int[9];
+      /** The last key word. */
+      private int k8;
 
       // Constructor(s)
       // ----------------------------------------------------------------------
@@ -753,8 +704,6 @@ public class UHash32 extends BaseMac {
          }
 
          // Break K1 into 8 chunks and convert to integers
-//         int i = 0;
-//         for (int j = 0; i < 8; ) {
          for (int i = 0, j = 0; i < 8; i++) {
             long kk = (K1[j++] & 0xFFL) << 56 |
                       (K1[j++] & 0xFFL) << 48 |
@@ -764,17 +713,16 @@ public class UHash32 extends BaseMac {
                       (K1[j++] & 0xFFL) << 16 |
                       (K1[j++] & 0xFFL) <<  8 |
                       (K1[j++] & 0xFFL);
-//            k[i++] = (int)(kk % PRIME_36);
-            k[i] = (int)(kk % PRIME_36);
+            k[i] = ((int)(kk % PRIME_36)) & MASK_32;
          }
-//         k[i] = K2[0] << 24 | (K2[1] & 0xFF) << 16 | (K2[2] & 0xFF) << 8 | (K2[3] & 0xFF);
-         k[8] = K2[0] << 24 | (K2[1] & 0xFF) << 16 | (K2[2] & 0xFF) << 8 | (K2[3] & 0xFF);
+         k8 = K2[0] << 24 | (K2[1] & 0xFF) << 16 | (K2[2] & 0xFF) << 8 | (K2[3] & 0xFF);
       }
 
-      private L3Hash32(int[] k) {
+      private L3Hash32(L3Hash32 that) {
          super();
 
-         this.k = k;
+         this.k = (long[]) that.k.clone();
+         this.k8 = that.k8;
       }
 
       // Class methods
@@ -786,32 +734,29 @@ public class UHash32 extends BaseMac {
       // java.lang.Cloneable interface implementation -------------------------
 
       public Object clone() {
-         return new L3Hash32((int[]) k.clone());
+         return new L3Hash32(this);
       }
 
       // other instance methods -----------------------------------------------
 
       /**
-       * @param M string of length 16 bytes.
-       * @return Y, string of length 4 bytes.
+       * @param mh the most significant 8 bytes of M, a string of length 16.
+       * @param ml the least significant 8 bytes of M.
+       * @return Y, string of length 4 bytes, as an integer.
        */
-      byte[] digest(byte[] M) {
-         if (M.length != 16) {
-            throw new IllegalArgumentException("M length is not 16");
-         }
-
-         long m, y = 0L;
-         for (int i = 0, j = 0; i < 8; i++) {
-            // Break M into 8 chunks and convert to integers
-            m = (M[j++] & 0xFFL) << 8 | (M[j++] & 0xFFL);
-
-            // Inner-product hash, extract last 32 bits and affine-translate
+      int digest(long mh, long ml) {
+         // Break M into 8 chunks and convert to integers
+         // Inner-product hash, extract last 32 bits and affine-translate
 //            y = (m_1 * k_1 + ... + m_8 * k_8) mod prime(36);
 //            y = y mod 2^32;
-            y += (m * (k[i] & 0xFFFFFFFFL)) % PRIME_36;
+         long y = 0L;
+         for (int i = 0, s = 48; i < 4; i++, s -= 16) {
+            y += (((mh >>> s) & 0xFFFFL) * k[i]) % PRIME_36;
+         }
+         for (int i = 4, s = 48; i < 8; i++, s -= 16) {
+            y += (((ml >>> s) & 0xFFFFL) * k[i]) % PRIME_36;
          }
-         int Y = ((int) y) ^ k[8];
-         return new byte[] {(byte)(Y >>> 24), (byte)(Y >>> 16), (byte)(Y >>> 8), (byte) Y};
+         return ((int) y) ^ k8;
       }
    }
 }
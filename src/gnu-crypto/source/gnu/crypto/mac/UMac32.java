@@ -52,7 +52,6 @@ import gnu.crypto.prng.UMacGenerator;
 import gnu.crypto.util.Util;
 
 import java.io.UnsupportedEncodingException;
-import java.math.BigInteger;
 import java.security.InvalidKeyException;
 import java.util.HashMap;
 import java.util.Map;
@@ -152,8 +151,6 @@ public class UMac32 extends BaseMac {
 //   private static final String TV1 = "48658DE1D9A70304";
    private static final String TV1 = "455ED214A6909F20";
 
-   private static final BigInteger MAX_NONCE_ITERATIONS = BigInteger.ONE.shiftLeft(16*8);
-
    // UMAC32 parameters
    static final int OUTPUT_LEN =    8;
    static final int L1_KEY_LEN = 1024;
@@ -164,11 +161,17 @@ public class UMac32 extends BaseMac {
 
    private byte[] nonce;
    private UHash32 uhash32;
-   private BigInteger nonceReuseCount;
+   private long nonceReuseCount;
 
    /** The authentication key for this instance. */
    private transient byte[] K;
 
+   /** The AES instance of the pseudorandom function, keyed on first use. */
+   private transient IBlockCipher prf;
+
+   /** The output of the pseudorandom function. */
+   private byte[] T = new byte[16];
+
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -282,47 +285,41 @@ public class UMac32 extends BaseMac {
                   +String.valueOf(n.length));
          }
 
-         if (n.length < 16) { // pad with zeroes
-            byte[] newN = new byte[16];
-            System.arraycopy(n, 0, newN, 0, n.length);
-            nonce = newN;
-         } else {
-            nonce = n;
-         }
+         // pad with zeroes; always a copy, since it is incremented in place
+         nonce = new byte[16];
+         System.arraycopy(n, 0, nonce, 0, n.length);
 
-         nonceReuseCount = BigInteger.ZERO;
+         nonceReuseCount = 0L;
       } else if (nonce == null) { // use all-0 nonce if 1st time
          nonce = new byte[16];
-         nonceReuseCount = BigInteger.ZERO;
+         nonceReuseCount = 0L;
       } else if (!newKey) { // increment nonce if still below max count
-         nonceReuseCount = nonceReuseCount.add(BigInteger.ONE);
-         if (nonceReuseCount.compareTo(MAX_NONCE_ITERATIONS) >= 0) {
+         nonceReuseCount++;
+         if (nonceReuseCount < 0L) {
             // limit reached. we SHOULD have a key
             throw new InvalidKeyException("Null Key and unusable old Nonce");
          }
-         BigInteger N = new BigInteger(1, nonce);
-         N = N.add(BigInteger.ONE).mod(MAX_NONCE_ITERATIONS);
-         n = N.toByteArray();
-         if (n.length == 16) {
-            nonce = n;
-         } else if (n.length < 16) {
-            nonce = new byte[16];
-            System.arraycopy(n, 0, nonce, 16 - n.length, n.length);
-         } else {
-            nonce = new byte[16];
-            System.arraycopy(n, n.length - 16, nonce, 0, 16);
+         // the nonce is an unsigned 128-bit integer, incremented mod 2^128
+         for (int i = 15; i >= 0; i--) {
+            if (++nonce[i] != 0) {
+               break;
+            }
          }
       } else { // do nothing, re-use old nonce value
-         nonceReuseCount = BigInteger.ZERO;
+         nonceReuseCount = 0L;
       }
 
       if (uhash32 == null) {
          uhash32 = new UHash32();
+      } else if (!newKey) { // the sub-keys are unchanged
+         uhash32.reset();
+         return;
       }
 
       Map map = new HashMap();
       map.put(MAC_KEY_MATERIAL, K);
       uhash32.init(map);
+      prf = null;
    }
 
    public void update(byte b) {
@@ -393,11 +390,26 @@ public class UMac32 extends BaseMac {
       // number of index bits needed = 1
 
       // Extract index bits and zero low bits of Nonce
-      BigInteger Nonce = new BigInteger(1, nonce);
-      int nlowbitsnum = Nonce.testBit(0) ? 1 : 0;
-      Nonce = Nonce.clearBit(0);
+      int nlowbitsnum = nonce[15] & 0x01;
 
       // Generate subkey, AES and extract indexed substring
+      if (prf == null) {
+         prf = newPrf();
+      }
+      prf.encryptBlock(nonce, 0, T, 0);
+      byte[] result = new byte[OUTPUT_LEN];
+      System.arraycopy(T, nlowbitsnum, result, 0, OUTPUT_LEN);
+
+      return result;
+   }
+
+   /**
+    * <p>Derives the key of the pseudorandom function from <code>K</code>,
+    * and returns an AES instance initialised with it.</p>
+    *
+    * @return the AES instance used by the pseudorandom function.
+    */
+   private IBlockCipher newPrf() {
       IRandom kdf = new UMacGenerator();
       Map map = new HashMap();
       map.put(IBlockCipher.KEY_MATERIAL, K);
@@ -415,10 +427,10 @@ public class UMac32 extends BaseMac {
          x.printStackTrace(System.err);
          throw new RuntimeException(String.valueOf(x));
       }
-      IBlockCipher aes = CipherFactory.getInstance(Registry.AES_CIPHER);
+      IBlockCipher result = CipherFactory.getInstance(Registry.AES_CIPHER);
       map.put(IBlockCipher.KEY_MATERIAL, Kp);
       try {
-         aes.init(map);
+         result.init(map);
       } catch (InvalidKeyException x) {
          x.printStackTrace(System.err);
          throw new RuntimeException(String.valueOf(x));
@@ -426,11 +438,6 @@ public class UMac32 extends BaseMac {
          x.printStackTrace(System.err);
          throw new RuntimeException(String.valueOf(x));
       }
-      byte[] T = new byte[16];
-      aes.encryptBlock(nonce, 0, T, 0);
-      byte[] result = new byte[OUTPUT_LEN];
-      System.arraycopy(T, nlowbitsnum, result, 0, OUTPUT_LEN);
-
       return result;
    }
 }
@@ -0,0 +1,367 @@
+package gnu.crypto.mode;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+import gnu.crypto.cipher.IBlockCipher;
+
+import java.security.InvalidKeyException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * <p>A basic abstract class to facilitate implementing authenticated
+ * encryption modes. It takes care of the tag size, of the sequencing of the
+ * associated data, message and tag, and of the tag verification; concrete
+ * modes supply the transforms.</p>
+ *
+ * @version $Revision$
+ */
+public abstract class BaseAuthenticatedMode extends BaseMode
+implements IAuthenticatedMode {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** The length, in bytes, of the tag. */
+   protected int tagSize;
+
+   /** Whether the last bytes of the message were processed. */
+   private boolean finished;
+
+   /** Whether the tag was computed, ending the message. */
+   private boolean tagged;
+
+   /** Scratch for the single byte <code>update()</code>. */
+   private final byte[] one = new byte[1];
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Trivial constructor for use by concrete subclasses.</p>
+    *
+    * @param name the canonical name prefix of this mode.
+    * @param underlyingCipher the implementation of the underlying cipher.
+    * @param cipherBlockSize the block size, in bytes, in which to operate the
+    * underlying cipher.
+    */
+   protected BaseAuthenticatedMode(String name, IBlockCipher underlyingCipher,
+                                   int cipherBlockSize) {
+      super(name, underlyingCipher, cipherBlockSize);
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Returns the 8 bytes of a designated array, starting at a designated
+    * offset, as a big-endian long.</p>
+    */
+   protected static long getLong(byte[] b, int i) {
+      return (b[i++] & 0xFFL) << 56 | (b[i++] & 0xFFL) << 48
+           | (b[i++] & 0xFFL) << 40 | (b[i++] & 0xFFL) << 32
+           | (b[i++] & 0xFFL) << 24 | (b[i++] & 0xFFL) << 16
+           | (b[i++] & 0xFFL) <<  8 |  b[i  ] & 0xFFL;
+   }
+
+   /**
+    * <p>Stores a long, in big-endian order, in 8 bytes of a designated array
+    * starting at a designated offset.</p>
+    */
+   protected static void putLong(long x, byte[] b, int i) {
+      b[i++] = (byte)(x >>> 56);
+      b[i++] = (byte)(x >>> 48);
+      b[i++] = (byte)(x >>> 40);
+      b[i++] = (byte)(x >>> 32);
+      b[i++] = (byte)(x >>> 24);
+      b[i++] = (byte)(x >>> 16);
+      b[i++] = (byte)(x >>>  8);
+      b[i  ] = (byte) x;
+   }
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   // IMode interface implementation ------------------------------------------
+
+   public void update(byte[] in, int inOffset, byte[] out, int outOffset)
+   throws IllegalStateException {
+      synchronized(lock) {
+         if (finished) {
+            throw new IllegalStateException();
+         }
+         super.update(in, inOffset, out, outOffset);
+      }
+   }
+
+   public void
+   update(byte[] in, int inOffset, byte[] out, int outOffset, int count)
+   throws IllegalStateException {
+      synchronized(lock) {
+         if (finished) {
+            throw new IllegalStateException();
+         }
+         super.update(in, inOffset, out, outOffset, count);
+      }
+   }
+
+   // IBlockCipher interface implementation -----------------------------------
+
+   public void init(Map attributes)
+   throws InvalidKeyException, IllegalStateException {
+      Integer ts = (Integer) attributes.get(TAG_SIZE);
+      int size = (ts == null ? cipherBlockSize : ts.intValue());
+      if (!isValidTagSize(size)) {
+         throw new IllegalArgumentException(TAG_SIZE);
+      }
+
+      synchronized(lock) {
+         if (state != -1) {
+            throw new IllegalStateException();
+         }
+
+         tagSize = size;
+         finished = false;
+         tagged = false;
+         super.init(attributes);
+      }
+   }
+
+   /**
+    * <p>Checks that the mode encrypts and decrypts, in place, a message which
+    * does not end on a block boundary, and verifies its own tag.</p>
+    */
+   public boolean selfTest() {
+      for (Iterator kit = keySizes(); kit.hasNext(); ) {
+         if (!testRoundTrip(((Integer) kit.next()).intValue())) {
+            return false;
+         }
+      }
+
+      return true;
+   }
+
+   // IAuthenticatedMode interface implementation -----------------------------
+
+   public void
+   finish(byte[] in, int inOffset, int length, byte[] out, int outOffset)
+   throws IllegalStateException {
+      synchronized(lock) {
+         if (finished) {
+            throw new IllegalStateException();
+         }
+         if (length < 0 || length >= cipherBlockSize) {
+            throw new IllegalArgumentException("length");
+         }
+
+         switch (state) {
+         case ENCRYPTION:
+            encryptLast(in, inOffset, length, out, outOffset);
+            break;
+         case DECRYPTION:
+            decryptLast(in, inOffset, length, out, outOffset);
+            break;
+         default:
+            throw new IllegalStateException();
+         }
+         finished = true;
+      }
+   }
+
+   public boolean verify(byte[] tag, int offset) throws IllegalStateException {
+      byte[] computed = digest();
+      int diff = 0;
+      for (int i = 0; i < computed.length; i++) {
+         diff |= computed[i] ^ tag[offset + i];
+      }
+      return diff == 0;
+   }
+
+   // IMac interface implementation -------------------------------------------
+
+   public int macSize() {
+      return (tagSize == 0 ? cipherBlockSize : tagSize);
+   }
+
+   public void update(byte b) {
+      synchronized(lock) {
+         one[0] = b;
+         update(one, 0, 1);
+      }
+   }
+
+   public void update(byte[] in, int offset, int length) {
+      synchronized(lock) {
+         if (state == -1 || tagged) {
+            throw new IllegalStateException();
+         }
+         authenticate(in, offset, length);
+      }
+   }
+
+   public byte[] digest() {
+      synchronized(lock) {
+         if (state == -1 || tagged) {
+            throw new IllegalStateException();
+         }
+         if (!finished) {
+            finish(null, 0, 0, null, 0);
+         }
+         tagged = true;
+
+         byte[] result = tag();
+         if (result.length != tagSize) {
+            byte[] t = new byte[tagSize];
+            System.arraycopy(result, 0, t, 0, tagSize);
+            result = t;
+         }
+         return result;
+      }
+   }
+
+   // methods to be implemented by concrete subclasses ------------------------
+
+   public abstract Object clone();
+
+   /**
+    * <p>Returns <code>true</code> if the mode accepts tags of the designated
+    * length. The default accepts any length from 1 byte to the cipher block
+    * size.</p>
+    *
+    * @param size a candidate tag length, in bytes.
+    * @return <code>true</code> if tags of that length are supported.
+    */
+   protected boolean isValidTagSize(int size) {
+      return size > 0 && size <= cipherBlockSize;
+   }
+
+   /**
+    * <p>Authenticates a piece of associated data.</p>
+    *
+    * @param in the data.
+    * @param i index of <code>in</code> from which to start considering data.
+    * @param len the number of bytes, possibly not a multiple of the block size,
+    * to consider.
+    */
+   protected abstract void authenticate(byte[] in, int i, int len);
+
+   /**
+    * <p>Encrypts the last, shorter than a block, bytes of the message. When
+    * <code>len</code> is 0, the arrays may be <code>null</code>.</p>
+    */
+   protected abstract void encryptLast(byte[] in, int i, int len, byte[] out, int o);
+
+   /**
+    * <p>Decrypts the last, shorter than a block, bytes of the message. When
+    * <code>len</code> is 0, the arrays may be <code>null</code>.</p>
+    */
+   protected abstract void decryptLast(byte[] in, int i, int len, byte[] out, int o);
+
+   /**
+    * <p>Returns the untruncated tag of the message just processed.</p>
+    *
+    * @return at least {@link #tagSize} bytes of tag.
+    */
+   protected abstract byte[] tag();
+
+   // own methods -------------------------------------------------------------
+
+   private boolean testRoundTrip(int ks) {
+      try {
+         IAuthenticatedMode mode = (IAuthenticatedMode) this.clone();
+         int bs = cipherBlockSize;
+         int i;
+         byte[] k = new byte[ks];
+         for (i = 0; i < ks; i++) {
+            k[i] = (byte) i;
+         }
+         byte[] nonce = new byte[12];
+         for (i = 0; i < nonce.length; i++) {
+            nonce[i] = (byte)(0xA0 + i);
+         }
+         byte[] ad = new byte[bs + 3];
+         for (i = 0; i < ad.length; i++) {
+            ad[i] = (byte)(0x55 ^ i);
+         }
+
+         int limit = 2 * bs + 5;
+         byte[] pt = new byte[limit];
+         for (i = 0; i < limit; i++) {
+            pt[i] = (byte) i;
+         }
+         byte[] ct = new byte[limit];
+
+         Map map = new HashMap();
+         map.put(KEY_MATERIAL, k);
+         map.put(CIPHER_BLOCK_SIZE, new Integer(bs));
+         map.put(STATE, new Integer(ENCRYPTION));
+         map.put(IV, nonce);
+
+         mode.reset();
+         mode.init(map);
+         mode.update(ad, 0, ad.length);
+         mode.update(pt, 0, ct, 0);
+         mode.update(pt, bs, ct, bs);
+         mode.finish(pt, 2 * bs, 5, ct, 2 * bs);
+         byte[] tag = mode.digest();
+
+         byte[] cpt = (byte[]) ct.clone();
+         map.put(STATE, new Integer(DECRYPTION));
+         mode.reset();
+         mode.init(map);
+         mode.update(ad, 0, ad.length);
+         mode.update(cpt, 0, cpt, 0);
+         mode.update(cpt, bs, cpt, bs);
+         mode.finish(cpt, 2 * bs, 5, cpt, 2 * bs);
+         return mode.verify(tag, 0) && Arrays.equals(pt, cpt);
+
+      } catch (Exception x) {
+         x.printStackTrace(System.err);
+         return false;
+      }
+   }
+}
@@ -43,6 +43,7 @@ package gnu.crypto.mode;
 // do so, delete this exception statement from your version.
 // ----------------------------------------------------------------------------
 
+import gnu.crypto.cipher.BaseCipher;
 import gnu.crypto.cipher.IBlockCipher;
 
 import java.security.InvalidKeyException;
@@ -85,6 +86,12 @@ public abstract class BaseMode implements IMode {
    /** The instance lock. */
    protected Object lock = new Object();
 
+   /**
+    * The number of blocks of keystream that the stream-style modes generate
+    * ahead, before XORing them into their input in one pass.
+    */
+   protected static final int KEYSTREAM_BLOCKS = 32;
+
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -130,6 +137,35 @@ public abstract class BaseMode implements IMode {
       }
    }
 
+   /**
+    * <p>Continues a multiple-part encryption or decryption operation over a
+    * number of consecutive blocks, of {@link #currentBlockSize()} bytes each,
+    * taking the instance lock once for the whole run.</p>
+    *
+    * @param in the input data.
+    * @param inOffset index of <code>in</code> from which to start.
+    * @param out the output data.
+    * @param outOffset index of <code>out</code> from which to store the result.
+    * @param count the number of blocks to process.
+    * @exception IllegalStateException if the instance is not initialised.
+    */
+   public void
+   update(byte[] in, int inOffset, byte[] out, int outOffset, int count)
+   throws IllegalStateException {
+      synchronized(lock) {
+         switch (state) {
+         case ENCRYPTION:
+            encryptBlocks(in, inOffset, out, outOffset, count);
+            break;
+         case DECRYPTION:
+            decryptBlocks(in, inOffset, out, outOffset, count);
+            break;
+         default:
+            throw new IllegalStateException();
+         }
+      }
+   }
+
    // IBlockCipher interface implementation -----------------------------------
 
    public String name() {
@@ -270,8 +306,102 @@ public abstract class BaseMode implements IMode {
 
    public abstract void decryptBlock(byte[] in, int i, byte[] out, int o);
 
+   // methods that concrete subclasses may override ---------------------------
+
+   /**
+    * <p>Encrypts <code>count</code> consecutive blocks. This default calls
+    * {@link #encryptBlock(byte[], int, byte[], int)} for each of them.</p>
+    */
+   protected void encryptBlocks(byte[] in, int i, byte[] out, int o, int count) {
+      for ( ; count > 0; count--, i += modeBlockSize, o += modeBlockSize) {
+         encryptBlock(in, i, out, o);
+      }
+   }
+
+   /**
+    * <p>Decrypts <code>count</code> consecutive blocks. This default calls
+    * {@link #decryptBlock(byte[], int, byte[], int)} for each of them.</p>
+    */
+   protected void decryptBlocks(byte[] in, int i, byte[] out, int o, int count) {
+      for ( ; count > 0; count--, i += modeBlockSize, o += modeBlockSize) {
+         decryptBlock(in, i, out, o);
+      }
+   }
+
    // own methods -------------------------------------------------------------
 
+   /**
+    * <p>Encrypts consecutive blocks with the underlying cipher, in one pass
+    * when it is a {@link BaseCipher}.</p>
+    */
+   protected void
+   cipherEncryptBlocks(byte[] in, int i, byte[] out, int o, int count) {
+      if (cipher instanceof BaseCipher) {
+         ((BaseCipher) cipher).encryptBlocks(in, i, out, o, count);
+      } else {
+         for ( ; count > 0; count--, i += cipherBlockSize, o += cipherBlockSize) {
+            cipher.encryptBlock(in, i, out, o);
+         }
+      }
+   }
+
+   /**
+    * <p>Decrypts consecutive blocks with the underlying cipher, in one pass
+    * when it is a {@link BaseCipher}.</p>
+    */
+   protected void
+   cipherDecryptBlocks(byte[] in, int i, byte[] out, int o, int count) {
+      if (cipher instanceof BaseCipher) {
+         ((BaseCipher) cipher).decryptBlocks(in, i, out, o, count);
+      } else {
+         for ( ; count > 0; count--, i += cipherBlockSize, o += cipherBlockSize) {
+            cipher.decryptBlock(in, i, out, o);
+         }
+      }
+   }
+
+   /**
+    * <p>XORs a run of keystream into a run of input. The loop is kept plain,
+    * one byte per iteration over a single index, which is the form JIT
+    * compilers turn into vector instructions; callers should pass as many
+    * blocks of keystream at once as they have.</p>
+    *
+    * @param in the input data.
+    * @param i index of <code>in</code> from which to start.
+    * @param ks the keystream.
+    * @param k index of <code>ks</code> from which to start.
+    * @param out the output data; may be <code>in</code>, at the same index.
+    * @param o index of <code>out</code> from which to store the result.
+    * @param length the number of bytes to process.
+    */
+   protected static void
+   xor(byte[] in, int i, byte[] ks, int k, byte[] out, int o, int length) {
+      for (int j = 0; j < length; j++) {
+         out[o + j] = (byte)(in[i + j] ^ ks[k + j]);
+      }
+   }
+
+   /**
+    * <p>Stores <code>count</code> successive values of a big-endian counter,
+    * one block each, and leaves the counter at the value that follows them,
+    * modulo 2<sup><i>8 * T.length</i></sup>.</p>
+    *
+    * @param T the counter.
+    * @param out where to store the counter blocks, from index 0.
+    * @param count the number of counter blocks to store.
+    */
+   protected static void counterBlocks(byte[] T, byte[] out, int count) {
+      final int n = T.length;
+      for (int j = 0; j < count; j++) {
+         System.arraycopy(T, 0, out, j * n, n);
+         for (int k = n - 1; k >= 0; k--) { // T = T + 1
+            if (++T[k] != 0) {
+               break;
+            }
+         }
+      }
+   }
+
    private boolean testSymmetry(int ks, int bs) {
       try {
          IMode mode = (IMode) this.clone();
@@ -95,6 +95,9 @@ public class CFB extends BaseMode {
    /** The output block from the block cipher. */
    private byte[] scratch;
 
+   /** The cipher input blocks, then output blocks, of a run of blocks. */
+   private byte[] I;
+
    // Constructors.
    // -----------------------------------------------------------------------
 
@@ -131,6 +134,7 @@ public class CFB extends BaseMode {
       }
       shiftRegister = new byte[cipherBlockSize];
       scratch = new byte[cipherBlockSize];
+      I = new byte[KEYSTREAM_BLOCKS * cipherBlockSize];
       System.arraycopy(iv, 0, shiftRegister, 0,
          Math.min(iv.length, cipherBlockSize));
    }
@@ -142,15 +146,14 @@ public class CFB extends BaseMode {
          }
       }
       shiftRegister = null;
+      I = null;
    }
 
    public void
    encryptBlock(byte[] in, int inOffset, byte[] out, int outOffset)
    {
       cipher.encryptBlock(shiftRegister, 0, scratch, 0);
-      for (int i = 0; i < modeBlockSize; i++) {
-         out[outOffset+i] = (byte) (in[inOffset+i] ^ scratch[i]);
-      }
+      xor(in, inOffset, scratch, 0, out, outOffset, modeBlockSize);
       System.arraycopy(shiftRegister, modeBlockSize, shiftRegister, 0,
          cipherBlockSize - modeBlockSize);
       System.arraycopy(out, outOffset, shiftRegister,
@@ -161,12 +164,62 @@ public class CFB extends BaseMode {
    decryptBlock(byte[] in, int inOffset, byte[] out, int outOffset)
    {
       cipher.encryptBlock(shiftRegister, 0, scratch, 0);
-      for (int i = 0; i < modeBlockSize; i++) {
-         out[outOffset+i] = (byte) (in[inOffset+i] ^ scratch[i]);
-      }
+      xor(in, inOffset, scratch, 0, out, outOffset, modeBlockSize);
       System.arraycopy(shiftRegister, modeBlockSize, shiftRegister, 0,
          cipherBlockSize - modeBlockSize);
       System.arraycopy(in, inOffset, shiftRegister,
          cipherBlockSize - modeBlockSize, modeBlockSize);
    }
+
+   /**
+    * <p>Decrypts a run of blocks. Unlike those of encryption, the cipher
+    * inputs of decryption are all known beforehand: they are windows of
+    * <i>b</i> bytes, <i>s</i> bytes apart, over the shift register followed
+    * by the ciphertext. Those of a run of blocks are encrypted in one pass of
+    * the underlying cipher, then XORed with the input.</p>
+    */
+   protected void
+   decryptBlocks(byte[] in, int inOffset, byte[] out, int outOffset, int count)
+   {
+      while (count > 0) {
+         final int n = Math.min(count, KEYSTREAM_BLOCKS);
+         for (int j = 0; j < n; j++) {
+            window(in, inOffset, j * modeBlockSize, I, j * cipherBlockSize);
+         }
+         // the next register, taken before out overwrites in, if it is in
+         window(in, inOffset, n * modeBlockSize, shiftRegister, 0);
+         cipherEncryptBlocks(I, 0, I, 0, n);
+         if (modeBlockSize == cipherBlockSize) {
+            xor(in, inOffset, I, 0, out, outOffset, n * modeBlockSize);
+         } else {
+            for (int j = 0; j < n; j++) {
+               xor(in, inOffset + j * modeBlockSize, I, j * cipherBlockSize,
+                   out, outOffset + j * modeBlockSize, modeBlockSize);
+            }
+         }
+         inOffset += n * modeBlockSize;
+         outOffset += n * modeBlockSize;
+         count -= n;
+      }
+   }
+
+   /**
+    * <p>Copies the <i>b</i> bytes found at a designated index of the shift
+    * register followed by the ciphertext.</p>
+    *
+    * @param in the ciphertext.
+    * @param inOffset where the ciphertext starts in <code>in</code>.
+    * @param start the index of the window, from the start of the register.
+    * @param dst where to copy the window; may be the register itself, at 0.
+    * @param d index of <code>dst</code> from which to copy.
+    */
+   private void window(byte[] in, int inOffset, int start, byte[] dst, int d) {
+      if (start >= cipherBlockSize) {
+         System.arraycopy(in, inOffset + start - cipherBlockSize, dst, d,
+                          cipherBlockSize);
+      } else {
+         System.arraycopy(shiftRegister, start, dst, d, cipherBlockSize - start);
+         System.arraycopy(in, inOffset, dst, d + cipherBlockSize - start, start);
+      }
+   }
 }
@@ -46,8 +46,6 @@ package gnu.crypto.mode;
 import gnu.crypto.Registry;
 import gnu.crypto.cipher.IBlockCipher;
 
-import java.math.BigInteger;
-
 /**
  * <p>The implementation of the Counter Mode.</p>
  *
@@ -66,7 +64,10 @@ import java.math.BigInteger;
  * <i>Counter</i>.</p>
  *
  * <p>This implementation, uses a standard incrementing function with a step of
- * 1, and an initial value similar to that described in the NIST document.</p>
+ * 1, and an initial value similar to that described in the NIST document.
+ * Runs of blocks are processed a chunk at a time: the counter blocks of a
+ * chunk are encrypted in one pass of the underlying cipher, then XORed with
+ * the input.</p>
  *
  * <p>References:</p>
  *
@@ -83,8 +84,11 @@ public class CTR extends BaseMode implements Cloneable {
    // Constants and variables
    // -------------------------------------------------------------------------
 
-   /** The current counter. */
-   private BigInteger T;
+   /** The next counter, modulo 2<sup><i>8 * modeBlockSize</i></sup>. */
+   private byte[] T;
+
+   /** The encrypted counter blocks of the current chunk. */
+   private byte[] O;
 
    // Constructor(s)
    // -------------------------------------------------------------------------
@@ -126,37 +130,49 @@ public class CTR extends BaseMode implements Cloneable {
          throw new IllegalArgumentException();
       }
 
-      byte[] tBytes = new byte[modeBlockSize+1];
-      tBytes[0] = (byte) 0x80;
+      T = new byte[modeBlockSize];
       for (int i = 0; i < modeBlockSize; i++) {
-         tBytes[i+1] = (byte)(256 - modeBlockSize + i);
+         T[i] = (byte)(256 - modeBlockSize + i);
       }
-
-      T = new BigInteger(1, tBytes);
+      O = new byte[KEYSTREAM_BLOCKS * modeBlockSize];
+      counterBlocks(T, O, 1); // counting starts after the initial value
    }
 
    public void teardown() {
       T = null;
+      O = null;
    }
 
    public void encryptBlock(byte[] in, int i, byte[] out, int o) {
-      ctr(in, i, out, o);
+      ctr(in, i, out, o, 1);
    }
 
    public void decryptBlock(byte[] in, int i, byte[] out, int o) {
-      ctr(in, i, out, o);
+      ctr(in, i, out, o, 1);
+   }
+
+   protected void encryptBlocks(byte[] in, int i, byte[] out, int o, int count) {
+      ctr(in, i, out, o, count);
+   }
+
+   protected void decryptBlocks(byte[] in, int i, byte[] out, int o, int count) {
+      ctr(in, i, out, o, count);
    }
 
    // own methods
    // -------------------------------------------------------------------------
 
-   private void ctr(byte[] in, int inOffset, byte[] out, int outOffset) {
-      T = T.add(BigInteger.ONE);
-      byte[] O = T.toByteArray();
-      int ndx = O.length - modeBlockSize;
-      cipher.encryptBlock(O, ndx, O, ndx);
-      for (int i = 0; i < modeBlockSize; i++) {
-         out[outOffset++] = (byte)(in[inOffset++] ^ O[ndx++]);
+   private void
+   ctr(byte[] in, int inOffset, byte[] out, int outOffset, int count) {
+      while (count > 0) {
+         final int n = Math.min(count, KEYSTREAM_BLOCKS);
+         final int length = n * modeBlockSize;
+         counterBlocks(T, O, n);
+         cipherEncryptBlocks(O, 0, O, 0, n);
+         xor(in, inOffset, O, 0, out, outOffset, length);
+         inOffset += length;
+         outOffset += length;
+         count -= n;
       }
    }
 }
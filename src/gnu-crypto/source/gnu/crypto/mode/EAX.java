@@ -0,0 +1,300 @@
+package gnu.crypto.mode;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+import gnu.crypto.Registry;
+import gnu.crypto.cipher.IBlockCipher;
+
+/**
+ * <p>The implementation of the EAX authenticated encryption mode.</p>
+ *
+ * <p>EAX combines the Counter mode with three differently tweaked instances of
+ * the OMAC message authentication code, all keyed with the same cipher key:</p>
+ *
+ * <pre>
+ *    N' = OMAC(K)(0 || N)
+ *    H' = OMAC(K)(1 || H)
+ *    C  = CTR(K, N')(M)
+ *    C' = OMAC(K)(2 || C)
+ *    T  = (N' ^ C' ^ H') truncated to the tag size
+ * </pre>
+ *
+ * <p>where <code>N</code> is the nonce, of any length, <code>H</code> the
+ * associated data, <code>M</code> the message, and <code>0</code>,
+ * <code>1</code> and <code>2</code> are whole blocks holding that value. The
+ * counter is the whole block, incremented as a big-endian integer. The mode
+ * works with 64- and 128-bit block ciphers.</p>
+ *
+ * <p>References:</p>
+ *
+ * <ol>
+ *    <li><a href="http://www.cs.ucdavis.edu/~rogaway/papers/eax.pdf">The EAX
+ *    Mode of Operation</a>, Mihir Bellare, Phillip Rogaway and David
+ *    Wagner.</li>
+ * </ol>
+ *
+ * @version $Revision$
+ */
+public class EAX extends BaseAuthenticatedMode implements Cloneable {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** The first OMAC subkey, for messages ending on a block boundary. */
+   private byte[] B;
+
+   /** The second OMAC subkey, for padded messages. */
+   private byte[] P;
+
+   /** The OMAC of the nonce; also the initial counter. */
+   private byte[] nonceMac;
+
+   /** The OMAC of the associated data. */
+   private OMAC headerMac;
+
+   /** The OMAC of the ciphertext. */
+   private OMAC messageMac;
+
+   /** The current counter. */
+   private byte[] counter;
+
+   /** The encrypted counter. */
+   private byte[] keystream;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Trivial package-private constructor for use by the Factory class.</p>
+    *
+    * @param underlyingCipher the underlying cipher implementation.
+    * @param cipherBlockSize the underlying cipher block size to use.
+    */
+   EAX(IBlockCipher underlyingCipher, int cipherBlockSize) {
+      super(Registry.EAX_MODE, underlyingCipher, cipherBlockSize);
+   }
+
+   /**
+    * <p>Private constructor for cloning purposes.</p>
+    *
+    * @param that the instance to clone.
+    */
+   private EAX(EAX that) {
+      this((IBlockCipher) that.cipher.clone(), that.cipherBlockSize);
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Multiplies, in place, a 64- or 128-bit block by <i>x</i> in the finite
+    * field used by OMAC.</p>
+    */
+   private static void dbl(byte[] b) {
+      int carry = (b[0] & 0x80) != 0 ? (b.length == 16 ? 0x87 : 0x1B) : 0;
+      for (int i = 0; i < b.length - 1; i++) {
+         b[i] = (byte)(b[i] << 1 | (b[i + 1] & 0xFF) >>> 7);
+      }
+      b[b.length - 1] = (byte)(b[b.length - 1] << 1 ^ carry);
+   }
+
+   // Cloneable interface implementation
+   // -------------------------------------------------------------------------
+
+   public Object clone() {
+      return new EAX(this);
+   }
+
+   // Implementation of abstract methods in BaseMode
+   // -------------------------------------------------------------------------
+
+   public void setup() {
+      if (modeBlockSize != cipherBlockSize) {
+         throw new IllegalArgumentException();
+      }
+      if (cipherBlockSize != 8 && cipherBlockSize != 16) {
+         throw new IllegalArgumentException("cipherBlockSize");
+      }
+
+      B = new byte[cipherBlockSize];
+      cipher.encryptBlock(B, 0, B, 0);
+      dbl(B);
+      P = (byte[]) B.clone();
+      dbl(P);
+
+      OMAC omac = new OMAC(0);
+      omac.update(iv, 0, iv.length);
+      nonceMac = omac.digest();
+      headerMac = new OMAC(1);
+      messageMac = new OMAC(2);
+      counter = (byte[]) nonceMac.clone();
+      keystream = new byte[cipherBlockSize];
+   }
+
+   public void teardown() {
+      B = null;
+      P = null;
+      nonceMac = null;
+      headerMac = null;
+      messageMac = null;
+      counter = null;
+      keystream = null;
+   }
+
+   public void encryptBlock(byte[] in, int i, byte[] out, int o) {
+      ctr(in, i, out, o, cipherBlockSize);
+      messageMac.update(out, o, cipherBlockSize);
+   }
+
+   public void decryptBlock(byte[] in, int i, byte[] out, int o) {
+      messageMac.update(in, i, cipherBlockSize);
+      ctr(in, i, out, o, cipherBlockSize);
+   }
+
+   // Implementation of abstract methods in BaseAuthenticatedMode
+   // -------------------------------------------------------------------------
+
+   protected void authenticate(byte[] in, int i, int len) {
+      headerMac.update(in, i, len);
+   }
+
+   protected void encryptLast(byte[] in, int i, int len, byte[] out, int o) {
+      if (len > 0) {
+         ctr(in, i, out, o, len);
+         messageMac.update(out, o, len);
+      }
+   }
+
+   protected void decryptLast(byte[] in, int i, int len, byte[] out, int o) {
+      if (len > 0) {
+         messageMac.update(in, i, len);
+         ctr(in, i, out, o, len);
+      }
+   }
+
+   protected byte[] tag() {
+      byte[] result = messageMac.digest();
+      byte[] h = headerMac.digest();
+      for (int i = 0; i < result.length; i++) {
+         result[i] ^= nonceMac[i] ^ h[i];
+      }
+      return result;
+   }
+
+   // own methods
+   // -------------------------------------------------------------------------
+
+   private void ctr(byte[] in, int inOffset, byte[] out, int outOffset, int len) {
+      cipher.encryptBlock(counter, 0, keystream, 0);
+      for (int i = 0; i < len; i++) {
+         out[outOffset++] = (byte)(in[inOffset++] ^ keystream[i]);
+      }
+      for (int i = cipherBlockSize - 1; i >= 0; i--) {
+         if (++counter[i] != 0) {
+            break;
+         }
+      }
+   }
+
+   // Inner classe(s)
+   // =========================================================================
+
+   /**
+    * <p>An OMAC (CMAC) computation, tweaked with a leading block holding a
+    * small integer, over data supplied in pieces. The last block is kept back
+    * until it is known whether more data follows.</p>
+    */
+   private final class OMAC {
+
+      /** The chaining value. */
+      private final byte[] x = new byte[cipherBlockSize];
+
+      /** The pending block. */
+      private final byte[] buffer = new byte[cipherBlockSize];
+
+      /** The number of bytes in the pending block. */
+      private int count;
+
+      OMAC(int tweak) {
+         buffer[cipherBlockSize - 1] = (byte) tweak;
+         count = cipherBlockSize;
+      }
+
+      void update(byte[] in, int i, int len) {
+         while (len > 0) {
+            if (count == cipherBlockSize) {
+               for (int j = 0; j < cipherBlockSize; j++) {
+                  x[j] ^= buffer[j];
+               }
+               cipher.encryptBlock(x, 0, x, 0);
+               count = 0;
+            }
+            int n = Math.min(len, cipherBlockSize - count);
+            System.arraycopy(in, i, buffer, count, n);
+            count += n;
+            i += n;
+            len -= n;
+         }
+      }
+
+      byte[] digest() {
+         byte[] k;
+         if (count == cipherBlockSize) {
+            k = B;
+         } else {
+            buffer[count] = (byte) 0x80;
+            for (int j = count + 1; j < cipherBlockSize; j++) {
+               buffer[j] = 0;
+            }
+            k = P;
+         }
+         for (int j = 0; j < cipherBlockSize; j++) {
+            x[j] ^= buffer[j] ^ k[j];
+         }
+         cipher.encryptBlock(x, 0, x, 0);
+         return x;
+      }
+   }
+}
@@ -132,4 +132,12 @@ public class ECB extends BaseMode implements Cloneable {
    public void decryptBlock(byte[] in, int i, byte[] out, int o) {
       cipher.decryptBlock(in, i, out, o);
    }
+
+   protected void encryptBlocks(byte[] in, int i, byte[] out, int o, int count) {
+      cipherEncryptBlocks(in, i, out, o, count);
+   }
+
+   protected void decryptBlocks(byte[] in, int i, byte[] out, int o, int count) {
+      cipherDecryptBlocks(in, i, out, o, count);
+   }
 }
@@ -0,0 +1,385 @@
+package gnu.crypto.mode;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+import gnu.crypto.Registry;
+import gnu.crypto.cipher.IBlockCipher;
+
+/**
+ * <p>The implementation of the Galois/Counter Mode.</p>
+ *
+ * <p>GCM encrypts with a 32-bit counter mode and authenticates the associated
+ * data and the ciphertext with GHASH, a polynomial hash over GF(2<sup>128</sup>)
+ * keyed with <code>H = E(K)(0)</code>:</p>
+ *
+ * <pre>
+ *    J0 = IV || 0^31 || 1, if IV is 96 bits long,
+ *         GHASH(H)(IV || 0^s || 0^64 || [len(IV)]), otherwise;
+ *    C  = CTR(K, inc32(J0))(P)
+ *    T  = E(K)(J0) ^ GHASH(H)(A || 0^u || C || 0^v || [len(A)] || [len(C)])
+ * </pre>
+ *
+ * <p>GHASH multiplies by <code>H</code> four bits at a time, using a table of
+ * the sixteen multiples of <code>H</code> computed when the instance is
+ * initialised, and a constant table for the reduction. The mode is only
+ * defined for 128-bit block ciphers; all the associated data must be
+ * supplied before the message.</p>
+ *
+ * <p>References:</p>
+ *
+ * <ol>
+ *    <li><a href="http://csrc.nist.gov/publications/nistpubs/800-38D/SP-800-38D.pdf">
+ *    Recommendation for Block Cipher Modes of Operation: Galois/Counter Mode
+ *    (GCM) and GMAC</a>, Morris Dworkin.</li>
+ *    <li>The Galois/Counter Mode of Operation (GCM), David A. McGrew and John
+ *    Viega.</li>
+ * </ol>
+ *
+ * @version $Revision$
+ */
+public class GCM extends BaseAuthenticatedMode implements Cloneable {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** The reduction of the four bits shifted out of a product. */
+   private static final long[] LAST4 = {
+      0x0000L << 48, 0x1C20L << 48, 0x3840L << 48, 0x2460L << 48,
+      0x7080L << 48, 0x6CA0L << 48, 0x48C0L << 48, 0x54E0L << 48,
+      0xE100L << 48, 0xFD20L << 48, 0xD940L << 48, 0xC560L << 48,
+      0x9180L << 48, 0x8DA0L << 48, 0xA9C0L << 48, 0xB5E0L << 48
+   };
+
+   /** The high halves of the sixteen 4-bit multiples of H. */
+   private long[] hh;
+
+   /** The low halves of the sixteen 4-bit multiples of H. */
+   private long[] hl;
+
+   /** The high half of the GHASH accumulator. */
+   private long xh;
+
+   /** The low half of the GHASH accumulator. */
+   private long xl;
+
+   /** The encrypted pre-counter block, E(K)(J0). */
+   private byte[] tagMask;
+
+   /** The current counter. */
+   private byte[] counter;
+
+   /** The encrypted counter; also scratch for partial blocks. */
+   private byte[] keystream;
+
+   /** Associated data not yet hashed. */
+   private byte[] adBuffer;
+
+   /** The number of bytes in {@link #adBuffer}. */
+   private int adCount;
+
+   /** The length, in bytes, of the associated data. */
+   private long adLength;
+
+   /** The length, in bytes, of the message. */
+   private long msgLength;
+
+   /** Whether the message has started; no more associated data then. */
+   private boolean inMessage;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Trivial package-private constructor for use by the Factory class.</p>
+    *
+    * @param underlyingCipher the underlying cipher implementation.
+    * @param cipherBlockSize the underlying cipher block size to use.
+    */
+   GCM(IBlockCipher underlyingCipher, int cipherBlockSize) {
+      super(Registry.GCM_MODE, underlyingCipher, cipherBlockSize);
+   }
+
+   /**
+    * <p>Private constructor for cloning purposes.</p>
+    *
+    * @param that the instance to clone.
+    */
+   private GCM(GCM that) {
+      this((IBlockCipher) that.cipher.clone(), that.cipherBlockSize);
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Cloneable interface implementation
+   // -------------------------------------------------------------------------
+
+   public Object clone() {
+      return new GCM(this);
+   }
+
+   // Implementation of abstract methods in BaseMode
+   // -------------------------------------------------------------------------
+
+   public void setup() {
+      if (modeBlockSize != cipherBlockSize || cipherBlockSize != 16) {
+         throw new IllegalArgumentException();
+      }
+      if (iv.length == 0) {
+         throw new IllegalArgumentException(IV);
+      }
+
+      // the multiples of H by the sixteen 4-bit polynomials, bit-reflected as
+      // GCM requires: index 8 holds H itself, 4 holds H.x, 2 H.x^2, 1 H.x^3
+      byte[] h = new byte[16];
+      cipher.encryptBlock(h, 0, h, 0);
+      long vh = getLong(h, 0);
+      long vl = getLong(h, 8);
+      hh = new long[16];
+      hl = new long[16];
+      hh[8] = vh;
+      hl[8] = vl;
+      for (int i = 4; i > 0; i >>>= 1) {
+         long t = (vl & 1L) != 0 ? 0xE100000000000000L : 0L;
+         vl = vh << 63 | vl >>> 1;
+         vh = vh >>> 1 ^ t;
+         hh[i] = vh;
+         hl[i] = vl;
+      }
+      for (int i = 2; i <= 8; i <<= 1) {
+         for (int j = 1; j < i; j++) {
+            hh[i + j] = hh[i] ^ hh[j];
+            hl[i + j] = hl[i] ^ hl[j];
+         }
+      }
+
+      xh = xl = 0L;
+      counter = new byte[16];
+      if (iv.length == 12) {
+         System.arraycopy(iv, 0, counter, 0, 12);
+         counter[15] = 1;
+      } else {
+         int i = 0;
+         for ( ; i + 16 <= iv.length; i += 16) {
+            ghash(iv, i);
+         }
+         if (i < iv.length) {
+            System.arraycopy(iv, i, counter, 0, iv.length - i);
+            ghash(counter, 0);
+         }
+         xl ^= (long) iv.length << 3;
+         multiply();
+         putLong(xh, counter, 0);
+         putLong(xl, counter, 8);
+         xh = xl = 0L;
+      }
+      tagMask = new byte[16];
+      cipher.encryptBlock(counter, 0, tagMask, 0);
+
+      keystream = new byte[16];
+      adBuffer = new byte[16];
+      adCount = 0;
+      adLength = 0L;
+      msgLength = 0L;
+      inMessage = false;
+   }
+
+   public void teardown() {
+      hh = null;
+      hl = null;
+      xh = xl = 0L;
+      tagMask = null;
+      counter = null;
+      keystream = null;
+      adBuffer = null;
+   }
+
+   public void encryptBlock(byte[] in, int i, byte[] out, int o) {
+      startMessage();
+      ctr(in, i, out, o, 16);
+      ghash(out, o);
+      msgLength += 16;
+   }
+
+   public void decryptBlock(byte[] in, int i, byte[] out, int o) {
+      startMessage();
+      ghash(in, i);
+      ctr(in, i, out, o, 16);
+      msgLength += 16;
+   }
+
+   // Implementation of abstract methods in BaseAuthenticatedMode
+   // -------------------------------------------------------------------------
+
+   /** GCM defines tags of 128, 120, 112, 104, 96, 64 and 32 bits. */
+   protected boolean isValidTagSize(int size) {
+      return size == 4 || size == 8 || (size >= 12 && size <= 16);
+   }
+
+   protected void authenticate(byte[] in, int i, int len) {
+      if (inMessage) {
+         throw new IllegalStateException("associated data after message");
+      }
+
+      adLength += len;
+      if (adCount > 0) {
+         int n = Math.min(len, 16 - adCount);
+         System.arraycopy(in, i, adBuffer, adCount, n);
+         adCount += n;
+         i += n;
+         len -= n;
+         if (adCount < 16) {
+            return;
+         }
+         ghash(adBuffer, 0);
+         adCount = 0;
+      }
+      for ( ; len >= 16; i += 16, len -= 16) {
+         ghash(in, i);
+      }
+      if (len > 0) {
+         System.arraycopy(in, i, adBuffer, 0, len);
+         adCount = len;
+      }
+   }
+
+   protected void encryptLast(byte[] in, int i, int len, byte[] out, int o) {
+      startMessage();
+      if (len > 0) {
+         ctr(in, i, out, o, len);
+         ghashPartial(out, o, len);
+         msgLength += len;
+      }
+   }
+
+   protected void decryptLast(byte[] in, int i, int len, byte[] out, int o) {
+      startMessage();
+      if (len > 0) {
+         ghashPartial(in, i, len);
+         ctr(in, i, out, o, len);
+         msgLength += len;
+      }
+   }
+
+   protected byte[] tag() {
+      xh ^= adLength << 3;
+      xl ^= msgLength << 3;
+      multiply();
+
+      byte[] result = new byte[16];
+      putLong(xh, result, 0);
+      putLong(xl, result, 8);
+      for (int i = 0; i < 16; i++) {
+         result[i] ^= tagMask[i];
+      }
+      return result;
+   }
+
+   // own methods
+   // -------------------------------------------------------------------------
+
+   /** Hashes the last, padded, block of associated data, if any. */
+   private void startMessage() {
+      if (!inMessage) {
+         if (adCount > 0) {
+            ghashPartial(adBuffer, 0, adCount);
+            adCount = 0;
+         }
+         inMessage = true;
+      }
+   }
+
+   private void ctr(byte[] in, int inOffset, byte[] out, int outOffset, int len) {
+      for (int i = 15; i >= 12; i--) { // inc32
+         if (++counter[i] != 0) {
+            break;
+         }
+      }
+      cipher.encryptBlock(counter, 0, keystream, 0);
+      for (int i = 0; i < len; i++) {
+         out[outOffset++] = (byte)(in[inOffset++] ^ keystream[i]);
+      }
+   }
+
+   /** Folds a 16-byte block into the GHASH accumulator. */
+   private void ghash(byte[] in, int i) {
+      xh ^= getLong(in, i);
+      xl ^= getLong(in, i + 8);
+      multiply();
+   }
+
+   /** Folds fewer than 16 bytes, padded with zeroes, into the accumulator. */
+   private void ghashPartial(byte[] in, int i, int len) {
+      byte[] block = new byte[16];
+      System.arraycopy(in, i, block, 0, len);
+      ghash(block, 0);
+   }
+
+   /** Multiplies the accumulator by H, four bits at a time. */
+   private void multiply() {
+      long zh, zl;
+      int b, rem;
+      b = (int) xl & 0xFF;
+      zh = hh[b & 0x0F];
+      zl = hl[b & 0x0F];
+      for (int i = 15; i >= 0; i--) {
+         b = (int)(i < 8 ? xh >>> (56 - 8 * i) : xl >>> (120 - 8 * i)) & 0xFF;
+         if (i != 15) {
+            rem = (int) zl & 0x0F;
+            zl = zh << 60 | zl >>> 4;
+            zh = zh >>> 4 ^ LAST4[rem];
+            zh ^= hh[b & 0x0F];
+            zl ^= hl[b & 0x0F];
+         }
+         rem = (int) zl & 0x0F;
+         zl = zh << 60 | zl >>> 4;
+         zh = zh >>> 4 ^ LAST4[rem];
+         zh ^= hh[b >>> 4];
+         zl ^= hl[b >>> 4];
+      }
+      xh = zh;
+      xl = zl;
+   }
+}
@@ -0,0 +1,133 @@
+package gnu.crypto.mode;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+import gnu.crypto.mac.IMac;
+
+/**
+ * <p>The basic visible methods of a block cipher mode that provides both
+ * confidentiality and authenticity in a single pass over the data.</p>
+ *
+ * <p>Such a mode is both an {@link IMode} and an {@link IMac}. An instance is
+ * initialised, with the same attributes as any other mode, for one message:
+ * the {@link IMode#IV} is the <i>nonce</i> of that message and must never be
+ * reused with the same key. The message itself is then processed as
+ * follows:</p>
+ *
+ * <ol>
+ *    <li>The <i>associated data</i>, which is authenticated but not
+ *    encrypted, is fed through the {@link IMac} <code>update()</code> methods,
+ *    in as many pieces, of whatever length, as convenient. Some modes (e.g.
+ *    GCM) require that all of it be supplied before the first message block;
+ *    for portability callers should always do so.</li>
+ *
+ *    <li>The complete blocks of the message are encrypted or decrypted, one
+ *    at a time, with {@link IMode#update(byte[], int, byte[], int)}. The
+ *    output may overwrite the input: when decrypting, the ciphertext is
+ *    authenticated before it is replaced by the plaintext.</li>
+ *
+ *    <li>The remaining, shorter than a block, bytes of the message, if any,
+ *    are processed with {@link #finish(byte[], int, int, byte[], int)}.</li>
+ *
+ *    <li>The <i>tag</i> is obtained with {@link IMac#digest()} when encrypting,
+ *    or checked against the received one with {@link #verify(byte[], int)}
+ *    when decrypting. Either ends the processing of the message; the instance
+ *    must be reset and re-initialised, with a fresh nonce, before it is used
+ *    again.</li>
+ * </ol>
+ *
+ * <p>The plaintext produced while decrypting must not be acted upon before
+ * the tag has been verified.</p>
+ *
+ * @version $Revision$
+ */
+public interface IAuthenticatedMode extends IMode, IMac {
+
+   // Constants
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Property name of the length, in bytes, of the authentication tag. The
+    * value associated with this property name is taken to be an
+    * {@link Integer}. If it is not specified, the tag is as long as the block
+    * size of the underlying cipher.</p>
+    */
+   String TAG_SIZE = "gnu.crypto.mode.authenticated.tag.size";
+
+   // Methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Encrypts or decrypts, depending on the operational state of the
+    * instance, the last bytes of the message; that is those which do not make
+    * up a complete block. This method is called at most once per message,
+    * after the last complete block and before the tag is computed. If it is
+    * not called, the message is taken to end on a block boundary.</p>
+    *
+    * @param in the input bytes.
+    * @param inOffset index of <code>in</code> from which to start considering
+    * data.
+    * @param length the number of bytes to process; from 0 to the block size
+    * minus one.
+    * @param out the output bytes; may be the same array as <code>in</code>.
+    * @param outOffset index of <code>out</code> from which to store result.
+    * @exception IllegalStateException if the instance is not initialised, or
+    * if the message was already finished.
+    */
+   void finish(byte[] in, int inOffset, int length, byte[] out, int outOffset)
+   throws IllegalStateException;
+
+   /**
+    * <p>Completes the computation of the tag and compares it, in constant
+    * time, with a received one.</p>
+    *
+    * @param tag the array containing the received tag.
+    * @param offset index of <code>tag</code> from which the {@link #macSize()}
+    * bytes of the tag start.
+    * @return <code>true</code> if, and only if, the two tags are equal.
+    * @exception IllegalStateException if the instance is not initialised.
+    */
+   boolean verify(byte[] tag, int offset) throws IllegalStateException;
+}
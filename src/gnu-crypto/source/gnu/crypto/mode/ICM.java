@@ -46,8 +46,6 @@ package gnu.crypto.mode;
 import gnu.crypto.Registry;
 import gnu.crypto.cipher.IBlockCipher;
 
-import java.math.BigInteger;
-
 /**
  * <p>An implementation of <i>David McGrew</i> Integer Counter Mode (ICM) as an
  * {@link IMode}.</p>
@@ -98,20 +96,23 @@ public class ICM extends BaseMode implements Cloneable {
    // Constants and variables
    // -------------------------------------------------------------------------
 
-   /** The integer value 256 as a BigInteger. */
-   private static final BigInteger TWO_FIFTY_SIX = new BigInteger("256");
-
-   /** Maximum number of blocks per segment. */
-   private BigInteger maxBlocksPerSegment;
+   /**
+    * Maximum number of blocks per segment, 256<sup><i>block index
+    * length</i></sup>, or <code>Long.MAX_VALUE</code> when that is larger.
+    */
+   private long maxBlocksPerSegment;
 
-   /** A work constant. */
-   private BigInteger counterRange;
+   /**
+    * The next counter, C[0] + blockNdx, modulo 256<sup><i>block
+    * length</i></sup>.
+    */
+   private byte[] C;
 
-   /** The initial counter for a given keystream segment. */
-   private BigInteger C0;
+   /** The encrypted counter blocks of a run of blocks. */
+   private byte[] O;
 
    /** The index of the next block for a given keystream segment. */
-   private BigInteger blockNdx;
+   private long blockNdx;
 
    // Constructor(s)
    // -------------------------------------------------------------------------
@@ -153,69 +154,64 @@ public class ICM extends BaseMode implements Cloneable {
          throw new IllegalArgumentException();
       }
 
-      counterRange = TWO_FIFTY_SIX.pow(cipherBlockSize);
-      maxBlocksPerSegment = TWO_FIFTY_SIX.pow(cipherBlockSize / 2);
-      BigInteger r = new BigInteger(1, iv);
-      C0 = maxBlocksPerSegment.add(r).modPow(BigInteger.ONE, counterRange);
-      blockNdx = BigInteger.ZERO;
+      final int bil = cipherBlockSize / 2; // block index length, in bytes
+      maxBlocksPerSegment = bil < 8 ? 1L << (8 * bil) : Long.MAX_VALUE;
+
+      // C[0] = (256^bil + offset) modulo (256^BLOCK_LENGTH)
+      C = new byte[cipherBlockSize];
+      int n = Math.min(iv.length, cipherBlockSize);
+      System.arraycopy(iv, iv.length - n, C, cipherBlockSize - n, n);
+      for (int k = cipherBlockSize - 1 - bil; k >= 0; k--) {
+         if (++C[k] != 0) {
+            break;
+         }
+      }
+      O = new byte[KEYSTREAM_BLOCKS * cipherBlockSize];
+      blockNdx = 0L;
    }
 
    public void teardown() {
-      counterRange = null;
-      maxBlocksPerSegment = null;
-      C0 = null;
-      blockNdx = null;
+      C = null;
+      O = null;
    }
 
    public void encryptBlock(byte[] in, int i, byte[] out, int o) {
-      icm(in, i, out, o);
+      icm(in, i, out, o, 1);
    }
 
    public void decryptBlock(byte[] in, int i, byte[] out, int o) {
-      icm(in, i, out, o);
+      icm(in, i, out, o, 1);
+   }
+
+   protected void encryptBlocks(byte[] in, int i, byte[] out, int o, int count) {
+      icm(in, i, out, o, count);
+   }
+
+   protected void decryptBlocks(byte[] in, int i, byte[] out, int o, int count) {
+      icm(in, i, out, o, count);
    }
 
    // Instance methods
    // -------------------------------------------------------------------------
 
-   private void icm(byte[] in, int inOffset, byte[] out, int outOffset) {
-      if (blockNdx.compareTo(maxBlocksPerSegment) >= 0)
+   private void
+   icm(byte[] in, int inOffset, byte[] out, int outOffset, int count) {
+      if (count > maxBlocksPerSegment - blockNdx) {
          throw new RuntimeException("Maximum blocks for segment reached");
-
-      // encrypt the counter for the current blockNdx
-      // C[i] = (C[0] + i) modulo (256^BLOCK_LENGTH).
-
-      BigInteger Ci = C0.add(blockNdx).modPow(BigInteger.ONE, counterRange);
-      byte[] result = Ci.toByteArray();
-      int limit = result.length;
-//      if (limit < cipherBlockSize) {
-//         byte[] data = new byte[cipherBlockSize];
-//         System.arraycopy(result, 0, data, cipherBlockSize-limit, limit);
-//         result = data;
-//      } else if (limit > cipherBlockSize) {
-//         byte[] data = new byte[cipherBlockSize];
-//         System.arraycopy(result, limit-cipherBlockSize, data, 0, cipherBlockSize);
-//         result = data;
-//      }
-//
-//      cipher.encryptBlock(result, 0, result, 0);
-//      blockNdx = blockNdx.add(BigInteger.ONE); // increment blockNdx
-//      for (int i = 0; i < modeBlockSize; ) { // xor result with input block
-//         out[outOffset++] = (byte)(in[inOffset++] ^ result[i++]);
-//      }
-      int ndx = 0;
-      if (limit < cipherBlockSize) {
-         byte[] data = new byte[cipherBlockSize];
-         System.arraycopy(result, 0, data, cipherBlockSize-limit, limit);
-         result = data;
-      } else if (limit > cipherBlockSize) {
-         ndx = limit-cipherBlockSize;
       }
 
-      cipher.encryptBlock(result, ndx, result, ndx);
-      blockNdx = blockNdx.add(BigInteger.ONE); // increment blockNdx
-      for (int i = 0; i < modeBlockSize; i++) { // xor result with input block
-         out[outOffset++] = (byte)(in[inOffset++] ^ result[ndx++]);
+      // encrypt the counters C[i] = (C[0] + i) modulo (256^BLOCK_LENGTH) for
+      // a run of blocks, then xor them with the input blocks
+      while (count > 0) {
+         final int n = Math.min(count, KEYSTREAM_BLOCKS);
+         final int length = n * modeBlockSize;
+         counterBlocks(C, O, n);
+         cipherEncryptBlocks(O, 0, O, 0, n);
+         xor(in, inOffset, O, 0, out, outOffset, length);
+         blockNdx += n;
+         inOffset += length;
+         outOffset += length;
+         count -= n;
       }
    }
 }
@@ -43,6 +43,7 @@ package gnu.crypto.mode;
 // do so, delete this exception statement from your version.
 // ----------------------------------------------------------------------------
 
+import gnu.crypto.Properties;
 import gnu.crypto.Registry;
 import gnu.crypto.cipher.CipherFactory;
 import gnu.crypto.cipher.IBlockCipher;
@@ -62,6 +63,12 @@ public class ModeFactory implements Registry {
    // Constants and variables
    // -------------------------------------------------------------------------
 
+   /**
+    * The names of the mode instances that passed their self-test; replaced,
+    * never modified, when a name is added, so that look-ups take no lock.
+    */
+   private static volatile HashSet tested = new HashSet();
+
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -81,7 +88,9 @@ public class ModeFactory implements Registry {
     * @param cipher the case-insensitive name of the block cipher.
     * @param cipherBlockSize the block size, in bytes, of the underlying cipher.
     * @return an instance of the block cipher algorithm, operating in a given
-    * mode of operations, or <code>null</code> if none found.
+    * mode of operations, or <code>null</code> if none found. The
+    * authenticated modes are only available for some block sizes: EAX for 64-
+    * and 128-bit blocks, GCM and OCB for 128-bit blocks.
     * @exception InternalError if either the mode or the underlying block cipher
     * implementation does not pass its self-test.
     */
@@ -130,15 +139,40 @@ public class ModeFactory implements Registry {
          result = new CBC(cipher, cipherBlockSize);
       } else if (mode.equalsIgnoreCase(CFB_MODE)) {
          result = new CFB(cipher, cipherBlockSize);
+      } else if (mode.equalsIgnoreCase(EAX_MODE)) {
+         if (cipherBlockSize == 8 || cipherBlockSize == 16) {
+            result = new EAX(cipher, cipherBlockSize);
+         }
+      } else if (mode.equalsIgnoreCase(GCM_MODE)) {
+         if (cipherBlockSize == 16) {
+            result = new GCM(cipher, cipherBlockSize);
+         }
+      } else if (mode.equalsIgnoreCase(OCB_MODE)) {
+         if (cipherBlockSize == 16) {
+            result = new OCB(cipher, cipherBlockSize);
+         }
       }
 
-      if (result != null && !result.selfTest()) {
-         throw new InternalError(result.name());
+      if (result != null) {
+         final String key = result.name() + "/" + cipherBlockSize;
+         final boolean strict = Properties.isStrictSelfTest();
+         if (strict || !tested.contains(key)) {
+            if (!result.selfTest()) {
+               throw new InternalError(result.name());
+            }
+            addTested(key);
+         }
       }
 
       return result;
    }
 
+   private static synchronized void addTested(String key) {
+      final HashSet set = new HashSet(tested);
+      set.add(key);
+      tested = set;
+   }
+
    /**
     * <p>Returns a {@link java.util.Set} of names of mode supported by this
     * <i>Factory</i>.</p>
@@ -153,6 +187,9 @@ public class ModeFactory implements Registry {
       hs.add(OFB_MODE);
       hs.add(CBC_MODE);
       hs.add(CFB_MODE);
+      hs.add(EAX_MODE);
+      hs.add(GCM_MODE);
+      hs.add(OCB_MODE);
 
       return Collections.unmodifiableSet(hs);
    }
@@ -0,0 +1,349 @@
+package gnu.crypto.mode;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+import gnu.crypto.Registry;
+import gnu.crypto.cipher.IBlockCipher;
+
+/**
+ * <p>The implementation of the Offset Codebook Mode, as specified in RFC
+ * 7253 (OCB3).</p>
+ *
+ * <p>Each block is whitened, before and after the block cipher, with an
+ * offset that only depends on the key, the nonce and the block index; the
+ * blocks are therefore independent of each other. The tag is the encrypted
+ * XOR of the plaintext blocks (the <i>checksum</i>), combined with a similar
+ * sum over the associated data:</p>
+ *
+ * <pre>
+ *    Offset[i] = Offset[i-1] ^ L[ntz(i)]
+ *    C[i]      = Offset[i] ^ E(K)(P[i] ^ Offset[i])
+ *    C*        = P* ^ E(K)(Offset* = Offset[m] ^ L*)
+ *    T         = E(K)(Checksum ^ Offset ^ L$) ^ HASH(K, A)
+ * </pre>
+ *
+ * <p>The offsets are kept as pairs of longs. The nonce is from 1 to 15 bytes
+ * long; the mode is only defined for 128-bit block ciphers.</p>
+ *
+ * <p>References:</p>
+ *
+ * <ol>
+ *    <li><a href="http://www.ietf.org/rfc/rfc7253.txt">The OCB Authenticated-
+ *    Encryption Algorithm</a>, Ted Krovetz and Phillip Rogaway.</li>
+ * </ol>
+ *
+ * @version $Revision$
+ */
+public class OCB extends BaseAuthenticatedMode implements Cloneable {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** The high halves of L[0..63], the successive doublings of L$. */
+   private long[] lh;
+
+   /** The low halves of L[0..63]. */
+   private long[] ll;
+
+   /** L*, the encryption of the zero block. */
+   private long lStarH, lStarL;
+
+   /** L$, the double of L*. */
+   private long lDollarH, lDollarL;
+
+   /** The offset, and the index of the last block, of the message. */
+   private long offsetH, offsetL, msgIndex;
+
+   /** The checksum of the plaintext. */
+   private long checksumH, checksumL;
+
+   /** The offset, and the index of the last block, of the associated data. */
+   private long adOffsetH, adOffsetL, adIndex;
+
+   /** The sum of the associated data. */
+   private long adSumH, adSumL;
+
+   /** Associated data not yet hashed. */
+   private byte[] adBuffer;
+
+   /** The number of bytes in {@link #adBuffer}. */
+   private int adCount;
+
+   /** Scratch for the cipher calls. */
+   private byte[] block;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Trivial package-private constructor for use by the Factory class.</p>
+    *
+    * @param underlyingCipher the underlying cipher implementation.
+    * @param cipherBlockSize the underlying cipher block size to use.
+    */
+   OCB(IBlockCipher underlyingCipher, int cipherBlockSize) {
+      super(Registry.OCB_MODE, underlyingCipher, cipherBlockSize);
+   }
+
+   /**
+    * <p>Private constructor for cloning purposes.</p>
+    *
+    * @param that the instance to clone.
+    */
+   private OCB(OCB that) {
+      this((IBlockCipher) that.cipher.clone(), that.cipherBlockSize);
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   /** Returns the number of trailing zero bits of a non-zero long. */
+   private static int ntz(long x) {
+      int result = 0;
+      while ((x & 1L) == 0L) {
+         x >>>= 1;
+         result++;
+      }
+      return result;
+   }
+
+   // Cloneable interface implementation
+   // -------------------------------------------------------------------------
+
+   public Object clone() {
+      return new OCB(this);
+   }
+
+   // Implementation of abstract methods in BaseMode
+   // -------------------------------------------------------------------------
+
+   public void setup() {
+      if (modeBlockSize != cipherBlockSize || cipherBlockSize != 16) {
+         throw new IllegalArgumentException();
+      }
+      if (iv.length == 0 || iv.length > 15) {
+         throw new IllegalArgumentException(IV);
+      }
+
+      block = new byte[16];
+      cipher.encryptBlock(block, 0, block, 0);
+      lStarH = getLong(block, 0);
+      lStarL = getLong(block, 8);
+      lDollarH = lStarH << 1 | lStarL >>> 63;
+      lDollarL = lStarL << 1 ^ (lStarH >> 63 & 0x87L);
+      lh = new long[64];
+      ll = new long[64];
+      long h = lDollarH, l = lDollarL;
+      for (int i = 0; i < 64; i++) {
+         long carry = h >> 63 & 0x87L;
+         h = h << 1 | l >>> 63;
+         l = l << 1 ^ carry;
+         lh[i] = h;
+         ll[i] = l;
+      }
+
+      // Nonce = num2str(TAGLEN mod 128, 7) || zeros || 1 || N
+      for (int i = 0; i < 16; i++) {
+         block[i] = 0;
+      }
+      block[0] = (byte)((tagSize * 8 % 128) << 1);
+      block[15 - iv.length] |= 1;
+      System.arraycopy(iv, 0, block, 16 - iv.length, iv.length);
+      int bottom = block[15] & 0x3F;
+      block[15] &= (byte) 0xC0;
+      cipher.encryptBlock(block, 0, block, 0);
+      long s0 = getLong(block, 0);
+      long s1 = getLong(block, 8);
+      long s2 = s0 ^ (s0 << 8 | s1 >>> 56); // Ktop[1..64] ^ Ktop[9..72]
+      if (bottom == 0) {
+         offsetH = s0;
+         offsetL = s1;
+      } else {
+         offsetH = s0 << bottom | s1 >>> (64 - bottom);
+         offsetL = s1 << bottom | s2 >>> (64 - bottom);
+      }
+      msgIndex = 0L;
+      checksumH = checksumL = 0L;
+
+      adOffsetH = adOffsetL = adSumH = adSumL = 0L;
+      adIndex = 0L;
+      adBuffer = new byte[16];
+      adCount = 0;
+   }
+
+   public void teardown() {
+      lh = null;
+      ll = null;
+      lStarH = lStarL = lDollarH = lDollarL = 0L;
+      offsetH = offsetL = checksumH = checksumL = 0L;
+      adOffsetH = adOffsetL = adSumH = adSumL = 0L;
+      adBuffer = null;
+      block = null;
+   }
+
+   public void encryptBlock(byte[] in, int i, byte[] out, int o) {
+      int n = ntz(++msgIndex);
+      offsetH ^= lh[n];
+      offsetL ^= ll[n];
+      long ph = getLong(in, i);
+      long pl = getLong(in, i + 8);
+      checksumH ^= ph;
+      checksumL ^= pl;
+      putLong(ph ^ offsetH, block, 0);
+      putLong(pl ^ offsetL, block, 8);
+      cipher.encryptBlock(block, 0, block, 0);
+      putLong(getLong(block, 0) ^ offsetH, out, o);
+      putLong(getLong(block, 8) ^ offsetL, out, o + 8);
+   }
+
+   public void decryptBlock(byte[] in, int i, byte[] out, int o) {
+      int n = ntz(++msgIndex);
+      offsetH ^= lh[n];
+      offsetL ^= ll[n];
+      putLong(getLong(in, i) ^ offsetH, block, 0);
+      putLong(getLong(in, i + 8) ^ offsetL, block, 8);
+      cipher.decryptBlock(block, 0, block, 0);
+      long ph = getLong(block, 0) ^ offsetH;
+      long pl = getLong(block, 8) ^ offsetL;
+      checksumH ^= ph;
+      checksumL ^= pl;
+      putLong(ph, out, o);
+      putLong(pl, out, o + 8);
+   }
+
+   // Implementation of abstract methods in BaseAuthenticatedMode
+   // -------------------------------------------------------------------------
+
+   protected void authenticate(byte[] in, int i, int len) {
+      // a complete block is hashed the same whether or not it is the last one
+      while (len > 0) {
+         int n = Math.min(len, 16 - adCount);
+         System.arraycopy(in, i, adBuffer, adCount, n);
+         adCount += n;
+         i += n;
+         len -= n;
+         if (adCount == 16) {
+            n = ntz(++adIndex);
+            adOffsetH ^= lh[n];
+            adOffsetL ^= ll[n];
+            hashBlock(getLong(adBuffer, 0) ^ adOffsetH,
+                      getLong(adBuffer, 8) ^ adOffsetL);
+            adCount = 0;
+         }
+      }
+   }
+
+   protected void encryptLast(byte[] in, int i, int len, byte[] out, int o) {
+      if (len > 0) {
+         checksumPartial(in, i, len);
+         pad();
+         for (int j = 0; j < len; j++) {
+            out[o + j] = (byte)(in[i + j] ^ block[j]);
+         }
+      }
+   }
+
+   protected void decryptLast(byte[] in, int i, int len, byte[] out, int o) {
+      if (len > 0) {
+         pad();
+         for (int j = 0; j < len; j++) {
+            out[o + j] = (byte)(in[i + j] ^ block[j]);
+         }
+         checksumPartial(out, o, len);
+      }
+   }
+
+   protected byte[] tag() {
+      if (adCount > 0) {
+         adOffsetH ^= lStarH;
+         adOffsetL ^= lStarL;
+         adBuffer[adCount] = (byte) 0x80;
+         for (int j = adCount + 1; j < 16; j++) {
+            adBuffer[j] = 0;
+         }
+         hashBlock(getLong(adBuffer, 0) ^ adOffsetH,
+                   getLong(adBuffer, 8) ^ adOffsetL);
+         adCount = 0;
+      }
+
+      putLong(checksumH ^ offsetH ^ lDollarH, block, 0);
+      putLong(checksumL ^ offsetL ^ lDollarL, block, 8);
+      cipher.encryptBlock(block, 0, block, 0);
+      byte[] result = new byte[16];
+      putLong(getLong(block, 0) ^ adSumH, result, 0);
+      putLong(getLong(block, 8) ^ adSumL, result, 8);
+      return result;
+   }
+
+   // own methods
+   // -------------------------------------------------------------------------
+
+   /** Adds the encryption of a whitened associated data block to the sum. */
+   private void hashBlock(long h, long l) {
+      putLong(h, block, 0);
+      putLong(l, block, 8);
+      cipher.encryptBlock(block, 0, block, 0);
+      adSumH ^= getLong(block, 0);
+      adSumL ^= getLong(block, 8);
+   }
+
+   /** Leaves, in {@link #block}, the pad for the last partial block. */
+   private void pad() {
+      offsetH ^= lStarH;
+      offsetL ^= lStarL;
+      putLong(offsetH, block, 0);
+      putLong(offsetL, block, 8);
+      cipher.encryptBlock(block, 0, block, 0);
+   }
+
+   /** Adds P* || 1 || 0^(127-bitlen(P*)) to the checksum. */
+   private void checksumPartial(byte[] p, int i, int len) {
+      byte[] b = new byte[16];
+      System.arraycopy(p, i, b, 0, len);
+      b[len] = (byte) 0x80;
+      checksumH ^= getLong(b, 0);
+      checksumL ^= getLong(b, 8);
+   }
+}
@@ -128,8 +128,12 @@ public class OFB extends BaseMode implements Cloneable {
    // Constants and variables
    // -------------------------------------------------------------------------
 
+   /** The last output block. */
    private byte[] outputBlock;
 
+   /** The output blocks generated ahead for a run of blocks. */
+   private byte[] O;
+
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -172,19 +176,51 @@ public class OFB extends BaseMode implements Cloneable {
       }
 
       outputBlock = (byte[]) iv.clone();
+      O = new byte[KEYSTREAM_BLOCKS * cipherBlockSize];
    }
 
    public void teardown() {
+      O = null;
    }
 
    public void encryptBlock(byte[] in, int i, byte[] out, int o) {
       cipher.encryptBlock(outputBlock, 0, outputBlock, 0);
-      for (int j = 0; j < cipherBlockSize; ) {
-         out[o++] = (byte)(in[i++] ^ outputBlock[j++]);
-      }
+      xor(in, i, outputBlock, 0, out, o, cipherBlockSize);
    }
 
    public void decryptBlock(byte[] in, int i, byte[] out, int o) {
       this.encryptBlock(in, i, out, o);
    }
+
+   protected void encryptBlocks(byte[] in, int i, byte[] out, int o, int count) {
+      ofb(in, i, out, o, count);
+   }
+
+   protected void decryptBlocks(byte[] in, int i, byte[] out, int o, int count) {
+      ofb(in, i, out, o, count);
+   }
+
+   // own methods -------------------------------------------------------------
+
+   /**
+    * <p>The output blocks depend on each other and are generated one at a
+    * time; but those of a whole run of blocks are generated before any is
+    * XORed with the input, which is then done in one pass.</p>
+    */
+   private void ofb(byte[] in, int i, byte[] out, int o, int count) {
+      while (count > 0) {
+         final int n = Math.min(count, KEYSTREAM_BLOCKS);
+         final int length = n * cipherBlockSize;
+         cipher.encryptBlock(outputBlock, 0, O, 0);
+         for (int j = cipherBlockSize; j < length; j += cipherBlockSize) {
+            cipher.encryptBlock(O, j - cipherBlockSize, O, j);
+         }
+         System.arraycopy(O, length - cipherBlockSize, outputBlock, 0,
+                          cipherBlockSize);
+         xor(in, i, O, 0, out, o, length);
+         i += length;
+         o += length;
+         count -= n;
+      }
+   }
 }
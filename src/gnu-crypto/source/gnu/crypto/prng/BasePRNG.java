@@ -124,8 +124,16 @@ public abstract class BasePRNG implements IRandom {
       }
 
       int limit = ((offset+length) > out.length ? out.length-offset : length);
-      for (int i = 0; i < limit; i++) {
-         out[offset++] = nextByteInternal();
+      while (limit > 0) { // copy whole runs of the current block
+         if (ndx >= buffer.length) {
+            this.fillBlock();
+            ndx = 0;
+         }
+         int n = Math.min(limit, buffer.length - ndx);
+         System.arraycopy(buffer, ndx, out, offset, n);
+         ndx += n;
+         offset += n;
+         limit -= n;
       }
    }
 
@@ -84,8 +84,22 @@ public class SaslInputStream extends InputStream {
    private SaslServer server;
    private int maxRawSendSize;
    private InputStream source;
+
+   /** The decoded contents of the current SASL buffer. */
    private byte[] internalBuf;
 
+   /** Index of the next byte to return from <code>internalBuf</code>. */
+   private int pos;
+
+   /** Index after the last valid byte in <code>internalBuf</code>. */
+   private int limit;
+
+   /** Reusable buffer for the length header of the incoming SASL buffers. */
+   private final byte[] header = new byte[4];
+
+   /** Reusable buffer for the raw, wrapped, incoming SASL buffers. */
+   private byte[] raw = new byte[0];
+
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -118,7 +132,7 @@ public class SaslInputStream extends InputStream {
    // Overloaded java.io.InputStream methods ----------------------------------
 
    public int available() throws IOException {
-      return (internalBuf == null) ? 0 : internalBuf.length;
+      return limit - pos;
    }
 
    public void close() throws IOException {
@@ -148,24 +162,18 @@ public class SaslInputStream extends InputStream {
     * @throws IOException if an I/O error occurs.
     */
    public int read() throws IOException {
-      int result = -1;
-      if (internalBuf != null && internalBuf.length > 0) {
-         result = internalBuf[0] & 0xFF;
-         if (internalBuf.length == 1)
-            internalBuf = new byte[0];
-         else {
-            byte[] tmp = new byte[internalBuf.length - 1];
-//            System.arraycopy(internalBuf, 0, tmp, 0, tmp.length);
-            System.arraycopy(internalBuf, 1, tmp, 0, tmp.length);
-            internalBuf = tmp;
+      while (pos >= limit) { // skip over empty SASL buffers
+         try {
+            if (!readSaslBuffer()) {
+               return -1;
+            }
+         } catch (InterruptedIOException x) {
+            if (DEBUG && debuglevel > 6) debug(TRACE, x);
+            return -1;
          }
-      } else {
-         byte[] buf = new byte[1];
-         int check = read(buf);
-         result = (check > 0) ? (buf[0] & 0xFF) : -1;
       }
 
-      return result;
+      return internalBuf[pos++] & 0xFF;
    }
 
    /**
@@ -246,10 +254,9 @@ public class SaslInputStream extends InputStream {
       if (DEBUG && debuglevel > 6) debug(TRACE, "Available: "+String.valueOf(available()));
 
       int result = 0;
-      if (internalBuf == null || internalBuf.length < 1)
+      if (pos >= limit)
          try {
-            internalBuf = readSaslBuffer();
-            if (internalBuf == null) {
+            if (!readSaslBuffer()) {
                if (DEBUG && debuglevel > 4) debug(WARN, "Underlying stream empty. Returning -1");
                if (DEBUG && debuglevel > 8) debug(TRACE, "<== read() --> -1");
                return -1;
@@ -261,62 +268,32 @@ public class SaslInputStream extends InputStream {
             return -1;
          }
 
-      if (len <= internalBuf.length) {
-         result = len;
-         System.arraycopy(internalBuf, 0, b, off, len);
-         if (len == internalBuf.length)
-            internalBuf = null;
-         else {
-            byte[] tmp = new byte[internalBuf.length - len];
-            System.arraycopy(internalBuf, len, tmp, 0, tmp.length);
-            internalBuf = tmp;
+      int delta; // count of bytes moved to b after an iteration
+      while (true) {
+         // copy [part of] the current buffer to b
+         delta = Math.min(len, limit - pos);
+         System.arraycopy(internalBuf, pos, b, off, delta);
+         pos += delta;
+         off += delta;
+         result += delta;
+         len -= delta;
+
+         // we need to read SASL buffers, as long as there are at least
+         // 4 bytes available at the source
+         if (len == 0) {
+            break;
+         }
+         if (source.available() < 4) { // nothing much we can do except return what we have
+            if (DEBUG && debuglevel > 4) debug(WARN, "Not enough bytes in source to read a buffer. Breaking...");
+            break;
+         }
+         if (!readSaslBuffer()) {
+            if (DEBUG && debuglevel > 4) debug(WARN, "Underlying stream exhausted. Breaking...");
+            break;
          }
-      } else {
-         // first copy the available bytes to b
-         result = internalBuf.length;
-         System.arraycopy(internalBuf, 0, b, off, result);
-         internalBuf = null;
-
-         off += result;
-         len -= result;
-
-         int remaining; // count of bytes remaining in buffer after an iteration
-         int delta; // count of bytes moved to b after an iteration
-         int datalen;
-         byte[] data;
-         while (len > 0)
-            // we need to read SASL buffers, as long as there are at least
-            // 4 bytes available at the source
-            if (source.available() > 3) {
-               // process a buffer
-               data = readSaslBuffer();
-               if (data == null) {
-                  if (DEBUG && debuglevel > 4) debug(WARN, "Underlying stream exhausted. Breaking...");
-                  break;
-               }
-
-               datalen = data.length;
-
-               // copy [part of] the result to b
-               remaining = (datalen <= len) ? 0 : datalen - len;
-               delta = datalen - remaining;
-               System.arraycopy(data, 0, b, off, delta);
-               if (remaining > 0) {
-                  internalBuf = new byte[remaining];
-                  System.arraycopy(data, delta, internalBuf, 0, remaining);
-               }
-
-               // update off, result and len
-               off += delta;
-               result += delta;
-               len -= delta;
-            } else { // nothing much we can do except return what we have
-               if (DEBUG && debuglevel > 4) debug(WARN, "Not enough bytes in source to read a buffer. Breaking...");
-               break;
-            }
       }
 
-      if (DEBUG && debuglevel > 6) debug(TRACE, "Remaining: "+(internalBuf == null ? 0 : internalBuf.length));
+      if (DEBUG && debuglevel > 6) debug(TRACE, "Remaining: "+String.valueOf(available()));
       if (DEBUG && debuglevel > 8) debug(TRACE, "<== read() --> "+String.valueOf(result));
       return result;
    }
@@ -324,23 +301,22 @@ public class SaslInputStream extends InputStream {
    // other nstance methods ---------------------------------------------------
 
    /**
-    * Reads a SASL buffer from the underlying source if at least 4 bytes are
-    * available.
+    * Reads a SASL buffer from the underlying source, and makes its decoded
+    * contents the current buffer of this stream.
     *
-    * @return the byte[] of decoded buffer contents, or null if the underlying
-    * source was exhausted.
+    * @return <code>true</code> if a buffer was read, or <code>false</code> if
+    * the underlying source was exhausted.
     * @throws IOException if an I/O exception occurs during the operation.
     */
-   private byte[] readSaslBuffer() throws IOException {
+   private boolean readSaslBuffer() throws IOException {
       if (DEBUG && debuglevel > 8) debug(TRACE, "==> readSaslBuffer()");
 
       int realLength; // check if we read as many bytes as we're supposed to
-      byte[] result = new byte[4];
       try {
-         realLength = source.read(result);
+         realLength = readFully(header, 4);
          if (realLength == -1) {
-            if (DEBUG && debuglevel > 8) debug(TRACE, "<== readSaslBuffer() --> null");
-            return null;
+            if (DEBUG && debuglevel > 8) debug(TRACE, "<== readSaslBuffer() --> false");
+            return false;
          }
       } catch (IOException x) {
          if (DEBUG && debuglevel > 0) debug(ERROR, x);
@@ -350,19 +326,21 @@ public class SaslInputStream extends InputStream {
       if (realLength != 4) {
          throw new IOException("Was expecting 4 but found "+String.valueOf(realLength));
       }
-      int bufferLength = result[0]         << 24 |
-                        (result[1] & 0xFF) << 16 |
-                        (result[2] & 0xFF) <<  8 |
-                        (result[3] & 0xFF);
+      int bufferLength = header[0]         << 24 |
+                        (header[1] & 0xFF) << 16 |
+                        (header[2] & 0xFF) <<  8 |
+                        (header[3] & 0xFF);
 
       if (DEBUG && debuglevel > 6) debug(TRACE, "SASL buffer size: "+bufferLength);
       if (bufferLength > maxRawSendSize || bufferLength < 0) {
          throw new SaslEncodingException("SASL buffer (security layer) too long");
       }
 
-      result = new byte[bufferLength];
+      if (raw.length < bufferLength) {
+         raw = new byte[bufferLength];
+      }
       try {
-         realLength = source.read(result);
+         realLength = readFully(raw, bufferLength);
       } catch (IOException x) {
          if (DEBUG && debuglevel > 0) debug(ERROR, x);
          throw x;
@@ -371,17 +349,39 @@ public class SaslInputStream extends InputStream {
       if (realLength != bufferLength)
          throw new IOException("Was expecting "+String.valueOf(bufferLength)
                +" but found "+String.valueOf(realLength));
-      if (DEBUG && debuglevel > 6) debug(TRACE, "Incoming buffer (before security) (hex): "+Util.dumpString(result));
-      if (DEBUG && debuglevel > 6) debug(TRACE, "Incoming buffer (before security) (str): \""+new String(result)+"\"");
+      if (DEBUG && debuglevel > 6) debug(TRACE, "Incoming buffer (before security) (hex): "+Util.dumpString(raw, 0, bufferLength));
+      if (DEBUG && debuglevel > 6) debug(TRACE, "Incoming buffer (before security) (str): \""+new String(raw, 0, bufferLength)+"\"");
 
       if (client != null) {
-         result = client.unwrap(result, 0, realLength);
+         internalBuf = client.unwrap(raw, 0, bufferLength);
       } else {
-         result = server.unwrap(result, 0, realLength);
+         internalBuf = server.unwrap(raw, 0, bufferLength);
       }
-      if (DEBUG && debuglevel > 6) debug(TRACE, "Incoming buffer (after security) (hex): "+Util.dumpString(result));
-      if (DEBUG && debuglevel > 6) debug(TRACE, "Incoming buffer (after security) (str): \""+new String(result)+"\"");
+      pos = 0;
+      limit = internalBuf.length;
+      if (DEBUG && debuglevel > 6) debug(TRACE, "Incoming buffer (after security) (hex): "+Util.dumpString(internalBuf));
+      if (DEBUG && debuglevel > 6) debug(TRACE, "Incoming buffer (after security) (str): \""+new String(internalBuf)+"\"");
       if (DEBUG && debuglevel > 8) debug(TRACE, "<== readSaslBuffer()");
+      return true;
+   }
+
+   /**
+    * Reads <code>len</code> bytes from the underlying source into the start of
+    * <code>buf</code>, unless the source is exhausted first.
+    *
+    * @return the number of bytes read, or <code>-1</code> if the source was
+    * already exhausted.
+    * @throws IOException if an I/O exception occurs during the operation.
+    */
+   private int readFully(byte[] buf, int len) throws IOException {
+      int result = 0;
+      while (result < len) {
+         int n = source.read(buf, result, len - result);
+         if (n == -1) {
+            return (result == 0) ? -1 : result;
+         }
+         result += n;
+      }
       return result;
    }
 }
@@ -84,6 +84,12 @@ public class SaslOutputStream extends OutputStream {
    private int maxRawSendSize;
 	private OutputStream dest;
 
+   /** Reusable buffer where each SASL buffer is framed before being sent. */
+   private byte[] frame = new byte[0];
+
+   /** Reusable buffer for {@link #write(int)}. */
+   private final byte[] oneByte = new byte[1];
+
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -129,7 +135,8 @@ public class SaslOutputStream extends OutputStream {
     * RFC 2222, and then written to the underlying <i>dest</i> output stream.
     */
    public void write(int b) throws IOException {
-      write(new byte[] { (byte) b });
+      oneByte[0] = (byte) b;
+      write(oneByte, 0, 1);
    }
 
    /**
@@ -156,7 +163,7 @@ public class SaslOutputStream extends OutputStream {
       if (DEBUG && debuglevel > 8) debug(TRACE, "==> write()");
 
       int chunckSize, length, chunck = 1;
-      byte[] output = null, result;
+      byte[] output = null;
       if (DEBUG && debuglevel > 6) debug(TRACE, "About to wrap "+String.valueOf(len)+" byte(s)...");
       while (len > 0) {
          chunckSize = (len > maxRawSendSize ? maxRawSendSize : len);
@@ -172,15 +179,18 @@ public class SaslOutputStream extends OutputStream {
          if (DEBUG && debuglevel > 6) debug(TRACE, "Outgoing buffer (after security) (hex): "+Util.dumpString(output));
          if (DEBUG && debuglevel > 6) debug(TRACE, "Outgoing buffer (after security) (str): \""+new String(output)+"\"");
 
+         // gather the length header and the payload into one write
          length = output.length;
-         result = new byte[length+4];
-         result[0] = (byte)(length >>> 24);
-         result[1] = (byte)(length >>> 16);
-         result[2] = (byte)(length >>>  8);
-         result[3] = (byte) length;
-         System.arraycopy(output, 0, result, 4, length);
-
-         dest.write(result);
+         if (frame.length < length + 4) {
+            frame = new byte[length + 4];
+         }
+         frame[0] = (byte)(length >>> 24);
+         frame[1] = (byte)(length >>> 16);
+         frame[2] = (byte)(length >>>  8);
+         frame[3] = (byte) length;
+         System.arraycopy(output, 0, frame, 4, length);
+
+         dest.write(frame, 0, length + 4);
 
          off += chunckSize;
          len -= chunckSize;
@@ -44,20 +44,14 @@ package gnu.crypto.sasl.srp;
 // ----------------------------------------------------------------------------
 
 import gnu.crypto.Registry;
-import gnu.crypto.assembly.Assembly;
-import gnu.crypto.assembly.Cascade;
 import gnu.crypto.assembly.Direction;
-import gnu.crypto.assembly.Stage;
-import gnu.crypto.assembly.Transformer;
-import gnu.crypto.assembly.TransformerException;
 import gnu.crypto.cipher.CipherFactory;
 import gnu.crypto.cipher.IBlockCipher;
 import gnu.crypto.mode.IMode;
 import gnu.crypto.mode.ModeFactory;
-import gnu.crypto.pad.IPad;
-import gnu.crypto.pad.PadFactory;
 import gnu.crypto.sasl.ConfidentialityException;
 
+import java.security.InvalidKeyException;
 import java.util.HashMap;
 
 import javax.security.sasl.SaslException;
@@ -105,6 +99,9 @@ import javax.security.sasl.SaslException;
  * if and only if <code>k &lt; 256</code> octets, which is the case with
  * symmetric key block ciphers today, and in the forseeable future.</p>
  *
+ * <p>The OFB keystream runs on from one SASL buffer to the next; it is only
+ * started from the IV when the instance is initialised.</p>
+ *
  * @version $Revision: 1.4 $
  */
 public final class CALG {
@@ -112,23 +109,23 @@ public final class CALG {
 	// Constants and variables
 	// --------------------------------------------------------------------------
 
-   private Assembly assembly;
-   private Object modeNdx; // initialisation key of the cascade's attributes
+   private IMode mode; // the underlying cipher in OFB mode
    private int blockSize; // the underlying cipher's blocksize == IV length
    private int keySize; // the underlying cipher's key size (in bytes).
+   private boolean encrypt; // true if padding, false if unpadding
+   private byte[] block; // scratch for the last, padded, block
 
 	// Constructor(s)
 	// --------------------------------------------------------------------------
 
 	/** Private constructor to enforce instantiation through Factory method. */
-	private CALG(final int blockSize, final int keySize, final Object modeNdx,
-                final Assembly assembly) {
+	private CALG(final int blockSize, final int keySize, final IMode mode) {
 		super();
 
       this.blockSize = blockSize;
       this.keySize = keySize;
-      this.modeNdx = modeNdx;
-		this.assembly = assembly;
+		this.mode = mode;
+      this.block = new byte[blockSize];
 	}
 
 	// Class methods
@@ -140,47 +137,12 @@ public final class CALG {
     * @param algorithm the name of the symmetric cipher algorithm.
     * @return an instance of this object.
     */
-   static synchronized CALG getInstance(final String algorithm) {
+   static CALG getInstance(final String algorithm) {
       final IBlockCipher cipher = CipherFactory.getInstance(algorithm);
       final int blockSize = cipher.defaultBlockSize();
       final int keySize = cipher.defaultKeySize();
-      final Cascade ofbCipher = new Cascade();
-      final Object modeNdx = ofbCipher.append(
-            Stage.getInstance(
-                  ModeFactory.getInstance(Registry.OFB_MODE, cipher, blockSize),
-                  Direction.FORWARD));
-      final IPad pkcs7 = PadFactory.getInstance(Registry.PKCS7_PAD);
-      // the passed IV may be longer that what we need. ensure correct length
-//      byte[] realIV = null;
-//      if (iv.length == blockSize) {
-//         realIV = iv;
-//      } else {
-//         realIV = new byte[blockSize];
-//         if (iv.length > blockSize) {
-//            System.arraycopy(iv, 0, realIV, 0, blockSize);
-//         } else { // shouldnt happen
-//            System.arraycopy(iv, 0, realIV, 0, iv.length);
-//         }
-//      }
-
-//      HashMap modeAttributes = new HashMap();
-//      modeAttributes.put(IBlockCipher.KEY_MATERIAL, K.clone());
-//      modeAttributes.put(IMode.IV, realIV);
-
-      final Assembly asm = new Assembly();
-      asm.addPreTransformer(Transformer.getCascadeTransformer(ofbCipher));
-      asm.addPreTransformer(Transformer.getPaddingTransformer(pkcs7));
-
-//      HashMap attributes = new HashMap();
-//      attributes.put(Assembly.DIRECTION, dir);
-//      attributes.put(modeNdx, modeAttributes);
-//      try {
-//         asm.init(attributes);
-//      } catch (TransformerException x) {
-//         throw new SaslException("getInstance()", x);
-//      }
-
-      return new CALG(blockSize, keySize, modeNdx, asm);
+      final IMode ofb = ModeFactory.getInstance(Registry.OFB_MODE, cipher, blockSize);
+      return new CALG(blockSize, keySize, ofb);
    }
 
 	// Instance methods
@@ -193,17 +155,8 @@ public final class CALG {
     * @param iv the initial vector value to use.
     * @param dir whether this CALG is used for encryption or decryption.
     */
-//   public void init(byte[] K, byte[] iv, Direction dir) throws SaslException {
    public void init(final KDF kdf, final byte[] iv, final Direction dir)
    throws SaslException {
-//      IBlockCipher cipher = CipherFactory.getInstance(algorithm);
-//      int blockSize = cipher.defaultBlockSize();
-//      Cascade ofbCipher = new Cascade();
-//      Object modeNdx = ofbCipher.append(
-//            Stage.getInstace(
-//                  ModeFactory.getInstance(Registry.OFB_MODE, cipher, blockSize),
-//                  Direction.FORWARD));
-//      IPad pkcs7 = PadFactory.getInstance(Registry.PKCS7_PAD);
       // the passed IV may be longer that what we need. ensure correct length
       final byte[] realIV;
       if (iv.length == blockSize) {
@@ -218,27 +171,18 @@ public final class CALG {
       }
 
       final HashMap modeAttributes = new HashMap();
-//      modeAttributes.put(IBlockCipher.KEY_MATERIAL, K.clone());
       final byte[] sk = kdf.derive(keySize);
       modeAttributes.put(IBlockCipher.KEY_MATERIAL, sk);
-//System.out.println("**** Initialised CALG with: "+gnu.crypto.util.Util.dumpString(sk));
       modeAttributes.put(IMode.IV, realIV);
-
-//      Assembly asm = new Assembly();
-//      asm.addPreTransformer(Transformer.getCascadeTransformer(ofbCipher));
-//      asm.addPreTransformer(Transformer.getPaddingTransformer(pkcs7));
-
-      final HashMap attributes = new HashMap();
-      attributes.put(Assembly.DIRECTION, dir);
-      attributes.put(modeNdx, modeAttributes);
+      // OFB is its own inverse: the cipher always runs forward
+      modeAttributes.put(IMode.STATE, new Integer(IMode.ENCRYPTION));
       try {
-//         asm.init(attributes);
-         assembly.init(attributes);
-      } catch (TransformerException x) {
+         mode.reset();
+         mode.init(modeAttributes);
+      } catch (InvalidKeyException x) {
          throw new SaslException("getInstance()", x);
       }
-
-//      return new CALG(asm);
+      encrypt = (dir == Direction.FORWARD);
    }
 
 	/**
@@ -265,12 +209,79 @@ public final class CALG {
 	 */
 	public byte[] doFinal(final byte[] data, final int offset, final int length)
    throws ConfidentialityException {
-      final byte[] result;
-      try {
-         result = assembly.lastUpdate(data, offset, length);
-      } catch (TransformerException x) {
-         throw new ConfidentialityException("doFinal()", x);
+      final byte[] out = new byte[encrypt ? outputLength(length) : length];
+      final int count = doFinal(data, offset, length, out, 0);
+      if (count == out.length) {
+         return out;
       }
+      final byte[] result = new byte[count];
+      System.arraycopy(out, 0, result, 0, count);
 		return result;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * <p>Encrypts or decrypts, depending on the mode already set, a designated
+	 * array of bytes into another, or the same, array.</p>
+	 *
+	 * <p>When encrypting, <code>out</code> must have room for {@link
+	 * #outputLength(int)} bytes; when decrypting, for <code>length</code>
+	 * bytes. <code>out</code> may be <code>data</code>, provided that
+	 * <code>outOffset</code> is then <code>offset</code>.</p>
+	 *
+	 * @param data the data to encrypt/decrypt.
+    * @param offset where to start in <code>data</code>.
+    * @param length how many bytes to consider in <code>data</code>.
+    * @param out where to store the result.
+    * @param outOffset where to start in <code>out</code>.
+	 * @return the number of bytes stored in <code>out</code>.
+	 * @throws ConfidentialityException if an exception occurs duirng the process.
+	 */
+	public int doFinal(final byte[] data, int offset, final int length,
+                      final byte[] out, int outOffset)
+   throws ConfidentialityException {
+      if (encrypt) {
+         final int limit = offset + length - (length % blockSize);
+         while (offset < limit) {
+            mode.update(data, offset, out, outOffset);
+            offset += blockSize;
+            outOffset += blockSize;
+         }
+         // pad the trailing bytes, possibly none, to a whole block
+         final int tail = length % blockSize;
+         System.arraycopy(data, offset, block, 0, tail);
+         for (int i = tail; i < blockSize; i++) {
+            block[i] = (byte)(blockSize - tail);
+         }
+         mode.update(block, 0, out, outOffset);
+         return length - tail + blockSize;
+      }
+
+      if (length == 0 || length % blockSize != 0) {
+         throw new ConfidentialityException("doFinal()");
+      }
+      for (int i = 0; i < length; i += blockSize) {
+         mode.update(data, offset + i, out, outOffset + i);
+      }
+      final int padding = out[outOffset + length - 1] & 0xFF;
+      if (padding < 1 || padding > blockSize) {
+         throw new ConfidentialityException("doFinal()");
+      }
+      for (int i = outOffset + length - padding; i < outOffset + length; i++) {
+         if ((out[i] & 0xFF) != padding) {
+            throw new ConfidentialityException("doFinal()");
+         }
+      }
+      return length - padding;
+	}
+
+   /**
+    * <p>Returns the length of the encryption of a designated number of bytes;
+    * i.e. that number padded to the next multiple of the block size.</p>
+    *
+    * @param length a number of plaintext bytes.
+    * @return the number of bytes they encrypt to.
+    */
+   public int outputLength(final int length) {
+      return length - (length % blockSize) + blockSize;
+   }
+}
@@ -43,11 +43,12 @@ package gnu.crypto.sasl.srp;
 // do so, delete this exception statement from your version.
 // ----------------------------------------------------------------------------
 
-import java.util.HashMap;
-
 /**
  * <p>The client-side implementation of the SRP security context store.</p>
  *
+ * <p>Sessions are held in a {@link SessionCache}, which bounds their number
+ * and expires them in the background once their Time-To-Live elapses.</p>
+ *
  * @version $Revision: 1.3 $
  */
 public class ClientStore {
@@ -56,16 +57,11 @@ public class ClientStore {
    // -------------------------------------------------------------------------
 
    /** The underlying singleton. */
-   private static ClientStore singleton = null;
+   private static final ClientStore singleton = new ClientStore();
 
    /** The map of uid --> SASL Security Context record. */
-   private static final HashMap uid2ssc = new HashMap();
-
-   /** The map of sid --> Session timing record. */
-   private static final HashMap uid2ttl = new HashMap();
-
-   /** A synchronisation lock. */
-   private static final Object lock = new Object();
+   private static final SessionCache uid2ssc =
+         new SessionCache(SessionCache.DEFAULT_MAXIMUM_SIZE);
 
    // Constructor(s)
    // -------------------------------------------------------------------------
@@ -73,8 +69,6 @@ public class ClientStore {
    /** Private constructor to enforce Singleton pattern. */
    private ClientStore() {
       super();
-
-      // TODO: add a cleaning timer thread
    }
 
    // Class methods
@@ -85,13 +79,45 @@ public class ClientStore {
     *
     * @return the classloader Singleton instance.
     */
-   static synchronized final ClientStore instance() {
-      if (singleton == null) {
-         singleton = new ClientStore();
-      }
+   static final ClientStore instance() {
       return singleton;
    }
 
+   /**
+    * <p>Sets the maximum number of sessions kept; the least recently used
+    * ones are discarded when more are cached.</p>
+    *
+    * @param n the maximum number of sessions kept.
+    */
+   public static void setMaximumSize(final int n) {
+      uid2ssc.setMaximumSize(n);
+   }
+
+   /** @return the number of sessions currently cached. */
+   public static int getSize() {
+      return uid2ssc.size();
+   }
+
+   /** @return the number of session look-ups that found a live session. */
+   public static long getHitCount() {
+      return uid2ssc.getHitCount();
+   }
+
+   /** @return the number of session look-ups that found no live session. */
+   public static long getMissCount() {
+      return uid2ssc.getMissCount();
+   }
+
+   /** @return the number of sessions discarded to honour the maximum size. */
+   public static long getEvictionCount() {
+      return uid2ssc.getEvictionCount();
+   }
+
+   /** @return the number of sessions discarded because they expired. */
+   public static long getExpirationCount() {
+      return uid2ssc.getExpirationCount();
+   }
+
    // Instance methods
    // -------------------------------------------------------------------------
 
@@ -104,19 +130,7 @@ public class ClientStore {
     * alive. <code>false</code> otherwise.
     */
    boolean isAlive(final String uid) {
-      final boolean result;
-      synchronized(lock) {
-         final Object obj = uid2ssc.get(uid);
-         result = (obj != null);
-         if (result) { // is it still alive?
-            final StoreEntry sto = (StoreEntry) uid2ttl.get(uid);
-            if (!sto.isAlive()) { // invalidate it
-               uid2ssc.remove(uid);
-               uid2ttl.remove(uid);
-            }
-         }
-      }
-      return result;
+      return uid2ssc.isAlive(uid);
    }
 
    /**
@@ -129,10 +143,7 @@ public class ClientStore {
     * @param ctx the client's security context.
     */
    void cacheSession(final String uid, final int ttl, final SecurityContext ctx) {
-      synchronized(lock) {
-         uid2ssc.put(uid, ctx);
-         uid2ttl.put(uid, new StoreEntry(ttl));
-      }
+      uid2ssc.put(uid, ttl, ctx);
    }
 
    /**
@@ -142,10 +153,7 @@ public class ClientStore {
     * @param uid the identifier of the client whose session is to invalidate.
     */
    void invalidateSession(final String uid) {
-      synchronized(lock) {
-         uid2ssc.remove(uid);
-         uid2ttl.remove(uid);
-      }
+      uid2ssc.remove(uid);
    }
 
    /**
@@ -153,14 +161,10 @@ public class ClientStore {
     * unique identifier.</p>
     *
     * @param uid the identifier of the client whose session is to restore.
-    * @return the SRP client's security context.
+    * @return the SRP client's security context, or <code>null</code> if the
+    * designated client's session is not alive.
     */
    SecurityContext restoreSession(final String uid) {
-      final SecurityContext result;
-      synchronized(lock) {
-         result = (SecurityContext) uid2ssc.remove(uid);
-         uid2ttl.remove(uid);
-      }
-      return result;
+      return (SecurityContext) uid2ssc.remove(uid);
    }
 }
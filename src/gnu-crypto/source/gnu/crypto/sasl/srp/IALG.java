@@ -64,6 +64,7 @@ public final class IALG implements Cloneable {
 	// --------------------------------------------------------------------------
 
    private IMac hmac;
+   private final byte[] counter = new byte[4]; // scratch for sequence numbers
 
 	// Constructor(s)
 	// --------------------------------------------------------------------------
@@ -84,7 +85,7 @@ public final class IALG implements Cloneable {
     * @param algorithm the name of the HMAC algorithm.
     * @return an instance of this object.
     */
-   static synchronized IALG getInstance(final String algorithm)
+   static IALG getInstance(final String algorithm)
    throws SaslException {
 	   final IMac hmac;
       hmac = MacFactory.getInstance(algorithm);
@@ -135,10 +136,54 @@ public final class IALG implements Cloneable {
       hmac.update(data, offset, length);
    }
 
+   /**
+    * <p>Feeds a sequence number, as 4 octets in network byte order, to this
+    * SASL SRP Integrity Algorithm.</p>
+    *
+    * @param sequence the sequence number of the current buffer.
+    */
+   public void updateCounter(final int sequence) {
+      counter[0] = (byte)(sequence >>> 24);
+      counter[1] = (byte)(sequence >>> 16);
+      counter[2] = (byte)(sequence >>>  8);
+      counter[3] = (byte) sequence;
+      hmac.update(counter, 0, 4);
+   }
+
 	public byte[] doFinal() {
 		return hmac.digest();
 	}
 
+   /**
+    * <p>Completes the computation and stores the resulting MAC in a designated
+    * array.</p>
+    *
+    * @param out where to store the {@link #length()} bytes of the MAC.
+    * @param offset where to start in <code>out</code>.
+    */
+   public void doFinal(final byte[] out, final int offset) {
+      final byte[] mac = hmac.digest();
+      System.arraycopy(mac, 0, out, offset, mac.length);
+   }
+
+   /**
+    * <p>Completes the computation and compares, in constant time, the
+    * resulting MAC with one in a designated array.</p>
+    *
+    * @param in the array containing the MAC to verify.
+    * @param offset where the {@link #length()} bytes of the MAC start in
+    * <code>in</code>.
+    * @return <code>true</code> if the two MACs are equal.
+    */
+   public boolean verify(final byte[] in, final int offset) {
+      final byte[] mac = hmac.digest();
+      int diff = 0;
+      for (int i = 0; i < mac.length; i++) {
+         diff |= mac[i] ^ in[offset + i];
+      }
+      return diff == 0;
+   }
+
    /**
     * <p>Returns the length (in bytes) of this SASL SRP Integrity Algorithm.</p>
     *
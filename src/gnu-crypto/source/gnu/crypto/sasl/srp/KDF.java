@@ -64,7 +64,6 @@ public class KDF {
 
    private static final int AES_BLOCK_SIZE = 16; // default block size for the AES
    private static final int AES_KEY_SIZE = 16; // default key size for the AES
-   private static final byte[] buffer = new byte[1];
 
    /** The shared secret K to use. */
 //   private byte[] keyMaterial;
@@ -126,7 +125,9 @@ public class KDF {
       return new KDF(keyMaterial, ndx);
    }
 
-   private static synchronized final int nextByte() {
+   /** Draws one byte from the shared PRNG, which does its own locking. */
+   private static final int nextByte() {
+      final byte[] buffer = new byte[1];
       PRNG.nextBytes(buffer);
       return (buffer[0] & 0xFF);
    }
@@ -138,10 +139,13 @@ public class KDF {
     * <p>Returns a designated number of bytes suitable for use in the SASL SRP
     * mechanism.</p>
     *
+    * <p>Instances are confined to the mechanism, hence the thread, which
+    * created them, and are not synchronized.</p>
+    *
     * @param length the number of bytes needed.
     * @return a byte array containing the generated/selected bytes.
     */
-   public synchronized byte[] derive(final int length) {
+   public byte[] derive(final int length) {
       final byte[] result = new byte[length];
 //      if (keyMaterial == null || length > keyMaterial.length) {
       try {
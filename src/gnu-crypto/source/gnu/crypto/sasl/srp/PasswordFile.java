@@ -44,12 +44,13 @@ package gnu.crypto.sasl.srp;
 // ----------------------------------------------------------------------------
 
 import gnu.crypto.Registry;
-import gnu.crypto.hash.IMessageDigest;
 import gnu.crypto.key.srp6.SRPAlgorithm;
 import gnu.crypto.sasl.NoSuchUserException;
 import gnu.crypto.sasl.UserAlreadyExistsException;
+import gnu.crypto.util.Batch;
 import gnu.crypto.util.Util;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
@@ -60,11 +61,14 @@ import java.io.InputStreamReader;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
+import java.lang.ref.WeakReference;
 import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.StringTokenizer;
+import java.util.Timer;
+import java.util.TimerTask;
 
 /**
  * <p>The implementation of SRP password files.</p>
@@ -99,6 +103,15 @@ import java.util.StringTokenizer;
  *    <li>6: SHA-512.</li>
  * </ul></p>
  *
+ * <p>The contents of the password files are held in an immutable snapshot
+ * which is replaced, never modified, whenever a user is added or changed, so
+ * that look-ups take no lock and do not touch the file system. Changes made
+ * to the files by other processes are detected by a background timer, which
+ * checks the files once every {@link #CHECK_INTERVAL} milliseconds. Adding a
+ * user, or changing a password, appends a new line to each password file; a
+ * later line for a user supersedes the earlier ones. The files are rewritten
+ * in full only when more than half of their lines are stale.</p>
+ *
  * <p><b>IMPORTANT:</b> This method computes the verifiers as described in
  * RFC-2945, which differs from the description given on the web page for
  * SRP-6.</p>
@@ -116,11 +129,20 @@ public class PasswordFile {
    // Constants and variables
    // -------------------------------------------------------------------------
 
-   // names of property keys used in this class
-   private static final String USER_FIELD =      "user";
-   private static final String VERIFIERS_FIELD = "verifier";
-   private static final String SALT_FIELD =      "salt";
-   private static final String CONFIG_FIELD =    "config";
+   /**
+    * The interval, in milliseconds, at which the password files are checked
+    * for modifications made outside this object.
+    */
+   public static final long CHECK_INTERVAL = 1000L;
+
+   /**
+    * The number of recently added or changed users held apart from the bulk
+    * of the entries, before both are merged into a new table.
+    */
+   private static final int DELTA_LIMIT = 256;
+
+   /** The size of the buffers used when appending to the password files. */
+   private static final int BUFFER_SIZE = 64 * 1024;
 
    private static String DEFAULT_FILE;
    static {
@@ -145,12 +167,21 @@ public class PasswordFile {
       srps = map;
    }
 
+   /** The timer thread checking the password files of all instances. */
+   private static Timer timer;
+
    private String confName, pwName, pw2Name;
    private File configFile, passwdFile, passwd2File;
+
+   /** Modification time and length of the password files when last seen. */
    private long lastmodPasswdFile, lastmodPasswd2File;
+   private long lengthPasswdFile, lengthPasswd2File;
 
-   private HashMap entries = new HashMap();
-   private HashMap configurations = new HashMap();
+   /** The current contents of the password files. */
+   private volatile Snapshot current = new Snapshot();
+
+   /** The &lt;N, g> pairs; never modified once the constructor returns. */
+   private HashMap configurations;
 
    // default N values to use when creating a new password.conf file
    private static final BigInteger[] Nsrp = new BigInteger[] {
@@ -188,13 +219,24 @@ public class PasswordFile {
       this.pw2Name =  pw2Name;
       this.confName = confName;
 
+      passwdFile = new File(pwName);
+      passwd2File = new File(pw2Name);
+
       readOrCreateConf();
       update();
+      timer().schedule(new Watcher(this), CHECK_INTERVAL, CHECK_INTERVAL);
    }
 
    // Class methods
    // -------------------------------------------------------------------------
 
+   private static synchronized Timer timer() {
+      if (timer == null) {
+         timer = new Timer(true);
+      }
+      return timer;
+   }
+
    /**
     * <p>Returns a string representing the decimal value of an integer
     * identifying the message digest algorithm to use for the SRP computations.
@@ -202,9 +244,19 @@ public class PasswordFile {
     *
     * @param mdName the canonical name of a message digest algorithm.
     * @return a string representing the decimal value of an ID for that
-    * algorithm.
+    * algorithm; that of the default one if the name is unknown.
     */
    private static final String nameToID(final String mdName) {
+      final String result = knownID(mdName);
+      return (result == null ? "0" : result);
+   }
+
+   /**
+    * @param mdName the canonical name of a message digest algorithm.
+    * @return a string representing the decimal value of an ID for that
+    * algorithm, or <code>null</code> if the name is unknown.
+    */
+   private static final String knownID(final String mdName) {
       if (Registry.SHA_HASH.equalsIgnoreCase(mdName)
             || Registry.SHA1_HASH.equalsIgnoreCase(mdName)
             || Registry.SHA160_HASH.equalsIgnoreCase(mdName)) {
@@ -222,7 +274,7 @@ public class PasswordFile {
       } else if (Registry.SHA512_HASH.equalsIgnoreCase(mdName)) {
          return "6";
       }
-      return "0";
+      return null;
    }
 
    // SRP password configuration file methods ---------------------------------
@@ -244,9 +296,7 @@ public class PasswordFile {
     * @see SRPRegistry#N_640_BITS
     * @see SRPRegistry#N_512_BITS
     */
-   public synchronized boolean containsConfig(final String index)
-   throws IOException {
-      checkCurrent();
+   public boolean containsConfig(final String index) throws IOException {
       return configurations.containsKey(index);
    }
 
@@ -263,93 +313,140 @@ public class PasswordFile {
     * an empty string array is returned.
     * @throws IOException if an exception occurs during the process.
     */
-   public synchronized String[] lookupConfig(final String index)
-   throws IOException {
-      checkCurrent();
-      String[] result = null;
-      if (configurations.containsKey(index)) {
-         result = (String[]) configurations.get(index);
-      }
-      return result;
+   public String[] lookupConfig(final String index) throws IOException {
+      final String[] result = (String[]) configurations.get(index);
+      return result == null ? null : (String[]) result.clone();
    }
 
    // SRP base and extended password configuration files methods --------------
 
-   public synchronized boolean contains(final String user) throws IOException {
-      checkCurrent();
-      return entries.containsKey(user);
+   public boolean contains(final String user) throws IOException {
+      return current.get(user) != null;
    }
 
-   public synchronized void add(final String user, final String passwd,
-                                final byte[] salt, final String index)
+   public void add(final String user, final String passwd, final byte[] salt,
+                   final String index)
    throws IOException {
-      checkCurrent();
-      if (entries.containsKey(user)) {
+      if (current.get(user) != null) {
          throw new UserAlreadyExistsException(user);
       }
-      final HashMap fields = new HashMap(4);
-      fields.put(USER_FIELD,      user); // 0
-      fields.put(VERIFIERS_FIELD, newVerifiers(user, salt, passwd, index)); // 1
-      fields.put(SALT_FIELD,      Util.toBase64(salt)); // 2
-      fields.put(CONFIG_FIELD,    index); // 3
-      entries.put(user, fields);
-      savePasswd();
+      // the verifiers are computed without holding this object's monitor
+      final Entry e = new Entry(user,
+            newVerifiers(user, salt, passwd, group(index), digestIDs(null)),
+            Util.toBase64(salt), index);
+      synchronized (this) {
+         if (current.get(user) != null) {
+            throw new UserAlreadyExistsException(user);
+         }
+         append(new Entry[] { e });
+      }
    }
 
-   public synchronized void changePasswd(final String user, final String passwd)
+   /**
+    * <p>Adds many users at once. The verifiers of the new users are computed
+    * in parallel, by a designated number of threads, and the new entries are
+    * then written to the password files in one go.</p>
+    *
+    * <p>Either all the designated users are added, or none is.</p>
+    *
+    * @param users the users' names.
+    * @param passwds the users' passwords, in the same order.
+    * @param salts the users' salts, in the same order.
+    * @param index the index of the &lt;N, g> pair to use for all these users.
+    * @param mdNames the names of the message digest algorithms for which to
+    * compute verifiers, or <code>null</code> for all the supported ones. A
+    * verifier for the default one, SHA-1, is always computed.
+    * @param threads the number of threads computing verifiers.
+    * @throws UserAlreadyExistsException if one of the users is already in the
+    * password files, or appears twice in <code>users</code>.
+    * @throws IllegalArgumentException if the arrays are of different lengths,
+    * if <code>index</code> or one of <code>mdNames</code> is unknown, or if
+    * <code>threads</code> is not positive.
+    * @throws IOException if an exception occurs during the process.
+    */
+   public void addAll(final String[] users, final String[] passwds,
+                      final byte[][] salts, final String index,
+                      final String[] mdNames, final int threads)
    throws IOException {
-      checkCurrent();
-      if (!entries.containsKey(user)) {
-         throw new NoSuchUserException(user);
+      final int n = users.length;
+      if (passwds.length != n || salts.length != n) {
+         throw new IllegalArgumentException("Arrays of different lengths");
       }
-      final HashMap fields = (HashMap) entries.get(user);
-      final byte[] salt;
-      try {
-         salt = Util.fromBase64((String) fields.get(SALT_FIELD));
-      } catch (NumberFormatException x) {
-         throw new IOException("Password file corrupt");
+      if (threads < 1) {
+         throw new IllegalArgumentException("threads must be positive");
+      }
+      if (n == 0) {
+         return;
+      }
+      final HashMap names = new HashMap(n);
+      for (int i = 0; i < n; i++) {
+         if (names.put(users[i], users[i]) != null
+               || current.get(users[i]) != null) {
+            throw new UserAlreadyExistsException(users[i]);
+         }
       }
-      final String index = (String) fields.get(CONFIG_FIELD);
-      fields.put(VERIFIERS_FIELD, newVerifiers(user, salt, passwd, index));
-      entries.put(user, fields);
-      savePasswd();
-   }
 
-   public synchronized void savePasswd() throws IOException {
-      final FileOutputStream f1 = new FileOutputStream(passwdFile);
-      final FileOutputStream f2 = new FileOutputStream(passwd2File);
-      PrintWriter pw1 = null;
-      PrintWriter pw2 = null;
-      try {
-         pw1 = new PrintWriter(f1, true);
-         pw2 = new PrintWriter(f2, true);
-         this.writePasswd(pw1, pw2);
-      } finally {
-         if (pw1 != null) {
-            try {
-               pw1.flush();
-            } finally {
-               pw1.close();
-            }
+      final BigInteger[] Ng = group(index);
+      final String[] digestIDs = digestIDs(mdNames);
+      final Entry[] entries = new Entry[n];
+      final Batch batch = new Batch("tpasswd") {
+         protected void compute(int i) throws IOException {
+            entries[i] = new Entry(users[i],
+                  newVerifiers(users[i], salts[i], passwds[i], Ng, digestIDs),
+                  Util.toBase64(salts[i]), index);
          }
-         if (pw2 != null) {
-            try {
-               pw2.flush();
-            } finally {
-               pw2.close();
+      };
+      batch.run(n, threads);
+
+      synchronized (this) {
+         for (int i = 0; i < n; i++) {
+            if (current.get(users[i]) != null) {
+               throw new UserAlreadyExistsException(users[i]);
             }
          }
-         try {
-            f1.close();
-         } catch (IOException ignored) {
+         append(entries);
+      }
+   }
+
+   /**
+    * <p>Same as {@link #addAll(String[], String[], byte[][], String, String[],
+    * int)}, computing verifiers for all the supported message digest
+    * algorithms, with as many threads as there are processors.</p>
+    */
+   public void addAll(final String[] users, final String[] passwds,
+                      final byte[][] salts, final String index)
+   throws IOException {
+      addAll(users, passwds, salts, index, null,
+             Runtime.getRuntime().availableProcessors());
+   }
+
+   public void changePasswd(final String user, final String passwd)
+   throws IOException {
+      Entry old = current.get(user);
+      if (old == null) {
+         throw new NoSuchUserException(user);
+      }
+      Entry e = changed(old, passwd);
+      synchronized (this) {
+         final Entry now = current.get(user);
+         if (now == null) {
+            throw new NoSuchUserException(user);
          }
-         try {
-            f2.close();
-         } catch (IOException ignored) {
+         if (!now.salt.equals(old.salt) || !now.index.equals(old.index)) {
+            e = changed(now, passwd); // the files were changed meanwhile
          }
+         append(new Entry[] { e });
       }
-      lastmodPasswdFile = passwdFile.lastModified();
-      lastmodPasswd2File = passwd2File.lastModified();
+   }
+
+   /**
+    * <p>Rewrites both password files in full, dropping the lines superseded by
+    * later ones.</p>
+    *
+    * @throws IOException if an exception occurs during the process.
+    */
+   public synchronized void savePasswd() throws IOException {
+      save(current);
    }
 
    /**
@@ -362,25 +459,43 @@ public class PasswordFile {
     * @return a string array containing, in this order, the BASE-64 encodings of
     * the verifier, the salt and the index in the password configuration file of
     * the MPIs N and g of the designated user.
+    * @exception NoSuchUserException if the user is unknown, or has no verifier
+    * for the designated message digest algorithm.
+    * @exception IOException if an exception occurs during the process.
     */
-   public synchronized String[] lookup(final String user, final String mdName)
+   public String[] lookup(final String user, final String mdName)
    throws IOException {
-      checkCurrent();
-      if (!entries.containsKey(user)) {
+      final Entry e = current.get(user);
+      if (e == null) {
+         throw new NoSuchUserException(user);
+      }
+      final String verifier = (String) e.verifiers.get(nameToID(mdName));
+      if (verifier == null) { // not computed for this digest
          throw new NoSuchUserException(user);
       }
-      final HashMap fields = (HashMap) entries.get(user);
-      final HashMap verifiers = (HashMap) fields.get(VERIFIERS_FIELD);
-      final String salt =       (String)  fields.get(SALT_FIELD);
-      final String index =      (String)  fields.get(CONFIG_FIELD);
-      final String verifier =   (String) verifiers.get(nameToID(mdName));
-      return new String[] { verifier, salt, index };
+      return new String[] { verifier, e.salt, e.index };
+   }
+
+   /**
+    * <p>Re-reads the password files if they were modified since they were
+    * last read or written by this object. This happens anyway, in the
+    * background, once every {@link #CHECK_INTERVAL} milliseconds.</p>
+    *
+    * @throws IOException if an exception occurs during the process.
+    */
+   public synchronized void refresh() throws IOException {
+      if (passwdFile.lastModified() != lastmodPasswdFile
+            || passwdFile.length() != lengthPasswdFile
+            || passwd2File.lastModified() != lastmodPasswd2File
+            || passwd2File.length() != lengthPasswd2File) {
+         update();
+      }
    }
 
    // Other instance methods --------------------------------------------------
 
    private synchronized void readOrCreateConf() throws IOException {
-      configurations.clear();
+      configurations = new HashMap();
       final FileInputStream fis;
       configFile = new File(confName);
       try {
@@ -414,16 +529,20 @@ public class PasswordFile {
       final BufferedReader din = new BufferedReader(new InputStreamReader(in));
       String line, index, N, g;
       StringTokenizer st;
-      while ((line = din.readLine()) != null) {
-         st = new StringTokenizer(line, ":");
-         try {
-            index = st.nextToken();
-            N = st.nextToken();
-            g = st.nextToken();
-         } catch (NoSuchElementException x) {
-            throw new IOException("SRP password configuration file corrupt");
+      try {
+         while ((line = din.readLine()) != null) {
+            st = new StringTokenizer(line, ":");
+            try {
+               index = st.nextToken();
+               N = st.nextToken();
+               g = st.nextToken();
+            } catch (NoSuchElementException x) {
+               throw new IOException("SRP password configuration file corrupt");
+            }
+            configurations.put(index, new String[] {N, g});
          }
-         configurations.put(index, new String[] {N, g});
+      } finally {
+         din.close();
       }
    }
 
@@ -439,6 +558,72 @@ public class PasswordFile {
       }
    }
 
+   /**
+    * <p>Returns the entry of an existing user with a new password, and
+    * verifiers for the same message digest algorithms as before.</p>
+    */
+   private Entry changed(final Entry old, final String passwd)
+   throws IOException {
+      final byte[] salt;
+      try {
+         salt = Util.fromBase64(old.salt);
+      } catch (NumberFormatException x) {
+         throw new IOException("Password file corrupt");
+      }
+      final String[] digestIDs = (String[])
+            old.verifiers.keySet().toArray(new String[old.verifiers.size()]);
+      return new Entry(old.user,
+            newVerifiers(old.user, salt, passwd, group(old.index), digestIDs),
+            old.salt, old.index);
+   }
+
+   /**
+    * <p>Returns the &lt;N, g> pair of a designated index.</p>
+    *
+    * @exception IllegalArgumentException if the index is unknown.
+    */
+   private BigInteger[] group(final String index) {
+      // to ensure inter-operability with non-java tools
+      final String[] mpi = (String[]) configurations.get(index);
+      if (mpi == null) {
+         throw new IllegalArgumentException("Unknown <N, g> index: "+index);
+      }
+      return new BigInteger[] {
+         new BigInteger(1, Util.fromBase64(mpi[0])),
+         new BigInteger(1, Util.fromBase64(mpi[1]))
+      };
+   }
+
+   /**
+    * <p>Returns the IDs of the designated message digest algorithms, always
+    * including that of the default one.</p>
+    *
+    * @param mdNames canonical names of message digest algorithms, or
+    * <code>null</code> for all those available.
+    * @exception IllegalArgumentException if one of the names is unknown, or
+    * that of an unavailable algorithm.
+    */
+   private static String[] digestIDs(final String[] mdNames) {
+      final HashMap ids = new HashMap();
+      ids.put("0", "0");
+      if (mdNames == null) {
+         for (Iterator it = srps.keySet().iterator(); it.hasNext(); ) {
+            final Object id = it.next();
+            ids.put(id, id);
+         }
+      } else {
+         for (int i = 0; i < mdNames.length; i++) {
+            final String id = knownID(mdNames[i]);
+            if (id == null || !srps.containsKey(id)) {
+               throw new IllegalArgumentException(
+                     "Unknown message digest: "+mdNames[i]);
+            }
+            ids.put(id, id);
+         }
+      }
+      return (String[]) ids.keySet().toArray(new String[ids.size()]);
+   }
+
    /**
     * <p>Compute the new verifiers for the designated username and password.</p>
     *
@@ -449,24 +634,26 @@ public class PasswordFile {
     * @param user the user's name.
     * @param s the user's salt.
     * @param password the user's password
-    * @param index the index of the &lt;N, g> pair to use for this user.
+    * @param Ng the &lt;N, g> pair to use for this user.
+    * @param digestIDs the IDs of the message digest algorithms for which to
+    * compute a verifier.
     * @return a {@link java.util.Map} of user verifiers.
     * @throws UnsupportedEncodingException if the US-ASCII decoder is not
     * available on this platform.
     */
-   private HashMap newVerifiers(final String user, final byte[] s,
-                                final String password, final String index)
+   private static HashMap newVerifiers(final String user, final byte[] s,
+                                       final String password,
+                                       final BigInteger[] Ng,
+                                       final String[] digestIDs)
    throws UnsupportedEncodingException {
-      // to ensure inter-operability with non-java tools
-      final String[] mpi = (String[]) configurations.get(index);
-      final BigInteger N = new BigInteger(1, Util.fromBase64(mpi[0]));
-      final BigInteger g = new BigInteger(1, Util.fromBase64(mpi[1]));
+      final BigInteger N = Ng[0];
+      final BigInteger g = Ng[1];
 
-      final HashMap result = new HashMap(srps.size());
+      final HashMap result = new HashMap(digestIDs.length);
       BigInteger x, v;
       SRP srp;
-      for (int i = 0; i < srps.size(); i++) {
-         final String digestID = String.valueOf(i);
+      for (int i = 0; i < digestIDs.length; i++) {
+         final String digestID = digestIDs[i];
          srp = (SRP) srps.get(digestID);
          x = new BigInteger(1, srp.computeX(s, user, password));
          v = g.modPow(x, N);
@@ -477,116 +664,326 @@ public class PasswordFile {
       return result;
    }
 
-   private synchronized void update() throws IOException {
-      entries.clear();
+   /**
+    * <p>Appends the lines of the designated entries to both password files and
+    * publishes a new snapshot containing them. The files are rewritten instead
+    * when that leaves more than half of their lines stale.</p>
+    *
+    * @param entries the new, or changed, entries.
+    * @throws IOException if an exception occurs during the process.
+    */
+   private void append(final Entry[] entries) throws IOException {
+      final Snapshot s = entries.length == 1
+            ? current.with(entries[0]) : current.withAll(entries);
+      if (s.lines > 2 * s.size) {
+         save(s);
+         return;
+      }
+      PrintWriter pw1 = null;
+      PrintWriter pw2 = null;
+      try {
+         // tpasswd2 first: its lines are ignored until tpasswd names the user
+         pw2 = new PrintWriter(new BufferedOutputStream(
+               new FileOutputStream(passwd2File, true), BUFFER_SIZE));
+         for (int i = 0; i < entries.length; i++) {
+            writePasswd2(pw2, entries[i]);
+         }
+         pw2.flush();
+         pw1 = new PrintWriter(new BufferedOutputStream(
+               new FileOutputStream(passwdFile, true), BUFFER_SIZE));
+         for (int i = 0; i < entries.length; i++) {
+            writePasswd1(pw1, entries[i]);
+         }
+      } finally {
+         if (pw2 != null) {
+            pw2.close();
+         }
+         if (pw1 != null) {
+            pw1.close();
+         }
+      }
+      if (pw1 == null || pw1.checkError() || pw2.checkError()) {
+         throw new IOException("Unable to append to SRP password file");
+      }
+      current = s;
+      stamp();
+   }
 
-      FileInputStream fis;
-      passwdFile = new File(pwName);
+   /**
+    * <p>Writes the designated snapshot to both password files, in full, and
+    * publishes it.</p>
+    *
+    * @param snapshot the contents to write.
+    * @throws IOException if an exception occurs during the process.
+    */
+   private void save(final Snapshot snapshot) throws IOException {
+      final Snapshot s = snapshot.merge();
+      final FileOutputStream f1 = new FileOutputStream(passwdFile);
+      final FileOutputStream f2 = new FileOutputStream(passwd2File);
+      PrintWriter pw1 = null;
+      PrintWriter pw2 = null;
+      try {
+         pw1 = new PrintWriter(f1, true);
+         pw2 = new PrintWriter(f2, true);
+         for (Iterator it = s.base.values().iterator(); it.hasNext(); ) {
+            this.writePasswd(pw1, pw2, (Entry) it.next());
+         }
+      } finally {
+         if (pw1 != null) {
+            try {
+               pw1.flush();
+            } finally {
+               pw1.close();
+            }
+         }
+         if (pw2 != null) {
+            try {
+               pw2.flush();
+            } finally {
+               pw2.close();
+            }
+         }
+         try {
+            f1.close();
+         } catch (IOException ignored) {
+         }
+         try {
+            f2.close();
+         } catch (IOException ignored) {
+         }
+      }
+      current = s;
+      stamp();
+   }
+
+   /** Records the modification time and length of the password files. */
+   private void stamp() {
       lastmodPasswdFile = passwdFile.lastModified();
+      lengthPasswdFile = passwdFile.length();
+      lastmodPasswd2File = passwd2File.lastModified();
+      lengthPasswd2File = passwd2File.length();
+   }
+
+   private synchronized void update() throws IOException {
+      final HashMap entries = new HashMap();
+      int lines = 0;
+      FileInputStream fis;
+      stamp();
       try {
          fis = new FileInputStream(passwdFile);
-         readPasswd(fis);
+         lines = readPasswd(fis, entries);
       } catch (FileNotFoundException ignored) {
       }
-      passwd2File = new File(pw2Name);
-      lastmodPasswd2File = passwd2File.lastModified();
       try {
          fis = new FileInputStream(passwd2File);
-         readPasswd2(fis);
+         readPasswd2(fis, entries);
       } catch (FileNotFoundException ignored) {
       }
+      current = new Snapshot(entries, new HashMap(), entries.size(), lines);
    }
 
-   private void checkCurrent() throws IOException {
-      if (passwdFile.lastModified() > lastmodPasswdFile
-            || passwd2File.lastModified() > lastmodPasswd2File) {
-         update();
+   private int readPasswd(final InputStream in, final HashMap entries)
+   throws IOException {
+      final BufferedReader din = new BufferedReader(new InputStreamReader(in));
+      String line, user, verifier, salt, index;
+      StringTokenizer st;
+      int result = 0;
+      try {
+         while ((line = din.readLine()) != null) {
+            st = new StringTokenizer(line, ":");
+            try {
+               user     = st.nextToken();
+               verifier = st.nextToken();
+               salt     = st.nextToken();
+               index    = st.nextToken();
+            } catch (NoSuchElementException x) {
+               throw new IOException("SRP base password file corrupt");
+            }
+
+            final HashMap verifiers = new HashMap(6);
+            verifiers.put("0", verifier);
+
+            entries.put(user, new Entry(user, verifiers, salt, index));
+            result++;
+         }
+      } finally {
+         din.close();
       }
+      return result;
    }
 
-   private void readPasswd(final InputStream in) throws IOException {
+   private void readPasswd2(final InputStream in, final HashMap entries)
+   throws IOException {
       final BufferedReader din = new BufferedReader(new InputStreamReader(in));
-      String line, user, verifier, salt, index;
+      String line, digestID, user, verifier;
       StringTokenizer st;
-      while ((line = din.readLine()) != null) {
-         st = new StringTokenizer(line, ":");
-         try {
-            user     = st.nextToken();
-            verifier = st.nextToken();
-            salt     = st.nextToken();
-            index    = st.nextToken();
-         } catch (NoSuchElementException x) {
-            throw new IOException("SRP base password file corrupt");
+      Entry e;
+      try {
+         while ((line = din.readLine()) != null) {
+            st = new StringTokenizer(line, ":");
+            try {
+               digestID = st.nextToken();
+               user     = st.nextToken();
+               verifier = st.nextToken();
+            } catch (NoSuchElementException x) {
+               throw new IOException("SRP extended password file corrupt");
+            }
+
+            e = (Entry) entries.get(user);
+            if (e != null) {
+               e.verifiers.put(digestID, verifier);
+            }
          }
+      } finally {
+         din.close();
+      }
+   }
 
-         final HashMap verifiers = new HashMap(6);
-         verifiers.put("0", verifier);
+   private void writePasswd(final PrintWriter pw1, final PrintWriter pw2,
+                            final Entry e) {
+      writePasswd1(pw1, e);
+      writePasswd2(pw2, e);
+   }
 
-         final HashMap fields = new HashMap(4);
-         fields.put(USER_FIELD,      user);
-         fields.put(VERIFIERS_FIELD, verifiers);
-         fields.put(SALT_FIELD,      salt);
-         fields.put(CONFIG_FIELD,    index);
+   private void writePasswd1(final PrintWriter pw1, final Entry e) {
+      final StringBuffer sb1 = new StringBuffer()
+            .append(e.user).append(":")
+            .append((String) e.verifiers.get("0")).append(":")
+            .append(e.salt).append(":")
+            .append(e.index);
+      pw1.println(sb1.toString());
+   }
 
-         entries.put(user, fields);
+   private void writePasswd2(final PrintWriter pw2, final Entry e) {
+      String digestID;
+      StringBuffer sb2;
+      // write extended information
+      final Iterator j = e.verifiers.keySet().iterator();
+      while (j.hasNext()) {
+         digestID = (String) j.next();
+         if (!"0".equals(digestID)) {
+            // #0 is the default digest, already present in tpasswd!
+            sb2 = new StringBuffer()
+                  .append(digestID).append(":")
+                  .append(e.user).append(":")
+                  .append((String) e.verifiers.get(digestID));
+            pw2.println(sb2.toString());
+         }
       }
    }
 
-   private void readPasswd2(final InputStream in) throws IOException {
-      final BufferedReader din = new BufferedReader(new InputStreamReader(in));
-      String line, digestID, user, verifier;
-      StringTokenizer st;
-      HashMap fields, verifiers;
-      while ((line = din.readLine()) != null) {
-         st = new StringTokenizer(line, ":");
-         try {
-            digestID = st.nextToken();
-            user     = st.nextToken();
-            verifier = st.nextToken();
-         } catch (NoSuchElementException x) {
-            throw new IOException("SRP extended password file corrupt");
+   // Inner classes
+   // -------------------------------------------------------------------------
+
+   /**
+    * A user's password entry. Its verifiers are only modified while the
+    * password files are being read, before the entry is published.
+    */
+   private static final class Entry {
+
+      final String user;
+      final HashMap verifiers;
+      final String salt;
+      final String index;
+
+      Entry(String user, HashMap verifiers, String salt, String index) {
+         super();
+
+         this.user = user;
+         this.verifiers = verifiers;
+         this.salt = salt;
+         this.index = index;
+      }
+   }
+
+   /**
+    * An immutable view of the password files. The bulk of the entries is kept
+    * in <code>base</code>, while the users added or changed since it was built
+    * are kept in the much smaller <code>delta</code>, so that publishing a
+    * change does not copy the whole table.
+    */
+   private static final class Snapshot {
+
+      final HashMap base;
+      final HashMap delta;
+      /** The number of distinct users. */
+      final int size;
+      /** The number of lines in the base password file. */
+      final int lines;
+
+      Snapshot() {
+         this(new HashMap(), new HashMap(), 0, 0);
+      }
+
+      Snapshot(HashMap base, HashMap delta, int size, int lines) {
+         super();
+
+         this.base = base;
+         this.delta = delta;
+         this.size = size;
+         this.lines = lines;
+      }
+
+      Entry get(String user) {
+         final Entry result = (Entry) delta.get(user);
+         return result != null ? result : (Entry) base.get(user);
+      }
+
+      /** Returns a new snapshot with the designated entry added or replaced. */
+      Snapshot with(Entry e) {
+         final int n = get(e.user) == null ? size + 1 : size;
+         if (delta.size() >= DELTA_LIMIT) {
+            final Snapshot result = merge();
+            result.base.put(e.user, e);
+            return new Snapshot(result.base, result.delta, n, lines + 1);
          }
+         final HashMap map = new HashMap(delta);
+         map.put(e.user, e);
+         return new Snapshot(base, map, n, lines + 1);
+      }
 
-         fields = (HashMap) entries.get(user);
-         if (fields != null) {
-            verifiers = (HashMap) fields.get(VERIFIERS_FIELD);
-            verifiers.put(digestID, verifier);
+      /** Returns a new snapshot with the designated entries added or replaced. */
+      Snapshot withAll(Entry[] entries) {
+         final HashMap map = new HashMap(base);
+         map.putAll(delta);
+         for (int i = 0; i < entries.length; i++) {
+            map.put(entries[i].user, entries[i]);
          }
+         return new Snapshot(map, new HashMap(), map.size(),
+                             lines + entries.length);
+      }
+
+      /** Returns a new snapshot with all entries in its base table. */
+      Snapshot merge() {
+         final HashMap map = new HashMap(base);
+         map.putAll(delta);
+         return new Snapshot(map, new HashMap(), size, size);
       }
    }
 
-   private void writePasswd(final PrintWriter pw1, final PrintWriter pw2)
-   throws IOException {
-      String user, digestID;
-      HashMap fields, verifiers;
-      StringBuffer sb1, sb2;
-      Iterator j;
-      final Iterator i = entries.keySet().iterator();
-      while (i.hasNext()) {
-         user = (String) i.next();
-         fields = (HashMap) entries.get(user);
-         if (!user.equals(fields.get(USER_FIELD))) {
-            throw new IOException("Inconsistent SRP password data");
+   /**
+    * The timer task checking the password files of an instance. It does not
+    * keep the instance reachable, and cancels itself once it is collected.
+    */
+   private static final class Watcher extends TimerTask {
+
+      private final WeakReference ref;
+
+      Watcher(PasswordFile pf) {
+         super();
+
+         ref = new WeakReference(pf);
+      }
+
+      public void run() {
+         final PasswordFile pf = (PasswordFile) ref.get();
+         if (pf == null) {
+            cancel();
+            return;
          }
-         verifiers = (HashMap) fields.get(VERIFIERS_FIELD);
-         sb1 = new StringBuffer()
-               .append(user).append(":")
-               .append((String) verifiers.get("0")).append(":")
-               .append((String) fields.get(SALT_FIELD)).append(":")
-               .append((String) fields.get(CONFIG_FIELD));
-         pw1.println(sb1.toString());
-         // write extended information
-         j = verifiers.keySet().iterator();
-         while (j.hasNext()) {
-            digestID = (String) j.next();
-            if (!"0".equals(digestID)) {
-               // #0 is the default digest, already present in tpasswd!
-               sb2 = new StringBuffer()
-                     .append(digestID).append(":")
-                     .append(user).append(":")
-                     .append((String) verifiers.get(digestID));
-               pw2.println(sb2.toString());
-            }
+         try {
+            pf.refresh();
+         } catch (IOException ignored) { // keep the last good snapshot
          }
       }
    }
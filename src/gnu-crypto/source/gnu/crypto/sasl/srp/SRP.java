@@ -63,8 +63,23 @@ public final class SRP {
    // Constants and variables
    // --------------------------------------------------------------------------
 
-   /** The map of already instantiated SRP algorithm instances. */
-   private static final HashMap algorithms = new HashMap();
+   /**
+    * The map of already instantiated SRP algorithm instances, pre-populated
+    * with those of {@link SRPRegistry#SRP_ALGORITHMS}. It is replaced, never
+    * modified, when an instance is added, so that look-ups take no lock.
+    */
+   private static volatile HashMap algorithms;
+   static {
+      final HashMap map = new HashMap();
+      for (int i = 0; i < SRPRegistry.SRP_ALGORITHMS.length; i++) {
+         final String mdName = SRPRegistry.SRP_ALGORITHMS[i].toLowerCase();
+         final IMessageDigest mda = HashFactory.getInstance(mdName);
+         if (mda != null) {
+            map.put(mdName, new SRP(mda));
+         }
+      }
+      algorithms = map;
+   }
 
    private static final byte COLON = (byte) 0x3A;
 
@@ -90,18 +105,25 @@ public final class SRP {
     *
     * @return an instance of this object for the designated digest name.
     */
-   public static synchronized SRP instance(String mdName) {
+   public static SRP instance(String mdName) {
       if (mdName != null) {
          mdName = mdName.trim().toLowerCase();
       }
       if (mdName == null || mdName.equals("")) {
          mdName = SRPRegistry.SRP_DEFAULT_DIGEST_NAME;
       }
+      final SRP result = (SRP) algorithms.get(mdName);
+      return result != null ? result : add(mdName);
+   }
+
+   private static synchronized SRP add(final String mdName) {
       SRP result = (SRP) algorithms.get(mdName);
       if (result == null) {
          final IMessageDigest mda = HashFactory.getInstance(mdName);
          result = new SRP(mda);
-         algorithms.put(mdName, result);
+         final HashMap map = new HashMap(algorithms);
+         map.put(mdName, result);
+         algorithms = map;
       }
       return result;
    }
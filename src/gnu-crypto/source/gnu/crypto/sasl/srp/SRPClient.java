@@ -64,7 +64,6 @@ import gnu.crypto.util.Util;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.io.ByteArrayOutputStream;
 import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
@@ -169,8 +168,8 @@ public class SRPClient extends ClientMechanism implements SaslClient {
          md.update(channelBinding, 0, channelBinding.length);
       }
       uid = Util.toBase64(md.digest());
-      if (ClientStore.instance().isAlive(uid)) {
-         final SecurityContext ctx = ClientStore.instance().restoreSession(uid);
+      final SecurityContext ctx = ClientStore.instance().restoreSession(uid);
+      if (ctx != null) {
          srp = SRP.instance(ctx.getMdName());
          sid = ctx.getSID();
          K = ctx.getK();
@@ -243,62 +242,11 @@ public class SRPClient extends ClientMechanism implements SaslClient {
          throw new IllegalStateException("connection is not protected");
       }
 
-      // at this point one, or both, of confidentiality and integrity protection
-      // services are active.
-
-      final byte[] result;
-      try {
-//         final InputBuffer frameIn = InputBuffer.getInstance(incoming, offset, len);
-//         result = frameIn.getEOS();
-         if (inMac != null) { // integrity bytes are at the end of the stream
-            final int macBytesCount = inMac.length();
-            final int payloadLength = len - macBytesCount;
-//            final byte[] received_mac = frameIn.getOS();
-            final byte[] received_mac = new byte[macBytesCount];
-            System.arraycopy(incoming, offset + payloadLength, received_mac, 0, macBytesCount);
-            if (DEBUG && debuglevel > 6) debug(TRACE, "Got C (received MAC): "+Util.dumpString(received_mac));
-//            inMac.update(result);
-            inMac.update(incoming, offset, payloadLength);
-            if (replayDetection) {
-               inCounter++;
-               if (DEBUG && debuglevel > 6) debug(TRACE, "inCounter="+String.valueOf(inCounter));
-               inMac.update(new byte[] {
-                  (byte)(inCounter >>> 24),
-                  (byte)(inCounter >>> 16),
-                  (byte)(inCounter >>>  8),
-                  (byte) inCounter});
-            }
-
-            final byte[] computed_mac = inMac.doFinal();
-            if (DEBUG && debuglevel > 6) debug(TRACE, "Computed MAC: "+Util.dumpString(computed_mac));
-            if (!Arrays.equals(received_mac, computed_mac)) {
-               throw new IntegrityException("engineUnwrap()");
-            }
-
-            // deal with the payload, which can be either plain or encrypted
-            if (inCipher != null) {
-               result = inCipher.doFinal(incoming, offset, payloadLength);
-            } else {
-               result = new byte[len - macBytesCount];
-               System.arraycopy(incoming, offset, result, 0, result.length);
-            }
-         } else { // no integrity protection; just confidentiality
-//            if (inCipher != null) {
-               result = inCipher.doFinal(incoming, offset, len);
-//            } else {
-//               result = new byte[len];
-//               System.arraycopy(incoming, offset, result, 0, len);
-//            }
-         }
-//         if (inCipher != null) {
-//            result = inCipher.doFinal(result);
-//         }
-      } catch (IOException x) {
-         if (x instanceof SaslException) {
-            throw (SaslException) x;
-         }
-         throw new SaslException("engineUnwrap()", x);
-      }
+      final byte[] frame = new byte[len];
+      System.arraycopy(incoming, offset, frame, 0, len);
+      final int count = unwrapInPlace(frame, 0, len);
+      final byte[] result = new byte[count];
+      System.arraycopy(frame, 0, result, 0, count);
 
       if (DEBUG && debuglevel > 8) debug(TRACE, "<== engineUnwrap()");
       return result;
@@ -313,95 +261,120 @@ public class SRPClient extends ClientMechanism implements SaslClient {
          throw new IllegalStateException("connection is not protected");
       }
 
+      final byte[] result = new byte[getWrappedLength(len)];
+      System.arraycopy(outgoing, offset, result, 0, len);
+      wrapInPlace(result, 0, len);
+
+      if (DEBUG && debuglevel > 8) debug(TRACE, "<== engineWrap()");
+      return result;
+   }
+
+   /**
+    * <p>Returns the length of a SASL buffer holding a designated number of
+    * octets once processed by the negotiated security layer.</p>
+    *
+    * @param len a number of plain octets.
+    * @return the length of the wrapped buffer.
+    */
+   public int getWrappedLength(final int len) {
+      int result = (outCipher != null) ? outCipher.outputLength(len) : len;
+      if (outMac != null) {
+         result += outMac.length();
+      }
+      return result;
+   }
+
+   /**
+    * <p>Same as {@link #wrap(byte[], int, int)} but works in place: the
+    * wrapped buffer replaces the outgoing octets, and the array must have room
+    * for {@link #getWrappedLength(int)} octets from <code>offset</code>.</p>
+    *
+    * @param buffer the array holding the outgoing octets.
+    * @param offset where the outgoing octets start in <code>buffer</code>.
+    * @param len the number of outgoing octets.
+    * @return the length of the wrapped buffer.
+    * @throws SaslException if an exception occurs during the process.
+    */
+   public int wrapInPlace(final byte[] buffer, final int offset, final int len)
+   throws SaslException {
+      if (!isComplete()) {
+         throw new IllegalMechanismStateException();
+      }
+      if (outMac == null && outCipher == null) {
+         throw new IllegalStateException("connection is not protected");
+      }
+
+      if (DEBUG && debuglevel > 6) debug(TRACE, "Outgoing buffer (before security) (hex): "+Util.dumpString(buffer, offset, len));
+
       // at this point one, or both, of confidentiality and integrity protection
       // services are active.
 
-//      byte[] data = new byte[len];
-//      System.arraycopy(outgoing, offset, data, 0, len);
-      byte[] result;
-      try {
-//         OutputBuffer frameOut = new OutputBuffer();
-         final ByteArrayOutputStream out = new ByteArrayOutputStream();
-         // Process the data
-         if (outCipher != null) {
-//            data = outCipher.doFinal(data);
-            result = outCipher.doFinal(outgoing, offset, len);
-            if (DEBUG && debuglevel > 6) debug(TRACE, "Encoding c (encrypted plaintext): "+Util.dumpString(result));
-
-//            frameOut.setEOS(data);
-            out.write(result);
-
-            if (outMac != null) {
-               outMac.update(result);
-               if (replayDetection) {
-                  outCounter++;
-                  if (DEBUG && debuglevel > 6) debug(TRACE, "outCounter="+String.valueOf(outCounter));
-                  outMac.update(new byte[] {
-                     (byte)(outCounter >>> 24),
-                     (byte)(outCounter >>> 16),
-                     (byte)(outCounter >>>  8),
-                     (byte) outCounter });
-               }
-               final byte[] C = outMac.doFinal();
-//               frameOut.setOS(C);
-               out.write(C);
-               if (DEBUG && debuglevel > 6) debug(TRACE, "Encoding C (integrity checksum): "+Util.dumpString(C));
-            } // else confidentiality only; do nothing
-         } else { // no confidentiality; just integrity [+ replay detection]
-//            if (DEBUG && debuglevel > 6) debug(TRACE, "Encoding p (plaintext): "+Util.dumpString(data));
-            if (DEBUG && debuglevel > 6) debug(TRACE, "Encoding p (plaintext): "+Util.dumpString(outgoing, offset, len));
-
-//            frameOut.setEOS(data);
-            out.write(outgoing, offset, len);
-
-//            if (outMac != null) {
-//               outMac.update(data);
-            outMac.update(outgoing, offset, len);
-            if (replayDetection) {
-               outCounter++;
-               if (DEBUG && debuglevel > 6) debug(TRACE, "outCounter="+String.valueOf(outCounter));
-               outMac.update(new byte[] {
-                  (byte)(outCounter >>> 24),
-                  (byte)(outCounter >>> 16),
-                  (byte)(outCounter >>>  8),
-                  (byte) outCounter });
-            }
-            final byte[] C = outMac.doFinal();
-//               frameOut.setOS(C);
-            out.write(C);
-            if (DEBUG && debuglevel > 6) debug(TRACE, "Encoding C (integrity checksum): "+Util.dumpString(C));
-//            }
+      int result = len;
+      if (outCipher != null) {
+         result = outCipher.doFinal(buffer, offset, len, buffer, offset);
+         if (DEBUG && debuglevel > 6) debug(TRACE, "Encoding c (encrypted plaintext): "+Util.dumpString(buffer, offset, result));
+      }
+      if (outMac != null) { // the integrity bytes follow the payload
+         outMac.update(buffer, offset, result);
+         if (replayDetection) {
+            outCounter++;
+            if (DEBUG && debuglevel > 6) debug(TRACE, "outCounter="+String.valueOf(outCounter));
+            outMac.updateCounter(outCounter);
          }
+         outMac.doFinal(buffer, offset + result);
+         if (DEBUG && debuglevel > 6) debug(TRACE, "Encoding C (integrity checksum): "+Util.dumpString(buffer, offset + result, outMac.length()));
+         result += outMac.length();
+      }
 
-//         frameOut.setEOS(data);
-//
-//         if (outMac != null) {
-//            outMac.update(data);
-//            if (replayDetection) {
-//               outCounter++;
-//               if (DEBUG && debuglevel > 6) debug(TRACE, "outCounter="+String.valueOf(outCounter));
-//               outMac.update(new byte[] {
-//                  (byte)(outCounter >>> 24),
-//                  (byte)(outCounter >>> 16),
-//                  (byte)(outCounter >>>  8),
-//                  (byte) outCounter });
-//            }
-//            byte[] C = outMac.doFinal();
-//            frameOut.setOS(C);
-//            if (DEBUG && debuglevel > 6) debug(TRACE, "Encoding C (integrity checksum): "+Util.dumpString(C));
-//         }
-
-//         result = frameOut.wrap();
-         result = out.toByteArray();
+      return result;
+   }
 
-      } catch (IOException x) {
-         if (x instanceof SaslException) {
-            throw (SaslException) x;
+   /**
+    * <p>Same as {@link #unwrap(byte[], int, int)} but works in place: the
+    * unwrapped octets replace the incoming buffer from <code>offset</code>.</p>
+    *
+    * @param buffer the array holding the incoming buffer.
+    * @param offset where the incoming buffer starts in <code>buffer</code>.
+    * @param len the length of the incoming buffer.
+    * @return the number of unwrapped octets.
+    * @throws SaslException if an exception occurs during the process.
+    */
+   public int unwrapInPlace(final byte[] buffer, final int offset, final int len)
+   throws SaslException {
+      if (!isComplete()) {
+         throw new IllegalMechanismStateException();
+      }
+      if (inMac == null && inCipher == null) {
+         throw new IllegalStateException("connection is not protected");
+      }
+
+      if (DEBUG && debuglevel > 6) debug(TRACE, "Incoming buffer (before security): "+Util.dumpString(buffer, offset, len));
+
+      // at this point one, or both, of confidentiality and integrity protection
+      // services are active.
+
+      int result = len;
+      if (inMac != null) { // integrity bytes are at the end of the stream
+         result -= inMac.length();
+         if (result < 0) {
+            throw new IntegrityException("engineUnwrap()");
+         }
+         inMac.update(buffer, offset, result);
+         if (replayDetection) {
+            inCounter++;
+            if (DEBUG && debuglevel > 6) debug(TRACE, "inCounter="+String.valueOf(inCounter));
+            inMac.updateCounter(inCounter);
+         }
+         if (!inMac.verify(buffer, offset + result)) {
+            throw new IntegrityException("engineUnwrap()");
          }
-         throw new SaslException("engineWrap()", x);
+      }
+      // deal with the payload, which can be either plain or encrypted
+      if (inCipher != null) {
+         result = inCipher.doFinal(buffer, offset, result, buffer, offset);
       }
 
-      if (DEBUG && debuglevel > 8) debug(TRACE, "<== engineWrap()");
+      if (DEBUG && debuglevel > 6) debug(TRACE, "Incoming buffer (after security): "+Util.dumpString(buffer, offset, result));
       return result;
    }
 
@@ -43,11 +43,15 @@ package gnu.crypto.sasl.srp;
 // do so, delete this exception statement from your version.
 // ----------------------------------------------------------------------------
 
-import java.util.HashMap;
+import java.util.Arrays;
 
 /**
  * <p>The server-side implementation of the SRP security context store.</p>
  *
+ * <p>Sessions are held in a {@link SessionCache}, keyed by the bytes of their
+ * session identifier, which bounds their number and expires them in the
+ * background once their Time-To-Live elapses.</p>
+ *
  * @version $Revision: 1.3 $
  */
 public class ServerStore {
@@ -56,16 +60,11 @@ public class ServerStore {
    // -------------------------------------------------------------------------
 
    /** The underlying singleton. */
-   private static ServerStore singleton = null;
+   private static final ServerStore singleton = new ServerStore();
 
    /** The map of sid --> Security Context record. */
-   private static final HashMap sid2ssc = new HashMap();
-
-   /** The map of sid --> Session timing record. */
-   private static final HashMap sid2ttl = new HashMap();
-
-   /** A synchronisation lock. */
-   private static final Object lock = new Object();
+   private static final SessionCache sid2ssc =
+         new SessionCache(SessionCache.DEFAULT_MAXIMUM_SIZE);
 
    /** A counter to generate legible SIDs. */
    private static int counter = 0;
@@ -76,8 +75,6 @@ public class ServerStore {
    /** Private constructor to enforce Singleton pattern. */
    private ServerStore() {
       super();
-
-      // TODO: add a cleaning timer thread
    }
 
    // Class methods
@@ -88,10 +85,7 @@ public class ServerStore {
     *
     * @return the classloader Singleton instance.
     */
-   static synchronized final ServerStore instance() {
-      if (singleton == null) {
-         singleton = new ServerStore();
-      }
+   static final ServerStore instance() {
       return singleton;
    }
 
@@ -107,6 +101,41 @@ public class ServerStore {
             .toString().getBytes();
    }
 
+   /**
+    * <p>Sets the maximum number of sessions kept; the least recently used
+    * ones are discarded when more are cached.</p>
+    *
+    * @param n the maximum number of sessions kept.
+    */
+   public static void setMaximumSize(final int n) {
+      sid2ssc.setMaximumSize(n);
+   }
+
+   /** @return the number of sessions currently cached. */
+   public static int getSize() {
+      return sid2ssc.size();
+   }
+
+   /** @return the number of session look-ups that found a live session. */
+   public static long getHitCount() {
+      return sid2ssc.getHitCount();
+   }
+
+   /** @return the number of session look-ups that found no live session. */
+   public static long getMissCount() {
+      return sid2ssc.getMissCount();
+   }
+
+   /** @return the number of sessions discarded to honour the maximum size. */
+   public static long getEvictionCount() {
+      return sid2ssc.getEvictionCount();
+   }
+
+   /** @return the number of sessions discarded because they expired. */
+   public static long getExpirationCount() {
+      return sid2ssc.getExpirationCount();
+   }
+
    // Instance methods
    // -------------------------------------------------------------------------
 
@@ -119,21 +148,10 @@ public class ServerStore {
     * <code>false</code> otherwise.
     */
    boolean isAlive(final byte[] sid) {
-      boolean result = false;
-      if (sid != null && sid.length != 0) {
-         synchronized(lock) {
-            final String key = new String(sid);
-            final StoreEntry ctx = (StoreEntry) sid2ttl.get(key);
-            if (ctx != null) {
-               result = ctx.isAlive();
-               if (!result) { // invalidate it en-passant
-                  sid2ssc.remove(key);
-                  sid2ttl.remove(key);
-               }
-            }
-         }
+      if (sid == null || sid.length == 0) {
+         return false;
       }
-      return result;
+      return sid2ssc.isAlive(new SessionID(sid));
    }
 
    /**
@@ -144,11 +162,7 @@ public class ServerStore {
     * @param ctx the server's security context.
     */
    void cacheSession(final int ttl, final SecurityContext ctx) {
-      synchronized(lock) {
-         final String key = new String(ctx.getSID());
-         sid2ssc.put(key, ctx);
-         sid2ttl.put(key, new StoreEntry(ttl));
-      }
+      sid2ssc.put(new SessionID(ctx.getSID()), ttl, ctx);
    }
 
    /**
@@ -158,16 +172,14 @@ public class ServerStore {
     * returned to the client in a session re-use exchange.</p>
     *
     * @param sid the identifier of the session to restore.
-    * @return an SRP server's security context.
+    * @return an SRP server's security context, or <code>null</code> if the
+    * designated session is not alive.
     */
    SecurityContext restoreSession(final byte[] sid) {
-      final String key = new String(sid);
-      final SecurityContext result;
-      synchronized(lock) {
-         result = (SecurityContext) sid2ssc.remove(key);
-         sid2ttl.remove(key);
+      if (sid == null || sid.length == 0) {
+         return null;
       }
-      return result;
+      return (SecurityContext) sid2ssc.remove(new SessionID(sid));
    }
 
    /**
@@ -176,10 +188,37 @@ public class ServerStore {
     * @param sid the identifier of the seesion to invalidate.
     */
    void invalidateSession(final byte[] sid) {
-      final String key = new String(sid);
-      synchronized(lock) {
-         sid2ssc.remove(key);
-         sid2ttl.remove(key);
+      sid2ssc.remove(new SessionID(sid));
+   }
+
+   // Inner class(es)
+   // =========================================================================
+
+   /** A session identifier used as a map key, compared by content. */
+   private static final class SessionID {
+
+      private final byte[] sid;
+      private final int hash;
+
+      SessionID(final byte[] sid) {
+         super();
+
+         this.sid = sid;
+         int h = 0;
+         for (int i = 0; i < sid.length; i++) {
+            h = 31 * h + sid[i];
+         }
+         hash = h;
+      }
+
+      public int hashCode() {
+         return hash;
+      }
+
+      public boolean equals(final Object o) {
+         return (o instanceof SessionID)
+               && hash == ((SessionID) o).hash
+               && Arrays.equals(sid, ((SessionID) o).sid);
       }
    }
-}
\ No newline at end of file
+}
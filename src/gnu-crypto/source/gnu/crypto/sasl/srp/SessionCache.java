@@ -0,0 +1,398 @@
+package gnu.crypto.sasl.srp;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * <p>A bounded map of SRP session records used by the client- and server-side
+ * security context stores.</p>
+ *
+ * <p>The map is split into independently locked segments, selected by the
+ * hash of the key, so that concurrent handshakes seldom contend for the same
+ * lock. Each segment evicts its least recently used record once the cache
+ * holds more than its maximum size. Records whose Time-To-Live elapses are
+ * removed by a timer wheel: each record is filed in the slot of the wheel
+ * corresponding to its expiry time, and a shared timer thread sweeps one slot
+ * per tick.</p>
+ *
+ * @version $Revision$
+ */
+public final class SessionCache {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** The default maximum number of records held. */
+   public static final int DEFAULT_MAXIMUM_SIZE = 65536;
+
+   /** The number of segments; must be a power of 2. */
+   private static final int SEGMENTS = 16;
+
+   /** The duration of a timer wheel tick, in milliseconds. */
+   private static final long TICK = 1000L;
+
+   /** The number of slots in the timer wheel. */
+   private static final int WHEEL_SIZE = 64;
+
+   /** The timer thread shared by all caches. */
+   private static Timer timer;
+
+   /** The independently locked segments. */
+   private final Segment[] segments = new Segment[SEGMENTS];
+
+   /** The timer wheel; each slot is a list of {@link Record}s. */
+   private final LinkedList[] wheel = new LinkedList[WHEEL_SIZE];
+
+   /** Serializes the sweeps of the wheel, and guards {@link #lastTick}. */
+   private final Object sweepLock = new Object();
+
+   /** The tick up to which the wheel has been swept. */
+   private long lastTick;
+
+   /** The task sweeping the wheel; <code>null</code> if not scheduled. */
+   private TimerTask sweeper;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Creates a new cache holding at most the designated number of
+    * records.</p>
+    *
+    * @param maximumSize the maximum number of records held.
+    */
+   public SessionCache(int maximumSize) {
+      super();
+
+      for (int i = 0; i < SEGMENTS; i++) {
+         segments[i] = new Segment();
+      }
+      for (int i = 0; i < WHEEL_SIZE; i++) {
+         wheel[i] = new LinkedList();
+      }
+      setMaximumSize(maximumSize);
+      lastTick = System.currentTimeMillis() / TICK;
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   private static synchronized Timer timer() {
+      if (timer == null) {
+         timer = new Timer(true);
+      }
+      return timer;
+   }
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Sets the maximum number of records held by this cache, evicting the
+    * least recently used ones if necessary.</p>
+    *
+    * @param maximumSize the maximum number of records held.
+    * @exception IllegalArgumentException if <code>maximumSize</code> is not
+    * positive.
+    */
+   public void setMaximumSize(int maximumSize) {
+      if (maximumSize < 1) {
+         throw new IllegalArgumentException("maximum size");
+      }
+      int limit = (maximumSize + SEGMENTS - 1) / SEGMENTS;
+      for (int i = 0; i < SEGMENTS; i++) {
+         Segment s = segments[i];
+         synchronized (s) {
+            s.limit = limit;
+            for (Iterator it = s.values().iterator(); s.size() > limit; ) {
+               ((Record) it.next()).removed = true;
+               it.remove();
+               s.evictions++;
+            }
+         }
+      }
+   }
+
+   /**
+    * <p>Returns <code>true</code> if the designated key maps to a record
+    * whose Time-To-Live has not elapsed; a record found expired is removed.</p>
+    *
+    * @param key the key to look up.
+    * @return <code>true</code> if the designated session is alive.
+    */
+   public boolean isAlive(Object key) {
+      Segment s = segmentFor(key);
+      synchronized (s) {
+         Record r = (Record) s.get(key);
+         if (r != null && !r.isAlive()) {
+            s.remove(key);
+            r.removed = true;
+            s.expirations++;
+            r = null;
+         }
+         if (r == null) {
+            s.misses++;
+            return false;
+         }
+         s.hits++;
+         return true;
+      }
+   }
+
+   /**
+    * <p>Maps a key to a value for the designated Time-To-Live.</p>
+    *
+    * @param key the key.
+    * @param ttl the Time-To-Live, in seconds; zero means forever.
+    * @param value the value.
+    */
+   public void put(Object key, int ttl, Object value) {
+      Record r = new Record(key, value, ttl);
+      Segment s = segmentFor(key);
+      synchronized (s) {
+         Record old = (Record) s.put(key, r);
+         if (old != null) {
+            old.removed = true;
+         }
+      }
+      if (ttl != 0) {
+         long expiry = r.getTimeToDie() / TICK;
+         LinkedList slot = wheel[(int)(expiry % WHEEL_SIZE)];
+         synchronized (wheel) {
+            slot.add(r);
+            if (sweeper == null) {
+               sweeper = new TimerTask() {
+                  public void run() {
+                     sweep();
+                  }
+               };
+               timer().schedule(sweeper, TICK, TICK);
+            }
+         }
+      }
+   }
+
+   /**
+    * <p>Removes the record mapped to the designated key, returning its value
+    * if the record was still alive.</p>
+    *
+    * @param key the key.
+    * @return the value of the removed record, or <code>null</code> if no such
+    * record existed or if it had expired.
+    */
+   public Object remove(Object key) {
+      Segment s = segmentFor(key);
+      synchronized (s) {
+         Record r = (Record) s.remove(key);
+         if (r == null) {
+            s.misses++;
+            return null;
+         }
+         r.removed = true;
+         if (!r.isAlive()) {
+            s.expirations++;
+            s.misses++;
+            return null;
+         }
+         s.hits++;
+         return r.value;
+      }
+   }
+
+   /** @return the number of records currently held. */
+   public int size() {
+      int result = 0;
+      for (int i = 0; i < SEGMENTS; i++) {
+         synchronized (segments[i]) {
+            result += segments[i].size();
+         }
+      }
+      return result;
+   }
+
+   /** @return the number of lookups that found a live record. */
+   public long getHitCount() {
+      long result = 0L;
+      for (int i = 0; i < SEGMENTS; i++) {
+         synchronized (segments[i]) {
+            result += segments[i].hits;
+         }
+      }
+      return result;
+   }
+
+   /** @return the number of lookups that found no live record. */
+   public long getMissCount() {
+      long result = 0L;
+      for (int i = 0; i < SEGMENTS; i++) {
+         synchronized (segments[i]) {
+            result += segments[i].misses;
+         }
+      }
+      return result;
+   }
+
+   /** @return the number of records evicted to honour the maximum size. */
+   public long getEvictionCount() {
+      long result = 0L;
+      for (int i = 0; i < SEGMENTS; i++) {
+         synchronized (segments[i]) {
+            result += segments[i].evictions;
+         }
+      }
+      return result;
+   }
+
+   /** @return the number of records removed because they expired. */
+   public long getExpirationCount() {
+      long result = 0L;
+      for (int i = 0; i < SEGMENTS; i++) {
+         synchronized (segments[i]) {
+            result += segments[i].expirations;
+         }
+      }
+      return result;
+   }
+
+   /**
+    * <p>Sweeps the slots of the timer wheel for all the ticks that elapsed
+    * since the last sweep, removing the expired records found there. Records
+    * due in a later turn of the wheel are left in their slot. Concurrent
+    * sweeps, by the timer thread or by callers, are run one at a time.</p>
+    */
+   public void sweep() {
+      synchronized (sweepLock) {
+         sweepTo(System.currentTimeMillis() / TICK);
+      }
+   }
+
+   /** Sweeps the wheel up to a tick; the sweep lock is held by the caller. */
+   private void sweepTo(long now) {
+      long from = Math.max(lastTick + 1, now - WHEEL_SIZE + 1);
+      for (long tick = from; tick <= now; tick++) {
+         LinkedList slot = wheel[(int)(tick % WHEEL_SIZE)];
+         Object[] records;
+         synchronized (wheel) {
+            records = slot.toArray();
+            slot.clear();
+         }
+         LinkedList survivors = new LinkedList();
+         for (int i = 0; i < records.length; i++) {
+            Record r = (Record) records[i];
+            Segment s = segmentFor(r.key);
+            synchronized (s) {
+               if (r.removed) {
+                  continue;
+               }
+               if (!r.isAlive()) {
+                  s.remove(r.key);
+                  r.removed = true;
+                  s.expirations++;
+                  continue;
+               }
+            }
+            survivors.add(r);
+         }
+         if (!survivors.isEmpty()) {
+            synchronized (wheel) {
+               slot.addAll(survivors);
+            }
+         }
+      }
+      lastTick = now;
+   }
+
+   private Segment segmentFor(Object key) {
+      int h = key.hashCode();
+      h ^= (h >>> 16);
+      return segments[(h ^ (h >>> 8)) & (SEGMENTS - 1)];
+   }
+
+   // Inner class(es)
+   // =========================================================================
+
+   /** A key/value record with its timing information. */
+   private static final class Record extends StoreEntry {
+
+      final Object key;
+      final Object value;
+
+      /** Set, under the segment's lock, once removed from its segment. */
+      boolean removed;
+
+      Record(Object key, Object value, int ttl) {
+         super(ttl);
+
+         this.key = key;
+         this.value = value;
+      }
+   }
+
+   /** A segment: an access-ordered map with its own counters. */
+   private static final class Segment extends LinkedHashMap {
+
+      int limit;
+      long hits, misses, evictions, expirations;
+
+      Segment() {
+         super(16, 0.75f, true);
+      }
+
+      protected boolean removeEldestEntry(Map.Entry eldest) {
+         if (size() <= limit) {
+            return false;
+         }
+         ((Record) eldest.getValue()).removed = true;
+         evictions++;
+         return true;
+      }
+   }
+}
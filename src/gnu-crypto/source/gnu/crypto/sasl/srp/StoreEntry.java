@@ -86,4 +86,14 @@ class StoreEntry {
    boolean isAlive() {
       return (perenial ? true : (System.currentTimeMillis() < timeToDie));
    }
+
+   /**
+    * <p>Returns the time at which the Time-To-Live period elapses.</p>
+    *
+    * @return the time, in milliseconds since the epoch, at which the
+    * Time-To-Live period elapses; or <code>0</code> if it never does.
+    */
+   long getTimeToDie() {
+      return timeToDie;
+   }
 }
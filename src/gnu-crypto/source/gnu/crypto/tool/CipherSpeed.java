@@ -43,6 +43,7 @@ package gnu.crypto.tool;
 // do so, delete this exception statement from your version.
 // ----------------------------------------------------------------------------
 
+import gnu.crypto.cipher.BaseCipher;
 import gnu.crypto.cipher.CipherFactory;
 import gnu.crypto.cipher.IBlockCipher;
 import java.util.Arrays;
@@ -60,6 +61,9 @@ public final class CipherSpeed {
    // Constants and variables
    // -------------------------------------------------------------------------
 
+   /** The number of blocks in each run of the bulk measurement. */
+   private static final int RUN_BLOCKS = 32;
+
    // Constructor(s)
    // -------------------------------------------------------------------------
 
@@ -143,6 +147,11 @@ public final class CipherSpeed {
          cipher.init(map);
 
          byte[] ct = (byte[]) pt.clone();
+         // warm up, so that what is timed is the JIT-compiled code
+         for (i = 0; i < iterations / 10; i++) {
+            cipher.encryptBlock(ct, 0, ct, 0);
+            cipher.decryptBlock(ct, 0, ct, 0);
+         }
          long elapsed = -System.currentTimeMillis();
          for (i = 0; i < iterations; i++) {
             cipher.encryptBlock(ct, 0, ct, 0);
@@ -170,6 +179,28 @@ public final class CipherSpeed {
          if (!Arrays.equals(pt, cpt)) {
             throw new RuntimeException("Symmetric operation failed");
          }
+
+         // runs of blocks, as the counter mode feeds them to the cipher
+         if (cipher instanceof BaseCipher) {
+            BaseCipher bulk = (BaseCipher) cipher;
+            byte[] run = new byte[RUN_BLOCKS * blocksize];
+            int runs = iterations / RUN_BLOCKS;
+            for (i = 0; i < runs / 10; i++) {
+               bulk.encryptBlocks(run, 0, run, 0, RUN_BLOCKS);
+            }
+
+            System.out.print("Bulk encryption: ");
+            elapsed = -System.currentTimeMillis();
+            for (i = 0; i < runs; i++) {
+               bulk.encryptBlocks(run, 0, run, 0, RUN_BLOCKS);
+            }
+
+            elapsed += System.currentTimeMillis();
+            secs = (elapsed > 1) ? (float) elapsed / 1000 : 1;
+            speed = (float) runs * RUN_BLOCKS * blocksize / 1024 / secs;
+
+            System.out.println("time = "+secs+", speed = "+speed+" KB/s");
+         }
       } catch (Exception x) {
          x.printStackTrace(System.err);
       }
@@ -112,6 +112,12 @@ public final class HashSpeed {
             data[i] = (byte) i;
          }
 
+         // warm up, so that what is timed is the JIT-compiled transform
+         for (i = 0; i < iterations / 10; i++) {
+            hash.update(data, 0, blocksize);
+         }
+         hash.reset();
+
          System.out.print(hash.name()+": Hashing "+String.valueOf(iterations)
                +" blocks of "+String.valueOf(blocksize)+" bytes each: ");
          long elapsed = -System.currentTimeMillis();
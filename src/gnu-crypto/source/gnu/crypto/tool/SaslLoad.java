@@ -0,0 +1,372 @@
+package gnu.crypto.tool;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+import gnu.crypto.Registry;
+import gnu.crypto.sasl.ClientFactory;
+import gnu.crypto.sasl.ClientMechanism;
+import gnu.crypto.sasl.srp.SRPRegistry;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.security.sasl.Sasl;
+import javax.security.sasl.SaslException;
+
+/**
+ * <p>A loopback load generator for {@link SaslS}. For each of the SRP,
+ * CRAM-MD5, PLAIN and ANONYMOUS mechanisms, it runs a designated number of
+ * complete sessions (connection, authentication, and one request through the
+ * negotiated security layer) from a designated number of client threads, and
+ * reports the rate of sessions per second, and their median, 99th percentile
+ * and maximum latencies in milliseconds. Failed sessions are counted apart,
+ * and do not enter the rate or the latencies.</p>
+ *
+ * <p>Every SRP session first runs a full handshake. SRP is then measured a
+ * second time with sessions resumed: each client thread runs one untimed
+ * full handshake, then resumes that SRP session for all its timed ones.</p>
+ *
+ * <p>The <code>main()</code> method accepts two arguments, and an optional
+ * third one: the number of sessions per mechanism, the number of client
+ * threads, and the port number of a running {@link SaslS}. Without the
+ * latter, a {@link SaslS} is started in this JVM, on any free port.</p>
+ *
+ * @version $Revision$
+ */
+public class SaslLoad implements Runnable {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final String[] MECHANISMS = {
+      Registry.SASL_SRP_MECHANISM,
+      Registry.SASL_CRAM_MD5_MECHANISM,
+      Registry.SASL_PLAIN_MECHANISM,
+      Registry.SASL_ANONYMOUS_MECHANISM
+   };
+
+   /** <code>System.nanoTime()</code>, if this runtime has it. */
+   private static final Method NANO_TIME;
+   static {
+      Method m = null;
+      try {
+         m = System.class.getMethod("nanoTime", (Class[]) null);
+      } catch (Exception x) {
+      }
+      NANO_TIME = m;
+   }
+
+   private final String mechanism;
+   private final boolean resume;
+   private final int port;
+   private final Map properties = new HashMap();
+   private final long[] latencies; // in nanoseconds, of completed sessions
+   private int next = 0; // index of the next session to run
+   private int completed = 0;
+   private int failures = 0;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   private SaslLoad(String mechanism, boolean resume, int port, int sessions) {
+      super();
+
+      this.mechanism = mechanism;
+      this.resume = resume;
+      this.port = port;
+      this.latencies = new long[sessions];
+
+      properties.put(Registry.SASL_USERNAME, SaslS.user);
+      properties.put(Registry.SASL_PASSWORD,
+            Registry.SASL_CRAM_MD5_MECHANISM.equals(mechanism)
+                  ? SaslS.cramPassword : SaslS.password);
+      properties.put(Registry.SASL_AUTHORISATION_ID, SaslS.user);
+      properties.put(Registry.SASL_SERVER_NAME, "localhost");
+      // the SRP client must ask for what the server offers
+      properties.put(SRPRegistry.SRP_REPLAY_DETECTION, "true");
+      properties.put(SRPRegistry.SRP_INTEGRITY_PROTECTION, "true");
+      properties.put(SRPRegistry.SRP_CONFIDENTIALITY, "true");
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * @param args [0] the number of sessions to run for each mechanism;
+    * [1] the number of client threads; and optionally [2] the port number
+    * of a running SASL test server.
+    */
+   public static void main(String[] args) throws Exception {
+      System.out.println("SASL Load Generator");
+      if (args.length != 2 && args.length != 3) {
+         System.out.print("Usage: "+SaslLoad.class.getName()+" ");
+         System.out.print("<sessions per mechanism> ");
+         System.out.print("<number of client threads> ");
+         System.out.println("[<server port>]");
+         System.exit(0);
+      }
+
+      int sessions = Integer.parseInt(args[0]);
+      int threads = Integer.parseInt(args[1]);
+      SaslS engine = null;
+      int port;
+      if (args.length == 3) {
+         port = Integer.parseInt(args[2]);
+      } else {
+         engine = new SaslS(0, SaslS.prepare(), 30000L,
+               Runtime.getRuntime().availableProcessors());
+         new Thread(engine, "SASL-SELECTOR").start();
+         port = engine.getLocalPort();
+         System.out.println("Started SASL test server on port "+port);
+      }
+
+      try {
+         for (int i = 0; i < MECHANISMS.length; i++) {
+            new SaslLoad(MECHANISMS[i], false, port, sessions).measure(threads);
+         }
+         new SaslLoad(Registry.SASL_SRP_MECHANISM, true, port, sessions)
+               .measure(threads);
+      } finally {
+         if (engine != null) {
+            engine.shutdown();
+         }
+      }
+   }
+
+   /**
+    * @return the current value of the most precise timer available, in
+    * nanoseconds; only differences between two such values are meaningful.
+    */
+   private static long now() {
+      if (NANO_TIME != null) {
+         try {
+            return ((Long) NANO_TIME.invoke(null, (Object[]) null)).longValue();
+         } catch (Exception x) {
+         }
+      }
+      return System.currentTimeMillis() * 1000000L;
+   }
+
+   /** @return the designated duration, in milliseconds, to the microsecond. */
+   private static String millis(long nanos) {
+      long micros = nanos / 1000L;
+      String fraction = String.valueOf(1000L + micros % 1000L).substring(1);
+      return String.valueOf(micros / 1000L) + "." + fraction + " ms";
+   }
+
+   /**
+    * @return the data of a SASL buffer read from the designated stream; with
+    * its four octets of length in front if <code>withHeader</code> is
+    * <code>true</code>.
+    */
+   private static byte[] readBuffer(DataInputStream in, boolean withHeader)
+   throws IOException {
+      int length = in.readInt();
+      if (length < 0) {
+         throw new IOException("Negative SASL buffer length");
+      }
+      int offset = withHeader ? 4 : 0;
+      byte[] result = new byte[offset + length];
+      in.readFully(result, offset, length);
+      if (withHeader) {
+         result[0] = (byte)(length >>> 24);
+         result[1] = (byte)(length >>> 16);
+         result[2] = (byte)(length >>>  8);
+         result[3] = (byte) length;
+      }
+      return result;
+   }
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   private void measure(int threads) throws InterruptedException {
+      Thread[] clients = new Thread[threads];
+      long start = now();
+      for (int i = 0; i < threads; i++) {
+         clients[i] = new Thread(this, mechanism+"-"+String.valueOf(i));
+         clients[i].start();
+      }
+      for (int i = 0; i < threads; i++) {
+         clients[i].join();
+      }
+      long elapsed = Math.max(1L, now() - start);
+
+      int n = completed;
+      long[] sorted = new long[n];
+      System.arraycopy(latencies, 0, sorted, 0, n);
+      Arrays.sort(sorted);
+      StringBuffer sb = new StringBuffer(mechanism);
+      if (resume) {
+         sb.append(" (resumed)");
+      }
+      while (sb.length() < 16) {
+         sb.append(' ');
+      }
+      sb.append(n * 1000000000L / elapsed).append(" sessions/s");
+      if (n > 0) {
+         sb.append(", p50 ").append(millis(sorted[(n - 1) / 2]));
+         sb.append(", p99 ").append(millis(sorted[(n - 1) * 99 / 100]));
+         sb.append(", max ").append(millis(sorted[n - 1]));
+      }
+      sb.append(", ").append(failures).append(" failure(s)");
+      System.out.println(sb.toString());
+   }
+
+   private synchronized int nextSession() {
+      return (next < latencies.length) ? next++ : -1;
+   }
+
+   private synchronized void completed(long latency) {
+      latencies[completed++] = latency;
+   }
+
+   private synchronized void failed(Exception x) {
+      if (failures++ == 0) {
+         x.printStackTrace(System.err);
+      }
+   }
+
+   // Runnable interface methods implementation -------------------------------
+
+   public void run() {
+      // SRP keys the sessions it resumes by protocol: a protocol used once
+      // forces a full handshake, one kept by the thread resumes its session
+      String protocol = Thread.currentThread().getName();
+      HashMap attributes = new HashMap(properties);
+      attributes.put(Registry.SASL_PROTOCOL, protocol);
+      if (resume) {
+         try {
+            session(attributes);
+         } catch (Exception x) {
+            failed(x);
+            return;
+         }
+      }
+      int i;
+      while ((i = nextSession()) != -1) {
+         if (!resume) {
+            attributes.put(Registry.SASL_PROTOCOL, protocol+"-"+i);
+         }
+         long start = now();
+         try {
+            session(attributes);
+            completed(now() - start);
+         } catch (Exception x) {
+            failed(x);
+         }
+      }
+   }
+
+   // other Instance methods --------------------------------------------------
+
+   /** Runs one complete session against the server. */
+   private void session(Map attributes) throws IOException {
+      Socket socket = new Socket(InetAddress.getByName("127.0.0.1"), port);
+      try {
+         socket.setTcpNoDelay(true);
+         socket.setSoTimeout(30000);
+         DataInputStream in = new DataInputStream(
+               new BufferedInputStream(socket.getInputStream()));
+         OutputStream out = socket.getOutputStream();
+
+         byte[] name = mechanism.getBytes("ASCII");
+         byte[] hello = new byte[name.length + 1];
+         System.arraycopy(name, 0, hello, 0, name.length);
+         out.write(hello);
+
+         ClientMechanism sasl = ClientFactory.getInstance(mechanism);
+         sasl.init(attributes);
+
+         byte[] token = sasl.hasInitialResponse()
+               ? sasl.evaluateChallenge(null) : new byte[0];
+         if (Registry.SASL_SRP_MECHANISM.equals(mechanism)) {
+            // SRP responses and challenges are SASL buffers already
+            out.write(token);
+            while (!sasl.isComplete()) {
+               token = sasl.evaluateChallenge(readBuffer(in, true));
+               if (token != null) {
+                  out.write(token);
+               }
+            }
+         } else { // the server answers every response
+            while (true) {
+               out.write(SaslS.frame(token));
+               byte[] challenge = readBuffer(in, false);
+               if (sasl.isComplete()) {
+                  break;
+               }
+               token = sasl.evaluateChallenge(challenge);
+            }
+         }
+
+         String qop = (String) sasl.getNegotiatedProperty(Sasl.QOP);
+         boolean layer = qop != null && !Registry.QOP_AUTH.equals(qop);
+         byte[] request = "ping".getBytes("ASCII");
+         if (layer) {
+            request = sasl.wrap(request, 0, request.length);
+         }
+         out.write(SaslS.frame(request));
+         byte[] reply = readBuffer(in, false);
+         if (layer) {
+            reply = sasl.unwrap(reply, 0, reply.length);
+         }
+         if (!"ok".equals(new String(reply, "ASCII"))) {
+            throw new SaslException("Unexpected reply");
+         }
+         sasl.dispose();
+      } finally {
+         socket.close();
+      }
+   }
+}
@@ -43,63 +43,128 @@ package gnu.crypto.tool;
 // do so, delete this exception statement from your version.
 // ----------------------------------------------------------------------------
 
-import gnu.crypto.sasl.SaslInputStream;
-import gnu.crypto.sasl.SaslOutputStream;
+
+import gnu.crypto.Registry;
 import gnu.crypto.sasl.ServerFactory;
 import gnu.crypto.sasl.ServerMechanism;
 import gnu.crypto.sasl.srp.PasswordFile;
 import gnu.crypto.sasl.srp.SRPRegistry;
+import gnu.crypto.sasl.srp.SRPServer;
+import gnu.crypto.sasl.crammd5.CramMD5Registry;
+import gnu.crypto.sasl.plain.PlainRegistry;
 
-import java.io.EOFException;
 import java.io.File;
-import java.io.InputStream;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.Map;
 import java.util.Random;
 
+import javax.security.sasl.Sasl;
 import javax.security.sasl.SaslException;
 
 /**
- * <p>A basic server-side test class to exercise SASL mechanisms that exchange
- * their response/challenge in SASL Buffers. At the time of testing this code,
- * only two such mechanisms are included in the library: SRP and SM2!</p>
+ * <p>A basic server-side test class to exercise SASL mechanisms: SRP,
+ * CRAM-MD5, PLAIN and ANONYMOUS.</p>
+ *
+ * <p>All connections are served by one thread that drives non-blocking
+ * {@link SocketChannel}s with a {@link Selector}. Only the evaluation of the
+ * SASL responses, and the security layer, are handed to a small pool of
+ * worker threads, so that a slow mechanism never stalls the I/O of the other
+ * connections.</p>
+ *
+ * <p>On each connection, the client sends the name of the mechanism followed
+ * by a <code>0x00</code> octet. Then every response of the client, and every
+ * challenge of the server, is sent as a SASL buffer (four octets in network
+ * byte order giving the length of the data, followed by the data). SRP
+ * responses and challenges are SASL buffers already, and are sent as they
+ * are. With the other mechanisms, the server answers every response; once the
+ * authentication completes without a last challenge, its answer is an empty
+ * buffer. Last, the client sends one request, through the negotiated security
+ * layer if any, as {@link gnu.crypto.sasl.SaslOutputStream} would. The server
+ * answers <code>"ok"</code> the same way and closes the connection.</p>
  *
- * <p>The <code>main()</code> method accepts two arguments: the first is the
- * number in milliseconds for the read timeout operation, and the second is the
- * port number on which to listen for incoming connections. Use <code>Ctrl-C</code>
- * to kill it. It should activate a shutdown thread that will orderly close all
- * live worker threads before exiting.</p>
+ * <p>The <code>main()</code> method accepts two arguments, and an optional
+ * third one: the number in milliseconds after which an idle connection is
+ * closed, the port number on which to listen for incoming connections and the
+ * number of worker threads. Use <code>Ctrl-C</code> to kill it.</p>
  *
- * @version $Revision: 1.2 $
+ * @see SaslLoad
+ * @version $Revision$
  */
 public class SaslS implements Runnable {
 
    // Constants and variables
    // -------------------------------------------------------------------------
 
-   static final HashMap pool = new HashMap();
+   /** The largest SASL buffer accepted from a client. */
+   private static final int MAX_BUFFER = 1 << 20;
+
+   // connection states
+   private static final int MECHANISM = 0;
+   private static final int HANDSHAKE = 1;
+   private static final int SECURE = 2;
+   private static final int CLOSING = 3;
+
+   static final String user = "test";
+   static final String password = "test";
+   /** HMAC-MD5 refuses keys shorter than 16 octets. */
+   static final String cramPassword = "test-cram-md5-pw";
+
+   private final Selector selector;
+   private final ServerSocketChannel server;
+   private final Map properties;
+   private final long timeout;
 
-   private static int port;
-   private static int timeout;
-   private static long counter = 0L;
-   private static String user = "test";
-   private static String password = "test";
+   /** Connections holding a complete SASL buffer to process. */
+   private final LinkedList tasks = new LinkedList();
 
-   private ServerSocket server;
+   /** Connections whose SASL buffer has been processed. */
+   private final LinkedList done = new LinkedList();
+
+   private final Thread[] workers;
+   private volatile boolean running = true;
 
    // Constructor(s)
    // -------------------------------------------------------------------------
 
-   SaslS(ServerSocket ss) {
+   /**
+    * <p>Trivial constructor.</p>
+    *
+    * @param port the port number where to listen for incoming connections;
+    * <code>0</code> for any free port.
+    * @param properties the properties of the SASL server mechanisms.
+    * @param timeout the number of milliseconds after which an idle connection
+    * is closed; <code>0</code> for never.
+    * @param workers the number of threads evaluating SASL responses.
+    * @throws IOException if the server channel can not be set up.
+    */
+   public SaslS(int port, Map properties, long timeout, int workers)
+   throws IOException {
       super();
 
-      server = ss;
-      listen();
+      this.properties = properties;
+      this.timeout = timeout;
+      selector = Selector.open();
+      server = ServerSocketChannel.open();
+      server.socket().setReuseAddress(true);
+      server.socket().bind(new InetSocketAddress(port));
+      server.configureBlocking(false);
+      server.register(selector, SelectionKey.OP_ACCEPT);
+
+      this.workers = new Thread[workers];
+      for (int i = 0; i < workers; i++) {
+         this.workers[i] = new Thread(new Worker(), "SASL-WORKER-"+String.valueOf(i));
+         this.workers[i].setDaemon(true);
+         this.workers[i].start();
+      }
    }
 
    // Class methods
@@ -108,53 +173,29 @@ public class SaslS implements Runnable {
    /**
     * A simple test server that handles SASL connections.
     *
-    * @param args [0] timeout, in millis, for client connections;
-    * [1] port number where to listen for incoming connections.
+    * @param args [0] timeout, in millis, for idle client connections;
+    * [1] port number where to listen for incoming connections; and
+    * optionally [2] the number of worker threads.
     */
    public static final void main(String[] args) throws IOException {
       System.out.println("SASL Test Server");
-      if (args.length != 2) {
-        System.out.println("Usage: "+SaslS.class.getName()+" <timeout in millis> <port>");
+      if (args.length != 2 && args.length != 3) {
+        System.out.println("Usage: "+SaslS.class.getName()
+              +" <timeout in millis> <port> [<worker threads>]");
         System.exit(0);
       }
 
       System.out.println("1. Updating 'test' user password info");
-      System.out.println("Checking existence of password file. Creating it if new...");
-      String pFile = System.getProperty(SRPRegistry.PASSWORD_FILE, "./test");
-      System.out.println("SRP password file: \""+pFile+"\"");
-      File f = new File(pFile);
-      if (!f.exists()) {
-         System.out.println("Creating new file \""+f.getCanonicalPath()+"\"");
-         if (f.createNewFile()) {
-            f.deleteOnExit();
-         }
-      } else if (!f.isFile()) {
-         throw new RuntimeException("File object ("+pFile+") exists but is not a file");
-      } else if (!f.canRead() || !f.canWrite()) {
-         throw new RuntimeException("File ("+pFile+") exists but is not accessible");
-      }
-      f = null;
-
-      PasswordFile tpasswd = new PasswordFile(pFile);
-      if (!tpasswd.contains(user)) {
-         System.out.println("Adding test user...");
-         byte[] testSalt = new byte[10];
-         new Random().nextBytes(testSalt);
-         tpasswd.add(user, password, testSalt, "1");
-         System.out.println("Added test user...");
-      } else {
-         System.out.println("Updating test user...");
-         tpasswd.changePasswd(user, password);
-         System.out.println("Updated test user...");
-      }
+      Map properties = prepare();
 
-      tpasswd.savePasswd();
-      tpasswd = null;
-
-      timeout = Integer.valueOf(args[0]).intValue();
-      port = Integer.valueOf(args[1]).intValue();
-      final ServerSocket ss = new ServerSocket(port);
-      new SaslS(ss);
+      int timeout = Integer.valueOf(args[0]).intValue();
+      int port = Integer.valueOf(args[1]).intValue();
+      int workers = (args.length == 3)
+            ? Integer.valueOf(args[2]).intValue()
+            : Runtime.getRuntime().availableProcessors();
+      final SaslS engine = new SaslS(port, properties, timeout, workers);
+      final Thread main = new Thread(engine, "SASL-SELECTOR");
+      main.start();
 
       System.out.println("Server ready...");
 
@@ -162,33 +203,10 @@ public class SaslS implements Runnable {
          new Thread() {
             public void run() {
                System.out.println("Started shutdown...");
+               engine.shutdown();
                try {
-                  System.out.println("Closing server socket...");
-                  ss.close();
-                  System.out.println("Closed server socket...");
-               } catch (IOException x) {
-                  x.printStackTrace(System.err);
-                  System.out.println("Exception ("+String.valueOf(x)
-                        +") while shutting down. Ignored...");
-               }
-
-               System.out.println("Interrupting "+String.valueOf(pool.size())
-                     +" waiting connection thread(s)...");
-               Iterator it = pool.entrySet().iterator();
-               while (it.hasNext()) {
-                  Thread t = (Thread)((Map.Entry) it.next()).getValue();
-                  String name = t.getName();
-                  System.out.println("Interrupting connection "+name+"...");
-                  try {
-                     t.interrupt();
-                     t.join();
-                  } catch (Exception x) {
-                     x.printStackTrace(System.err);
-                     System.out.println("Exception ("+String.valueOf(x)
-                           +") while interrupting/joining "+name+". Ignored...");
-                  }
-
-                  System.out.println("Interrupted connection "+name+"...");
+                  main.join();
+               } catch (InterruptedException ignored) {
                }
                System.out.println("Completed shutdown. Exiting...");
             }
@@ -196,146 +214,441 @@ public class SaslS implements Runnable {
       );
    }
 
-   private static final byte[] mungeSaslBuffer(InputStream in) throws IOException {
-      byte[] h = new byte[4];
-      int check = in.read(h);
-      if (check == -1) {
-         throw new EOFException();
+   /**
+    * <p>Ensures that the password files of the SRP, CRAM-MD5 and PLAIN
+    * mechanisms know the <code>test</code> user, whose password is
+    * <code>test</code> (or {@link #cramPassword} for CRAM-MD5), creating the
+    * files if needed.</p>
+    *
+    * @return the properties to initialise the SASL server mechanisms with.
+    * @throws IOException if a password file can not be set up.
+    */
+   static Map prepare() throws IOException {
+      String srpFile = System.getProperty(SRPRegistry.PASSWORD_FILE, "./test");
+      String plainFile = System.getProperty(PlainRegistry.PASSWORD_FILE, "./test.plain");
+      String cramFile = System.getProperty(CramMD5Registry.PASSWORD_FILE, "./test.cram-md5");
+      System.out.println("SRP password file: \""+srpFile+"\"");
+      checkFile(srpFile);
+      checkFile(plainFile);
+      checkFile(cramFile);
+
+      PasswordFile tpasswd = new PasswordFile(srpFile);
+      if (!tpasswd.contains(user)) {
+         byte[] testSalt = new byte[10];
+         new Random().nextBytes(testSalt);
+         tpasswd.add(user, password, testSalt, "1");
+      } else {
+         tpasswd.changePasswd(user, password);
+      }
+      tpasswd.savePasswd();
+
+      String[] attributes = new String[] { "0", "0", "test", "/", "-" };
+      gnu.crypto.sasl.plain.PasswordFile plain =
+            new gnu.crypto.sasl.plain.PasswordFile(plainFile);
+      if (!plain.contains(user)) {
+         plain.add(user, password, attributes);
+      } else {
+         plain.changePasswd(user, password);
       }
-      if (check != 4) {
-         throw new IOException();
+      gnu.crypto.sasl.crammd5.PasswordFile cram =
+            new gnu.crypto.sasl.crammd5.PasswordFile(cramFile);
+      if (!cram.contains(user)) {
+         cram.add(user, cramPassword, attributes);
+      } else {
+         cram.changePasswd(user, cramPassword);
       }
-      int length = h[0] << 24 | (h[1] & 0xFF) << 16 | (h[2] & 0xFF) << 8 | (h[3] & 0xFF);
-      byte[] result = new byte[length + 4];
-      System.arraycopy(h, 0, result, 0, 4);
-      check = in.read(result, 4, length);
-      if (check == -1) {
-         throw new EOFException();
-      } else if (check != length) {
-         throw new IOException();
+
+      HashMap result = new HashMap();
+      result.put(SRPRegistry.SRP_REPLAY_DETECTION, "true");
+      result.put(SRPRegistry.SRP_INTEGRITY_PROTECTION, "true");
+      result.put(SRPRegistry.SRP_CONFIDENTIALITY, "true");
+      result.put(SRPRegistry.PASSWORD_FILE, srpFile);
+      result.put(PlainRegistry.PASSWORD_FILE, plainFile);
+      result.put(CramMD5Registry.PASSWORD_FILE, cramFile);
+      return result;
+   }
+
+   private static void checkFile(String name) throws IOException {
+      File f = new File(name);
+      if (!f.exists()) {
+         System.out.println("Creating new file \""+f.getCanonicalPath()+"\"");
+         if (f.createNewFile()) {
+            f.deleteOnExit();
+         }
+      } else if (!f.isFile()) {
+         throw new RuntimeException("File object ("+name+") exists but is not a file");
+      } else if (!f.canRead() || !f.canWrite()) {
+         throw new RuntimeException("File ("+name+") exists but is not accessible");
       }
+   }
+
+   /**
+    * @return a SASL buffer holding the designated data.
+    */
+   static byte[] frame(byte[] data) {
+      int length = data.length;
+      byte[] result = new byte[length + 4];
+      result[0] = (byte)(length >>> 24);
+      result[1] = (byte)(length >>> 16);
+      result[2] = (byte)(length >>>  8);
+      result[3] = (byte) length;
+      System.arraycopy(data, 0, result, 4, length);
       return result;
    }
 
    // Instance methods
    // -------------------------------------------------------------------------
 
+   /** @return the port number this server listens on. */
+   public int getLocalPort() {
+      return server.socket().getLocalPort();
+   }
+
+   /** Stops the server: closes all connections and stops all threads. */
+   public void shutdown() {
+      running = false;
+      selector.wakeup();
+      synchronized (tasks) {
+         tasks.notifyAll();
+      }
+   }
+
    // Runnable interface methods implementation -------------------------------
 
+   /** The selector loop; runs until {@link #shutdown()} is invoked. */
    public void run() {
-      Socket socket;
+      long lastSweep = System.currentTimeMillis();
       try {
-         socket = server.accept();
+         while (running) {
+            selector.select(1000L);
+            for (Iterator it = selector.selectedKeys().iterator(); it.hasNext(); ) {
+               SelectionKey key = (SelectionKey) it.next();
+               it.remove();
+               if (!key.isValid()) {
+                  continue;
+               }
+               if (key.isAcceptable()) {
+                  accept();
+               } else {
+                  Connection c = (Connection) key.attachment();
+                  try {
+                     if (key.isReadable()) {
+                        c.read();
+                     } else if (key.isWritable()) {
+                        c.write();
+                     }
+                  } catch (IOException x) {
+                     c.close();
+                  }
+               }
+            }
+
+            Connection c;
+            while ((c = nextDone()) != null) {
+               try {
+                  c.resume();
+               } catch (IOException x) {
+                  c.close();
+               }
+            }
+
+            long now = System.currentTimeMillis();
+            if (timeout > 0 && now - lastSweep > 1000L) {
+               lastSweep = now;
+               sweep(now);
+            }
+         }
       } catch (IOException x) {
          x.printStackTrace(System.err);
          System.out.println("run(). Server shutdown...");
+      } finally {
+         running = false;
+         synchronized (tasks) {
+            tasks.notifyAll();
+         }
+         for (Iterator it = selector.keys().iterator(); it.hasNext(); ) {
+            SelectionKey key = (SelectionKey) it.next();
+            if (key.attachment() != null) {
+               ((Connection) key.attachment()).close();
+            }
+         }
+         try {
+            server.close();
+            selector.close();
+         } catch (IOException ignored) {
+            System.out.println("Exception ("+ignored.getMessage()
+                  +") while closing the server. Ignored...");
+         }
+      }
+   }
+
+   // other Instance methods --------------------------------------------------
+
+   private void accept() throws IOException {
+      SocketChannel channel = server.accept();
+      if (channel == null) {
          return;
       }
+      channel.configureBlocking(false);
+      channel.socket().setTcpNoDelay(true);
+      Connection c = new Connection(channel);
+      c.key = channel.register(selector, SelectionKey.OP_READ, c);
+   }
+
+   /** Closes the idle connections. */
+   private void sweep(long now) {
+      for (Iterator it = selector.keys().iterator(); it.hasNext(); ) {
+         SelectionKey key = (SelectionKey) it.next();
+         Connection c = (Connection) key.attachment();
+         if (c != null && !c.busy && now - c.lastActive > timeout) {
+            c.close();
+         }
+      }
+   }
 
-      listen();
+   private void submit(Connection c) {
+      synchronized (tasks) {
+         tasks.addLast(c);
+         tasks.notify();
+      }
+   }
 
-      InputStream in, secureIn;
-      OutputStream out, secureOut;
-      ServerMechanism sasl = null;
-      try {
-         socket.setSoTimeout(timeout);
-         socket.setTcpNoDelay(true);
-
-         in = socket.getInputStream();
-         out = socket.getOutputStream();
-         int c;
-         StringBuffer sb = new StringBuffer();
-         while ((c = in.read()) != 0x00) {
-            sb.append((char) c);
+   private void complete(Connection c) {
+      synchronized (done) {
+         done.addLast(c);
+      }
+      selector.wakeup();
+   }
+
+   private Connection nextDone() {
+      synchronized (done) {
+         return done.isEmpty() ? null : (Connection) done.removeFirst();
+      }
+   }
+
+   /** @return the answer to a request received over an authenticated link. */
+   private byte[] call(byte[] request) {
+      return "ok".getBytes();
+   }
+
+   // Inner class(es)
+   // =========================================================================
+
+   /** The state of one client connection. */
+   private class Connection {
+
+      private final SocketChannel channel;
+      private SelectionKey key;
+      private ByteBuffer in = ByteBuffer.allocate(512);
+      private ByteBuffer out;
+      private int state = MECHANISM;
+      private ServerMechanism sasl;
+      private boolean selfFramed; // true if the tokens are SASL buffers
+      private byte[] buffer; // the SASL buffer being processed
+      private byte[] reply; // what to send back, if anything
+      private volatile boolean busy; // true while a worker holds it
+      private long lastActive = System.currentTimeMillis();
+
+      Connection(SocketChannel channel) {
+         super();
+
+         this.channel = channel;
+      }
+
+      void read() throws IOException {
+         if (channel.read(in) == -1) {
+            close();
+            return;
          }
-         String mechanism = sb.toString();
-         System.out.println("Requested authentication mechanism: "+mechanism);
+         lastActive = System.currentTimeMillis();
+         parse();
+      }
 
-         HashMap properties = new HashMap();
-         properties.put(SRPRegistry.SRP_REPLAY_DETECTION, "true");
-         properties.put(SRPRegistry.SRP_INTEGRITY_PROTECTION, "true");
-         properties.put(SRPRegistry.SRP_CONFIDENTIALITY, "true");
-         properties.put(SRPRegistry.PASSWORD_FILE,
-               System.getProperty(SRPRegistry.PASSWORD_FILE, "./test"));
+      void write() throws IOException {
+         channel.write(out);
+         if (out.hasRemaining()) {
+            return;
+         }
+         out = null;
+         lastActive = System.currentTimeMillis();
+         if (state == CLOSING) {
+            close();
+         } else {
+            key.interestOps(SelectionKey.OP_READ);
+            parse(); // the client may have sent more already
+         }
+      }
 
-         sasl = ServerFactory.getInstance(mechanism);
-         if (sasl == null) {
-            throw new RuntimeException("Unable to find "+mechanism+" SASL mechanism");
+      /** Invoked by the selector thread once a worker is done with us. */
+      void resume() throws IOException {
+         busy = false;
+         if (!key.isValid()) {
+            return;
+         }
+         if (reply != null) {
+            out = ByteBuffer.wrap(reply);
+            reply = null;
+            key.interestOps(SelectionKey.OP_WRITE);
+         } else if (state == CLOSING) {
+            close();
+         } else {
+            key.interestOps(SelectionKey.OP_READ);
+            parse();
          }
+      }
 
-         sasl.init(properties);
-         byte[] response, challenge, rpcCall, retValue;
-         do {
-            response = mungeSaslBuffer(in);
-            challenge = sasl.evaluateResponse(response);
-            if (challenge != null) {
-               out.write(challenge);
-            } else if (!sasl.isComplete()) {
-               // is null. only valid if server authentication is complete
-               throw new RuntimeException("Challenge null but server incomplete");
-            } else {
-               break;
+      /** Looks for the next complete mechanism name, or SASL buffer. */
+      private void parse() throws IOException {
+         in.flip();
+         try {
+            if (state == MECHANISM) {
+               int end = -1;
+               for (int i = in.position(); i < in.limit(); i++) {
+                  if (in.get(i) == 0x00) {
+                     end = i;
+                     break;
+                  }
+               }
+               if (end == -1) {
+                  if (in.remaining() == in.capacity()) { // name is too long
+                     close();
+                  }
+                  return;
+               }
+               byte[] name = new byte[end - in.position()];
+               in.get(name);
+               in.get(); // the 0x00
+               startMechanism(new String(name, "ASCII"));
+               if (sasl == null) {
+                  close();
+                  return;
+               }
+               state = HANDSHAKE;
             }
-         } while (!sasl.isComplete());
 
-         System.out.println("************** Connection authenticated....");
-         secureIn =  new SaslInputStream( sasl, in );
-         secureOut = new SaslOutputStream(sasl, out);
+            if (in.remaining() < 4) {
+               return;
+            }
+            int length = in.getInt(in.position());
+            if (length < 0 || length > MAX_BUFFER) {
+               close();
+               return;
+            }
+            if (in.remaining() < length + 4) {
+               if (in.capacity() < length + 4) { // make room for the buffer
+                  ByteBuffer bigger = ByteBuffer.allocate(length + 4);
+                  bigger.put(in);
+                  in = bigger;
+                  in.flip();
+               }
+               return;
+            }
+            buffer = new byte[length + 4];
+            in.get(buffer);
+            busy = true;
+            key.interestOps(0); // until the worker is done
+            submit(this);
+         } finally {
+            in.compact();
+         }
+      }
 
-         rpcCall = receive(secureIn);
-         retValue = call(rpcCall);
-         send(retValue, secureOut);
+      private void startMechanism(String mechanism) throws SaslException {
+         sasl = ServerFactory.getInstance(mechanism);
+         if (sasl != null) {
+            sasl.init(properties);
+            selfFramed = Registry.SASL_SRP_MECHANISM.equals(mechanism);
+         }
+      }
 
-      } catch (Exception x) {
-         x.printStackTrace(System.err);
-         System.out.println("Exception while processing connection");
-      } finally {
-         System.out.println("Connection shutdown...");
+      /** Invoked by a worker thread to process the current SASL buffer. */
+      void process() {
          try {
-            if (sasl != null) {
-               try {
-                  sasl.reset();
-               } catch (SaslException ignored) {
-                  System.out.println("Exception ("+ignored.getMessage()
-                        +") while resetting the SASL mechanism. Ignored...");
+            if (state == HANDSHAKE) {
+               byte[] response = buffer;
+               if (!selfFramed) {
+                  response = new byte[buffer.length - 4];
+                  System.arraycopy(buffer, 4, response, 0, response.length);
+               }
+               byte[] challenge = sasl.evaluateResponse(response);
+               if (challenge != null) {
+                  reply = selfFramed ? challenge : frame(challenge);
+               } else if (!sasl.isComplete()) {
+                  throw new SaslException("Challenge null but server incomplete");
+               } else {
+                  reply = selfFramed ? null : frame(new byte[0]);
+               }
+               if (sasl.isComplete()) {
+                  state = SECURE;
+               }
+            } else { // SECURE
+               String qop = (String) sasl.getNegotiatedProperty(Sasl.QOP);
+               boolean layer = qop != null && !Registry.QOP_AUTH.equals(qop);
+               byte[] request;
+               if (!layer) {
+                  request = new byte[buffer.length - 4];
+                  System.arraycopy(buffer, 4, request, 0, request.length);
+               } else if (sasl instanceof SRPServer) {
+                  int n = ((SRPServer) sasl).unwrapInPlace(buffer, 4, buffer.length - 4);
+                  request = new byte[n];
+                  System.arraycopy(buffer, 4, request, 0, n);
+               } else {
+                  request = sasl.unwrap(buffer, 4, buffer.length - 4);
                }
+               byte[] response = call(request);
+               if (layer) {
+                  response = sasl.wrap(response, 0, response.length);
+               }
+               reply = frame(response);
+               state = CLOSING;
             }
-            socket.close();
-         } catch (IOException ignored) {
-            System.out.println("Exception ("+ignored.getMessage()
-                  +") while shutting down the connection. Ignored...");
+         } catch (Exception x) {
+            x.printStackTrace(System.err);
+            reply = null;
+            state = CLOSING;
          }
-
-         pool.remove(Thread.currentThread().getName());
+         buffer = null;
+         complete(this);
       }
-   }
 
-   // other Instance methods --------------------------------------------------
-
-   void listen() {
-      String name = "CONN-"+String.valueOf(++counter);
-      Thread t = new Thread(this, name);
-      pool.put(name, t);
-      t.start();
-   }
-
-   private void send(byte[] message, OutputStream out) throws IOException {
-      System.out.println("Outgoing message (str): "+new String(message));
-      out.write(message);
+      void close() {
+         state = CLOSING;
+         key.cancel();
+         try {
+            channel.close();
+         } catch (IOException ignored) {
+         }
+         if (sasl != null && !busy) {
+            try {
+               sasl.reset();
+            } catch (SaslException ignored) {
+            }
+            sasl = null;
+         }
+      }
    }
 
-   private byte[] receive(InputStream in) throws IOException {
-      int first = in.read();
-      int limit = in.available();
-      byte[] result = new byte[limit+1];
-      result[0] = (byte) first;
-      in.read(result, 1, limit);
-
-      return result;
-   }
+   /** Evaluates the SASL buffers submitted by the selector thread. */
+   private class Worker implements Runnable {
 
-   private byte[] call(byte[] request) {
-      System.out.println("Incoming request (str): "+new String(request));
-      return "ok".getBytes();
+      public void run() {
+         while (true) {
+            Connection c;
+            synchronized (tasks) {
+               while (running && tasks.isEmpty()) {
+                  try {
+                     tasks.wait();
+                  } catch (InterruptedException x) {
+                     return;
+                  }
+               }
+               if (!running) {
+                  return;
+               }
+               c = (Connection) tasks.removeFirst();
+            }
+            c.process();
+         }
+      }
    }
 }
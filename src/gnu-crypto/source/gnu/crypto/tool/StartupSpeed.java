@@ -0,0 +1,145 @@
+package gnu.crypto.tool;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+import gnu.crypto.cipher.CipherFactory;
+import gnu.crypto.hash.HashFactory;
+import gnu.crypto.util.Prime;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+
+/**
+ * A tool to measure what the first use of each algorithm costs a freshly
+ * started program: loading its classes, building its lookup tables and
+ * running its self-test. It is meant to be run in a new virtual machine, as
+ * every algorithm is only initialised once.
+ *
+ * @version $Revision$
+ */
+public final class StartupSpeed {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   /** Trivial 0-arguments constructor to enforce Singleton pattern. */
+   private StartupSpeed() {
+      super();
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * Accepts 0 or 1 argument. If no arguments are provided, this method
+    * measures the first use of every block cipher, every hash and of the
+    * primality tests. If one argument is provided, it's assumed to be the name
+    * of a block cipher or of a hash, and only its first use is measured.
+    */
+   public static void main(String[] args) {
+      if (args == null) {
+         args = new String[0];
+      }
+
+      switch (args.length) {
+      case 0:
+         for (Iterator it = CipherFactory.getNames().iterator(); it.hasNext(); ) {
+            cipher((String) it.next());
+         }
+         for (Iterator it = HashFactory.getNames().iterator(); it.hasNext(); ) {
+            hash((String) it.next());
+         }
+         prime();
+         break;
+      default:
+         if (CipherFactory.getNames().contains(args[0])) {
+            cipher(args[0]);
+         } else {
+            hash(args[0]);
+         }
+         break;
+      }
+   }
+
+   private static void cipher(String name) {
+      long elapsed = -System.currentTimeMillis();
+      try {
+         CipherFactory.getInstance(name);
+      } catch (InternalError x) {
+         System.out.println(name+": Failed self-test...");
+         return;
+      }
+      elapsed += System.currentTimeMillis();
+      report(name, elapsed);
+   }
+
+   private static void hash(String name) {
+      long elapsed = -System.currentTimeMillis();
+      try {
+         HashFactory.getInstance(name);
+      } catch (InternalError x) {
+         System.out.println(name+": Failed self-test...");
+         return;
+      }
+      elapsed += System.currentTimeMillis();
+      report(name, elapsed);
+   }
+
+   private static void prime() {
+      long elapsed = -System.currentTimeMillis();
+      Prime.isProbablePrime(BigInteger.valueOf(7919L));
+      elapsed += System.currentTimeMillis();
+      report("small primes", elapsed);
+   }
+
+   private static void report(String name, long elapsed) {
+      System.out.println(name+": first use = "+String.valueOf(elapsed)+" ms");
+   }
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+}
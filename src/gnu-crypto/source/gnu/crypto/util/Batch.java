@@ -0,0 +1,187 @@
+package gnu.crypto.util;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2001, 2002, 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+import java.io.IOException;
+
+/**
+ * <p>Runs a number of independent computations, numbered from <code>0</code>,
+ * over a designated number of threads. The calling thread takes its share of
+ * the work, and at most <code>threads - 1</code> other threads are started.
+ * The first exception raised by one of the computations stops the others from
+ * taking more work, and is rethrown to the caller.</p>
+ *
+ * <p>A concrete batch only implements {@link #compute(int)}, which must not
+ * depend on the thread it runs on.</p>
+ *
+ * @version $Revision$
+ */
+public abstract class Batch {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** The prefix of the names of the threads started by this batch. */
+   private final String name;
+
+   /** The next computation to hand out. */
+   private int next;
+
+   /** The number of computations in this batch. */
+   private int count;
+
+   /** The first exception raised by a computation, if any. */
+   private Throwable failure;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Trivial constructor for use by concrete subclasses.</p>
+    *
+    * @param name the prefix of the names of the threads started by this batch.
+    */
+   protected Batch(String name) {
+      super();
+
+      this.name = name;
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Performs the computations <code>0</code> to <code>count - 1</code>, by
+    * up to <code>threads</code> threads, and returns once they are all done.
+    * If this thread is interrupted meanwhile, it still waits for the others,
+    * and its interrupt status is set again on return.</p>
+    *
+    * @param count the number of computations.
+    * @param threads the maximum number of threads to use.
+    * @exception IllegalArgumentException if <code>threads</code> is not
+    * positive.
+    * @exception IOException the first one raised by a computation, if any.
+    */
+   public void run(int count, int threads) throws IOException {
+      if (threads < 1) {
+         throw new IllegalArgumentException("threads must be positive");
+      }
+      synchronized (this) {
+         this.next = 0;
+         this.count = count;
+         this.failure = null;
+      }
+      final Runnable worker = new Runnable() {
+         public void run() {
+            work();
+         }
+      };
+      final Thread[] workers =
+            new Thread[Math.max(0, Math.min(threads, count) - 1)];
+      for (int i = 0; i < workers.length; i++) {
+         workers[i] = new Thread(worker, name+"-"+String.valueOf(i));
+         workers[i].start();
+      }
+      work(); // the calling thread takes its share
+      boolean interrupted = false;
+      for (int i = 0; i < workers.length; i++) {
+         while (true) {
+            try {
+               workers[i].join();
+               break;
+            } catch (InterruptedException x) {
+               interrupted = true;
+            }
+         }
+      }
+      if (interrupted) {
+         Thread.currentThread().interrupt();
+      }
+      final Throwable x;
+      synchronized (this) {
+         x = failure;
+      }
+      if (x instanceof IOException) {
+         throw (IOException) x;
+      } else if (x instanceof RuntimeException) {
+         throw (RuntimeException) x;
+      } else if (x != null) {
+         throw (Error) x;
+      }
+   }
+
+   /**
+    * <p>Performs one computation of this batch.</p>
+    *
+    * @param i the number of the computation, from <code>0</code> to
+    * <code>count - 1</code>.
+    * @exception IOException if the computation fails.
+    */
+   protected abstract void compute(int i) throws IOException;
+
+   private synchronized int take() {
+      return (failure == null && next < count) ? next++ : -1;
+   }
+
+   private synchronized void fail(Throwable x) {
+      if (failure == null) {
+         failure = x;
+      }
+   }
+
+   private void work() {
+      int i;
+      while ((i = take()) != -1) {
+         try {
+            compute(i);
+         } catch (Throwable x) {
+            fail(x);
+         }
+      }
+   }
+}
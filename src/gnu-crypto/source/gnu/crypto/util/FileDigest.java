@@ -0,0 +1,329 @@
+package gnu.crypto.util;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2001, 2002, 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+import gnu.crypto.hash.BaseHash;
+import gnu.crypto.hash.HashFactory;
+import gnu.crypto.hash.IMessageDigest;
+import gnu.crypto.mac.BaseMac;
+import gnu.crypto.mac.IMac;
+import gnu.crypto.mac.MacFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.InvalidKeyException;
+import java.util.Map;
+
+/**
+ * <p>Computes message digests and MACs of whole files. Files are memory-mapped
+ * in large windows, which spares the system call and the kernel-to-heap copy
+ * of every <code>read()</code>. Each window is passed whole to the algorithms
+ * of this library, which read it where it is: SHA-1 and SHA-256 load their
+ * words straight from the mapping, and the others copy one block at a time.
+ * Other algorithms are fed the mapped bytes in chunks sized to stay in the
+ * processor's cache.</p>
+ *
+ * <p>Several files can be processed concurrently, by a bounded number of
+ * threads, each with its own instance of the algorithm.</p>
+ *
+ * @version $Revision$
+ */
+public class FileDigest {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** The size of the file windows mapped at once. */
+   public static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+   /** The size of the chunks fed at once to other algorithms. */
+   private static final int CHUNK_SIZE = 64 * 1024;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   /** Trivial constructor to enforce Singleton pattern. */
+   private FileDigest() {
+      super();
+   }
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Returns the message digest of the contents of a file.</p>
+    *
+    * @param name the name of the message digest algorithm.
+    * @param file the file to digest.
+    * @return the digest of the file.
+    * @exception IllegalArgumentException if the algorithm is unknown.
+    * @exception IOException if the file can not be read.
+    */
+   public static byte[] digest(String name, File file) throws IOException {
+      return digest(newDigest(name), file);
+   }
+
+   /**
+    * <p>Feeds the contents of a file to a message digest and completes the
+    * computation.</p>
+    *
+    * @param md the message digest instance to use.
+    * @param file the file to digest.
+    * @return the digest of the file.
+    * @exception IOException if the file can not be read.
+    */
+   public static byte[] digest(IMessageDigest md, File file) throws IOException {
+      FileInputStream in = new FileInputStream(file);
+      try {
+         return digest(md, in.getChannel());
+      } finally {
+         in.close();
+      }
+   }
+
+   /**
+    * <p>Feeds the contents of a file channel, from its current position to
+    * its end, to a message digest and completes the computation. The channel's
+    * position is left unchanged.</p>
+    *
+    * @param md the message digest instance to use.
+    * @param channel the channel to read.
+    * @return the digest of the channel's contents.
+    * @exception IOException if the channel can not be read.
+    */
+   public static byte[] digest(IMessageDigest md, FileChannel channel)
+   throws IOException {
+      feed(new Sink(md), channel);
+      return md.digest();
+   }
+
+   /**
+    * <p>Returns the MAC of the contents of a file.</p>
+    *
+    * @param name the name of the MAC algorithm.
+    * @param attributes the attributes to initialise the MAC with.
+    * @param file the file to authenticate.
+    * @return the MAC of the file.
+    * @exception IllegalArgumentException if the algorithm is unknown.
+    * @exception InvalidKeyException if the attributes are not acceptable.
+    * @exception IOException if the file can not be read.
+    */
+   public static byte[] mac(String name, Map attributes, File file)
+   throws InvalidKeyException, IOException {
+      return mac(newMac(name, attributes), file);
+   }
+
+   /**
+    * <p>Feeds the contents of a file to an initialised MAC and completes the
+    * computation.</p>
+    *
+    * @param mac the MAC instance to use.
+    * @param file the file to authenticate.
+    * @return the MAC of the file.
+    * @exception IOException if the file can not be read.
+    */
+   public static byte[] mac(IMac mac, File file) throws IOException {
+      FileInputStream in = new FileInputStream(file);
+      try {
+         return mac(mac, in.getChannel());
+      } finally {
+         in.close();
+      }
+   }
+
+   /**
+    * <p>Feeds the contents of a file channel, from its current position to
+    * its end, to an initialised MAC and completes the computation. The
+    * channel's position is left unchanged.</p>
+    *
+    * @param mac the MAC instance to use.
+    * @param channel the channel to read.
+    * @return the MAC of the channel's contents.
+    * @exception IOException if the channel can not be read.
+    */
+   public static byte[] mac(IMac mac, FileChannel channel) throws IOException {
+      feed(new Sink(mac), channel);
+      return mac.digest();
+   }
+
+   /**
+    * <p>Returns the message digests of several files, computed by up to a
+    * designated number of threads.</p>
+    *
+    * @param name the name of the message digest algorithm.
+    * @param files the files to digest.
+    * @param threads the maximum number of threads to use.
+    * @return the digests of the files, in the same order.
+    * @exception IllegalArgumentException if the algorithm is unknown, or if
+    * <code>threads</code> is not positive.
+    * @exception IOException if one of the files can not be read.
+    */
+   public static byte[][] digest(final String name, final File[] files,
+                                 int threads)
+   throws IOException {
+      newDigest(name); // fail early if unknown
+      final byte[][] result = new byte[files.length][];
+      new Batch("FileDigest") {
+         protected void compute(int i) throws IOException {
+            result[i] = digest(newDigest(name), files[i]);
+         }
+      }.run(files.length, threads);
+      return result;
+   }
+
+   /**
+    * <p>Returns the MACs of several files, computed by up to a designated
+    * number of threads.</p>
+    *
+    * @param name the name of the MAC algorithm.
+    * @param attributes the attributes to initialise the MAC with.
+    * @param files the files to authenticate.
+    * @param threads the maximum number of threads to use.
+    * @return the MACs of the files, in the same order.
+    * @exception IllegalArgumentException if the algorithm is unknown, or if
+    * <code>threads</code> is not positive.
+    * @exception InvalidKeyException if the attributes are not acceptable.
+    * @exception IOException if one of the files can not be read.
+    */
+   public static byte[][] mac(final String name, final Map attributes,
+                              final File[] files, int threads)
+   throws InvalidKeyException, IOException {
+      newMac(name, attributes); // fail early if unknown, or badly keyed
+      final byte[][] result = new byte[files.length][];
+      new Batch("FileDigest") {
+         protected void compute(int i) throws IOException {
+            final IMac mac;
+            try {
+               mac = newMac(name, attributes);
+            } catch (InvalidKeyException x) { // checked above
+               throw new IllegalStateException(x.getMessage());
+            }
+            result[i] = mac(mac, files[i]);
+         }
+      }.run(files.length, threads);
+      return result;
+   }
+
+   private static IMessageDigest newDigest(String name) {
+      final IMessageDigest result = HashFactory.getInstance(name);
+      if (result == null) {
+         throw new IllegalArgumentException("Unknown hash: "+name);
+      }
+      return result;
+   }
+
+   private static IMac newMac(String name, Map attributes)
+   throws InvalidKeyException {
+      final IMac result = MacFactory.getInstance(name);
+      if (result == null) {
+         throw new IllegalArgumentException("Unknown MAC: "+name);
+      }
+      result.init(attributes);
+      return result;
+   }
+
+   /** Feeds the contents of a channel, window by window, to a sink. */
+   private static void feed(Sink sink, FileChannel channel) throws IOException {
+      final long end = channel.size();
+      for (long position = channel.position(); position < end; ) {
+         final long size = Math.min((long) WINDOW_SIZE, end - position);
+         final ByteBuffer window =
+               channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+         sink.update(window);
+         position += size;
+      }
+   }
+
+   // Inner class(es)
+   // =========================================================================
+
+   /** Where the contents of a file go: a message digest, or a MAC. */
+   private static final class Sink {
+
+      private final IMessageDigest md;
+      private final IMac mac;
+
+      /** The chunk copied out of a window for other algorithms, if any. */
+      private byte[] chunk;
+
+      Sink(IMessageDigest md) {
+         super();
+
+         this.md = md;
+         this.mac = null;
+      }
+
+      Sink(IMac mac) {
+         super();
+
+         this.md = null;
+         this.mac = mac;
+      }
+
+      void update(ByteBuffer in) {
+         if (md instanceof BaseHash) {
+            ((BaseHash) md).update(in);
+         } else if (mac instanceof BaseMac) {
+            ((BaseMac) mac).update(in);
+         } else {
+            if (chunk == null) {
+               chunk = new byte[CHUNK_SIZE];
+            }
+            while (in.hasRemaining()) {
+               final int n = Math.min(chunk.length, in.remaining());
+               in.get(chunk, 0, n);
+               if (md != null) {
+                  md.update(chunk, 0, n);
+               } else {
+                  mac.update(chunk, 0, n);
+               }
+            }
+         }
+      }
+   }
+}
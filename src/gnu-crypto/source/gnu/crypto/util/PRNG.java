@@ -53,6 +53,9 @@ import java.util.HashMap;
  * <p>A useful Singleton hash-based (SHA) pseudo-random number generator used
  * throughout this library.</p>
  *
+ * <p>The singleton is used under its own lock, so that threads may draw from
+ * it concurrently.</p>
+ *
  * @version $Revision: 1.3 $
  * @see gnu.crypto.prng.MDGenerator
  */
@@ -114,6 +117,12 @@ public class PRNG {
     * @see gnu.crypto.prng.IRandom#nextBytes
     */
    public static void nextBytes(byte[] buffer, int offset, int length) {
+      synchronized (singleton) {
+         nextBytesInternal(buffer, offset, length);
+      }
+   }
+
+   private static void nextBytesInternal(byte[] buffer, int offset, int length) {
       try {
          singleton.nextBytes(buffer, offset, length);
       } catch (LimitReachedException x) { // re-initialise
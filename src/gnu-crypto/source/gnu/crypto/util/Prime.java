@@ -77,52 +77,8 @@ public class Prime {
    private static final BigInteger ONE = BigInteger.ONE;
    private static final BigInteger TWO = BigInteger.valueOf(2L);
 
-   /**
-    * The first SMALL_PRIME primes: Algorithm P, section 1.3.2, The Art of
-    * Computer Programming, Donald E. Knuth.
-    */
+   /** The number of small primes used for trial division. */
    private static final int SMALL_PRIME_COUNT = 1000;
-   private static final BigInteger[] SMALL_PRIME =
-         new BigInteger[SMALL_PRIME_COUNT];
-   static {
-      long time = -System.currentTimeMillis();
-      SMALL_PRIME[0] = TWO;
-      int N = 3;
-      int J = 0;
-      int prime;
-      P2: while (true) {
-         SMALL_PRIME[++J] = BigInteger.valueOf(N);
-         if (J >= 999) {
-            break P2;
-         }
-         P4: while (true) {
-            N += 2;
-            P6: for (int K = 1; true; K++) {
-               prime = SMALL_PRIME[K].intValue();
-               if ((N % prime) == 0) {
-                  continue P4;
-               } else if ((N / prime) <= prime) {
-                  continue P2;
-               }
-            }
-         }
-      }
-      time += System.currentTimeMillis();
-      if (DEBUG && debuglevel > 8) {
-         StringBuffer sb;
-         for (int i = 0; i < (SMALL_PRIME_COUNT / 10); i++) {
-            sb = new StringBuffer();
-            for (int j = 0; j < 10; j++) {
-               sb.append(String.valueOf(SMALL_PRIME[i*10+j])).append(" ");
-            }
-            debug(sb.toString());
-         }
-      }
-      if (DEBUG && debuglevel > 4) {
-         debug("Generating first "+String.valueOf(SMALL_PRIME_COUNT)
-               +" primes took: "+String.valueOf(time)+" ms.");
-      }
-   }
 
    private static final Map knownPrimes = new WeakHashMap();
 
@@ -151,7 +107,7 @@ public class Prime {
    public static boolean hasSmallPrimeDivisor(BigInteger w) {
       BigInteger prime;
       for (int i = 0; i < SMALL_PRIME_COUNT; i++) {
-         prime = SMALL_PRIME[i];
+         prime = SmallPrimes.PRIME[i];
          if (w.mod(prime).equals(ZERO)) {
             if (DEBUG && debuglevel > 4) {
                debug(prime.toString(16)+" | "+w.toString(16)+"...");
@@ -288,7 +244,7 @@ public class Prime {
       // be re-done.
       //for (int i = j; i < SMALL_PRIME_COUNT; i++) {
       for (int i = j; i < 13; i++) { // try only the first 13 primes
-         A = SMALL_PRIME[i];
+         A = SmallPrimes.PRIME[i];
          A = A.modPow(e, w);
          if (A.bitCount() == 1) {
             continue; // Passed this test
@@ -468,7 +424,7 @@ public class Prime {
 
       // Test if w is a known small prime.
       for (int i = 0; i < SMALL_PRIME_COUNT; i++) {
-         if (w.equals(SMALL_PRIME[i])) {
+         if (w.equals(SmallPrimes.PRIME[i])) {
             if (DEBUG && debuglevel > 4) {
                debug(w.toString(16)+" is a small prime");
             }
@@ -536,4 +492,46 @@ public class Prime {
 
       return true;
    }
+
+   // Inner class(es)
+   // =========================================================================
+
+   /**
+    * Holds the first {@link #SMALL_PRIME_COUNT} primes. They are only
+    * computed, with a sieve of Eratosthenes, when a test first needs them,
+    * rather than when this class is loaded.
+    */
+   private static final class SmallPrimes {
+
+      /** The first primes; the last of the first 1000 is 7919. */
+      static final BigInteger[] PRIME = new BigInteger[SMALL_PRIME_COUNT];
+
+      static {
+         long time = -System.currentTimeMillis();
+         final boolean[] composite = new boolean[7920];
+         for (int n = 2, i = 0; i < SMALL_PRIME_COUNT; n++) {
+            if (!composite[n]) {
+               PRIME[i++] = BigInteger.valueOf(n);
+               for (int m = n * n; m < composite.length; m += n) {
+                  composite[m] = true;
+               }
+            }
+         }
+         time += System.currentTimeMillis();
+         if (DEBUG && debuglevel > 8) {
+            StringBuffer sb;
+            for (int i = 0; i < (SMALL_PRIME_COUNT / 10); i++) {
+               sb = new StringBuffer();
+               for (int j = 0; j < 10; j++) {
+                  sb.append(String.valueOf(PRIME[i*10+j])).append(" ");
+               }
+               debug(sb.toString());
+            }
+         }
+         if (DEBUG && debuglevel > 4) {
+            debug("Generating first "+String.valueOf(SMALL_PRIME_COUNT)
+                  +" primes took: "+String.valueOf(time)+" ms.");
+         }
+      }
+   }
 }
@@ -45,6 +45,8 @@ package gnu.testlet.gnu.crypto.cipher;
 
 // Tags: GNU-CRYPTO
 
+import gnu.crypto.Properties;
+import gnu.crypto.cipher.BaseCipher;
 import gnu.crypto.cipher.IBlockCipher;
 import gnu.crypto.util.Util;
 import gnu.testlet.Testlet;
@@ -482,4 +484,62 @@ public abstract class BaseCipherTestCase implements Testlet {
 
       return Arrays.equals(ct1, ct2);
    }
+
+   /**
+    * Test that session keys taken from the key-schedule cache, re-expanded
+    * into a caller-owned context, or made with the cache disabled, all
+    * encrypt alike; and that a cached session key is never overwritten.
+    */
+   protected boolean keyScheduleTest() throws Exception {
+      BaseCipher c = (BaseCipher) cipher;
+      int bs = c.defaultBlockSize();
+      byte[] k1 = new byte[c.defaultKeySize()];
+      byte[] k2 = new byte[k1.length];
+      for (int i = 0; i < k1.length; i++) {
+         k1[i] = (byte) i;
+         k2[i] = (byte)(0xA5 ^ i);
+      }
+      byte[] pt = new byte[bs];
+      byte[] ct1 = new byte[bs];
+      byte[] ct2 = new byte[bs];
+
+      boolean saved = Properties.useKeyScheduleCache();
+      try {
+         Properties.setUseKeyScheduleCache(true);
+         Object cached = c.makeKey(k1, bs);
+         if (c.makeKey(k1, bs) != cached) {
+            return false;
+         }
+         c.encrypt(pt, 0, ct1, 0, cached, bs);
+
+         // a cached session key is never overwritten
+         Object owned = c.makeKey(k2, bs, cached);
+         if (owned == cached) {
+            return false;
+         }
+         c.encrypt(pt, 0, ct2, 0, cached, bs);
+         if (!Arrays.equals(ct1, ct2)) {
+            return false;
+         }
+
+         // an owned one is re-used in place
+         if (c.makeKey(k1, bs, owned) != owned) {
+            return false;
+         }
+         c.encrypt(pt, 0, ct2, 0, owned, bs);
+         if (!Arrays.equals(ct1, ct2)) {
+            return false;
+         }
+
+         Properties.setUseKeyScheduleCache(false);
+         Object plain = c.makeKey(k1, bs);
+         if (plain == cached || c.makeKey(k1, bs) == plain) {
+            return false;
+         }
+         c.encrypt(pt, 0, ct2, 0, plain, bs);
+         return Arrays.equals(ct1, ct2);
+      } finally {
+         Properties.setUseKeyScheduleCache(saved);
+      }
+   }
 }
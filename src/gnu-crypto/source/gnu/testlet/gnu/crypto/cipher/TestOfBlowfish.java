@@ -126,6 +126,7 @@ public class TestOfBlowfish extends BaseCipherTestCase {
          harness.check(validityTest(), "validityTest()");
          harness.check(cloneabilityTest(), "cloneabilityTest()");
          harness.check(vectorsTest(), "vectorsTest()");
+         harness.check(keyScheduleTest(), "keyScheduleTest()");
       } catch (Exception x) {
          harness.debug(x);
          harness.fail("TestOfBlowfish");
@@ -49,6 +49,8 @@ import gnu.crypto.cipher.CipherFactory;
 import gnu.crypto.cipher.IBlockCipher;
 import gnu.testlet.TestHarness;
 import gnu.testlet.Testlet;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 
 /**
@@ -82,6 +84,29 @@ public class TestOfCipherFactory implements Testlet {
             algorithm = null;
             algorithm = CipherFactory.getInstance(cipher);
             harness.check(algorithm != null, "getInstance("+String.valueOf(cipher)+")");
+
+            // later instances are clones of a pristine prototype
+            final byte[] kb = new byte[algorithm.defaultKeySize()];
+            for (int i = 0; i < kb.length; i++) {
+               kb[i] = (byte) i;
+            }
+            final HashMap attributes = new HashMap();
+            attributes.put(IBlockCipher.KEY_MATERIAL, kb);
+            algorithm.init(attributes);
+            final byte[] ct1 = new byte[algorithm.currentBlockSize()];
+            algorithm.encryptBlock(ct1, 0, ct1, 0);
+            final IBlockCipher other = CipherFactory.getInstance(cipher);
+            harness.check(other != algorithm
+                          && other.defaultBlockSize() == algorithm.defaultBlockSize(),
+                          "getInstance("+String.valueOf(cipher)+") is pristine");
+            other.init(attributes);
+            final byte[] ct2 = new byte[other.currentBlockSize()];
+            other.encryptBlock(ct2, 0, ct2, 0);
+            harness.check(Arrays.equals(ct1, ct2),
+                          "getInstance("+String.valueOf(cipher)+") is equivalent");
+         } catch (Exception x) {
+            harness.debug(x);
+            harness.fail("TestOfCipherFactory.getInstance("+String.valueOf(cipher)+")");
          } catch (InternalError x) {
             harness.debug(x);
             harness.fail("TestOfCipherFactory.getInstance("+String.valueOf(cipher)+")");
@@ -0,0 +1,204 @@
+package gnu.testlet.gnu.crypto.cipher;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+// Tags: GNU-CRYPTO
+// Uses: BaseCipherTestCase TestOfRijndael
+
+import gnu.crypto.Registry;
+import gnu.crypto.cipher.ConstantTimeAES;
+import gnu.crypto.cipher.IBlockCipher;
+import gnu.crypto.cipher.Rijndael;
+import gnu.crypto.mode.BaseMode;
+import gnu.crypto.mode.IMode;
+import gnu.crypto.mode.ModeFactory;
+import gnu.testlet.TestHarness;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * <p>Conformance tests for the {@link ConstantTimeAES} implementation, with
+ * the AES vectors of {@link TestOfRijndael}, and against {@link Rijndael}
+ * itself.</p>
+ *
+ * @version $Revision$
+ */
+public class TestOfConstantTimeAES extends BaseCipherTestCase {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfConstantTimeAES");
+      cipher = new ConstantTimeAES();
+      HashMap attrib = new HashMap();
+      attrib.put(IBlockCipher.CIPHER_BLOCK_SIZE, new Integer(16));
+      attrib.put(IBlockCipher.KEY_MATERIAL, new byte[16]);
+      try {
+         cipher.init(attrib);
+         String algorithm = cipher.name();
+         harness.check(validityTest(), "validityTest("+algorithm+")");
+         harness.check(cloneabilityTest(), "cloneabilityTest("+algorithm+")");
+         harness.check(katVK(TestOfRijndael.vk_128, cipher, 16), "KAT VK "+algorithm+"-128");
+         harness.check(katVK(TestOfRijndael.vk_192, cipher, 24), "KAT VK "+algorithm+"-192");
+         harness.check(katVK(TestOfRijndael.vk_256, cipher, 32), "KAT VK "+algorithm+"-256");
+         harness.check(katVT(TestOfRijndael.vt_128, cipher, 16), "KAT VT "+algorithm+"-128");
+         harness.check(katVT(TestOfRijndael.vt_192, cipher, 24), "KAT VT "+algorithm+"-192");
+         harness.check(katVT(TestOfRijndael.vt_256, cipher, 32), "KAT VT "+algorithm+"-256");
+         harness.check(mctEncryptECB(TestOfRijndael.mct_ecb_e_128, cipher, 16), "MCT ECB Encryption "+algorithm+"-128");
+         harness.check(mctEncryptECB(TestOfRijndael.mct_ecb_e_192, cipher, 24), "MCT ECB Encryption "+algorithm+"-192");
+         harness.check(mctEncryptECB(TestOfRijndael.mct_ecb_e_256, cipher, 32), "MCT ECB Encryption "+algorithm+"-256");
+         harness.check(mctDecryptECB(TestOfRijndael.mct_ecb_d_128, cipher, 16), "MCT ECB Decryption "+algorithm+"-128");
+         harness.check(mctDecryptECB(TestOfRijndael.mct_ecb_d_192, cipher, 24), "MCT ECB Decryption "+algorithm+"-192");
+         harness.check(mctDecryptECB(TestOfRijndael.mct_ecb_d_256, cipher, 32), "MCT ECB Decryption "+algorithm+"-256");
+         harness.check(mctEncryptCBC(TestOfRijndael.mct_cbc_e_128, cipher, 16), "MCT CBC Encryption "+algorithm+"-128");
+         harness.check(mctEncryptCBC(TestOfRijndael.mct_cbc_e_192, cipher, 24), "MCT CBC Encryption "+algorithm+"-192");
+         harness.check(mctEncryptCBC(TestOfRijndael.mct_cbc_e_256, cipher, 32), "MCT CBC Encryption "+algorithm+"-256");
+         harness.check(mctDecryptCBC(TestOfRijndael.mct_cbc_d_128, cipher, 16), "MCT CBC Decryption "+algorithm+"-128");
+         harness.check(mctDecryptCBC(TestOfRijndael.mct_cbc_d_192, cipher, 24), "MCT CBC Decryption "+algorithm+"-192");
+         harness.check(mctDecryptCBC(TestOfRijndael.mct_cbc_d_256, cipher, 32), "MCT CBC Decryption "+algorithm+"-256");
+         harness.check(parityTest(16), "parityTest("+algorithm+"-128)");
+         harness.check(parityTest(24), "parityTest("+algorithm+"-192)");
+         harness.check(parityTest(32), "parityTest("+algorithm+"-256)");
+         harness.check(bulkModeTest(Registry.CTR_MODE), "bulkModeTest(CTR)");
+         harness.check(bulkModeTest(Registry.CBC_MODE), "bulkModeTest(CBC)");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfConstantTimeAES");
+      }
+   }
+
+   /**
+    * Runs of every length up to three passes of four blocks, and a longer
+    * one, must encrypt as {@link Rijndael} does one block at a time, and
+    * decrypt back, including when done in place.
+    */
+   private boolean parityTest(int ks) throws Exception {
+      Rijndael aes = new Rijndael();
+      ConstantTimeAES ct = new ConstantTimeAES();
+      HashMap attrib = new HashMap();
+      byte[] k = new byte[ks];
+      for (int i = 0; i < ks; i++) {
+         k[i] = (byte)(i * 7 + 1);
+      }
+      attrib.put(IBlockCipher.KEY_MATERIAL, k);
+      aes.init(attrib);
+      ct.init(attrib);
+
+      byte[] pt = new byte[37 * 16 + 3];
+      for (int i = 0; i < pt.length; i++) {
+         pt[i] = (byte)(i * 37 + 11);
+      }
+      byte[] ct1 = new byte[pt.length];
+      for (int i = 3; i < pt.length; i += 16) {
+         aes.encryptBlock(pt, i, ct1, i);
+      }
+      for (int n = 1; n <= 37; n = (n == 12 ? 37 : n + 1)) {
+         byte[] ct2 = new byte[pt.length];
+         ct.encryptBlocks(pt, 3, ct2, 3, n);
+         for (int i = 3; i < 3 + 16 * n; i++) {
+            if (ct1[i] != ct2[i]) {
+               return false;
+            }
+         }
+         ct.decryptBlocks(ct2, 3, ct2, 3, n);
+         for (int i = 3; i < 3 + 16 * n; i++) {
+            if (pt[i] != ct2[i]) {
+               return false;
+            }
+         }
+      }
+      return true;
+   }
+
+   /**
+    * A mode instantiated with this cipher by name, and fed a run of blocks at
+    * once, must produce the same output as one using {@link Rijndael}, fed
+    * one block at a time.
+    */
+   private boolean bulkModeTest(String name) throws Exception {
+      byte[] pt = new byte[37 * 16];
+      for (int i = 0; i < pt.length; i++) {
+         pt[i] = (byte)(i * 13 + 5);
+      }
+      HashMap attrib = new HashMap();
+      attrib.put(IMode.KEY_MATERIAL, new byte[24]);
+      attrib.put(IMode.IV, new byte[16]);
+      attrib.put(IMode.STATE, new Integer(IMode.ENCRYPTION));
+
+      IMode mode = ModeFactory.getInstance(name, Registry.AES_CIPHER, 16);
+      mode.init(attrib);
+      byte[] ct1 = new byte[pt.length];
+      for (int i = 0; i < pt.length; i += 16) {
+         mode.update(pt, i, ct1, i);
+      }
+
+      BaseMode bulk =
+            (BaseMode) ModeFactory.getInstance(name, Registry.AES_CT_CIPHER, 16);
+      bulk.init(attrib);
+      byte[] ct2 = new byte[pt.length];
+      bulk.update(pt, 0, ct2, 0, 5);
+      bulk.update(pt, 80, ct2, 80, 32);
+      if (!Arrays.equals(ct1, ct2)) {
+         return false;
+      }
+
+      bulk.reset();
+      attrib.put(IMode.STATE, new Integer(IMode.DECRYPTION));
+      bulk.init(attrib);
+      bulk.update(ct2, 0, ct2, 0, 37);
+      return Arrays.equals(pt, ct2);
+   }
+}
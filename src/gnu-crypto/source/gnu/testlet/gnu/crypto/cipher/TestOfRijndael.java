@@ -61,25 +61,25 @@ public class TestOfRijndael extends BaseCipherTestCase {
    // Constants and variables
    // -------------------------------------------------------------------------
 
-   // KAT and MCT vectors used in this test case
-   private static final String[] vk_128;
-   private static final String[] vk_192;
-   private static final String[] vk_256;
-   private static final String[] vt_128;
-   private static final String[] vt_192;
-   private static final String[] vt_256;
-   private static final String[] mct_ecb_e_128;
-   private static final String[] mct_ecb_e_192;
-   private static final String[] mct_ecb_e_256;
-   private static final String[] mct_ecb_d_128;
-   private static final String[] mct_ecb_d_192;
-   private static final String[] mct_ecb_d_256;
-   private static final String[] mct_cbc_e_128;
-   private static final String[] mct_cbc_e_192;
-   private static final String[] mct_cbc_e_256;
-   private static final String[] mct_cbc_d_128;
-   private static final String[] mct_cbc_d_192;
-   private static final String[] mct_cbc_d_256;
+   // KAT and MCT vectors used in this test case, and in TestOfConstantTimeAES
+   static final String[] vk_128;
+   static final String[] vk_192;
+   static final String[] vk_256;
+   static final String[] vt_128;
+   static final String[] vt_192;
+   static final String[] vt_256;
+   static final String[] mct_ecb_e_128;
+   static final String[] mct_ecb_e_192;
+   static final String[] mct_ecb_e_256;
+   static final String[] mct_ecb_d_128;
+   static final String[] mct_ecb_d_192;
+   static final String[] mct_ecb_d_256;
+   static final String[] mct_cbc_e_128;
+   static final String[] mct_cbc_e_192;
+   static final String[] mct_cbc_e_256;
+   static final String[] mct_cbc_d_128;
+   static final String[] mct_cbc_d_192;
+   static final String[] mct_cbc_d_256;
 
    // static initialiser
    static {
@@ -46,9 +46,14 @@ package gnu.testlet.gnu.crypto.cipher;
 // Tags: GNU-CRYPTO
 // Uses: BaseCipherTestCase
 
+import gnu.crypto.Registry;
 import gnu.crypto.cipher.IBlockCipher;
 import gnu.crypto.cipher.Serpent;
+import gnu.crypto.mode.BaseMode;
+import gnu.crypto.mode.IMode;
+import gnu.crypto.mode.ModeFactory;
 import gnu.testlet.TestHarness;
+import java.util.Arrays;
 import java.util.HashMap;
 
 /**
@@ -216,10 +221,87 @@ public class TestOfSerpent extends BaseCipherTestCase {
          harness.check(mctDecryptCBC(mct_cbc_d_128, cipher, 16), "MCT CBC Decryption "+algorithm+"-128");
          harness.check(mctDecryptCBC(mct_cbc_d_192, cipher, 24), "MCT CBC Decryption "+algorithm+"-192");
          harness.check(mctDecryptCBC(mct_cbc_d_256, cipher, 32), "MCT CBC Decryption "+algorithm+"-256");
+         harness.check(bulkTest(16), "bulkTest("+algorithm+"-128)");
+         harness.check(bulkTest(32), "bulkTest("+algorithm+"-256)");
+         harness.check(bulkModeTest(Registry.ECB_MODE), "bulkModeTest(ECB)");
+         harness.check(bulkModeTest(Registry.CTR_MODE), "bulkModeTest(CTR)");
          new TestOfNistVectors("serpent", TestOfNistVectors.LITTLE_ENDIAN).test(harness);
       } catch (Exception x) {
          harness.debug(x);
          harness.fail("TestOfSerpent");
       }
    }
+
+   /**
+    * Multi-block encryption and decryption, two blocks at a time plus an odd
+    * one, must agree with the single block operations, including when done
+    * in place.
+    */
+   private boolean bulkTest(int ks) throws Exception {
+      Serpent serpent = new Serpent();
+      HashMap attrib = new HashMap();
+      byte[] k = new byte[ks];
+      for (int i = 0; i < ks; i++) {
+         k[i] = (byte)(i * 7 + 1);
+      }
+      attrib.put(IBlockCipher.KEY_MATERIAL, k);
+      serpent.init(attrib);
+
+      byte[] pt = new byte[17 * 16 + 3];
+      for (int i = 0; i < pt.length; i++) {
+         pt[i] = (byte)(i * 37 + 11);
+      }
+      byte[] ct1 = new byte[pt.length];
+      for (int i = 3; i < pt.length; i += 16) {
+         serpent.encryptBlock(pt, i, ct1, i);
+      }
+      byte[] ct2 = new byte[pt.length];
+      serpent.encryptBlocks(pt, 3, ct2, 3, 17);
+      if (!Arrays.equals(ct1, ct2)) {
+         return false;
+      }
+
+      serpent.decryptBlocks(ct2, 3, ct2, 3, 17);
+      for (int i = 0; i < 3; i++) {
+         ct2[i] = pt[i];
+      }
+      return Arrays.equals(pt, ct2);
+   }
+
+   /**
+    * A mode fed a run of blocks at once, through the multi-block path of the
+    * cipher, must produce the same output as when fed one block at a time.
+    */
+   private boolean bulkModeTest(String name) throws Exception {
+      byte[] pt = new byte[37 * 16];
+      for (int i = 0; i < pt.length; i++) {
+         pt[i] = (byte)(i * 13 + 5);
+      }
+      HashMap attrib = new HashMap();
+      attrib.put(IMode.KEY_MATERIAL, new byte[24]);
+      attrib.put(IMode.STATE, new Integer(IMode.ENCRYPTION));
+
+      IMode mode = ModeFactory.getInstance(name, Registry.SERPENT_CIPHER, 16);
+      mode.init(attrib);
+      byte[] ct1 = new byte[pt.length];
+      for (int i = 0; i < pt.length; i += 16) {
+         mode.update(pt, i, ct1, i);
+      }
+
+      BaseMode bulk =
+            (BaseMode) ModeFactory.getInstance(name, Registry.SERPENT_CIPHER, 16);
+      bulk.init(attrib);
+      byte[] ct2 = new byte[pt.length];
+      bulk.update(pt, 0, ct2, 0, 5);
+      bulk.update(pt, 80, ct2, 80, 32);
+      if (!Arrays.equals(ct1, ct2)) {
+         return false;
+      }
+
+      bulk.reset();
+      attrib.put(IMode.STATE, new Integer(IMode.DECRYPTION));
+      bulk.init(attrib);
+      bulk.update(ct2, 0, ct2, 0, 37);
+      return Arrays.equals(pt, ct2);
+   }
 }
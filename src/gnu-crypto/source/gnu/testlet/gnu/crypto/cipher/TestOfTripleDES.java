@@ -134,7 +134,8 @@ public class TestOfTripleDES extends BaseCipherTestCase {
          harness.check(validityTest(), "validityTest()");
          harness.check(cloneabilityTest(), "cloneabilityTest()");
          harness.check(vectorsTest(), "vectorsTest()");
-         
+         harness.check(bulkTest(), "bulkTest()");
+
       } catch (Exception x) {
          harness.debug(x);
          harness.fail("TestOfTripleDES");
@@ -203,4 +204,37 @@ public class TestOfTripleDES extends BaseCipherTestCase {
       }
       return true;
    }
+
+   /**
+    * Multi-block encryption and decryption must agree with the single block
+    * operations, including when done in place.
+    */
+   protected boolean bulkTest() throws Exception {
+      TripleDES tdes = (TripleDES) cipher;
+      HashMap attrib = new HashMap();
+      attrib.put(IBlockCipher.KEY_MATERIAL,
+            Util.toBytesFromString(E_TV[5][0]));
+      tdes.reset();
+      tdes.init(attrib);
+
+      byte[] pt = new byte[17 * 8 + 3];
+      for (int i = 0; i < pt.length; i++) {
+         pt[i] = (byte) (i * 37 + 11);
+      }
+      byte[] ct1 = new byte[pt.length];
+      for (int i = 3; i < pt.length; i += 8) {
+         tdes.encryptBlock(pt, i, ct1, i);
+      }
+      byte[] ct2 = new byte[pt.length];
+      tdes.encryptBlocks(pt, 3, ct2, 3, 17);
+      if (!Arrays.equals(ct1, ct2)) {
+         return false;
+      }
+
+      tdes.decryptBlocks(ct2, 3, ct2, 3, 17);
+      for (int i = 0; i < 3; i++) {
+         ct2[i] = pt[i];
+      }
+      return Arrays.equals(pt, ct2);
+   }
 }
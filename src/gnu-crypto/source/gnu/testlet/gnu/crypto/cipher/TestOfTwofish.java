@@ -197,6 +197,7 @@ public class TestOfTwofish extends BaseCipherTestCase {
          String algorithm = cipher.name();
          harness.check(validityTest(), "validityTest("+algorithm+")");
          harness.check(cloneabilityTest(), "cloneabilityTest("+algorithm+")");
+         harness.check(keyScheduleTest(), "keyScheduleTest("+algorithm+")");
          harness.check(katVK(vk_128, cipher, 16), "KAT VK "+algorithm+"-128");
          harness.check(katVK(vk_192, cipher, 24), "KAT VK "+algorithm+"-192");
          harness.check(katVK(vk_256, cipher, 32), "KAT VK "+algorithm+"-256");
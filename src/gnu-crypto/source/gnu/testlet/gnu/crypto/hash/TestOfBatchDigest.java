@@ -0,0 +1,134 @@
+package gnu.testlet.gnu.crypto.hash;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.hash.BaseHash;
+import gnu.crypto.hash.HashFactory;
+import gnu.crypto.hash.IMessageDigest;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Conformance tests for the batch digest methods of the hash algorithms.
+ *
+ * @version $Revision$
+ */
+public class TestOfBatchDigest implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfBatchDigest");
+      for (Iterator it = HashFactory.getNames().iterator(); it.hasNext(); ) {
+         String name = (String) it.next();
+         IMessageDigest md = HashFactory.getInstance(name);
+         if (md instanceof BaseHash) {
+            try {
+               check(harness, name, (BaseHash) md);
+            } catch (Exception x) {
+               harness.debug(x);
+               harness.fail("TestOfBatchDigest." + name);
+            }
+         }
+      }
+   }
+
+   private void check(TestHarness harness, String name, BaseHash md) {
+      int n = 3 * md.blockSize() + 2;
+      int size = md.digest().length; // hashSize() is short for Whirlpool
+
+      // every length up to three blocks, as separate arrays and as slices
+      byte[] all = new byte[n * (n - 1) / 2 + 5];
+      for (int i = 0; i < all.length; i++) {
+         all[i] = (byte)(i * 7 + (i >>> 5));
+      }
+      byte[][] messages = new byte[n][];
+      int[] offsets = new int[n];
+      int[] lengths = new int[n];
+      byte[] expected = new byte[n * size];
+      for (int i = 0, k = 5; i < n; k += i, i++) {
+         messages[i] = new byte[i];
+         System.arraycopy(all, k, messages[i], 0, i);
+         offsets[i] = k;
+         lengths[i] = i;
+         IMessageDigest single = HashFactory.getInstance(name);
+         single.update(messages[i], 0, i);
+         System.arraycopy(single.digest(), 0, expected, i * size, size);
+      }
+
+      byte[] out = new byte[3 + n * size];
+      md.update(all, 0, 17); // discarded by the batch
+      md.digest(messages, out, 3);
+      byte[] actual = new byte[n * size];
+      System.arraycopy(out, 3, actual, 0, actual.length);
+      harness.check(Arrays.equals(expected, actual), name + ": arrays");
+
+      Arrays.fill(out, (byte) 0);
+      md.digest(all, offsets, lengths, out, 3);
+      System.arraycopy(out, 3, actual, 0, actual.length);
+      harness.check(Arrays.equals(expected, actual), name + ": slices");
+
+      // the instance is left reset
+      byte[] empty = new byte[size];
+      System.arraycopy(expected, 0, empty, 0, size);
+      harness.check(Arrays.equals(empty, md.digest()), name + ": reset");
+   }
+}
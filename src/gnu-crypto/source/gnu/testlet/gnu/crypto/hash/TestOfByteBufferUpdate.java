@@ -0,0 +1,161 @@
+package gnu.testlet.gnu.crypto.hash;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.hash.BaseHash;
+import gnu.crypto.hash.HashFactory;
+import gnu.crypto.hash.IMessageDigest;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Conformance tests for the <code>update(ByteBuffer)</code> method of the hash
+ * algorithms derived from {@link BaseHash}: heap, read-only and direct
+ * buffers, in either byte order, give the digest of their remaining bytes.
+ *
+ * @version $Revision$
+ */
+public class TestOfByteBufferUpdate implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfByteBufferUpdate");
+      for (Iterator it = HashFactory.getNames().iterator(); it.hasNext(); ) {
+         String name = (String) it.next();
+         if (!(HashFactory.getInstance(name) instanceof BaseHash)) {
+            continue;
+         }
+         try {
+            check(harness, name);
+         } catch (Exception x) {
+            harness.debug(x);
+            harness.fail("TestOfByteBufferUpdate." + name);
+         }
+      }
+   }
+
+   private void check(TestHarness harness, String name) {
+      IMessageDigest md = HashFactory.getInstance(name);
+      int n = 3 * md.blockSize() + 5;
+      byte[] in = new byte[n + 7];
+      for (int i = 0; i < in.length; i++) {
+         in[i] = (byte)(i * 13 + (i >>> 3));
+      }
+      md.update(in, 7, n);
+      byte[] expected = md.digest();
+
+      ByteBuffer heap = ByteBuffer.wrap(in, 7, n);
+      harness.check(Arrays.equals(expected, digest(name, heap, 0)),
+                    name + ": heap buffer");
+      harness.check(!heap.hasRemaining(), name + ": heap buffer consumed");
+
+      ByteBuffer slice = ByteBuffer.wrap(in, 7, n).slice();
+      harness.check(Arrays.equals(expected, digest(name, slice, 0)),
+                    name + ": sliced buffer");
+
+      ByteBuffer readOnly = ByteBuffer.wrap(in, 7, n).asReadOnlyBuffer();
+      harness.check(Arrays.equals(expected, digest(name, readOnly, 0)),
+                    name + ": read-only buffer");
+
+      ByteBuffer direct = ByteBuffer.allocateDirect(n + 1);
+      direct.put((byte) 0).put(in, 7, n).flip();
+      direct.position(1); // unaligned
+      harness.check(Arrays.equals(expected, digest(name, direct, 0)),
+                    name + ": direct buffer");
+      harness.check(!direct.hasRemaining(), name + ": direct buffer consumed");
+
+      direct.position(1);
+      direct.order(ByteOrder.LITTLE_ENDIAN);
+      harness.check(Arrays.equals(expected, digest(name, direct, 0)),
+                    name + ": little-endian direct buffer");
+      direct.order(ByteOrder.BIG_ENDIAN);
+
+      // after a partial block, fed in pieces
+      for (int k = 1; k < n; k += md.blockSize() - 1) {
+         direct.position(1);
+         harness.check(Arrays.equals(expected, digest(name, direct, k)),
+                       name + ": direct buffer after " + k + " bytes");
+      }
+   }
+
+   /**
+    * Digests the remaining bytes of a buffer, the first <code>k</code> of them
+    * as an array, then the rest as one, two, or three buffers.
+    */
+   private byte[] digest(String name, ByteBuffer in, int k) {
+      BaseHash md = (BaseHash) HashFactory.getInstance(name);
+      byte[] head = new byte[k];
+      in.get(head);
+      md.update(head, 0, k);
+      int end = in.limit();
+      int third = in.remaining() / 3;
+      in.limit(in.position() + third);
+      md.update(in);
+      in.limit(end - third);
+      md.update(in);
+      in.limit(end);
+      md.update(in);
+      return md.digest();
+   }
+}
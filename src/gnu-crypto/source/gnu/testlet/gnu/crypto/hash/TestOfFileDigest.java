@@ -0,0 +1,232 @@
+package gnu.testlet.gnu.crypto.hash;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2001, 2002, Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.Registry;
+import gnu.crypto.hash.HashFactory;
+import gnu.crypto.hash.IMessageDigest;
+import gnu.crypto.mac.IMac;
+import gnu.crypto.mac.MacFactory;
+import gnu.crypto.util.FileDigest;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Conformance tests for the computation of digests and MACs of whole files.
+ *
+ * @version $Revision$
+ */
+public class TestOfFileDigest implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final int[] SIZES = { 0, 1, 65535, 65536, 200003 };
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   private static byte[] contents(int size) {
+      byte[] result = new byte[size];
+      for (int i = 0; i < size; i++) {
+         result[i] = (byte)(i * 31 + (i >>> 8));
+      }
+      return result;
+   }
+
+   private static File write(byte[] data) throws IOException {
+      File result = File.createTempFile("gnu-crypto", ".bin");
+      result.deleteOnExit();
+      FileOutputStream out = new FileOutputStream(result);
+      try {
+         out.write(data);
+      } finally {
+         out.close();
+      }
+      return result;
+   }
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfFileDigest");
+      File[] files = new File[SIZES.length];
+      try {
+         byte[][] data = new byte[SIZES.length][];
+         byte[][] expected = new byte[SIZES.length][];
+         byte[][] expectedMacs = new byte[SIZES.length][];
+         HashMap attributes = new HashMap();
+         attributes.put(IMac.MAC_KEY_MATERIAL, contents(20));
+         IMessageDigest md = HashFactory.getInstance(Registry.SHA160_HASH);
+         IMac mac = MacFactory.getInstance("hmac-sha1");
+         for (int i = 0; i < SIZES.length; i++) {
+            data[i] = contents(SIZES[i]);
+            files[i] = write(data[i]);
+            md.update(data[i], 0, data[i].length);
+            expected[i] = md.digest();
+            mac.init(attributes);
+            mac.update(data[i], 0, data[i].length);
+            expectedMacs[i] = mac.digest();
+         }
+
+         for (int i = 0; i < SIZES.length; i++) {
+            harness.check(Arrays.equals(expected[i],
+                  FileDigest.digest(Registry.SHA160_HASH, files[i])),
+                  "digest of "+SIZES[i]+" bytes");
+            harness.check(Arrays.equals(expectedMacs[i],
+                  FileDigest.mac("hmac-sha1", attributes, files[i])),
+                  "MAC of "+SIZES[i]+" bytes");
+         }
+
+         byte[][] digests = FileDigest.digest(Registry.SHA160_HASH, files, 3);
+         boolean ok = true;
+         for (int i = 0; i < SIZES.length; i++) {
+            ok &= Arrays.equals(expected[i], digests[i]);
+         }
+         harness.check(ok, "concurrent digests");
+
+         byte[][] macs = FileDigest.mac("hmac-sha1", attributes, files, 2);
+         ok = true;
+         for (int i = 0; i < SIZES.length; i++) {
+            ok &= Arrays.equals(expectedMacs[i], macs[i]);
+         }
+         harness.check(ok, "concurrent MACs");
+
+         // from the current position of a channel
+         int last = SIZES.length - 1;
+         md.update(data[last], 1000, data[last].length - 1000);
+         byte[] tail = md.digest();
+         FileInputStream in = new FileInputStream(files[last]);
+         try {
+            in.getChannel().position(1000L);
+            harness.check(Arrays.equals(tail,
+                  FileDigest.digest(md, in.getChannel())), "digest of a channel");
+            harness.check(in.getChannel().position() == 1000L,
+                  "channel position unchanged");
+         } finally {
+            in.close();
+         }
+
+         // a digest not derived from BaseHash is fed the windows in chunks
+         harness.check(Arrays.equals(expected[last],
+               FileDigest.digest(new Opaque(md), files[last])),
+               "digest by another implementation");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfFileDigest");
+      } finally {
+         for (int i = 0; i < files.length; i++) {
+            if (files[i] != null) {
+               files[i].delete();
+            }
+         }
+      }
+   }
+
+   // Inner class(es)
+   // =========================================================================
+
+   /** A message digest that only exposes the interface of another. */
+   private static final class Opaque implements IMessageDigest {
+
+      private final IMessageDigest md;
+
+      Opaque(IMessageDigest md) {
+         super();
+
+         this.md = md;
+      }
+
+      public String name() {
+         return md.name();
+      }
+
+      public int hashSize() {
+         return md.hashSize();
+      }
+
+      public int blockSize() {
+         return md.blockSize();
+      }
+
+      public void update(byte b) {
+         md.update(b);
+      }
+
+      public void update(byte[] in, int offset, int length) {
+         md.update(in, offset, length);
+      }
+
+      public byte[] digest() {
+         return md.digest();
+      }
+
+      public void reset() {
+         md.reset();
+      }
+
+      public boolean selfTest() {
+         return md.selfTest();
+      }
+
+      public Object clone() {
+         return new Opaque((IMessageDigest) md.clone());
+      }
+   }
+}
@@ -49,6 +49,7 @@ import gnu.crypto.hash.HashFactory;
 import gnu.crypto.hash.IMessageDigest;
 import gnu.testlet.TestHarness;
 import gnu.testlet.Testlet;
+import java.util.Arrays;
 import java.util.Iterator;
 
 /**
@@ -81,6 +82,14 @@ public class TestOfHashFactory implements Testlet {
          try {
             algorithm = HashFactory.getInstance(hash);
             harness.check(algorithm != null, "getInstance("+String.valueOf(hash)+")");
+
+            // later instances are clones of a pristine prototype
+            final byte[] expected = algorithm.digest();
+            algorithm.update((byte) 0x61);
+            final IMessageDigest other = HashFactory.getInstance(hash);
+            harness.check(other != algorithm
+                          && Arrays.equals(expected, other.digest()),
+                          "getInstance("+String.valueOf(hash)+") is pristine");
          } catch (InternalError x) {
             harness.debug(x);
             harness.fail("TestOfHashFactory.getInstance("+String.valueOf(hash)+")");
@@ -0,0 +1,239 @@
+package gnu.testlet.gnu.crypto.hash;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.Registry;
+import gnu.crypto.hash.HashFactory;
+import gnu.crypto.hash.IMessageDigest;
+import gnu.crypto.hash.TreeHash;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Conformance tests for the tree-hashing mode and its parallel drivers.
+ *
+ * @version $Revision$
+ */
+public class TestOfTreeHash implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final String HASH = Registry.SHA256_HASH;
+
+   private static final int LEAF = 64;
+
+   private static final int[] SIZES = {
+      0, 1, 63, 64, 65, 128, 1000, 64 * 9, 64 * 17 + 5, 64 * 300 + 1
+   };
+
+   private static final int[] FANOUTS = { 2, 3, 16 };
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   private static byte[] contents(int size) {
+      byte[] result = new byte[size];
+      for (int i = 0; i < size; i++) {
+         result[i] = (byte)(i * 31 + (i >>> 8));
+      }
+      return result;
+   }
+
+   private static byte[] hash(byte prefix, byte[] a, byte[] b, byte[] c) {
+      IMessageDigest md = HashFactory.getInstance(HASH);
+      md.update(prefix);
+      md.update(a, 0, a.length);
+      if (b != null) {
+         md.update(b, 0, b.length);
+      }
+      if (c != null) {
+         md.update(c, 0, c.length);
+      }
+      return md.digest();
+   }
+
+   private static File write(byte[] data) throws IOException {
+      File result = File.createTempFile("gnu-crypto", ".bin");
+      result.deleteOnExit();
+      FileOutputStream out = new FileOutputStream(result);
+      try {
+         out.write(data);
+      } finally {
+         out.close();
+      }
+      return result;
+   }
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfTreeHash");
+      try {
+         TreeHash th = new TreeHash(HASH, 2, LEAF);
+         harness.check(th.selfTest(), "selfTest");
+         harness.check(th.hashSize() == 32, "hashSize");
+         harness.check(th.blockSize() == LEAF, "blockSize");
+
+         // the shape of the tree
+         byte[] a = contents(LEAF);
+         byte[] b = new byte[LEAF];
+         byte[] c = new byte[10];
+         Arrays.fill(b, (byte) 0x55);
+         Arrays.fill(c, (byte) 0xAA);
+         byte[] la = hash((byte) 0, a, null, null);
+         byte[] lb = hash((byte) 0, b, null, null);
+         byte[] lc = hash((byte) 0, c, null, null);
+
+         th.update(a, 0, a.length);
+         harness.check(Arrays.equals(la, th.digest()), "one leaf");
+         th.update(new byte[0], 0, 0);
+         harness.check(Arrays.equals(hash((byte) 0, new byte[0], null, null),
+               th.digest()), "empty input");
+         th.update(a, 0, a.length);
+         th.update(b, 0, b.length);
+         harness.check(Arrays.equals(hash((byte) 1, la, lb, null), th.digest()),
+               "two leaves");
+         th.update(a, 0, a.length);
+         th.update(b, 0, b.length);
+         th.update(c, 0, c.length);
+         harness.check(Arrays.equals(hash((byte) 1,
+               hash((byte) 1, la, lb, null), lc, null), th.digest()),
+               "lone leaf carried up");
+         TreeHash th3 = new TreeHash(HASH, 3, LEAF);
+         th3.update(a, 0, a.length);
+         th3.update(b, 0, b.length);
+         th3.update(c, 0, c.length);
+         harness.check(Arrays.equals(hash((byte) 1, la, lb, lc), th3.digest()),
+               "fan-out of 3");
+
+         // the drivers and the incremental computation agree
+         for (int f = 0; f < FANOUTS.length; f++) {
+            for (int s = 0; s < SIZES.length; s++) {
+               checkSize(harness, FANOUTS[f], SIZES[s]);
+            }
+         }
+
+         // cloning
+         byte[] data = contents(1000);
+         th = new TreeHash(HASH, 2, LEAF);
+         th.update(data, 0, 300);
+         TreeHash copy = (TreeHash) th.clone();
+         th.update(data, 300, 700);
+         copy.update(data, 300, 700);
+         harness.check(Arrays.equals(th.digest(), copy.digest()), "clone");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfTreeHash");
+      }
+   }
+
+   private void checkSize(TestHarness harness, int fanout, int size)
+   throws IOException {
+      String what = " ("+fanout+", "+size+" bytes)";
+      byte[] data = contents(size);
+      TreeHash th = new TreeHash(HASH, fanout, LEAF);
+      th.update(data, 0, data.length);
+      byte[] expected = th.digest();
+
+      for (int i = 0; i < size; i++) {
+         th.update(data[i]);
+      }
+      harness.check(Arrays.equals(expected, th.digest()), "byte-wise"+what);
+
+      harness.check(Arrays.equals(expected, TreeHash.digest(
+            HASH, fanout, LEAF, data, 0, size, 1)), "byte[], 1 thread"+what);
+      harness.check(Arrays.equals(expected, TreeHash.digest(
+            HASH, fanout, LEAF, data, 0, size, 4)), "byte[], 4 threads"+what);
+
+      byte[] padded = new byte[size + 10];
+      System.arraycopy(data, 0, padded, 7, size);
+      ByteBuffer heap = ByteBuffer.wrap(padded, 7, size).slice();
+      harness.check(Arrays.equals(expected, TreeHash.digest(
+            HASH, fanout, LEAF, heap, 3)), "heap buffer"+what);
+      harness.check(heap.position() == 0, "position unchanged"+what);
+      harness.check(Arrays.equals(expected, TreeHash.digest(
+            HASH, fanout, LEAF, heap.asReadOnlyBuffer(), 3)),
+            "read-only buffer"+what);
+      ByteBuffer direct = ByteBuffer.allocateDirect(size + 5);
+      direct.position(5);
+      direct.put(data);
+      direct.position(5);
+      harness.check(Arrays.equals(expected, TreeHash.digest(
+            HASH, fanout, LEAF, direct, 2)), "direct buffer"+what);
+
+      byte[] prefixed = new byte[size + 100];
+      System.arraycopy(data, 0, prefixed, 100, size);
+      File file = write(prefixed);
+      try {
+         FileInputStream in = new FileInputStream(file);
+         try {
+            in.getChannel().position(100L);
+            harness.check(Arrays.equals(expected, TreeHash.digest(
+                  HASH, fanout, LEAF, in.getChannel(), 3)), "channel"+what);
+            harness.check(in.getChannel().position() == 100L,
+                  "channel position unchanged"+what);
+         } finally {
+            in.close();
+         }
+      } finally {
+         file.delete();
+      }
+   }
+}
@@ -49,6 +49,8 @@ import gnu.crypto.Registry;
 import gnu.crypto.cipher.CipherFactory;
 import gnu.crypto.cipher.IBlockCipher;
 import gnu.crypto.jce.GnuCrypto;
+import gnu.crypto.jce.spec.AuthenticatedModeParameterSpec;
+import gnu.crypto.mode.IAuthenticatedMode;
 import gnu.crypto.mode.IMode;
 import gnu.crypto.mode.ModeFactory;
 import gnu.crypto.pad.IPad;
@@ -61,6 +63,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 
+import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.spec.IvParameterSpec;
@@ -96,6 +99,7 @@ public class TestOfCipher implements Testlet {
       testPadding(harness);
       testPartial(harness);
       testDoFinal(harness);
+      testAuthenticated(harness);
    }
 
    /** Should fail with an unknown algorithm. */
@@ -133,6 +137,9 @@ public class TestOfCipher implements Testlet {
             for (mi = ModeFactory.getNames().iterator(); mi.hasNext(); ) {
                modeName = (String) mi.next();
                gnu = ModeFactory.getInstance(modeName, cipher, bs);
+               if (gnu == null || gnu instanceof IAuthenticatedMode) {
+                  continue; // see testAuthenticated()
+               }
                jce = Cipher.getInstance(cipherName + "/" + modeName
                   + "/NoPadding", Registry.GNU_CRYPTO);
                pt = new byte[bs];
@@ -350,6 +357,86 @@ public class TestOfCipher implements Testlet {
       }
    }
 
+   /**
+    * Authenticated modes through the JCE must produce the ciphertext and tag
+    * of the GNU instances, and reject a forged message.
+    */
+   public void testAuthenticated(TestHarness harness) {
+      harness.checkPoint("testAuthenticated");
+      String[] modes = { Registry.EAX_MODE, Registry.GCM_MODE, Registry.OCB_MODE };
+      byte[] kb = new byte[16];
+      for (int i = 0; i < kb.length; i++) {
+         kb[i] = (byte) i;
+      }
+      byte[] nonce = new byte[12];
+      for (int i = 0; i < nonce.length; i++) {
+         nonce[i] = (byte)(0xF0 - i);
+      }
+      byte[] ad = new byte[21];
+      for (int i = 0; i < ad.length; i++) {
+         ad[i] = (byte)(3 * i);
+      }
+      byte[] pt = new byte[45];
+      for (int i = 0; i < pt.length; i++) {
+         pt[i] = (byte) i;
+      }
+      final int tagSize = 12;
+      String modeName = null;
+      try {
+         for (int m = 0; m < modes.length; m++) {
+            modeName = modes[m];
+            IAuthenticatedMode gnu = (IAuthenticatedMode)
+                  ModeFactory.getInstance(modeName, Registry.AES_CIPHER, 16);
+            HashMap attrib = new HashMap();
+            attrib.put(IBlockCipher.KEY_MATERIAL, kb);
+            attrib.put(IMode.IV, nonce);
+            attrib.put(IAuthenticatedMode.TAG_SIZE, new Integer(tagSize));
+            attrib.put(IMode.STATE, new Integer(IMode.ENCRYPTION));
+            gnu.init(attrib);
+            gnu.update(ad, 0, ad.length);
+            byte[] ct1 = new byte[pt.length + tagSize];
+            gnu.update(pt, 0, ct1, 0);
+            gnu.update(pt, 16, ct1, 16);
+            gnu.finish(pt, 32, 13, ct1, 32);
+            System.arraycopy(gnu.digest(), 0, ct1, pt.length, tagSize);
+
+            Cipher jce = Cipher.getInstance("AES/" + modeName + "/NoPadding",
+                  Registry.GNU_CRYPTO);
+            SecretKeySpec key = new SecretKeySpec(kb, "AES");
+            AuthenticatedModeParameterSpec spec =
+                  new AuthenticatedModeParameterSpec(nonce, tagSize);
+            jce.init(Cipher.ENCRYPT_MODE, key, spec);
+            jce.updateAAD(ad, 0, 7);
+            jce.updateAAD(ad, 7, ad.length - 7);
+            byte[] ct2a = jce.update(pt, 0, 20);
+            byte[] ct2b = jce.doFinal(pt, 20, pt.length - 20);
+            byte[] ct2 = new byte[ct2a.length + ct2b.length];
+            System.arraycopy(ct2a, 0, ct2, 0, ct2a.length);
+            System.arraycopy(ct2b, 0, ct2, ct2a.length, ct2b.length);
+            harness.check(Arrays.equals(ct1, ct2), "encryption(" + modeName + ")");
+
+            jce.init(Cipher.DECRYPT_MODE, key, spec);
+            jce.updateAAD(ad);
+            byte[] cpt1 = jce.update(ct2, 0, 30);
+            byte[] cpt2 = jce.doFinal(ct2, 30, ct2.length - 30);
+            harness.check(cpt1.length == 0 && Arrays.equals(pt, cpt2),
+                  "decryption(" + modeName + ")");
+
+            ct2[3] ^= 0x40;
+            jce.updateAAD(ad);
+            try {
+               jce.doFinal(ct2);
+               harness.fail("forgery(" + modeName + ")");
+            } catch (BadPaddingException x) {
+               harness.check(true, "forgery(" + modeName + ")");
+            }
+         }
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("testAuthenticated(" + modeName + "): " + String.valueOf(x));
+      }
+   }
+
    // helper methods ----------------------------------------------------------
 
    private void setUp() {
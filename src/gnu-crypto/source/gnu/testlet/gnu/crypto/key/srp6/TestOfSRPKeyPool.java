@@ -0,0 +1,154 @@
+package gnu.testlet.gnu.crypto.key.srp6;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.key.srp6.SRPAlgorithm;
+import gnu.crypto.key.srp6.SRPKeyPairGenerator;
+import gnu.crypto.key.srp6.SRPKeyPool;
+import gnu.crypto.key.srp6.SRPPrivateKey;
+import gnu.crypto.key.srp6.SRPPublicKey;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * <p>Conformance tests for the pools of precomputed SRP host ephemeral
+ * values.</p>
+ *
+ * @version $Revision$
+ */
+public class TestOfSRPKeyPool implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final BigInteger N = SRPAlgorithm.N_512;
+   private static final BigInteger g = BigInteger.valueOf(2L);
+   private static final BigInteger THREE = BigInteger.valueOf(3L);
+   private static final int CAPACITY = 4;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfSRPKeyPool");
+      harness.check(SRPKeyPool.available(N) == -1, "no pool before start()");
+
+      SRPKeyPool.start(N, g, CAPACITY, 1);
+      try {
+         harness.check(waitForPool(), "pool fills up");
+
+         BigInteger v = new BigInteger(1, new byte[] { 0x12, 0x34, 0x56, 0x78 });
+         HashMap map = new HashMap();
+         map.put(SRPKeyPairGenerator.SHARED_MODULUS, N);
+         map.put(SRPKeyPairGenerator.GENERATOR, g);
+         map.put(SRPKeyPairGenerator.USER_VERIFIER, v);
+
+         // with its own source of randomness, the generator leaves the pool alone
+         map.put(SRPKeyPairGenerator.SOURCE_OF_RANDOMNESS, new SecureRandom());
+         SRPKeyPairGenerator kpg = new SRPKeyPairGenerator();
+         kpg.setup(map);
+         harness.check(checkHostKeyPair(kpg.generate(), v), "host key pair");
+         harness.check(SRPKeyPool.available(N) == CAPACITY
+               && SRPKeyPool.taken(N) == 0L,
+               "pool is bypassed with a caller-supplied source of randomness");
+
+         map.remove(SRPKeyPairGenerator.SOURCE_OF_RANDOMNESS);
+         kpg = new SRPKeyPairGenerator();
+         kpg.setup(map);
+         harness.check(SRPKeyPool.taken(N) == 0L, "taken() before use");
+         harness.check(checkHostKeyPair(kpg.generate(), v), "pooled key pair");
+         harness.check(SRPKeyPool.taken(N) == 1L, "generate() takes a pair");
+         harness.check(waitForPool(), "pool is refilled");
+
+         HashSet exponents = new HashSet();
+         boolean ok = true;
+         for (int i = 0; i < 3 * CAPACITY; i++) {
+            KeyPair kp = kpg.generate();
+            ok &= checkHostKeyPair(kp, v);
+            ok &= exponents.add(((SRPPrivateKey) kp.getPrivate()).getX());
+         }
+         harness.check(ok, "pooled ephemeral values are valid and never reused");
+         harness.check(SRPKeyPool.taken(N) > 1L, "pairs taken from the pool");
+      } finally {
+         SRPKeyPool.stop(N);
+      }
+      harness.check(SRPKeyPool.available(N) == -1, "no pool after stop()");
+   }
+
+   private boolean waitForPool() {
+      for (int i = 0; i < 600; i++) {
+         if (SRPKeyPool.available(N) == CAPACITY) {
+            return true;
+         }
+         try {
+            Thread.sleep(50L);
+         } catch (InterruptedException x) {
+            break;
+         }
+      }
+      return false;
+   }
+
+   private boolean checkHostKeyPair(KeyPair kp, BigInteger v) {
+      BigInteger b = ((SRPPrivateKey) kp.getPrivate()).getX();
+      BigInteger B = ((SRPPublicKey) kp.getPublic()).getY();
+      return B.equals(THREE.multiply(v).add(g.modPow(b, N)).mod(N));
+   }
+}
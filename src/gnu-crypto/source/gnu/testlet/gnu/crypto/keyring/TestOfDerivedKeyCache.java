@@ -0,0 +1,199 @@
+package gnu.testlet.gnu.crypto.keyring;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.key.GnuSecretKey;
+import gnu.crypto.keyring.DerivedKeyCache;
+import gnu.crypto.keyring.GnuPrivateKeyring;
+import gnu.crypto.keyring.IKeyring;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.Key;
+import java.security.UnrecoverableKeyException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Conformance tests for the cache of password-derived keys used by the
+ * password-protected keyring entries.</p>
+ *
+ * @version $Revision$
+ */
+public class TestOfDerivedKeyCache implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final char[] PASSWORD = "password".toCharArray();
+
+   private static final char[] WRONG = "passw0rd".toCharArray();
+
+   private static final String[] ALIASES = { "k1", "k2", "k3", "k4" };
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(final TestHarness harness) {
+      harness.checkPoint("TestOfDerivedKeyCache");
+      harness.check(DerivedKeyCache.getCapacity() == 0, "disabled by default");
+      try {
+         final byte[][] material = new byte[ALIASES.length][16];
+         final GnuPrivateKeyring kr1 = new GnuPrivateKeyring();
+         for (int i = 0; i < ALIASES.length; i++) {
+            Arrays.fill(material[i], (byte) i);
+            kr1.putPrivateKey(ALIASES[i], new GnuSecretKey(material[i], null),
+                              PASSWORD);
+         }
+         final ByteArrayOutputStream out = new ByteArrayOutputStream();
+         final Map attributes = new HashMap();
+         attributes.put(IKeyring.KEYRING_DATA_OUT, out);
+         attributes.put(IKeyring.KEYRING_PASSWORD, PASSWORD);
+         final byte[] data;
+         DerivedKeyCache.clear();
+         DerivedKeyCache.setCapacity(16);
+         try {
+            kr1.store(attributes);
+            // keys derived with a fresh salt are never looked up again
+            harness.check(DerivedKeyCache.size() == 0, "store() caches nothing");
+            data = out.toByteArray();
+            testEnabled(harness, data, material);
+         } finally {
+            DerivedKeyCache.setCapacity(DerivedKeyCache.DEFAULT_CAPACITY);
+            DerivedKeyCache.clear();
+         }
+
+         // nothing is cached while disabled
+         final Key[] keys = load(data).getPrivateKeys(ALIASES, PASSWORD);
+         check(harness, keys, material, "getPrivateKeys(...) uncached");
+         harness.check(DerivedKeyCache.size() == 0, "disabled cache stays empty");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfDerivedKeyCache");
+      }
+   }
+
+   private static void testEnabled(TestHarness harness, byte[] data,
+                                   byte[][] material)
+   throws Exception {
+      final GnuPrivateKeyring kr2 = load(data);
+      long misses = DerivedKeyCache.misses();
+      Key[] keys = kr2.getPrivateKeys(ALIASES, PASSWORD);
+      check(harness, keys, material, "getPrivateKeys(...)");
+      harness.check(DerivedKeyCache.size() > 0, "size() > 0");
+      harness.check(DerivedKeyCache.misses() - misses == 2 * ALIASES.length,
+                    "every key derived once");
+
+      // the entries of a freshly loaded copy are masked again, and their
+      // keys come from the cache
+      final GnuPrivateKeyring kr3 = load(data);
+      final long hits = DerivedKeyCache.hits();
+      misses = DerivedKeyCache.misses();
+      keys = kr3.getPrivateKeys(ALIASES, PASSWORD);
+      check(harness, keys, material, "getPrivateKeys(...) again");
+      harness.check(DerivedKeyCache.hits() - hits >= 2 * ALIASES.length,
+                    "cached keys are used");
+      harness.check(DerivedKeyCache.misses() == misses,
+                    "no key derived again");
+      final Key k = load(data).getPrivateKey(ALIASES[0], PASSWORD);
+      harness.check(Arrays.equals(material[0], k.getEncoded()),
+                    "getPrivateKey(...)");
+
+      // a wrong password is rejected, although the right keys are cached
+      try {
+         load(data).getPrivateKeys(ALIASES, WRONG);
+         harness.fail("getPrivateKeys(...) with a wrong password");
+      } catch (UnrecoverableKeyException expected) {
+         harness.check(true, "getPrivateKeys(...) with a wrong password");
+      }
+      try {
+         load(data).getPrivateKey(ALIASES[1], WRONG);
+         harness.fail("getPrivateKey(...) with a wrong password");
+      } catch (UnrecoverableKeyException expected) {
+         harness.check(true, "getPrivateKey(...) with a wrong password");
+      }
+
+      DerivedKeyCache.setCapacity(1);
+      harness.check(DerivedKeyCache.size() <= 1, "setCapacity(1)");
+
+      // more aliases than the cache holds keys for
+      DerivedKeyCache.setCapacity(3);
+      keys = load(data).getPrivateKeys(ALIASES, PASSWORD);
+      check(harness, keys, material, "getPrivateKeys(...) in chunks");
+      DerivedKeyCache.clear();
+      harness.check(DerivedKeyCache.size() == 0, "clear()");
+   }
+
+   private static GnuPrivateKeyring load(byte[] data) throws Exception {
+      final Map attributes = new HashMap();
+      attributes.put(IKeyring.KEYRING_DATA_IN, new ByteArrayInputStream(data));
+      attributes.put(IKeyring.KEYRING_PASSWORD, PASSWORD);
+      final GnuPrivateKeyring result = new GnuPrivateKeyring();
+      result.load(attributes);
+      return result;
+   }
+
+   private static void check(TestHarness harness, Key[] keys,
+                             byte[][] material, String what) {
+      harness.check(keys.length == ALIASES.length, what);
+      for (int i = 0; i < ALIASES.length; i++) {
+         harness.check(keys[i] != null
+                       && Arrays.equals(material[i], keys[i].getEncoded()),
+                       what + "[" + i + "]");
+      }
+   }
+}
@@ -0,0 +1,297 @@
+package gnu.testlet.gnu.crypto.keyring;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.key.GnuSecretKey;
+import gnu.crypto.keyring.BinaryDataEntry;
+import gnu.crypto.keyring.GnuPrivateKeyring;
+import gnu.crypto.keyring.GnuPublicKeyring;
+import gnu.crypto.keyring.IKeyring;
+import gnu.crypto.keyring.Properties;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.Key;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Conformance tests for storing GNU Keyring changes as journal records
+ * appended to the keyring file.</p>
+ *
+ * @version $Revision$
+ */
+public class TestOfKeyringJournal implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final char[] PASSWORD = "password".toCharArray();
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(final TestHarness harness) {
+      harness.checkPoint("TestOfKeyringJournal");
+      File f = null;
+      try {
+         f = File.createTempFile("gkr", null);
+         final GnuPublicKeyring kr1 = new GnuPublicKeyring("HMAC-SHA-160", 20);
+         for (int i = 0; i < 8; i++) {
+            kr1.add(entry("base" + i, i, 2048));
+         }
+         final Map attributes = new HashMap();
+         attributes.put(IKeyring.KEYRING_DATA_FILE, f);
+         attributes.put(IKeyring.KEYRING_PASSWORD, PASSWORD);
+         kr1.store(attributes);
+         final long base = f.length();
+         harness.check(base > 0, "store(...) compacts");
+
+         kr1.add(entry("added", 42, 16));
+         kr1.store(attributes);
+         final long journal = f.length();
+         harness.check(journal > base && journal - base < base,
+                       "store(...) appends");
+
+         final byte[] r1 = read(f, base, journal - base);
+         final byte[] tampered = read(f, 0, journal);
+         // the last bytes of the payload, before the MAC, are the entry data
+         tampered[tampered.length - 20 - 1] ^= 1;
+         harness.check(!loads(tampered), "tampered journal record rejected");
+
+         kr1.remove("base0");
+         kr1.store(attributes);
+         final long full = f.length();
+         harness.check(full > journal, "store(...) appends");
+
+         final byte[] b = read(f, 0, base);
+         final byte[] r2 = read(f, journal, full - journal);
+         harness.check(loads(concat(b, r1, r2)), "journal records in sequence");
+         harness.check(!loads(concat(b, r2, r1)),
+                       "reordered journal records rejected");
+         harness.check(!loads(concat(b, r2, new byte[0])),
+                       "dropped journal record rejected");
+         harness.check(!loads(concat(b, r1, r1)),
+                       "replayed journal record rejected");
+
+         GnuPublicKeyring kr2 = new GnuPublicKeyring();
+         kr2.load(attributes);
+         harness.check(kr2.containsAlias("added"), "journal addition");
+         harness.check(!kr2.containsAlias("base0"), "journal removal");
+         harness.check(kr2.containsAlias("base7"), "base entry");
+         final List l = kr2.get("added");
+         harness.check(l.size() == 1
+                       && Arrays.equals(((BinaryDataEntry) l.get(0)).getData(),
+                                        data(42, 16)), "journal entry data");
+
+         // storing to a stream always writes the compacted keyring
+         final FileOutputStream out = new FileOutputStream(f);
+         attributes.put(IKeyring.KEYRING_DATA_OUT, out);
+         kr2.store(attributes);
+         out.close();
+         attributes.remove(IKeyring.KEYRING_DATA_OUT);
+         harness.check(f.length() < journal, "store(KEYRING_DATA_OUT)");
+
+         kr2 = new GnuPublicKeyring();
+         kr2.load(attributes);
+         harness.check(kr2.containsAlias("added")
+                       && !kr2.containsAlias("base0"), "compacted keyring");
+
+         // a stream is read up to the end of the keyring, and no further
+         final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+         final Map streams = new HashMap();
+         streams.put(IKeyring.KEYRING_DATA_OUT, buf);
+         streams.put(IKeyring.KEYRING_PASSWORD, PASSWORD);
+         kr2.store(streams);
+         buf.write("TRAILER".getBytes("ASCII"));
+         final ByteArrayInputStream in =
+               new ByteArrayInputStream(buf.toByteArray());
+         streams.remove(IKeyring.KEYRING_DATA_OUT);
+         streams.put(IKeyring.KEYRING_DATA_IN, in);
+         kr2 = new GnuPublicKeyring();
+         kr2.load(streams);
+         harness.check(kr2.containsAlias("added"), "load(KEYRING_DATA_IN)");
+         harness.check(in.available() == 7, "trailing bytes left unread");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfKeyringJournal");
+      } finally {
+         if (f != null) {
+            f.delete();
+         }
+      }
+
+      testPrivateKeyring(harness);
+   }
+
+   private void testPrivateKeyring(final TestHarness harness) {
+      harness.checkPoint("TestOfKeyringJournal.testPrivateKeyring");
+      File f = null;
+      try {
+         f = File.createTempFile("gkr", null);
+         final GnuPrivateKeyring kr1 = new GnuPrivateKeyring();
+         for (int i = 0; i < 8; i++) {
+            kr1.putPrivateKey("key" + i, new GnuSecretKey(data(i, 16), null),
+                              PASSWORD);
+         }
+         final Map attributes = new HashMap();
+         attributes.put(IKeyring.KEYRING_DATA_FILE, f);
+         attributes.put(IKeyring.KEYRING_PASSWORD, PASSWORD);
+         kr1.store(attributes);
+         final long base = f.length();
+
+         kr1.putPrivateKey("added", new GnuSecretKey(data(42, 16), null),
+                           PASSWORD);
+         kr1.remove("key0");
+         kr1.store(attributes);
+         harness.check(f.length() > base && f.length() - base < base,
+                       "store(...) appends");
+
+         final GnuPrivateKeyring kr2 = new GnuPrivateKeyring();
+         kr2.load(attributes);
+         harness.check(!kr2.containsPrivateKey("key0"), "journal removal");
+         Key k = kr2.getPrivateKey("added", PASSWORD);
+         harness.check(k != null
+                       && Arrays.equals(k.getEncoded(), data(42, 16)),
+                       "journal private key");
+         k = kr2.getPrivateKey("key7", PASSWORD);
+         harness.check(k != null && Arrays.equals(k.getEncoded(), data(7, 16)),
+                       "base private key");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfKeyringJournal.testPrivateKeyring");
+      } finally {
+         if (f != null) {
+            f.delete();
+         }
+      }
+   }
+
+   /**
+    * @return true if the keyring data, written to a file, loads as a public
+    * keyring. Journal records are only replayed from keyring files.
+    */
+   private static boolean loads(byte[] data) throws IOException {
+      final File f = File.createTempFile("gkr", null);
+      try {
+         final FileOutputStream out = new FileOutputStream(f);
+         try {
+            out.write(data);
+         } finally {
+            out.close();
+         }
+         final Map attributes = new HashMap();
+         attributes.put(IKeyring.KEYRING_DATA_FILE, f);
+         attributes.put(IKeyring.KEYRING_PASSWORD, PASSWORD);
+         try {
+            new GnuPublicKeyring().load(attributes);
+            return true;
+         } catch (IOException x) {
+            return false;
+         }
+      } finally {
+         f.delete();
+      }
+   }
+
+   private static byte[] read(File f, long offset, long len) throws IOException {
+      final byte[] result = new byte[(int) len];
+      final FileInputStream in = new FileInputStream(f);
+      try {
+         in.skip(offset);
+         int n = 0;
+         while (n < result.length) {
+            int k = in.read(result, n, result.length - n);
+            if (k < 0) {
+               throw new IOException("unexpected end of file");
+            }
+            n += k;
+         }
+      } finally {
+         in.close();
+      }
+      return result;
+   }
+
+   private static byte[] concat(byte[] a, byte[] b, byte[] c) {
+      final byte[] result = new byte[a.length + b.length + c.length];
+      System.arraycopy(a, 0, result, 0, a.length);
+      System.arraycopy(b, 0, result, a.length, b.length);
+      System.arraycopy(c, 0, result, a.length + b.length, c.length);
+      return result;
+   }
+
+   private static BinaryDataEntry entry(String alias, int seed, int len) {
+      final Properties p = new Properties();
+      p.put("alias", alias);
+      return new BinaryDataEntry(null, data(seed, len), new Date(), p);
+   }
+
+   private static byte[] data(int seed, int len) {
+      final byte[] result = new byte[len];
+      for (int i = 0; i < len; i++) {
+         result[i] = (byte)(seed * 31 + i * 17);
+      }
+      return result;
+   }
+}
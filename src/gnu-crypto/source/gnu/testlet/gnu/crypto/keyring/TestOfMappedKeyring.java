@@ -0,0 +1,132 @@
+package gnu.testlet.gnu.crypto.keyring;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.keyring.BinaryDataEntry;
+import gnu.crypto.keyring.GnuPublicKeyring;
+import gnu.crypto.keyring.IKeyring;
+import gnu.crypto.keyring.Properties;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Conformance tests for loading a GNU Keyring from a memory-mapped
+ * file.</p>
+ *
+ * @version $Revision$
+ */
+public class TestOfMappedKeyring implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final String ALIAS = "mapped";
+
+   private static final char[] PASSWORD = "password".toCharArray();
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(final TestHarness harness) {
+      harness.checkPoint("TestOfMappedKeyring");
+      File f = null;
+      try {
+         final byte[] data = new byte[4096];
+         for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+         }
+         final Properties p = new Properties();
+         p.put("alias", ALIAS);
+         final GnuPublicKeyring kr1 = new GnuPublicKeyring("HMAC-SHA-160", 20);
+         kr1.add(new BinaryDataEntry("application/octet-stream", data,
+                                     new Date(), p));
+
+         f = File.createTempFile("gkr", null);
+         final FileOutputStream out = new FileOutputStream(f);
+         final Map attributes = new HashMap();
+         attributes.put(IKeyring.KEYRING_DATA_OUT, out);
+         attributes.put(IKeyring.KEYRING_PASSWORD, PASSWORD);
+         kr1.store(attributes);
+         out.close();
+
+         attributes.clear();
+         attributes.put(IKeyring.KEYRING_DATA_FILE, f);
+         attributes.put(IKeyring.KEYRING_PASSWORD, PASSWORD);
+         final GnuPublicKeyring kr2 = new GnuPublicKeyring();
+         kr2.load(attributes);
+         harness.check(true, "load(KEYRING_DATA_FILE)");
+
+         harness.check(kr2.containsAlias(ALIAS), "containsAlias(...)");
+         final List list = kr2.get(ALIAS);
+         harness.check(list.size() == 1, "get(...).size() == 1");
+         final BinaryDataEntry e = (BinaryDataEntry) list.get(0);
+         harness.check(Arrays.equals(data, e.getData()), "getData()");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfMappedKeyring");
+      } finally {
+         if (f != null) {
+            f.delete();
+         }
+      }
+   }
+}
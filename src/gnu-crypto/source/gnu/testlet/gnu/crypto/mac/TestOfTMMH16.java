@@ -45,11 +45,14 @@ package gnu.testlet.gnu.crypto.mac;
 
 // Tags: GNU-CRYPTO
 
+import gnu.crypto.Registry;
 import gnu.crypto.mac.IMac;
 import gnu.crypto.mac.TMMH16;
+import gnu.crypto.prng.ARCFour;
 import gnu.crypto.prng.BasePRNG;
 import gnu.crypto.prng.IRandom;
 import gnu.crypto.prng.LimitReachedException;
+import gnu.crypto.prng.PRNGFactory;
 import gnu.testlet.TestHarness;
 import gnu.testlet.Testlet;
 
@@ -173,6 +176,67 @@ public class TestOfTMMH16 implements Testlet {
          harness.debug(x);
          harness.fail("TestOfTMMH16.testVector3");
       }
+
+      testBulkUpdate(harness);
+   }
+
+   /**
+    * <p>Checks that hashing byte arrays yields the same tags, and consumes
+    * the same keystream, as hashing the same bytes one at a time.</p>
+    */
+   private void testBulkUpdate(TestHarness harness) {
+      harness.checkPoint("TestOfTMMH16.testBulkUpdate");
+      try {
+         byte[] prefix = new byte[8];
+         for (int i = 0; i < prefix.length; i++) {
+            prefix[i] = (byte)(0xA5 + i);
+         }
+         TMMH16 bulk = new TMMH16();
+         TMMH16 bytes = new TMMH16();
+         attributes.clear();
+         attributes.put(TMMH16.TAG_LENGTH, new Integer(8));
+         attributes.put(TMMH16.PREFIX, prefix);
+         attributes.put(TMMH16.KEYSTREAM, arcfour());
+         bulk.init(attributes);
+         attributes.put(TMMH16.KEYSTREAM, arcfour());
+         bytes.init(attributes);
+
+         int[] lengths = { 1, 2, 5, 512, 513, 1031 };
+         for (int n = 0; n < lengths.length; n++) { // same keystream throughout
+            message = new byte[lengths[n]];
+            for (int i = 0; i < message.length; i++) {
+               message[i] = (byte)(i * 7 + n);
+            }
+            int half = message.length / 2 + 1;
+            bulk.update(message, 0, half);
+            bulk.update(message, half, message.length - half);
+            for (int i = 0; i < message.length; i++) {
+               bytes.update(message[i]);
+            }
+            harness.check(Arrays.equals(bulk.digest(), bytes.digest()),
+                  "update(byte[], int, int), length " + message.length);
+         }
+
+         IRandom prng1 = arcfour();
+         IRandom prng2 = arcfour();
+         bulk.update(message, 0, message.length, prng1);
+         for (int i = 0; i < message.length; i++) {
+            bytes.update(message[i], prng2);
+         }
+         harness.check(Arrays.equals(bulk.digest(prng1), bytes.digest(prng2)),
+               "update(byte[], int, int, IRandom)");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfTMMH16.testBulkUpdate");
+      }
+   }
+
+   private IRandom arcfour() {
+      HashMap map = new HashMap();
+      map.put(ARCFour.ARCFOUR_KEY_MATERIAL, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+      IRandom result = PRNGFactory.getInstance(Registry.ARCFOUR_PRNG);
+      result.init(map);
+      return result;
    }
 
    // Inner class(es)
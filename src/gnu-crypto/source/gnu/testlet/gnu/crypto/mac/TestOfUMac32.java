@@ -0,0 +1,180 @@
+package gnu.testlet.gnu.crypto.mac;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2001, 2002, 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.mac.IMac;
+import gnu.crypto.mac.UMac32;
+import gnu.crypto.util.Util;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * <p>Regression tests for the {@link UMac32} implementation.</p>
+ *
+ * <p>The expected values were computed with the previous, <code>BigInteger
+ * </code>-based, implementation of this library; the nonce is incremented
+ * between the first and the second tag of each vector.</p>
+ *
+ * @version $Revision$
+ */
+public class TestOfUMac32 implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final int[] LENGTHS = { 0, 3, 1024, 1025, 2048, 3000, 32768 };
+
+   private static final String[][] TAGS = {
+      { "87064F70250AE2B9", "C9651014D44F3F44" },
+      { "97180F76C227B564", "D97B501233626899" },
+      { "271FACB2D0549DB5", "697CF3D621114048" },
+      { "993657728E74A736", "D75508167F317ACB" },
+      { "D6A571168750EF23", "98C62E72761532DE" },
+      { "408BF79F506D4ADA", "0EE8A8FBA1289727" },
+      { "CA4320111A457573", "84207F75EB00A88E" }
+   };
+
+   private HashMap attributes = new HashMap();
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfUMac32");
+      try {
+         attributes.put(IMac.MAC_KEY_MATERIAL, "abcdefghijklmnop".getBytes("ASCII"));
+         attributes.put(UMac32.NONCE_MATERIAL, new byte[] { 0, 1, 2, 3, 4, 5, 6, 7 });
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfUMac32");
+         return;
+      }
+
+      harness.check(new UMac32().selfTest(), "selfTest()");
+      testVectors(harness);
+      testByteWise(harness);
+      testClone(harness);
+   }
+
+   private void testVectors(TestHarness harness) {
+      for (int i = 0; i < LENGTHS.length; i++) {
+         try {
+            byte[] message = message(LENGTHS[i]);
+            IMac mac = new UMac32();
+            mac.init(attributes);
+            mac.update(message, 0, message.length);
+            harness.check(TAGS[i][0].equals(Util.toString(mac.digest())),
+                  "tag(" + LENGTHS[i] + ")");
+
+            mac.init(new HashMap()); // same key, next nonce
+            mac.update(message, 0, message.length);
+            harness.check(TAGS[i][1].equals(Util.toString(mac.digest())),
+                  "tag(" + LENGTHS[i] + ", nonce + 1)");
+         } catch (Exception x) {
+            harness.debug(x);
+            harness.fail("TestOfUMac32.testVectors(" + LENGTHS[i] + ")");
+         }
+      }
+   }
+
+   private void testByteWise(TestHarness harness) {
+      try {
+         byte[] message = message(5000);
+         IMac bulk = new UMac32();
+         IMac bytes = new UMac32();
+         bulk.init(attributes);
+         bytes.init(attributes);
+         bulk.update(message, 0, 7);
+         bulk.update(message, 7, 2041);
+         bulk.update(message, 2048, message.length - 2048);
+         for (int i = 0; i < message.length; i++) {
+            bytes.update(message[i]);
+         }
+         harness.check(Arrays.equals(bulk.digest(), bytes.digest()),
+               "bulk and byte-wise updates");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfUMac32.testByteWise");
+      }
+   }
+
+   private void testClone(TestHarness harness) {
+      try {
+         byte[] message = message(3000);
+         IMac mac = new UMac32();
+         mac.init(attributes);
+         mac.update(message, 0, 1500);
+         IMac copy = (IMac) mac.clone();
+         mac.update(message, 1500, 1500);
+         copy.update(message, 1500, 1500);
+         harness.check(Arrays.equals(mac.digest(), copy.digest()),
+               "clone() in mid-stream");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfUMac32.testClone");
+      }
+   }
+
+   private static byte[] message(int length) {
+      byte[] result = new byte[length];
+      for (int i = 0; i < length; i++) {
+         result[i] = (byte) i;
+      }
+      return result;
+   }
+}
@@ -0,0 +1,166 @@
+package gnu.testlet.gnu.crypto.mode;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2001, 2002, 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.mode.IAuthenticatedMode;
+import gnu.crypto.mode.IMode;
+import gnu.crypto.mode.ModeFactory;
+import gnu.crypto.util.Util;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>A generic test case for the authenticated encryption modes. Each known
+ * answer is run through the streaming interface several ways: encryption with
+ * the associated data in one piece and byte by byte, in-place decryption and
+ * verification, and rejection of a forged tag.</p>
+ *
+ * @version $Revision$
+ */
+public abstract class BaseAuthenticatedModeTestCase implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * <p>Checks a mode against a known answer.</p>
+    *
+    * @param harness the test harness.
+    * @param mode the name of the mode.
+    * @param cipher the name of the underlying 128-bit cipher.
+    * @param tv the hexadecimal key, nonce, associated data, plaintext, and
+    * ciphertext followed by the tag.
+    * @param tagSize the length, in bytes, of the tag.
+    * @param label the name of the vector.
+    */
+   protected void checkVector(TestHarness harness, String mode, String cipher,
+                              String[] tv, int tagSize, String label) {
+      byte[] key = Util.toBytesFromString(tv[0]);
+      byte[] nonce = Util.toBytesFromString(tv[1]);
+      byte[] ad = Util.toBytesFromString(tv[2]);
+      byte[] pt = Util.toBytesFromString(tv[3]);
+      byte[] expected = Util.toBytesFromString(tv[4]);
+      IAuthenticatedMode aem =
+            (IAuthenticatedMode) ModeFactory.getInstance(mode, cipher, 16);
+      Map attributes = new HashMap();
+      attributes.put(IMode.KEY_MATERIAL, key);
+      attributes.put(IMode.IV, nonce);
+      attributes.put(IAuthenticatedMode.TAG_SIZE, new Integer(tagSize));
+      try {
+         attributes.put(IMode.STATE, new Integer(IMode.ENCRYPTION));
+         aem.reset();
+         aem.init(attributes);
+         aem.update(ad, 0, ad.length);
+         byte[] ct = new byte[pt.length + tagSize];
+         run(aem, pt, ct);
+         System.arraycopy(aem.digest(), 0, ct, pt.length, tagSize);
+         harness.check(Arrays.equals(expected, ct), label + " encryption");
+
+         aem.reset();
+         aem.init(attributes);
+         for (int i = 0; i < ad.length; i++) {
+            aem.update(ad[i]);
+         }
+         ct = new byte[pt.length];
+         run(aem, pt, ct);
+         byte[] tag = aem.digest();
+         harness.check(Arrays.equals(expected, concat(ct, tag)),
+               label + " encryption, byte-wise associated data");
+
+         attributes.put(IMode.STATE, new Integer(IMode.DECRYPTION));
+         aem.reset();
+         aem.init(attributes);
+         aem.update(ad, 0, ad.length);
+         run(aem, ct, ct);
+         harness.check(aem.verify(expected, pt.length), label + " verification");
+         harness.check(Arrays.equals(pt, ct), label + " in-place decryption");
+
+         byte[] forged = (byte[]) expected.clone();
+         forged[forged.length - 1] ^= 0x01;
+         aem.reset();
+         aem.init(attributes);
+         aem.update(ad, 0, ad.length);
+         System.arraycopy(forged, 0, ct, 0, pt.length);
+         run(aem, ct, ct);
+         harness.check(!aem.verify(forged, pt.length), label + " forgery");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail(label);
+      }
+   }
+
+   /** Encrypts or decrypts a whole message, possibly in place. */
+   private void run(IAuthenticatedMode aem, byte[] in, byte[] out) {
+      int i = 0;
+      for ( ; i + 16 <= in.length; i += 16) {
+         aem.update(in, i, out, i);
+      }
+      aem.finish(in, i, in.length - i, out, i);
+   }
+
+   private byte[] concat(byte[] a, byte[] b) {
+      byte[] result = new byte[a.length + b.length];
+      System.arraycopy(a, 0, result, 0, a.length);
+      System.arraycopy(b, 0, result, a.length, b.length);
+      return result;
+   }
+}
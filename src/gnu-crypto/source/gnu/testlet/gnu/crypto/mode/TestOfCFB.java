@@ -46,6 +46,7 @@ package gnu.testlet.gnu.crypto.mode;
 // Tags: GNU-CRYPTO
 
 import gnu.crypto.Registry;
+import gnu.crypto.mode.BaseMode;
 import gnu.crypto.mode.IMode;
 import gnu.crypto.mode.ModeFactory;
 import gnu.crypto.util.Util;
@@ -858,5 +859,59 @@ public class TestOfCFB implements Testlet {
          harness.debug(x);
          harness.fail("TestOfCFB128.testAES256");
       }
+
+      harness.checkPoint("TestOfCFB8.testBulk");
+      try {
+         harness.check(bulkTest(1), "CFB8 runs of blocks agree with one at a time");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfCFB8.testBulk");
+      }
+
+      harness.checkPoint("TestOfCFB128.testBulk");
+      try {
+         harness.check(bulkTest(16), "CFB128 runs of blocks agree with one at a time");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfCFB128.testBulk");
+      }
+   }
+
+   /**
+    * Runs of blocks, longer than what is processed ahead at once, must agree
+    * with one block at a time, both ways, and also when done in place.
+    */
+   private boolean bulkTest(int modeBlockSize) throws Exception {
+      byte[] in = new byte[77 * modeBlockSize];
+      for (int i = 0; i < in.length; i++) {
+         in[i] = (byte)(i * 13 + 5);
+      }
+      mode = ModeFactory.getInstance(Registry.CFB_MODE, Registry.AES_CIPHER, 16);
+      attributes.clear();
+      attributes.put(IMode.MODE_BLOCK_SIZE, new Integer(modeBlockSize));
+      attributes.put(IMode.IV, new byte[16]);
+      attributes.put(IMode.KEY_MATERIAL, new byte[16]);
+      attributes.put(IMode.STATE, new Integer(IMode.ENCRYPTION));
+      mode.init(attributes);
+      byte[] ct1 = new byte[in.length];
+      for (int i = 0; i < in.length; i += modeBlockSize) {
+         mode.update(in, i, ct1, i);
+      }
+
+      mode.reset();
+      mode.init(attributes);
+      byte[] ct2 = new byte[in.length];
+      ((BaseMode) mode).update(in, 0, ct2, 0, 5);
+      ((BaseMode) mode).update(in, 5 * modeBlockSize, ct2, 5 * modeBlockSize, 72);
+      if (!Arrays.equals(ct1, ct2)) {
+         return false;
+      }
+
+      mode.reset();
+      attributes.put(IMode.STATE, new Integer(IMode.DECRYPTION));
+      mode.init(attributes);
+      ((BaseMode) mode).update(ct2, 0, ct2, 0, 40);
+      ((BaseMode) mode).update(ct2, 40 * modeBlockSize, ct2, 40 * modeBlockSize, 37);
+      return Arrays.equals(ct2, in);
    }
 }
@@ -0,0 +1,142 @@
+package gnu.testlet.gnu.crypto.mode;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2001, 2002, 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+// Tags: GNU-CRYPTO
+// Uses: BaseAuthenticatedModeTestCase
+
+import gnu.crypto.Registry;
+import gnu.testlet.TestHarness;
+
+/**
+ * <p>Conformance tests of the EAX implementation.</p>
+ *
+ * <p>References:</p>
+ * <ol>
+ *    <li><a href="http://www.cs.ucdavis.edu/~rogaway/papers/eax.pdf">The EAX
+ *    Mode of Operation</a>, Mihir Bellare, Phillip Rogaway and David
+ *    Wagner; Appendix, test vectors.</li>
+ * </ol>
+ *
+ * @version $Revision$
+ */
+public class TestOfEAX extends BaseAuthenticatedModeTestCase {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** Key, nonce, header, message, ciphertext || tag. */
+   private static final String[][] TV = {
+      { "233952DEE4D5ED5F9B9C6D6FF80FF478",
+        "62EC67F9C3A4A407FCB2A8C49031A8B3",
+        "6BFB914FD07EAE6B",
+        "",
+        "E037830E8389F27B025A2D6527E79D01" },
+      { "91945D3F4DCBEE0BF45EF52255F095A4",
+        "BECAF043B0A23D843194BA972C66DEBD",
+        "FA3BFD4806EB53FA",
+        "F7FB",
+        "19DD5C4C9331049D0BDAB0277408F67967E5" },
+      { "01F74AD64077F2E704C0F60ADA3DD523",
+        "70C3DB4F0D26368400A10ED05D2BFF5E",
+        "234A3463C1264AC6",
+        "1A47CB4933",
+        "D851D5BAE03A59F238A23E39199DC9266626C40F80" },
+      { "D07CF6CBB7F313BDDE66B727AFD3C5E8",
+        "8408DFFF3C1A2B1292DC199E46B7D617",
+        "33CCE2EABFF5A79D",
+        "481C9E39B1",
+        "632A9D131AD4C168A4225D8E1FF755939974A7BEDE" },
+      { "35B6D0580005BBC12B0587124557D2C2",
+        "FDB6B06676EEDC5C61D74276E1F8E816",
+        "AEB96EAEBE2970E9",
+        "40D0C07DA5E4",
+        "071DFE16C675CB0677E536F73AFE6A14B74EE49844DD" },
+      { "BD8E6E11475E60B268784C38C62FEB22",
+        "6EAC5C93072D8E8513F750935E46DA1B",
+        "D4482D1CA78DCE0F",
+        "4DE3B35C3FC039245BD1FB7D",
+        "835BB4F15D743E350E728414ABB8644FD6CCB86947C5E10590210A4F" },
+      { "7C77D6E813BED5AC98BAA417477A2E7D",
+        "1A8C98DCD73D38393B2BF1569DEEFC19",
+        "65D2017990D62528",
+        "8B0A79306C9CE7ED99DAE4F87F8DD61636",
+        "02083E3979DA014812F59F11D52630DA30137327D10649B0AA6E1C181DB617D7F2" },
+      { "5FFF20CAFAB119CA2FC73549E20F5B0D",
+        "DDE59B97D722156D4D9AFF2BC7559826",
+        "54B9F04E6A09189A",
+        "1BDA122BCE8A8DBAF1877D962B8592DD2D56",
+        "2EC47B2C4954A489AFC7BA4897EDCDAE8CC33B60450599BD02C96382902AEF7F832A" },
+      { "A4A4782BCFFD3EC5E7EF6D8C34A56123",
+        "B781FCF2F75FA5A8DE97A9CA48E522EC",
+        "899A175897561D7E",
+        "6CF36720872B8513F6EAB1A8A44438D5EF11",
+        "0DE18FD0FDD91E7AF19F1D8EE8733938B1E8E7F6D2231618102FDB7FE55FF1991700" },
+      { "8395FCF1E95BEBD697BD010BC766AAC3",
+        "22E7ADD93CFC6393C57EC0B3C17D6B44",
+        "126735FCC320D25A",
+        "CA40D7446E545FFAED3BD12A740A659FFBBB3CEAB7",
+        "CB8920F87A6C75CFF39627B56E3ED197C552D295A7CFC46AFC253B4652B1AF3795B124AB6E" }
+   };
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfEAX");
+      for (int i = 0; i < TV.length; i++) {
+         checkVector(harness, Registry.EAX_MODE, Registry.AES_CIPHER, TV[i],
+               16, "EAX-AES128 #" + (i + 1));
+      }
+   }
+}
@@ -0,0 +1,135 @@
+package gnu.testlet.gnu.crypto.mode;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2001, 2002, 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+// Tags: GNU-CRYPTO
+// Uses: BaseAuthenticatedModeTestCase
+
+import gnu.crypto.Registry;
+import gnu.testlet.TestHarness;
+
+/**
+ * <p>Conformance tests of the GCM implementation.</p>
+ *
+ * <p>References:</p>
+ * <ol>
+ *    <li>The Galois/Counter Mode of Operation (GCM), David A. McGrew and John
+ *    Viega; Appendix B, test cases 1 to 6.</li>
+ * </ol>
+ *
+ * @version $Revision$
+ */
+public class TestOfGCM extends BaseAuthenticatedModeTestCase {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** Key, IV, additional data, plaintext, ciphertext || tag. */
+   private static final String[][] TV = {
+      { "00000000000000000000000000000000",
+        "000000000000000000000000",
+        "",
+        "",
+        "58e2fccefa7e3061367f1d57a4e7455a" },
+      { "00000000000000000000000000000000",
+        "000000000000000000000000",
+        "",
+        "00000000000000000000000000000000",
+        "0388dace60b6a392f328c2b971b2fe78"
+        + "ab6e47d42cec13bdf53a67b21257bddf" },
+      { "feffe9928665731c6d6a8f9467308308",
+        "cafebabefacedbaddecaf888",
+        "",
+        "d9313225f88406e5a55909c5aff5269a86a7a9531534f7da2e4c303d8a318a72"
+        + "1c3c0c95956809532fcf0e2449a6b525b16aedf5aa0de657ba637b391aafd255",
+        "42831ec2217774244b7221b784d0d49ce3aa212f2c02a4e035c17e2329aca12e"
+        + "21d514b25466931c7d8f6a5aac84aa051ba30b396a0aac973d58e091473f5985"
+        + "4d5c2af327cd64a62cf35abd2ba6fab4" },
+      { "feffe9928665731c6d6a8f9467308308",
+        "cafebabefacedbaddecaf888",
+        "feedfacedeadbeeffeedfacedeadbeefabaddad2",
+        "d9313225f88406e5a55909c5aff5269a86a7a9531534f7da2e4c303d8a318a72"
+        + "1c3c0c95956809532fcf0e2449a6b525b16aedf5aa0de657ba637b39",
+        "42831ec2217774244b7221b784d0d49ce3aa212f2c02a4e035c17e2329aca12e"
+        + "21d514b25466931c7d8f6a5aac84aa051ba30b396a0aac973d58e091"
+        + "5bc94fbc3221a5db94fae95ae7121a47" },
+      { "feffe9928665731c6d6a8f9467308308",
+        "cafebabefacedbad",
+        "feedfacedeadbeeffeedfacedeadbeefabaddad2",
+        "d9313225f88406e5a55909c5aff5269a86a7a9531534f7da2e4c303d8a318a72"
+        + "1c3c0c95956809532fcf0e2449a6b525b16aedf5aa0de657ba637b39",
+        "61353b4c2806934a777ff51fa22a4755699b2a714fcdc6f83766e5f97b6c7423"
+        + "73806900e49f24b22b097544d4896b424989b5e1ebac0f07c23f4598"
+        + "3612d2e79e3b0785561be14aaca2fccb" },
+      { "feffe9928665731c6d6a8f9467308308",
+        "9313225df88406e555909c5aff5269aa6a7a9538534f7da1e4c303d2a318a728"
+        + "c3c0c95156809539fcf0e2429a6b525416aedbf5a0de6a57a637b39b",
+        "feedfacedeadbeeffeedfacedeadbeefabaddad2",
+        "d9313225f88406e5a55909c5aff5269a86a7a9531534f7da2e4c303d8a318a72"
+        + "1c3c0c95956809532fcf0e2449a6b525b16aedf5aa0de657ba637b39",
+        "8ce24998625615b603a033aca13fb894be9112a5c3a211a8ba262a3cca7e2ca7"
+        + "01e4a9a4fba43c90ccdcb281d48c7c6fd62875d2aca417034c34aee5"
+        + "619cc5aefffe0bfa462af43c1699d050" }
+   };
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfGCM");
+      for (int i = 0; i < TV.length; i++) {
+         checkVector(harness, Registry.GCM_MODE, Registry.AES_CIPHER, TV[i],
+               16, "GCM-AES128 test case " + (i + 1));
+      }
+   }
+}
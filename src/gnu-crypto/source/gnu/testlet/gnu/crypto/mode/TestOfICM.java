@@ -0,0 +1,172 @@
+package gnu.testlet.gnu.crypto.mode;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.Registry;
+import gnu.crypto.mode.BaseMode;
+import gnu.crypto.mode.IMode;
+import gnu.crypto.mode.ModeFactory;
+import gnu.crypto.util.Util;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Conformance tests of the ICM implementation.</p>
+ *
+ * <p>References:</p>
+ *
+ * <ol>
+ *    <li><a href="http://www.ietf.org/rfc/rfc3711.txt">The Secure Real-time
+ *    Transport Protocol (SRTP)</a>, Appendix B.2: AES-CM Test Vectors.</li>
+ * </ol>
+ *
+ * @version $Revision$
+ */
+public class TestOfICM implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private IMode mode;
+   private Map attributes = new HashMap();
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfICM.testAES128");
+      // AES-CM counts from the IV itself, while ICM counts from the offset
+      // plus 256^8; hence the offset below is the RFC's IV minus 2^64.
+      byte[] key = Util.toBytesFromString("2B7E151628AED2A6ABF7158809CF4F3C");
+      byte[] iv = Util.toBytesFromString("F0F1F2F3F4F5F6F6F8F9FAFBFCFD0000");
+      byte[] ks = Util.toBytesFromString(
+            "E03EAD0935C95E80E166B16DD92B4EB4"+
+            "D23513162B02D0F72A43A2FE4A5F97AB"+
+            "41E95B3BB0A2E8DD477901E4FCA894C0");
+
+      mode = ModeFactory.getInstance(Registry.ICM_MODE, Registry.AES_CIPHER, 16);
+      attributes.clear();
+      attributes.put(IMode.IV, iv);
+      attributes.put(IMode.KEY_MATERIAL, key);
+      try {
+         // one block at a time ...............................................
+         attributes.put(IMode.STATE, new Integer(IMode.ENCRYPTION));
+         mode.init(attributes);
+         byte[] out = new byte[ks.length];
+         for (int i = 0; i < out.length; i += 16) {
+            mode.update(out, i, out, i);
+         }
+         harness.check(Arrays.equals(out, ks), "AES-CM keystream, one block at a time");
+
+         // a run of blocks ...................................................
+         mode.reset();
+         attributes.put(IMode.STATE, new Integer(IMode.DECRYPTION));
+         mode.init(attributes);
+         out = new byte[ks.length];
+         ((BaseMode) mode).update(out, 0, out, 0, 3);
+         harness.check(Arrays.equals(out, ks), "AES-CM keystream, in one run");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfICM.testAES128");
+      }
+
+      harness.checkPoint("TestOfICM.testBulk");
+      try {
+         harness.check(bulkTest(), "runs of blocks across keystream chunks");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfICM.testBulk");
+      }
+   }
+
+   /**
+    * Runs of blocks, longer than what is generated ahead at once, must agree
+    * with one block at a time, including when decrypting in place.
+    */
+   private boolean bulkTest() throws Exception {
+      byte[] pt = new byte[77 * 16];
+      for (int i = 0; i < pt.length; i++) {
+         pt[i] = (byte)(i * 13 + 5);
+      }
+      mode = ModeFactory.getInstance(Registry.ICM_MODE, Registry.AES_CIPHER, 16);
+      attributes.clear();
+      attributes.put(IMode.IV, new byte[] { 1, 2, 3 });
+      attributes.put(IMode.KEY_MATERIAL, new byte[16]);
+      attributes.put(IMode.STATE, new Integer(IMode.ENCRYPTION));
+      mode.init(attributes);
+      byte[] ct1 = new byte[pt.length];
+      for (int i = 0; i < pt.length; i += 16) {
+         mode.update(pt, i, ct1, i);
+      }
+
+      mode.reset();
+      mode.init(attributes);
+      byte[] ct2 = new byte[pt.length];
+      ((BaseMode) mode).update(pt, 0, ct2, 0, 5);
+      ((BaseMode) mode).update(pt, 5 * 16, ct2, 5 * 16, 72);
+      if (!Arrays.equals(ct1, ct2)) {
+         return false;
+      }
+
+      mode.reset();
+      attributes.put(IMode.STATE, new Integer(IMode.DECRYPTION));
+      mode.init(attributes);
+      ((BaseMode) mode).update(ct2, 0, ct2, 0, 77);
+      return Arrays.equals(ct2, pt);
+   }
+}
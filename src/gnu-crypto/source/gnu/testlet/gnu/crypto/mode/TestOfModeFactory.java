@@ -45,6 +45,7 @@ package gnu.testlet.gnu.crypto.mode;
 
 // Tags: GNU-CRYPTO
 
+import gnu.crypto.Registry;
 import gnu.crypto.cipher.CipherFactory;
 import gnu.crypto.cipher.IBlockCipher;
 import gnu.crypto.mode.ModeFactory;
@@ -88,7 +89,8 @@ public class TestOfModeFactory implements Testlet {
                bs = ((Integer) cbs.next()).intValue();
                try {
                   algorithm = ModeFactory.getInstance(mode, ubc, bs);
-                  harness.check(algorithm != null, "getInstance("
+                  harness.check(algorithm != null || !supports(mode, bs),
+                        "getInstance("
                         +String.valueOf(mode)+", "
                         +String.valueOf(cipher)+", "
                         +String.valueOf(8*bs)+")");
@@ -103,4 +105,15 @@ public class TestOfModeFactory implements Testlet {
          }
       }
    }
+
+   /** The authenticated modes are only defined for some block sizes. */
+   private boolean supports(String mode, int bs) {
+      if (mode.equals(Registry.EAX_MODE)) {
+         return bs == 8 || bs == 16;
+      }
+      if (mode.equals(Registry.GCM_MODE) || mode.equals(Registry.OCB_MODE)) {
+         return bs == 16;
+      }
+      return true;
+   }
 }
@@ -0,0 +1,128 @@
+package gnu.testlet.gnu.crypto.mode;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2001, 2002, 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+// Tags: GNU-CRYPTO
+// Uses: BaseAuthenticatedModeTestCase
+
+import gnu.crypto.Registry;
+import gnu.testlet.TestHarness;
+
+/**
+ * <p>Conformance tests of the OCB implementation.</p>
+ *
+ * <p>References:</p>
+ * <ol>
+ *    <li><a href="http://www.ietf.org/rfc/rfc7253.txt">The OCB Authenticated-
+ *    Encryption Algorithm</a>, Ted Krovetz and Phillip Rogaway; Appendix A,
+ *    sample results.</li>
+ * </ol>
+ *
+ * @version $Revision$
+ */
+public class TestOfOCB extends BaseAuthenticatedModeTestCase {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** The key of all the sample results. */
+   private static final String K = "000102030405060708090A0B0C0D0E0F";
+
+   /** Key, nonce, associated data, plaintext, ciphertext || tag. */
+   private static final String[][] TV = {
+      { K, "BBAA99887766554433221100",
+        "",
+        "",
+        "785407BFFFC8AD9EDCC5520AC9111EE6" },
+      { K, "BBAA99887766554433221101",
+        "0001020304050607",
+        "0001020304050607",
+        "6820B3657B6F615A5725BDA0D3B4EB3A257C9AF1F8F03009" },
+      { K, "BBAA99887766554433221102",
+        "0001020304050607",
+        "",
+        "81017F8203F081277152FADE694A0A00" },
+      { K, "BBAA99887766554433221103",
+        "",
+        "0001020304050607",
+        "45DD69F8F5AAE72414054CD1F35D82760B2CD00D2F99BFA9" },
+      { K, "BBAA99887766554433221104",
+        "000102030405060708090A0B0C0D0E0F",
+        "000102030405060708090A0B0C0D0E0F",
+        "571D535B60B277188BE5147170A9A22C3AD7A4FF3835B8C5701C1CCEC8FC3358" },
+      { K, "BBAA99887766554433221105",
+        "000102030405060708090A0B0C0D0E0F",
+        "",
+        "8CF761B6902EF764462AD86498CA6B97" },
+      { K, "BBAA99887766554433221106",
+        "",
+        "000102030405060708090A0B0C0D0E0F",
+        "5CE88EC2E0692706A915C00AEB8B2396F40E1C743F52436BDF06D8FA1ECA343D" },
+      { K, "BBAA99887766554433221107",
+        "000102030405060708090A0B0C0D0E0F1011121314151617",
+        "000102030405060708090A0B0C0D0E0F1011121314151617",
+        "1CA2207308C87C010756104D8840CE1952F09673A448A122"
+        + "C92C62241051F57356D7F3C90BB0E07F" }
+   };
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfOCB");
+      for (int i = 0; i < TV.length; i++) {
+         checkVector(harness, Registry.OCB_MODE, Registry.AES_CIPHER, TV[i],
+               16, "OCB-AES128 sample #" + (i + 1));
+      }
+   }
+}
@@ -0,0 +1,184 @@
+package gnu.testlet.gnu.crypto.sasl;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.sasl.SaslInputStream;
+import gnu.crypto.sasl.SaslOutputStream;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import javax.security.sasl.Sasl;
+import javax.security.sasl.SaslServer;
+
+/**
+ * Regression tests for the {@link SaslInputStream} and {@link
+ * SaslOutputStream} implementations, using a security layer that merely
+ * inverts the bits of the data.
+ *
+ * @version $Revision$
+ */
+public class TestOfSaslStreams implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final int RAW_SEND_SIZE = 100;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfSaslStreams");
+      byte[] data = new byte[1000];
+      for (int i = 0; i < data.length; i++) {
+         data[i] = (byte) i;
+      }
+      try {
+         SaslServer server = new InvertingServer();
+         ByteArrayOutputStream sink = new ByteArrayOutputStream();
+         SaslOutputStream out = new SaslOutputStream(server, sink);
+         out.write(data, 0, 250); // 3 SASL buffers
+         out.write(data[250]);
+         out.write(data, 251, data.length - 251);
+         byte[] wire = sink.toByteArray();
+         harness.check(wire.length == data.length + 4 * (3 + 1 + 8),
+               "SASL buffers framing");
+
+         DataInputStream in = new DataInputStream(new SaslInputStream(server,
+               new ByteArrayInputStream(wire)));
+         byte[] result = new byte[data.length];
+         for (int i = 0; i < 500; i++) {
+            result[i] = in.readByte();
+         }
+         in.readFully(result, 500, data.length - 500);
+         harness.check(Arrays.equals(data, result), "byte-wise and bulk reads");
+         harness.check(in.read() == -1, "end of stream");
+
+         in = new DataInputStream(new SaslInputStream(server,
+               new TrickleInputStream(new ByteArrayInputStream(wire))));
+         Arrays.fill(result, (byte) 0);
+         in.readFully(result);
+         harness.check(Arrays.equals(data, result), "short reads from source");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfSaslStreams");
+      }
+   }
+
+   // Inner class(es)
+   // =========================================================================
+
+   /** A security layer that inverts every bit of the data. */
+   static class InvertingServer implements SaslServer {
+
+      public String getMechanismName() {
+         return "INVERT";
+      }
+
+      public byte[] evaluateResponse(byte[] response) {
+         return null;
+      }
+
+      public boolean isComplete() {
+         return true;
+      }
+
+      public String getAuthorizationID() {
+         return null;
+      }
+
+      public byte[] unwrap(byte[] incoming, int offset, int len) {
+         return wrap(incoming, offset, len);
+      }
+
+      public byte[] wrap(byte[] outgoing, int offset, int len) {
+         byte[] result = new byte[len];
+         for (int i = 0; i < len; i++) {
+            result[i] = (byte) ~outgoing[offset + i];
+         }
+         return result;
+      }
+
+      public Object getNegotiatedProperty(String propName) {
+         if (Sasl.RAW_SEND_SIZE.equals(propName)) {
+            return String.valueOf(RAW_SEND_SIZE);
+         }
+         return null;
+      }
+
+      public void dispose() {
+      }
+   }
+
+   /** An input stream that returns at most 3 bytes per read. */
+   static class TrickleInputStream extends FilterInputStream {
+
+      TrickleInputStream(InputStream in) {
+         super(in);
+      }
+
+      public int read(byte[] b, int off, int len) throws IOException {
+         return super.read(b, off, Math.min(len, 3));
+      }
+   }
+}
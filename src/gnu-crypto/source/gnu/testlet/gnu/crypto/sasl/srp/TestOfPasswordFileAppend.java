@@ -0,0 +1,159 @@
+package gnu.testlet.gnu.crypto.sasl.srp;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.Registry;
+import gnu.crypto.sasl.srp.PasswordFile;
+import gnu.crypto.sasl.srp.SRPRegistry;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>Conformance tests for the way {@link PasswordFile} appends added and
+ * changed users to the password files, and picks up changes made to them by
+ * other writers.</p>
+ *
+ * @version $Revision$
+ */
+public class TestOfPasswordFileAppend implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final String P_FILE = "./testappend";
+   private static final String P2_FILE = P_FILE + "2";
+   private static final String C_FILE = P_FILE + ".conf";
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments ctor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   private static int lines(final String name) throws IOException {
+      final BufferedReader in = new BufferedReader(new FileReader(name));
+      int result = 0;
+      try {
+         while (in.readLine() != null) {
+            result++;
+         }
+      } finally {
+         in.close();
+      }
+      return result;
+   }
+
+   private static void delete() {
+      new File(P_FILE).delete();
+      new File(P2_FILE).delete();
+      new File(C_FILE).delete();
+   }
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(final TestHarness harness) {
+      harness.checkPoint("TestOfPasswordFileAppend");
+      delete();
+      try {
+         final byte[] salt = new byte[10];
+         final PasswordFile pf = new PasswordFile(P_FILE, P2_FILE, C_FILE);
+         pf.add("alice", "one", salt, SRPRegistry.N_512_BITS);
+         pf.add("bob", "two", salt, SRPRegistry.N_512_BITS);
+         harness.check(lines(P_FILE), 2, "add() appends one line");
+         final int extended = lines(P2_FILE);
+
+         final String[] old = pf.lookup("alice", Registry.MD5_HASH);
+         pf.changePasswd("alice", "three");
+         harness.check(lines(P_FILE), 3, "changePasswd() appends one line");
+         harness.check(lines(P2_FILE), extended * 3 / 2,
+                       "changePasswd() appends the extended verifiers");
+
+         final String[] sha = pf.lookup("alice", Registry.SHA160_HASH);
+         final String[] md5 = pf.lookup("alice", Registry.MD5_HASH);
+         harness.check(!old[0].equals(md5[0]), "verifier changed");
+         harness.check(old[1].equals(md5[1]) && old[2].equals(md5[2]),
+                       "salt and index unchanged");
+
+         final PasswordFile other = new PasswordFile(P_FILE, P2_FILE, C_FILE);
+         harness.check(Arrays.equals(sha, other.lookup("alice", Registry.SHA160_HASH)),
+                       "later line supersedes earlier one (tpasswd)");
+         harness.check(Arrays.equals(md5, other.lookup("alice", Registry.MD5_HASH)),
+                       "later line supersedes earlier one (tpasswd2)");
+
+         pf.changePasswd("bob", "four");
+         pf.changePasswd("bob", "five");
+         harness.check(lines(P_FILE), 2, "stale lines compacted");
+         harness.check(lines(P2_FILE), extended, "stale extended lines compacted");
+         harness.check(pf.contains("alice") && pf.contains("bob"),
+                       "users survive compaction");
+
+         // a change made by another writer is seen once detected
+         final FileWriter w = new FileWriter(P_FILE, true);
+         w.write("carol:" + sha[0] + ":" + sha[1] + ":" + sha[2]
+                 + System.getProperty("line.separator"));
+         w.close();
+         other.refresh();
+         harness.check(other.contains("carol"), "refresh()");
+         harness.check(other.contains("bob"), "refresh() keeps other users");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfPasswordFileAppend");
+      } finally {
+         delete();
+      }
+   }
+}
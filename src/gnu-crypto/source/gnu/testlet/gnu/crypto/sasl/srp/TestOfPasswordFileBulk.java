@@ -0,0 +1,215 @@
+package gnu.testlet.gnu.crypto.sasl.srp;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.Registry;
+import gnu.crypto.sasl.NoSuchUserException;
+import gnu.crypto.sasl.UserAlreadyExistsException;
+import gnu.crypto.sasl.srp.PasswordFile;
+import gnu.crypto.sasl.srp.SRPAuthInfoProvider;
+import gnu.crypto.sasl.srp.SRPRegistry;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.security.sasl.AuthenticationException;
+
+/**
+ * <p>Conformance tests for the bulk addition of users to SRP password files.
+ * </p>
+ *
+ * @version $Revision$
+ */
+public class TestOfPasswordFileBulk implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   private static final String P_FILE = "./testbulk";
+   private static final String P2_FILE = P_FILE + "2";
+   private static final String C_FILE = P_FILE + ".conf";
+
+   private static final String Q_FILE = "./testbulkone";
+   private static final String Q2_FILE = Q_FILE + "2";
+   private static final String QC_FILE = Q_FILE + ".conf";
+
+   private static final int COUNT = 40;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments ctor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   private static int lines(final String name) throws IOException {
+      final BufferedReader in = new BufferedReader(new FileReader(name));
+      int result = 0;
+      try {
+         while (in.readLine() != null) {
+            result++;
+         }
+      } finally {
+         in.close();
+      }
+      return result;
+   }
+
+   private static void delete() {
+      new File(P_FILE).delete();
+      new File(P2_FILE).delete();
+      new File(C_FILE).delete();
+      new File(Q_FILE).delete();
+      new File(Q2_FILE).delete();
+      new File(QC_FILE).delete();
+   }
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(final TestHarness harness) {
+      harness.checkPoint("TestOfPasswordFileBulk");
+      delete();
+      try {
+         final String[] users = new String[COUNT];
+         final String[] passwds = new String[COUNT];
+         final byte[][] salts = new byte[COUNT][];
+         for (int i = 0; i < COUNT; i++) {
+            users[i] = "user" + i;
+            passwds[i] = "secret" + i;
+            salts[i] = new byte[] { (byte) i, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+         }
+         final String[] md5 = new String[] { Registry.MD5_HASH };
+
+         final PasswordFile pf = new PasswordFile(P_FILE, P2_FILE, C_FILE);
+         pf.addAll(users, passwds, salts, SRPRegistry.N_512_BITS, md5, 4);
+         harness.check(lines(P_FILE), COUNT, "one line per user (tpasswd)");
+         harness.check(lines(P2_FILE), COUNT,
+                       "one line per user and chosen digest (tpasswd2)");
+         try {
+            pf.lookup("user7", Registry.SHA256_HASH);
+            harness.fail("no verifier for digests not asked for");
+         } catch (NoSuchUserException x) {
+            harness.check(true, "no verifier for digests not asked for");
+         }
+         final Map context = new HashMap();
+         context.put(SRPRegistry.PASSWORD_DB, pf);
+         final SRPAuthInfoProvider provider = new SRPAuthInfoProvider();
+         provider.activate(context);
+         final Map userID = new HashMap();
+         userID.put(Registry.SASL_USERNAME, "user7");
+         userID.put(SRPRegistry.MD_NAME_FIELD, Registry.SHA256_HASH);
+         try {
+            provider.lookup(userID);
+            harness.fail("provider lookup with a digest not asked for");
+         } catch (AuthenticationException x) {
+            harness.check(true, "provider lookup with a digest not asked for");
+         }
+
+         // same verifiers as those computed one user at a time
+         final PasswordFile one = new PasswordFile(Q_FILE, Q2_FILE, QC_FILE);
+         boolean ok = true;
+         for (int i = 0; i < COUNT; i += 13) {
+            one.add(users[i], passwds[i], salts[i], SRPRegistry.N_512_BITS);
+            ok &= Arrays.equals(one.lookup(users[i], Registry.SHA160_HASH),
+                                pf.lookup(users[i], Registry.SHA160_HASH));
+            ok &= Arrays.equals(one.lookup(users[i], Registry.MD5_HASH),
+                                pf.lookup(users[i], Registry.MD5_HASH));
+         }
+         harness.check(ok, "addAll() and add() compute the same verifiers");
+
+         final PasswordFile other = new PasswordFile(P_FILE, P2_FILE, C_FILE);
+         harness.check(Arrays.equals(pf.lookup("user39", Registry.MD5_HASH),
+                                     other.lookup("user39", Registry.MD5_HASH)),
+                       "batch is written to the password files");
+
+         try {
+            pf.addAll(new String[] { "new1", "user3" },
+                      new String[] { "a", "b" },
+                      new byte[][] { salts[0], salts[1] },
+                      SRPRegistry.N_512_BITS, md5, 2);
+            harness.fail("existing user");
+         } catch (UserAlreadyExistsException x) {
+            harness.check(!pf.contains("new1"), "existing user");
+         }
+         try {
+            pf.addAll(new String[] { "new2", "new2" },
+                      new String[] { "a", "b" },
+                      new byte[][] { salts[0], salts[1] },
+                      SRPRegistry.N_512_BITS, md5, 2);
+            harness.fail("duplicate user");
+         } catch (UserAlreadyExistsException x) {
+            harness.check(!pf.contains("new2"), "duplicate user");
+         }
+         try {
+            pf.addAll(new String[] { "new3" }, new String[] { "a" },
+                      new byte[][] { salts[0] }, SRPRegistry.N_512_BITS,
+                      new String[] { Registry.MD5_HASH, "no-such-digest" }, 2);
+            harness.fail("unknown digest");
+         } catch (IllegalArgumentException x) {
+            harness.check(!pf.contains("new3"), "unknown digest");
+         }
+         harness.check(lines(P_FILE), COUNT, "failed batches write nothing");
+
+         pf.changePasswd("user5", "changed");
+         harness.check(lines(P2_FILE), COUNT + 1,
+                       "changePasswd() keeps the chosen digests");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfPasswordFileBulk");
+      } finally {
+         delete();
+      }
+   }
+}
@@ -118,6 +118,11 @@ public class TestOfSRPPrimitives implements Testlet {
             exerciseAlgorithm(harness, SRP.instance(SRPRegistry.SRP_ALGORITHMS[i]));
          }
 
+         harness.check(SRP.instance(" SHA-160 ") == SRP.instance("sha-160"),
+                       "one SRP instance per digest name");
+         harness.check(SRP.instance("whirlpool") == SRP.instance("Whirlpool"),
+                       "one SRP instance per added digest name");
+
       } catch (IOException x) {
          harness.debug(x);
          harness.fail("TestOfSRPPrimitives");
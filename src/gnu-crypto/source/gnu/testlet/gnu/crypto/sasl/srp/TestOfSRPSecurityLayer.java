@@ -0,0 +1,192 @@
+package gnu.testlet.gnu.crypto.sasl.srp;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.Registry;
+import gnu.crypto.sasl.ClientFactory;
+import gnu.crypto.sasl.ClientMechanism;
+import gnu.crypto.sasl.ServerFactory;
+import gnu.crypto.sasl.ServerMechanism;
+import gnu.crypto.sasl.srp.PasswordFile;
+import gnu.crypto.sasl.srp.SRPClient;
+import gnu.crypto.sasl.srp.SRPRegistry;
+import gnu.crypto.sasl.srp.SRPServer;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Random;
+
+import javax.security.sasl.SaslException;
+
+/**
+ * Regression tests for the security layer (integrity, replay detection and
+ * confidentiality) of the SASL-SRP mechanism.
+ *
+ * @version $Revision$
+ */
+public class TestOfSRPSecurityLayer implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      harness.checkPoint("TestOfSRPSecurityLayer");
+      File file = null;
+      try {
+         file = File.createTempFile("gnu-crypto", ".tpasswd");
+         file.deleteOnExit();
+         new File(file.getPath() + "2").deleteOnExit();
+         new File(file.getPath() + ".conf").deleteOnExit();
+         PasswordFile tpasswd = new PasswordFile(file);
+         byte[] salt = new byte[10];
+         new Random().nextBytes(salt);
+         tpasswd.add("test", "test", salt, "1");
+         tpasswd.savePasswd();
+
+         testLayer(harness, file.getPath(), "true", "false");
+         testLayer(harness, file.getPath(), "false", "true");
+         testLayer(harness, file.getPath(), "true", "true");
+      } catch (Exception x) {
+         harness.debug(x);
+         harness.fail("TestOfSRPSecurityLayer");
+      } finally {
+         if (file != null) {
+            file.delete();
+            new File(file.getPath() + "2").delete();
+            new File(file.getPath() + ".conf").delete();
+         }
+      }
+   }
+
+   private void testLayer(TestHarness harness, String passwordFile,
+                          String integrity, String confidentiality)
+   throws SaslException {
+      String label = "integrity=" + integrity
+            + ", confidentiality=" + confidentiality;
+      HashMap properties = new HashMap();
+      properties.put(SRPRegistry.SRP_REPLAY_DETECTION, integrity);
+      properties.put(SRPRegistry.SRP_INTEGRITY_PROTECTION, integrity);
+      properties.put(SRPRegistry.SRP_CONFIDENTIALITY, confidentiality);
+      properties.put(SRPRegistry.PASSWORD_FILE, passwordFile);
+      ServerMechanism server = ServerFactory.getInstance(Registry.SASL_SRP_MECHANISM);
+      server.init(properties);
+
+      properties.put(Registry.SASL_USERNAME, "test");
+      properties.put(Registry.SASL_PASSWORD, "test");
+      properties.put(Registry.SASL_AUTHORISATION_ID, "test");
+      properties.put(Registry.SASL_PROTOCOL, "test");
+      properties.put(Registry.SASL_SERVER_NAME, "localhost");
+      ClientMechanism client = ClientFactory.getInstance(Registry.SASL_SRP_MECHANISM);
+      client.init(properties);
+
+      byte[] message = client.hasInitialResponse()
+            ? client.evaluateChallenge(new byte[0]) : new byte[0];
+      while (!(client.isComplete() && server.isComplete())) {
+         message = server.evaluateResponse(message);
+         if (message == null || client.isComplete()) {
+            break;
+         }
+         message = client.evaluateChallenge(message);
+         if (message == null) {
+            break;
+         }
+      }
+      harness.check(client.isComplete() && server.isComplete(),
+            "authenticated, " + label);
+
+      byte[] data = new byte[100];
+      for (int i = 0; i < data.length; i++) {
+         data[i] = (byte) i;
+      }
+      SRPClient c = (SRPClient) client;
+      SRPServer s = (SRPServer) server;
+      boolean ok = true;
+      for (int n = 0; n < 40; n++) { // more than one buffer in each direction
+         byte[] wrapped = client.wrap(data, 0, n);
+         ok &= wrapped.length == c.getWrappedLength(n);
+         byte[] unwrapped = server.unwrap(wrapped, 0, wrapped.length);
+         ok &= unwrapped.length == n;
+         for (int i = 0; i < n; i++) {
+            ok &= unwrapped[i] == data[i];
+         }
+
+         byte[] buffer = new byte[s.getWrappedLength(n) + 3];
+         System.arraycopy(data, 0, buffer, 3, n);
+         int length = s.wrapInPlace(buffer, 3, n);
+         int count = c.unwrapInPlace(buffer, 3, length);
+         ok &= count == n;
+         for (int i = 0; i < n; i++) {
+            ok &= buffer[3 + i] == data[i];
+         }
+      }
+      harness.check(ok, "wrap()/unwrap(), " + label);
+
+      if (Boolean.valueOf(integrity).booleanValue()) {
+         byte[] wrapped = client.wrap(data, 0, data.length);
+         wrapped[0] ^= 0x01;
+         try {
+            server.unwrap(wrapped, 0, wrapped.length);
+            harness.fail("tampered buffer, " + label);
+         } catch (SaslException x) {
+            harness.check(true, "tampered buffer, " + label);
+         }
+      }
+   }
+}
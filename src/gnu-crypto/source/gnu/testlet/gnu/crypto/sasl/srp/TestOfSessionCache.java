@@ -0,0 +1,196 @@
+package gnu.testlet.gnu.crypto.sasl.srp;
+
+// ----------------------------------------------------------------------------
+// $Id$
+//
+// Copyright (C) 2003 Free Software Foundation, Inc.
+//
+// This file is part of GNU Crypto.
+//
+// GNU Crypto is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2, or (at your option)
+// any later version.
+//
+// GNU Crypto is distributed in the hope that it will be useful, but
+// WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; see the file COPYING.  If not, write to the
+//
+//    Free Software Foundation Inc.,
+//    59 Temple Place - Suite 330,
+//    Boston, MA 02111-1307
+//    USA
+//
+// Linking this library statically or dynamically with other modules is
+// making a combined work based on this library.  Thus, the terms and
+// conditions of the GNU General Public License cover the whole
+// combination.
+//
+// As a special exception, the copyright holders of this library give
+// you permission to link this library with independent modules to
+// produce an executable, regardless of the license terms of these
+// independent modules, and to copy and distribute the resulting
+// executable under terms of your choice, provided that you also meet,
+// for each linked independent module, the terms and conditions of the
+// license of that module.  An independent module is a module which is
+// not derived from or based on this library.  If you modify this
+// library, you may extend this exception to your version of the
+// library, but you are not obligated to do so.  If you do not wish to
+// do so, delete this exception statement from your version.
+// ----------------------------------------------------------------------------
+
+
+// Tags: GNU-CRYPTO
+
+import gnu.crypto.sasl.srp.SessionCache;
+import gnu.testlet.TestHarness;
+import gnu.testlet.Testlet;
+
+/**
+ * <p>Conformance tests for the {@link SessionCache} holding SRP sessions:
+ * its size bound, the order in which it evicts records, the expiry of
+ * records by its timer wheel, and the removal and re-insertion of
+ * records.</p>
+ *
+ * @version $Revision$
+ */
+public class TestOfSessionCache implements Testlet {
+
+   // Constants and variables
+   // -------------------------------------------------------------------------
+
+   /** The number of segments of a cache, each with its own LRU order. */
+   private static final int SEGMENTS = 16;
+
+   // Constructor(s)
+   // -------------------------------------------------------------------------
+
+   // default 0-arguments constructor
+
+   // Class methods
+   // -------------------------------------------------------------------------
+
+   /**
+    * Returns the n-th of a series of keys that fall in the same segment:
+    * multiples of 16 below 256 hash to segment 0.
+    */
+   private static Object key(int n) {
+      return new Integer(n * 16);
+   }
+
+   // Instance methods
+   // -------------------------------------------------------------------------
+
+   public void test(TestHarness harness) {
+      testMaximumSize(harness);
+      testEvictionOrder(harness);
+      testRemove(harness);
+      testExpiry(harness);
+   }
+
+   private void testMaximumSize(TestHarness harness) {
+      harness.checkPoint("TestOfSessionCache.testMaximumSize");
+      SessionCache cache = new SessionCache(32);
+      for (int i = 0; i < 1000; i++) {
+         cache.put("session" + i, 0, new Integer(i));
+      }
+      int size = cache.size();
+      harness.check(size > 0 && size <= 32, "size() <= maximum size");
+      harness.check(cache.getEvictionCount() == 1000 - size,
+                    "getEvictionCount()");
+      harness.check(cache.isAlive("session999"), "last record kept");
+
+      cache.setMaximumSize(SEGMENTS);
+      harness.check(cache.size() <= SEGMENTS, "setMaximumSize() evicts");
+      harness.check(cache.getEvictionCount() == 1000 - cache.size(),
+                    "getEvictionCount() after setMaximumSize()");
+
+      try {
+         cache.setMaximumSize(0);
+         harness.fail("setMaximumSize(0)");
+      } catch (IllegalArgumentException x) {
+         harness.check(true, "setMaximumSize(0)");
+      }
+   }
+
+   private void testEvictionOrder(TestHarness harness) {
+      harness.checkPoint("TestOfSessionCache.testEvictionOrder");
+      // 3 records per segment
+      SessionCache cache = new SessionCache(3 * SEGMENTS);
+      cache.put(key(0), 0, "0");
+      cache.put(key(1), 0, "1");
+      cache.put(key(2), 0, "2");
+      harness.check(cache.size() == 3, "records of one segment");
+
+      // a look-up makes key(0) the most recently used record
+      harness.check(cache.isAlive(key(0)), "isAlive()");
+      cache.put(key(3), 0, "3");
+      harness.check(cache.getEvictionCount() == 1, "one record evicted");
+      harness.check(!cache.isAlive(key(1)),
+                    "least recently used record evicted");
+      harness.check(cache.isAlive(key(0)), "recently used record kept");
+
+      // key(2) is now the least recently used record
+      cache.put(key(4), 0, "4");
+      harness.check(!cache.isAlive(key(2)), "eviction in access order");
+      harness.check(cache.isAlive(key(3)) && cache.isAlive(key(4))
+                    && cache.isAlive(key(0)), "newer records kept");
+      harness.check(cache.size() == 3, "size()");
+   }
+
+   private void testRemove(TestHarness harness) {
+      harness.checkPoint("TestOfSessionCache.testRemove");
+      SessionCache cache = new SessionCache(SessionCache.DEFAULT_MAXIMUM_SIZE);
+      cache.put("sid", 0, "v1");
+      harness.check("v1".equals(cache.remove("sid")), "remove()");
+      harness.check(cache.remove("sid") == null, "remove() twice");
+      harness.check(!cache.isAlive("sid"), "isAlive() after remove()");
+      harness.check(cache.size() == 0, "size() after remove()");
+
+      cache.put("sid", 0, "v2");
+      harness.check(cache.isAlive("sid"), "isAlive() after re-insertion");
+      cache.put("sid", 0, "v3");
+      harness.check(cache.size() == 1, "put() replaces");
+      harness.check("v3".equals(cache.remove("sid")),
+                    "remove() after re-insertion");
+   }
+
+   private void testExpiry(TestHarness harness) {
+      harness.checkPoint("TestOfSessionCache.testExpiry");
+      SessionCache cache = new SessionCache(SessionCache.DEFAULT_MAXIMUM_SIZE);
+      cache.put("short", 1, "s");
+      cache.put("long", 3600, "l");
+      cache.put("forever", 0, "f");
+      // replaced by a perennial record; the one filed in the wheel is stale
+      cache.put("replaced", 1, "r1");
+      cache.put("replaced", 0, "r2");
+      // removed and re-inserted
+      cache.put("reinserted", 1, "i1");
+      cache.remove("reinserted");
+      cache.put("reinserted", 0, "i2");
+      harness.check(cache.size() == 5, "size() before expiry");
+
+      try {
+         Thread.sleep(2500L);
+      } catch (InterruptedException x) {
+         harness.debug(x);
+      }
+      // the wheel is swept by a timer too; sweeping again is harmless
+      cache.sweep();
+
+      // no look-up has been made: the wheel removed the expired record
+      harness.check(cache.size() == 4, "size() after expiry");
+      harness.check(cache.getExpirationCount() == 1, "getExpirationCount()");
+      harness.check(!cache.isAlive("short"), "expired record removed");
+      harness.check(cache.isAlive("long"), "live record kept");
+      harness.check(cache.isAlive("forever"), "perennial record kept");
+      harness.check("r2".equals(cache.remove("replaced")),
+                    "replacing record kept");
+      harness.check("i2".equals(cache.remove("reinserted")),
+                    "re-inserted record kept");
+   }
+}